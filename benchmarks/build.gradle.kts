@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+import io.spine.examples.shareaware.dependency.Jmh
+import io.spine.examples.shareaware.dependency.Spine
+import net.ltgt.gradle.errorprone.errorprone
+
+/*
+ * The JMH benchmarks of the domain hot paths.
+ *
+ * Run them via `./gradlew :benchmarks:jmh`. Pass `-Pbenchmarks=<regex>` to run only
+ * the benchmarks matching the expression.
+ *
+ * The results are written in JSON to `benchmarks/build/results/jmh/results.json`.
+ * Each run is also copied to `benchmarks/build/results/jmh/history` under the name
+ * holding the time of the run, so that the runs may be compared over time.
+ */
+plugins {
+    id("me.champeau.jmh") version "0.6.8"
+}
+
+dependencies {
+    jmh(project(":model"))
+    jmh(project(":server"))
+    jmh(Spine.Server.lib)
+}
+
+jmh {
+    jmhVersion.set(Jmh.version)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    if (project.hasProperty("benchmarks")) {
+        includes.set(listOf(project.property("benchmarks").toString()))
+    }
+}
+
+val archiveJmhResults by tasks.registering(Copy::class) {
+    description = "Copies the results of the JMH run to the history of the runs."
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.buildDirectory.dir("results/jmh/history"))
+    rename { "results-${System.currentTimeMillis()}.json" }
+}
+
+/*
+ * The sources generated by JMH are not under our control, so they are neither
+ * analyzed by Error Prone nor required to compile without warnings.
+ *
+ * They are put to `build/jmh-generated-sources`, which is not matched by the paths
+ * excluded from the analysis for the rest of the generated code.
+ */
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    with(options) {
+        errorprone.isEnabled.set(false)
+        compilerArgs.remove("-Werror")
+    }
+}
+
+tasks.named("jmh") {
+    finalizedBy(archiveJmhResults)
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.benchmarks;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ReplenishmentId;
+import io.spine.examples.shareaware.ReplenishmentOperationId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.server.investment.InvestmentAggregate;
+import io.spine.examples.shareaware.server.market.MarketProcess;
+import io.spine.examples.shareaware.server.wallet.WalletAggregate;
+import io.spine.examples.shareaware.wallet.command.CreateWallet;
+import io.spine.examples.shareaware.wallet.command.RechargeBalance;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import io.spine.server.DefaultRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Measures how many commands per second a single entity handles.
+ *
+ * <p>The commands are posted to a Bounded Context holding only the repositories
+ * of the measured entities, so that the emitted events are not handled further.
+ * Each benchmark sends its commands to the same entity, whose history grows
+ * as the benchmark runs.
+ *
+ * <p>The measured time includes the creation of the command and its dispatching
+ * through the {@code CommandService}, as it happens for the commands sent by clients.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityHandlerBenchmark {
+
+    private static final StreamObserver<Ack> ackChecker = new AckChecker();
+
+    private final UserId user = UserId
+            .newBuilder()
+            .setValue("benchmarking-user")
+            .build();
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(user)
+            .build();
+    private final WalletId wallet = WalletId
+            .newBuilder()
+            .setOwner(user)
+            .build();
+    private final ShareId share = ShareId.generate();
+    private final InvestmentId investment = InvestmentId
+            .newBuilder()
+            .setOwner(user)
+            .setShare(share)
+            .build();
+    private final Money dollar = Money
+            .newBuilder()
+            .setCurrency(Currency.USD)
+            .setUnits(1)
+            .build();
+
+    private BoundedContext context;
+    private CommandService commands;
+
+    @Setup
+    public void createContext() {
+        BenchmarkEnvironment.configure();
+        context = BoundedContext
+                .singleTenant("HandlerBenchmark")
+                .add(DefaultRepository.of(WalletAggregate.class))
+                .add(DefaultRepository.of(InvestmentAggregate.class))
+                .add(DefaultRepository.of(MarketProcess.class))
+                .build();
+        commands = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+        post(CreateWallet
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .vBuild());
+    }
+
+    @TearDown
+    public void closeContext() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public void walletRechargesBalance() {
+        var operation = ReplenishmentOperationId
+                .newBuilder()
+                .setReplenishment(ReplenishmentId.generate())
+                .build();
+        post(RechargeBalance
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .setOperation(operation)
+                     .setMoneyAmount(dollar)
+                     .vBuild());
+    }
+
+    @Benchmark
+    public void investmentAddsShares() {
+        post(AddShares
+                     .newBuilder()
+                     .setInvestment(investment)
+                     .setProcess(PurchaseId.generate())
+                     .setQuantity(1)
+                     .vBuild());
+    }
+
+    @Benchmark
+    public void marketObtainsShares() {
+        post(ObtainShares
+                     .newBuilder()
+                     .setMarket(MarketProcess.ID)
+                     .setPurchase(PurchaseId.generate())
+                     .setShare(share)
+                     .setQuantity(1)
+                     .vBuild());
+    }
+
+    private void post(CommandMessage message) {
+        var command = requests.command()
+                              .create(message);
+        commands.post(command, ackChecker);
+    }
+
+    /**
+     * Fails the benchmark if a command is not acknowledged,
+     * so that a misconfigured benchmark does not measure the errors.
+     */
+    private static final class AckChecker implements StreamObserver<Ack> {
+
+        @Override
+        public void onNext(Ack ack) {
+            checkState(!ack.getStatus()
+                           .hasError(), "The command was not handled: `%s`.", ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.benchmarks;
+
+import io.spine.examples.shareaware.Cents;
+import io.spine.examples.shareaware.MoneyCalculator;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link MoneyCalculator} with the {@link Cents} arithmetic
+ * on the calculation performed by the wallet when reserving money:
+ * the check of the available balance followed by the subtraction.
+ *
+ * <p>The {@code Cents} benchmarks include the conversions from and to {@code Money},
+ * as the handlers perform them once per calculation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private Money balance = usd(1_500, 75);
+    private Money amount = usd(320, 90);
+    private long balanceCents = 150_075;
+    private long amountCents = 32_090;
+
+    @Benchmark
+    public Money calculatorReserve() {
+        if (MoneyCalculator.isGreater(amount, balance)) {
+            return balance;
+        }
+        return MoneyCalculator.subtract(balance, amount);
+    }
+
+    @Benchmark
+    public Money centsReserve() {
+        var currency = balance.getCurrency();
+        var available = Cents.of(balance);
+        var reserved = Cents.of(amount, currency);
+        if (reserved > available) {
+            return balance;
+        }
+        return Cents.toMoney(Cents.subtract(available, reserved), currency);
+    }
+
+    @Benchmark
+    public Money calculatorSum() {
+        return MoneyCalculator.sum(balance, amount);
+    }
+
+    @Benchmark
+    public Money centsSum() {
+        var currency = balance.getCurrency();
+        return Cents.toMoney(Cents.sum(Cents.of(balance), Cents.of(amount, currency)), currency);
+    }
+
+    @Benchmark
+    public Money calculatorMultiply() {
+        return MoneyCalculator.multiply(amount, 17);
+    }
+
+    @Benchmark
+    public Money centsMultiply() {
+        return Cents.toMoney(Cents.multiply(Cents.of(amount), 17), amount.getCurrency());
+    }
+
+    /**
+     * Measures the arithmetic alone, with the amounts kept in cents.
+     */
+    @Benchmark
+    public long centsOnly() {
+        return Cents.subtract(Cents.sum(balanceCents, amountCents), amountCents);
+    }
+
+    private static Money usd(long units, int cents) {
+        return Money
+                .newBuilder()
+                .setCurrency(Currency.USD)
+                .setUnits(units)
+                .setNanos(cents)
+                .build();
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.benchmarks;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ReplenishmentId;
+import io.spine.examples.shareaware.ReplenishmentOperationId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.server.TrustedBuild;
+import io.spine.examples.shareaware.server.market.MarketProcess;
+import io.spine.examples.shareaware.wallet.command.CreateWallet;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.examples.shareaware.wallet.command.RechargeBalance;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
+/**
+ * Measures how much CPU the validation of the messages takes in the purchase saga.
+ *
+ * <p>Each benchmark runs with the {@linkplain TrustedBuild trusted messages}
+ * validated and not validated, so the difference between the two runs is
+ * the cost of the validation skipped by the handlers.
+ *
+ * <p>Whether the trusted messages are validated is fixed for the whole JVM.
+ * Thus, each value of the {@code revalidate} parameter is measured in its own fork,
+ * which sets the {@linkplain TrustedBuild#REVALIDATE_PROPERTY system property}
+ * before the trusted messages are built for the first time.
+ *
+ * <p>The {@code purchaseShare} benchmark performs the whole purchase through
+ * the Trading context. Besides the handlers, it measures the buses, the storage and
+ * the validation of the messages by the buses, which are performed in both runs.
+ *
+ * <p>The {@code buildSagaMessages} benchmark builds only the commands and events
+ * which the handlers of the purchase emit, showing the cost of the validation alone.
+ * The messages holding the values computed by the handlers are validated in both runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PurchaseValidationBenchmark {
+
+    private static final StreamObserver<Ack> ackChecker = new AckChecker();
+
+    @Param({"true", "false"})
+    private boolean revalidate;
+
+    private final UserId user = UserId
+            .newBuilder()
+            .setValue("benchmarking-purchaser")
+            .build();
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(user)
+            .build();
+    private final WalletId wallet = WalletId
+            .newBuilder()
+            .setOwner(user)
+            .build();
+    private final ShareId share = ShareId.generate();
+    private final InvestmentId investment = InvestmentId
+            .newBuilder()
+            .setOwner(user)
+            .setShare(share)
+            .build();
+    private final Money price = usd(1);
+
+    private BoundedContext context;
+    private CommandService commands;
+
+    @Setup
+    public void createContext() {
+        System.setProperty(TrustedBuild.REVALIDATE_PROPERTY, String.valueOf(revalidate));
+        checkState(TrustedBuild.revalidating() == revalidate,
+                   "The trusted messages are already built with `%s` set to `%s`.",
+                   TrustedBuild.REVALIDATE_PROPERTY, !revalidate);
+        BenchmarkEnvironment.configure();
+        context = TradingContext
+                .newBuilder()
+                .build();
+        commands = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+        post(CreateWallet
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .vBuild());
+        var operation = ReplenishmentOperationId
+                .newBuilder()
+                .setReplenishment(ReplenishmentId.generate())
+                .build();
+        post(RechargeBalance
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .setOperation(operation)
+                     .setMoneyAmount(usd(1_000_000_000))
+                     .vBuild());
+    }
+
+    @TearDown
+    public void closeContext() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public void purchaseShare() {
+        post(PurchaseShares
+                     .newBuilder()
+                     .setPurchaseProcess(PurchaseId.generate())
+                     .setPurchaser(user)
+                     .setShare(share)
+                     .setQuantity(1)
+                     .setPrice(price)
+                     .vBuild());
+    }
+
+    /**
+     * Builds the messages emitted by the handlers in a successful purchase,
+     * in the order they are emitted.
+     */
+    @Benchmark
+    public void buildSagaMessages(Blackhole messages) {
+        var purchase = PurchaseId.generate();
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setPurchase(purchase)
+                .build();
+        messages.consume(ReserveMoney
+                                 .newBuilder()
+                                 .setWallet(wallet)
+                                 .setOperation(operation)
+                                 .setAmount(price)
+                                 .vBuild());
+        messages.consume(MoneyReserved
+                                 .newBuilder()
+                                 .setWallet(wallet)
+                                 .setOperation(operation)
+                                 .setAmount(price)
+                                 .setCurrentBalance(price)
+                                 .vBuild());
+        messages.consume(trusted(ObtainShares
+                                         .newBuilder()
+                                         .setMarket(MarketProcess.ID)
+                                         .setPurchase(purchase)
+                                         .setShare(share)
+                                         .setQuantity(1)));
+        messages.consume(trusted(SharesObtained
+                                         .newBuilder()
+                                         .setMarket(MarketProcess.ID)
+                                         .setPurchaseProcess(purchase)
+                                         .setShare(share)
+                                         .setQuantity(1)));
+        messages.consume(trusted(AddShares
+                                         .newBuilder()
+                                         .setInvestment(investment)
+                                         .setProcess(purchase)
+                                         .setQuantity(1)));
+        messages.consume(SharesAdded
+                                 .newBuilder()
+                                 .setInvestment(investment)
+                                 .setProcess(purchase)
+                                 .setSharesAvailable(1)
+                                 .vBuild());
+        messages.consume(trusted(DebitReservedMoney
+                                         .newBuilder()
+                                         .setWallet(wallet)
+                                         .setOperation(operation)));
+        messages.consume(ReservedMoneyDebited
+                                 .newBuilder()
+                                 .setWallet(wallet)
+                                 .setOperation(operation)
+                                 .setCurrentBalance(price)
+                                 .setDebited(price)
+                                 .vBuild());
+        messages.consume(trusted(SharesPurchased
+                                         .newBuilder()
+                                         .setPurchaseProcess(purchase)
+                                         .setPurchaser(user)
+                                         .setShare(share)
+                                         .setSharesAvailable(1)));
+    }
+
+    private void post(CommandMessage message) {
+        var command = requests.command()
+                              .create(message);
+        commands.post(command, ackChecker);
+    }
+
+    private static Money usd(long units) {
+        return Money
+                .newBuilder()
+                .setCurrency(Currency.USD)
+                .setUnits(units)
+                .build();
+    }
+
+    /**
+     * Fails the benchmark if a command is not acknowledged,
+     * so that a misconfigured benchmark does not measure the errors.
+     */
+    private static final class AckChecker implements StreamObserver<Ack> {
+
+        @Override
+        public void onNext(Ack ack) {
+            var status = ack.getStatus();
+            checkState(!status.hasError() && !status.hasRejection(),
+                       "The command was not handled: `%s`.", ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.loadgen;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.ManagedChannelBuilder;
+import io.spine.client.Client;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Generates the load on a running {@code ShareAwareServer} by simulating
+ * many desktop clients talking to it over gRPC.
+ *
+ * <p>Accepts the {@linkplain LoadOptions load options} as arguments.
+ *
+ * <p>The clients share a few gRPC channels, each of them used by its own Spine
+ * {@code Client}. The progress is printed every few seconds, and once all the clients
+ * are done, the report on the latencies of the operations and the lag of the market
+ * data is written to the file set in the options.
+ *
+ * <p>The lag of the market data is measured against the time the server has
+ * emitted them, so it is only meaningful if the clock of the load generator is
+ * in sync with the clock of the server, e.g. when both run on the same host.
+ */
+public final class LoadGenerator {
+
+    private static final int PROGRESS_PERIOD_SECONDS = 10;
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private LoadGenerator() {
+    }
+
+    /**
+     * The entry point of the load generator.
+     */
+    public static void main(String[] args) throws IOException {
+        var options = LoadOptions.parse(args);
+        var clients = connect(options);
+        var executor = Executors.newFixedThreadPool(options.threads());
+        var progress = Executors.newSingleThreadScheduledExecutor();
+        var stats = new LoadStats();
+        var abandoned = new AtomicInteger();
+        var start = System.nanoTime();
+        try {
+            progress.scheduleAtFixedRate(() -> System.out.println(stats.progress()),
+                                         PROGRESS_PERIOD_SECONDS, PROGRESS_PERIOD_SECONDS,
+                                         SECONDS);
+            var runs = new CompletableFuture<?>[options.clients()];
+            for (var i = 0; i < runs.length; i++) {
+                var client = clients.get(i % clients.size());
+                runs[i] = new SimulatedClient(client, executor, stats)
+                        .run(options.operations(), options.mix(), options.thinkTime())
+                        .exceptionally(error -> {
+                            abandoned.incrementAndGet();
+                            return null;
+                        });
+            }
+            CompletableFuture.allOf(runs)
+                             .join();
+        } finally {
+            progress.shutdownNow();
+            executor.shutdownNow();
+            clients.forEach(Client::close);
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        stats.writeReport(options.report(), elapsed);
+        System.out.printf("%d clients done, %d of them could not open " +
+                                  "the wallet. The report is written to `%s`.%n",
+                          options.clients(), abandoned.get(), options.report());
+    }
+
+    private static ImmutableList<Client> connect(LoadOptions options) {
+        var clients = ImmutableList.<Client>builder();
+        for (var i = 0; i < options.channels(); i++) {
+            var channel = ManagedChannelBuilder
+                    .forAddress(options.host(), options.port())
+                    .usePlaintext()
+                    .build();
+            clients.add(Client.usingChannel(channel)
+                              .build());
+        }
+        return clients.build();
+    }
+}
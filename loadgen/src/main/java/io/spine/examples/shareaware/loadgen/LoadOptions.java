@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.loadgen;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * The options with which the {@link LoadGenerator} is launched.
+ *
+ * <p>The options are passed as command-line arguments in the {@code --name=value} form:
+ *
+ * <ul>
+ *     <li>{@code --host=name} sets the host of the server, {@code localhost} by default;</li>
+ *     <li>{@code --port=N} sets the port of the server, the default client service port
+ *     is used by default;</li>
+ *     <li>{@code --clients=N} sets the number of the simulated clients, 1000 by default;</li>
+ *     <li>{@code --channels=N} sets the number of the gRPC channels shared by the clients,
+ *     16 by default;</li>
+ *     <li>{@code --threads=N} sets the number of the threads sending the requests,
+ *     64 by default;</li>
+ *     <li>{@code --operations=N} sets the number of the operations performed
+ *     by each client, 20 by default;</li>
+ *     <li>{@code --think-time=N} sets the pause in milliseconds a client makes
+ *     between the operations, 500 by default;</li>
+ *     <li>{@code --mix=purchase=N,sale=N,replenishment=N,withdrawal=N} sets the
+ *     {@linkplain OperationMix weights} of the operations, equal by default;</li>
+ *     <li>{@code --report=path} sets the file to write the report to,
+ *     {@code shareaware-load-report.txt} in the working directory by default.</li>
+ * </ul>
+ */
+public final class LoadOptions {
+
+    private static final String HOST = "host";
+    private static final String PORT = "port";
+    private static final String CLIENTS = "clients";
+    private static final String CHANNELS = "channels";
+    private static final String THREADS = "threads";
+    private static final String OPERATIONS = "operations";
+    private static final String THINK_TIME = "think-time";
+    private static final String MIX = "mix";
+    private static final String REPORT = "report";
+    private static final ImmutableSet<String> KNOWN_OPTIONS =
+            ImmutableSet.of(HOST, PORT, CLIENTS, CHANNELS, THREADS,
+                            OPERATIONS, THINK_TIME, MIX, REPORT);
+
+    private final ImmutableMap<String, String> values;
+
+    private LoadOptions(ImmutableMap<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Parses the options from the command-line arguments.
+     *
+     * @throws IllegalArgumentException
+     *         if an argument is not recognized or has an invalid value
+     */
+    public static LoadOptions parse(String... args) {
+        checkNotNull(args);
+        var values = ImmutableMap.<String, String>builder();
+        for (var arg : args) {
+            values.put(nameOf(arg), valueOf(arg));
+        }
+        var options = new LoadOptions(values.build());
+        options.validate();
+        return options;
+    }
+
+    /**
+     * Checks that all the options are known and parses their values,
+     * so that the invalid values are reported right away.
+     */
+    private void validate() {
+        for (var name : values.keySet()) {
+            if (!KNOWN_OPTIONS.contains(name)) {
+                throw newIllegalArgumentException("Unknown load option `%s`.", name);
+            }
+        }
+        port();
+        clients();
+        channels();
+        threads();
+        operations();
+        thinkTime();
+        checkNotNull(mix());
+    }
+
+    /**
+     * Returns the host of the server.
+     */
+    public String host() {
+        return values.getOrDefault(HOST, "localhost");
+    }
+
+    /**
+     * Returns the port of the server.
+     */
+    public int port() {
+        return positiveInt(PORT, DEFAULT_CLIENT_SERVICE_PORT);
+    }
+
+    /**
+     * Returns the number of the simulated clients.
+     */
+    public int clients() {
+        return positiveInt(CLIENTS, 1000);
+    }
+
+    /**
+     * Returns the number of the gRPC channels shared by the clients.
+     */
+    public int channels() {
+        return positiveInt(CHANNELS, 16);
+    }
+
+    /**
+     * Returns the number of the threads sending the requests.
+     */
+    public int threads() {
+        return positiveInt(THREADS, 64);
+    }
+
+    /**
+     * Returns the number of the operations performed by each client.
+     */
+    public int operations() {
+        return positiveInt(OPERATIONS, 20);
+    }
+
+    /**
+     * Returns the pause a client makes between the operations.
+     */
+    public Duration thinkTime() {
+        if (!values.containsKey(THINK_TIME)) {
+            return Duration.ofMillis(500);
+        }
+        var millis = intValue(THINK_TIME);
+        if (millis < 0) {
+            throw newIllegalArgumentException("The option `%s` must not be negative.",
+                                              THINK_TIME);
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * Returns the weights of the operations performed by the clients.
+     */
+    public OperationMix mix() {
+        if (!values.containsKey(MIX)) {
+            return OperationMix.even();
+        }
+        return OperationMix.parse(values.get(MIX));
+    }
+
+    /**
+     * Returns the file to write the report to.
+     */
+    public Path report() {
+        return Path.of(values.getOrDefault(REPORT, "shareaware-load-report.txt"));
+    }
+
+    private static String nameOf(String arg) {
+        var separator = arg.indexOf('=');
+        if (!arg.startsWith("--") || separator < 0) {
+            throw newIllegalArgumentException(
+                    "Load options must be passed as `--name=value`, but got `%s`.", arg);
+        }
+        return arg.substring(2, separator);
+    }
+
+    private static String valueOf(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private int positiveInt(String name, int defaultValue) {
+        if (!values.containsKey(name)) {
+            return defaultValue;
+        }
+        var value = intValue(name);
+        if (value <= 0) {
+            throw newIllegalArgumentException("The option `%s` must be positive, but got `%d`.",
+                                              name, value);
+        }
+        return value;
+    }
+
+    private int intValue(String name) {
+        var value = values.get(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw newIllegalArgumentException(e, "The option `%s` must be a number, but got `%s`.",
+                                              name, value);
+        }
+    }
+}
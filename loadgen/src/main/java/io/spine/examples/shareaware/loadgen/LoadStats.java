@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The latencies and the failures of the operations performed by the simulated clients,
+ * along with the lag of the market data they receive.
+ *
+ * <p>The latencies are recorded in microseconds into the HdrHistogram recorders,
+ * which may be written to concurrently by any number of threads without locking.
+ * The recorded values are periodically {@linkplain #progress() collected} into
+ * the total histograms, from which the {@linkplain #writeReport(Path, Duration) report}
+ * is made.
+ */
+final class LoadStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_IN_MILLI = 1_000.0;
+
+    private final Map<ClientOperation, Recorder> latencies = new EnumMap<>(ClientOperation.class);
+    private final Map<ClientOperation, Histogram> totals = new EnumMap<>(ClientOperation.class);
+    private final Map<ClientOperation, LongAdder> failures = new EnumMap<>(ClientOperation.class);
+    private final Recorder marketLag = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram totalMarketLag = new Histogram(SIGNIFICANT_DIGITS);
+
+    LoadStats() {
+        for (var operation : ClientOperation.values()) {
+            latencies.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            totals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records the successful operation, which took the given time
+     * from sending the command to receiving its outcome.
+     */
+    void completed(ClientOperation operation, Duration latency) {
+        latencies.get(operation)
+                 .recordValue(micros(latency));
+    }
+
+    /**
+     * Records the operation which has failed or has not completed in time.
+     */
+    void failed(ClientOperation operation) {
+        failures.get(operation)
+                .increment();
+    }
+
+    /**
+     * Records the time between the emission of the market data
+     * and their delivery to a client.
+     */
+    void marketLag(Duration lag) {
+        marketLag.recordValue(micros(lag));
+    }
+
+    private static long micros(Duration duration) {
+        return Math.max(0, duration.toNanos() / 1_000);
+    }
+
+    /**
+     * Collects the values recorded since the previous call
+     * and describes them in a single line.
+     */
+    synchronized String progress() {
+        var line = new StringBuilder();
+        for (var operation : ClientOperation.values()) {
+            var interval = latencies.get(operation)
+                                    .getIntervalHistogram();
+            totals.get(operation)
+                  .add(interval);
+            line.append(String.format("%s: %d ops, p99 %.1f ms; ",
+                                      operation, interval.getTotalCount(),
+                                      interval.getValueAtPercentile(99) / MICROS_IN_MILLI));
+        }
+        var lag = marketLag.getIntervalHistogram();
+        totalMarketLag.add(lag);
+        line.append(String.format("market lag p99 %.1f ms",
+                                  lag.getValueAtPercentile(99) / MICROS_IN_MILLI));
+        return line.toString();
+    }
+
+    /**
+     * Writes the report on all the recorded values to the given file.
+     *
+     * @param file
+     *         the file to write the report to
+     * @param elapsed
+     *         the time the load was generated for
+     */
+    synchronized void writeReport(Path file, Duration elapsed) throws IOException {
+        progress();
+        try (var out = new PrintStream(Files.newOutputStream(file), false, UTF_8)) {
+            out.printf("Load generated for %d s.%n%n", elapsed.toSeconds());
+            for (var operation : ClientOperation.values()) {
+                var histogram = totals.get(operation);
+                var failed = failures.get(operation)
+                                     .sum();
+                var throughput = histogram.getTotalCount() / Math.max(1.0, elapsed.toSeconds());
+                out.printf("%s: %d completed, %d failed, %.1f ops/s.%n",
+                           operation, histogram.getTotalCount(), failed, throughput);
+                summarize(histogram, out);
+            }
+            out.printf("Market data lag: %d updates.%n", totalMarketLag.getTotalCount());
+            summarize(totalMarketLag, out);
+            for (var operation : ClientOperation.values()) {
+                out.printf("%nThe latency distribution of %s, ms:%n", operation);
+                totals.get(operation)
+                      .outputPercentileDistribution(out, MICROS_IN_MILLI);
+            }
+            out.printf("%nThe market data lag distribution, ms:%n");
+            totalMarketLag.outputPercentileDistribution(out, MICROS_IN_MILLI);
+        }
+    }
+
+    private static void summarize(Histogram histogram, PrintStream out) {
+        if (histogram.getTotalCount() == 0) {
+            out.println();
+            return;
+        }
+        out.printf("    p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms.%n%n",
+                   histogram.getValueAtPercentile(50) / MICROS_IN_MILLI,
+                   histogram.getValueAtPercentile(90) / MICROS_IN_MILLI,
+                   histogram.getValueAtPercentile(99) / MICROS_IN_MILLI,
+                   histogram.getValueAtPercentile(99.9) / MICROS_IN_MILLI,
+                   histogram.getMaxValue() / MICROS_IN_MILLI);
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.loadgen;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.CommandMessage;
+import io.spine.base.EventMessage;
+import io.spine.client.Client;
+import io.spine.client.ClientRequest;
+import io.spine.client.EventFilter;
+import io.spine.client.Subscription;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.Cents;
+import io.spine.examples.shareaware.MarketId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ReplenishmentId;
+import io.spine.examples.shareaware.SaleId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalId;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.command.SellShares;
+import io.spine.examples.shareaware.investment.event.SharesPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.investment.event.SharesSaleFailed;
+import io.spine.examples.shareaware.investment.event.SharesSold;
+import io.spine.examples.shareaware.market.AvailableMarketShares;
+import io.spine.examples.shareaware.share.Share;
+import io.spine.examples.shareaware.wallet.Iban;
+import io.spine.examples.shareaware.wallet.WalletBalance;
+import io.spine.examples.shareaware.wallet.command.CreateWallet;
+import io.spine.examples.shareaware.wallet.command.ReplenishWallet;
+import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
+import io.spine.examples.shareaware.wallet.event.MoneyNotWithdrawn;
+import io.spine.examples.shareaware.wallet.event.MoneyWithdrawn;
+import io.spine.examples.shareaware.wallet.event.WalletCreated;
+import io.spine.examples.shareaware.wallet.event.WalletNotReplenished;
+import io.spine.examples.shareaware.wallet.event.WalletReplenished;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.client.EventFilter.eq;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A simulated user of the desktop client, which talks to the server over gRPC.
+ *
+ * <p>Just like the desktop client, the simulated one creates a wallet for its user,
+ * keeps the subscriptions to the wallet balance and to the shares available
+ * on the market, and performs each operation by subscribing to its outcome events
+ * and then sending the command.
+ *
+ * <p>The client never waits on a thread. Each step is scheduled on the given executor
+ * once the previous one completes, so that thousands of clients may be run
+ * by a few threads.
+ *
+ * <p>The client performs only the operations it has the money or the shares for.
+ * If the picked operation cannot be performed, the client performs the one
+ * that gets the money or the shares for it.
+ */
+final class SimulatedClient {
+
+    /**
+     * The ID of the only market, which is the same as on the server.
+     */
+    private static final MarketId MARKET = MarketId
+            .newBuilder()
+            .setUuid("ImitationOfSharesMarket")
+            .vBuild();
+    private static final Iban IBAN = Iban
+            .newBuilder()
+            .setValue("FI211234569876543210")
+            .vBuild();
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final Money INITIAL_AMOUNT = usd(500);
+    private static final Money REPLENISHMENT_AMOUNT = usd(100);
+    private static final Money WITHDRAWAL_AMOUNT = usd(50);
+
+    private final Client client;
+    private final Executor executor;
+    private final LoadStats stats;
+    private final UserId user;
+    private final WalletId wallet;
+    private final Map<ShareId, Integer> owned = new ConcurrentHashMap<>();
+    private volatile long balanceCents;
+    private volatile @Nullable AvailableMarketShares market;
+
+    SimulatedClient(Client client, Executor executor, LoadStats stats) {
+        this.client = client;
+        this.executor = executor;
+        this.stats = stats;
+        this.user = UserId
+                .newBuilder()
+                .setValue(UUID.randomUUID()
+                              .toString())
+                .vBuild();
+        this.wallet = WalletId
+                .newBuilder()
+                .setOwner(user)
+                .vBuild();
+    }
+
+    /**
+     * Opens the wallet of the client and performs the given number of operations
+     * picked from the mix, pausing between them for the think time.
+     *
+     * @return the future completed when all the operations are performed
+     */
+    CompletableFuture<Void> run(int operations, OperationMix mix, Duration thinkTime) {
+        return supplyAsync(this::openWallet, executor)
+                .thenCompose(opened -> opened)
+                .thenRunAsync(this::subscribeToUpdates, executor)
+                .thenCompose(ignored -> performNext(operations, mix, thinkTime));
+    }
+
+    private CompletableFuture<Void> openWallet() {
+        var created = outcome(WalletCreated.class, eq(WalletCreated.Field.wallet(), wallet));
+        post(CreateWallet
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .vBuild());
+        return created
+                .thenCompose(ignored -> replenish(INITIAL_AMOUNT))
+                .thenAccept(replenished -> {
+                    if (!replenished) {
+                        throw new IllegalStateException(
+                                "The wallet of the simulated client is not replenished.");
+                    }
+                });
+    }
+
+    /**
+     * Reads the current states of the wallet balance and the market,
+     * and subscribes to their changes.
+     */
+    private void subscribeToUpdates() {
+        var request = request();
+        request.subscribeTo(WalletBalance.class)
+               .byId(wallet)
+               .observe(this::onBalance)
+               .post();
+        request.subscribeTo(AvailableMarketShares.class)
+               .byId(MARKET)
+               .observe(this::onMarket)
+               .post();
+        request.select(WalletBalance.class)
+               .byId(wallet)
+               .run()
+               .forEach(this::onBalance);
+        market = request.select(AvailableMarketShares.class)
+                        .byId(MARKET)
+                        .run()
+                        .stream()
+                        .findFirst()
+                        .orElse(null);
+    }
+
+    private void onBalance(WalletBalance balance) {
+        balanceCents = Cents.of(balance.getBalance());
+    }
+
+    private void onMarket(AvailableMarketShares shares) {
+        market = shares;
+        var updated = shares.getWhenUpdated();
+        var emitted = Instant.ofEpochSecond(updated.getSeconds(), updated.getNanos());
+        stats.marketLag(Duration.between(emitted, Instant.now()));
+    }
+
+    private CompletableFuture<Void> performNext(int remaining,
+                                                OperationMix mix,
+                                                Duration thinkTime) {
+        if (remaining == 0) {
+            return completedFuture(null);
+        }
+        var afterThinking = delayedExecutor(thinkTime.toMillis(), MILLISECONDS, executor);
+        return runAsync(() -> {}, afterThinking)
+                .thenComposeAsync(ignored -> perform(mix.next(ThreadLocalRandom.current())),
+                                  executor)
+                .thenCompose(ignored -> performNext(remaining - 1, mix, thinkTime));
+    }
+
+    private CompletableFuture<Void> perform(ClientOperation wanted) {
+        var operation = feasible(wanted);
+        var start = System.nanoTime();
+        return start(operation).handle((succeeded, error) -> {
+            if (error == null && succeeded) {
+                stats.completed(operation, Duration.ofNanos(System.nanoTime() - start));
+            } else {
+                stats.failed(operation);
+            }
+            return null;
+        });
+    }
+
+    private ClientOperation feasible(ClientOperation wanted) {
+        switch (wanted) {
+            case PURCHASE:
+                return pickShare().map(share -> balanceCents >= Cents.of(share.getPrice()))
+                                  .orElse(false)
+                       ? wanted
+                       : ClientOperation.REPLENISHMENT;
+            case SALE:
+                return pickOwned().isPresent()
+                       ? wanted
+                       : feasible(ClientOperation.PURCHASE);
+            case WITHDRAWAL:
+                return balanceCents >= Cents.of(WITHDRAWAL_AMOUNT)
+                       ? wanted
+                       : ClientOperation.REPLENISHMENT;
+            default:
+                return wanted;
+        }
+    }
+
+    private CompletableFuture<Boolean> start(ClientOperation operation) {
+        switch (operation) {
+            case PURCHASE:
+                return pickShare().map(this::purchase)
+                                  .orElseGet(() -> completedFuture(false));
+            case SALE:
+                return pickOwned().map(this::sell)
+                                  .orElseGet(() -> completedFuture(false));
+            case REPLENISHMENT:
+                return replenish(REPLENISHMENT_AMOUNT);
+            case WITHDRAWAL:
+                return withdraw();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private CompletableFuture<Boolean> purchase(Share share) {
+        var purchase = PurchaseId.generate();
+        var outcome = outcome(SharesPurchased.class,
+                              eq(SharesPurchased.Field.purchaseProcess(), purchase),
+                              SharesPurchaseFailed.class,
+                              eq(SharesPurchaseFailed.Field.purchaseProcess(), purchase));
+        post(PurchaseShares
+                     .newBuilder()
+                     .setPurchaseProcess(purchase)
+                     .setPurchaser(user)
+                     .setShare(share.getId())
+                     .setQuantity(1)
+                     .setPrice(share.getPrice())
+                     .vBuild());
+        return outcome.thenApply(purchased -> {
+            if (purchased) {
+                owned.merge(share.getId(), 1, Integer::sum);
+            }
+            return purchased;
+        });
+    }
+
+    private CompletableFuture<Boolean> sell(Share share) {
+        var sale = SaleId.generate();
+        var outcome = outcome(SharesSold.class,
+                              eq(SharesSold.Field.saleProcess(), sale),
+                              SharesSaleFailed.class,
+                              eq(SharesSaleFailed.Field.saleProcess(), sale));
+        post(SellShares
+                     .newBuilder()
+                     .setSaleProcess(sale)
+                     .setSeller(user)
+                     .setShare(share.getId())
+                     .setQuantity(1)
+                     .setPrice(share.getPrice())
+                     .vBuild());
+        return outcome.thenApply(sold -> {
+            if (sold) {
+                owned.merge(share.getId(), -1, Integer::sum);
+            }
+            return sold;
+        });
+    }
+
+    private CompletableFuture<Boolean> replenish(Money amount) {
+        var replenishment = ReplenishmentId.generate();
+        var outcome = outcome(WalletReplenished.class,
+                              eq(WalletReplenished.Field.replenishment(), replenishment),
+                              WalletNotReplenished.class,
+                              eq(WalletNotReplenished.Field.replenishment(), replenishment));
+        post(ReplenishWallet
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .setReplenishment(replenishment)
+                     .setIban(IBAN)
+                     .setMoneyAmount(amount)
+                     .vBuild());
+        return outcome;
+    }
+
+    private CompletableFuture<Boolean> withdraw() {
+        var withdrawal = WithdrawalId.generate();
+        var outcome = outcome(MoneyWithdrawn.class,
+                              eq(MoneyWithdrawn.Field.withdrawalProcess(), withdrawal),
+                              MoneyNotWithdrawn.class,
+                              eq(MoneyNotWithdrawn.Field.withdrawalProcess(), withdrawal));
+        post(WithdrawMoney
+                     .newBuilder()
+                     .setWithdrawalProcess(withdrawal)
+                     .setWallet(wallet)
+                     .setRecipient(IBAN)
+                     .setAmount(WITHDRAWAL_AMOUNT)
+                     .vBuild());
+        return outcome;
+    }
+
+    /**
+     * Picks a share available on the market at random.
+     */
+    private Optional<Share> pickShare() {
+        var current = market;
+        if (current == null || current.getShareCount() == 0) {
+            return Optional.empty();
+        }
+        var shares = current.getShareList();
+        return Optional.of(shares.get(ThreadLocalRandom.current()
+                                                       .nextInt(shares.size())));
+    }
+
+    /**
+     * Picks a share owned by the client at random, priced as on the market now.
+     */
+    private Optional<Share> pickOwned() {
+        var current = market;
+        if (current == null) {
+            return Optional.empty();
+        }
+        var available = current.getShareList()
+                               .stream()
+                               .filter(share -> owned.getOrDefault(share.getId(), 0) > 0)
+                               .collect(toImmutableList());
+        if (available.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(available.get(ThreadLocalRandom.current()
+                                                          .nextInt(available.size())));
+    }
+
+    /**
+     * Subscribes to the event telling that the operation has succeeded.
+     *
+     * @return the future completed with {@code true} once the event arrives
+     */
+    private <E extends EventMessage> CompletableFuture<Boolean>
+    outcome(Class<E> success, EventFilter filter) {
+        var result = new CompletableFuture<Boolean>();
+        var subscription = request().subscribeToEvent(success)
+                                    .where(filter)
+                                    .observe(event -> result.complete(true))
+                                    .post();
+        result.whenComplete((value, error) -> cancel(ImmutableList.of(subscription)));
+        return result.orTimeout(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    /**
+     * Subscribes to the events telling whether the operation has succeeded or failed.
+     *
+     * <p>Both subscriptions are cancelled as soon as one of the events arrives.
+     *
+     * @return the future completed with {@code true} if the operation has succeeded,
+     *         and with {@code false} if it has failed
+     */
+    private <S extends EventMessage, F extends EventMessage> CompletableFuture<Boolean>
+    outcome(Class<S> success, EventFilter successFilter,
+            Class<F> failure, EventFilter failureFilter) {
+        var result = new CompletableFuture<Boolean>();
+        List<Subscription> subscriptions = new ArrayList<>(2);
+        subscriptions.add(request().subscribeToEvent(success)
+                                   .where(successFilter)
+                                   .observe(event -> result.complete(true))
+                                   .post());
+        subscriptions.add(request().subscribeToEvent(failure)
+                                   .where(failureFilter)
+                                   .observe(event -> result.complete(false))
+                                   .post());
+        result.whenComplete((value, error) -> cancel(subscriptions));
+        return result.orTimeout(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    private void cancel(List<Subscription> subscriptions) {
+        executor.execute(() -> subscriptions.forEach(client.subscriptions()::cancel));
+    }
+
+    private void post(CommandMessage command) {
+        request().command(command)
+                 .postAndForget();
+    }
+
+    private ClientRequest request() {
+        return client.onBehalfOf(user);
+    }
+
+    private static Money usd(long dollars) {
+        return Cents.toMoney(dollars * 100, Currency.USD);
+    }
+}
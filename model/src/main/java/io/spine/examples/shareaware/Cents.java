@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware;
+
+import io.spine.money.Currency;
+import io.spine.money.Money;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Preconditions2.checkBounds;
+
+/**
+ * The arithmetic of money amounts represented as the {@code long} number of cents.
+ *
+ * <p>Unlike {@link MoneyCalculator}, the operations neither allocate nor validate
+ * the intermediate results. They are meant for the handlers performing several
+ * operations on the same amounts: the {@code Money} values are converted to cents
+ * once when the handler starts and back to {@code Money} when its result is built.
+ *
+ * <p>All the amounts are non-negative. The operations throw {@code ArithmeticException}
+ * if the result does not fit into a {@code long}.
+ *
+ * <p>As {@code MoneyCalculator}, this implementation works properly only with currencies
+ * containing 100 coins in one unit.
+ */
+public final class Cents {
+
+    private static final int CENTS_IN_UNIT = 100;
+    private static final int MAX_CENTS_AMOUNT = CENTS_IN_UNIT - 1;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Cents() {
+    }
+
+    /**
+     * Returns the number of cents in the given {@code Money}.
+     */
+    public static long of(Money money) {
+        checkNotNull(money);
+        checkState(money.getUnits() >= 0);
+        checkBounds(money.getNanos(), "money.nanos", 0, MAX_CENTS_AMOUNT);
+        return Math.addExact(Math.multiplyExact(money.getUnits(), CENTS_IN_UNIT),
+                             money.getNanos());
+    }
+
+    /**
+     * Returns the number of cents in the given {@code Money},
+     * checking that it is in the given currency.
+     */
+    public static long of(Money money, Currency currency) {
+        checkNotNull(money);
+        checkNotNull(currency);
+        checkState(money.getCurrency() == currency,
+                   "Cannot calculate two `Money` objects with different currencies.");
+        return of(money);
+    }
+
+    /**
+     * Creates the {@code Money} of the given number of cents in the given currency.
+     */
+    public static Money toMoney(long cents, Currency currency) {
+        checkNotNull(currency);
+        checkArgument(cents >= 0, "The amount of money cannot be negative.");
+        return Money
+                .newBuilder()
+                .setCurrency(currency)
+                .setUnits(cents / CENTS_IN_UNIT)
+                .setNanos((int) (cents % CENTS_IN_UNIT))
+                .build();
+    }
+
+    /**
+     * Calculates the sum of two amounts.
+     */
+    public static long sum(long first, long second) {
+        return Math.addExact(first, second);
+    }
+
+    /**
+     * Subtracts the second amount from the first.
+     *
+     * @throws IllegalStateException
+     *         if the second amount is greater than the first
+     */
+    public static long subtract(long first, long second) {
+        checkState(first >= second);
+        return first - second;
+    }
+
+    /**
+     * Multiplies the amount on the non-negative multiplier.
+     */
+    public static long multiply(long amount, int multiplier) {
+        checkArgument(multiplier >= 0);
+        return Math.multiplyExact(amount, multiplier);
+    }
+}
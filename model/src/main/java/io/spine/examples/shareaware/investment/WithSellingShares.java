@@ -29,9 +29,11 @@ package io.spine.examples.shareaware.investment;
 import com.google.errorprone.annotations.Immutable;
 import io.spine.annotation.GeneratedMixin;
 import io.spine.base.SerializableMessage;
+import io.spine.examples.shareaware.Cents;
 import io.spine.money.Money;
 
-import static io.spine.examples.shareaware.MoneyCalculator.*;
+import static io.spine.examples.shareaware.Cents.multiply;
+import static io.spine.examples.shareaware.Cents.toMoney;
 
 /**
  * Provides a convenience API for signals describing the operations on shares sale.
@@ -54,6 +56,7 @@ public interface WithSellingShares extends SerializableMessage {
      * Returns the price of shares described by this signal.
      */
     default Money totalCost() {
-        return multiply(getPrice(), getQuantity());
+        var price = getPrice();
+        return toMoney(multiply(Cents.of(price), getQuantity()), price.getCurrency());
     }
 }
@@ -26,6 +26,7 @@
 
 package io.spine.examples.shareaware.share;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -35,6 +36,7 @@ import io.spine.money.Money;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URL;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,19 +75,45 @@ public final class SharesReader {
     public static Set<Share> read(File file) {
         checkNotNull(file);
         var mapper = new ObjectMapper(new YAMLFactory());
+        try {
+            return read(mapper, mapper.getFactory()
+                                      .createParser(file));
+        } catch (IOException e) {
+            throw illegalArgumentWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Returns the set of shares read from the YAML file at the provided URL.
+     *
+     * <p>Unlike {@link #read(File)}, reads the files packed into JARs as well.
+     *
+     * <p>The shares must be written to the file in the same way
+     * as for {@link #read(File)}.
+     */
+    public static Set<Share> read(URL url) {
+        checkNotNull(url);
+        var mapper = new ObjectMapper(new YAMLFactory());
+        try {
+            return read(mapper, mapper.getFactory()
+                                      .createParser(url));
+        } catch (IOException e) {
+            throw illegalArgumentWithCauseOf(e);
+        }
+    }
+
+    private static Set<Share> read(ObjectMapper mapper, JsonParser parser) throws IOException {
         var mapType = mapper
                 .getTypeFactory()
                 .constructMapLikeType(Map.class, String.class, String.class);
         JavaType listType = mapper
                 .getTypeFactory()
                 .constructCollectionType(List.class, mapType);
-        try {
-            List<Map<String, String>> sharesData = mapper.readValue(file, listType);
+        try (parser) {
+            List<Map<String, String>> sharesData = mapper.readValue(parser, listType);
             return sharesData.stream()
                     .map(SharesReader::toShare)
                     .collect(toSet());
-        } catch (IOException e) {
-            throw illegalArgumentWithCauseOf(e);
         }
     }
 
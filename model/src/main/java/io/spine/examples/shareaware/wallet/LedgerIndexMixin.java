@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.wallet;
+
+import com.google.errorprone.annotations.Immutable;
+import com.google.protobuf.Timestamp;
+import io.spine.annotation.GeneratedMixin;
+import io.spine.base.EntityState;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.protobuf.util.Timestamps.compare;
+
+/**
+ * Navigates the time index of the wallet transaction history.
+ */
+@Immutable
+@GeneratedMixin
+public interface LedgerIndexMixin extends EntityState {
+
+    /**
+     * Returns the summaries of the history chunks, ordered by their numbers.
+     */
+    List<LedgerChunkSummary> getChunkList();
+
+    /**
+     * Returns the summary of the chunk holding the entries of the given time.
+     *
+     * <p>If the time falls between two chunks, returns the later one.
+     * Returns an empty {@code Optional} if the history ends before the given time.
+     *
+     * <p>The chunks do not overlap in time, so the chunk is found by the binary search
+     * over the index, without reading the history itself.
+     */
+    default Optional<LedgerChunkSummary> chunkAt(Timestamp time) {
+        var chunks = getChunkList();
+        var low = 0;
+        var high = chunks.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (compare(chunks.get(middle).getLastEntryTime(), time) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == chunks.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(chunks.get(low));
+    }
+}
@@ -29,6 +29,7 @@ package io.spine.examples.shareaware.wallet;
 import com.google.errorprone.annotations.Immutable;
 import io.spine.annotation.GeneratedMixin;
 import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.BasketId;
 import io.spine.examples.shareaware.WithdrawalOperationId;
 import io.spine.examples.shareaware.PurchaseId;
 import io.spine.examples.shareaware.WithdrawalId;
@@ -57,16 +58,32 @@ public interface MoneyWithdrawalSignal extends EventMessage {
     }
 
     /**
-     * Retrieves the value of the set ID (either {@code WithdrawalId} or {@code PurchaseId}).
+     * Retrieves the value of the set ID (either {@code WithdrawalId}, {@code PurchaseId},
+     * or {@code BasketId}).
      *
-     * <p>In case when neither {@code WithdrawalId} nor {@code PurchaseId}
-     * is not set in the corresponding {@code OperationId}, returns an empty string.
+     * <p>In case when none of the IDs is set in the corresponding {@code OperationId},
+     * returns an empty string.
      */
     default String operationIdValue() {
-        if (isPartOfWithdrawal()) {
-            return getOperation().getWithdrawal().getUuid();
+        return idValueOf(getOperation());
+    }
+
+    /**
+     * Retrieves the value of the ID set in the given {@code OperationId}.
+     *
+     * <p>Returns an empty string if no ID is set.
+     */
+    static String idValueOf(WithdrawalOperationId operation) {
+        switch (operation.getTypeCase()) {
+            case WITHDRAWAL:
+                return operation.getWithdrawal().getUuid();
+            case PURCHASE:
+                return operation.getPurchase().getUuid();
+            case BASKET:
+                return operation.getBasket().getUuid();
+            default:
+                return "";
         }
-        return getOperation().getPurchase().getUuid();
     }
 
     /**
@@ -92,4 +109,21 @@ public interface MoneyWithdrawalSignal extends EventMessage {
     default boolean isPartOfPurchase() {
         return getOperation().hasPurchase();
     }
+
+    /**
+     * Fetches the {@code BasketId} from {@code OperationId} without checking for its existence.
+     *
+     * <p>It will return the default instance of {@code BasketId}
+     * if it is absent in {@code OperationId}.
+     */
+    default BasketId basketProcess() {
+        return getOperation().getBasket();
+    }
+
+    /**
+     * Tells whether this signal is a part of the basket purchase process, or not.
+     */
+    default boolean isPartOfBasket() {
+        return getOperation().hasBasket();
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware;
+
+import com.google.common.testing.NullPointerTester;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+import io.spine.testing.UtilityClassTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.given.GivenMoney.moneyOf;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`Cents` should")
+final class CentsTest extends UtilityClassTest<Cents> {
+
+    CentsTest() {
+        super(Cents.class);
+    }
+
+    @Override
+    protected void configure(NullPointerTester tester) {
+        super.configure(tester);
+        tester.setDefault(Money.class, usd(0));
+    }
+
+    @Test
+    @DisplayName("convert `Money` to cents and back")
+    void convert() {
+        var money = usd(151, 7);
+        var cents = Cents.of(money);
+
+        assertThat(cents).isEqualTo(15107);
+        assertThat(Cents.toMoney(cents, Currency.USD)).isEqualTo(money);
+        assertThat(Cents.toMoney(0, Currency.USD)).isEqualTo(usd(0));
+    }
+
+    @Test
+    @DisplayName("calculate the same results as `MoneyCalculator`")
+    void matchCalculator() {
+        var first = usd(100, 90);
+        var second = usd(50, 20);
+
+        assertThat(fromCents(Cents.sum(Cents.of(first), Cents.of(second))))
+                .isEqualTo(MoneyCalculator.sum(first, second));
+        assertThat(fromCents(Cents.subtract(Cents.of(first), Cents.of(second))))
+                .isEqualTo(MoneyCalculator.subtract(first, second));
+        assertThat(fromCents(Cents.multiply(Cents.of(first), 3)))
+                .isEqualTo(MoneyCalculator.multiply(first, 3));
+    }
+
+    @Test
+    @DisplayName("not subtract the greater amount")
+    void notSubtractGreater() {
+        assertThrows(IllegalStateException.class, () -> Cents.subtract(10, 11));
+    }
+
+    @Test
+    @DisplayName("not multiply on a negative multiplier")
+    void notMultiplyOnNegative() {
+        assertThrows(IllegalArgumentException.class, () -> Cents.multiply(10, -1));
+    }
+
+    @Test
+    @DisplayName("throw on overflow")
+    void overflow() {
+        assertThrows(ArithmeticException.class, () -> Cents.sum(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Cents.multiply(Long.MAX_VALUE, 2));
+        assertThrows(ArithmeticException.class, () -> Cents.of(usd(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("not convert the money in another currency")
+    void checkCurrency() {
+        assertThrows(IllegalStateException.class,
+                     () -> Cents.of(moneyOf(20, Currency.UAH), Currency.USD));
+    }
+
+    @Test
+    @DisplayName("not convert the invalid money")
+    void checkMoney() {
+        assertThrows(IllegalStateException.class, () -> Cents.of(usd(-1)));
+        assertThrows(IllegalArgumentException.class, () -> Cents.of(usd(0, 120)));
+        assertThrows(IllegalArgumentException.class, () -> Cents.toMoney(-1, Currency.USD));
+    }
+
+    private static Money fromCents(long cents) {
+        return Cents.toMoney(cents, Currency.USD);
+    }
+}
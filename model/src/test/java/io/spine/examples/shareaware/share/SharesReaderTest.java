@@ -57,6 +57,17 @@ final class SharesReaderTest extends UtilityClassTest<SharesReader> {
         assertThat(shares).isEqualTo(expected);
     }
 
+    @Test
+    @DisplayName("read shares from URL")
+    void readSharesFromUrl() {
+        var classLoader = currentThread().getContextClassLoader();
+        var url = requireNonNull(classLoader.getResource("testing-shares.yml"));
+        var shares = SharesReader.read(url);
+        var expected = expectedSharesFromFile();
+
+        assertThat(shares).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("throw `IllegalArgumentException` when the provided file is invalid")
     void throwException() {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.wallet;
+
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`LedgerIndexMixin` should")
+final class LedgerIndexMixinTest {
+
+    private static final WalletLedgerIndex index = WalletLedgerIndex
+            .newBuilder()
+            .addChunk(chunk(0, 10, 20))
+            .addChunk(chunk(1, 30, 40))
+            .addChunk(chunk(2, 50, 50))
+            .build();
+
+    @Test
+    @DisplayName("find the chunk holding the entries of the given time")
+    void findChunk() {
+        assertThat(index.chunkAt(seconds(15))).isEqualTo(Optional.of(index.getChunk(0)));
+        assertThat(index.chunkAt(seconds(30))).isEqualTo(Optional.of(index.getChunk(1)));
+        assertThat(index.chunkAt(seconds(50))).isEqualTo(Optional.of(index.getChunk(2)));
+    }
+
+    @Test
+    @DisplayName("return the later chunk when the time falls between two chunks")
+    void betweenChunks() {
+        assertThat(index.chunkAt(seconds(5))).isEqualTo(Optional.of(index.getChunk(0)));
+        assertThat(index.chunkAt(seconds(25))).isEqualTo(Optional.of(index.getChunk(1)));
+    }
+
+    @Test
+    @DisplayName("return nothing when the history ends before the given time")
+    void afterHistory() {
+        assertThat(index.chunkAt(seconds(60))).isEqualTo(Optional.empty());
+        assertThat(WalletLedgerIndex.getDefaultInstance()
+                                    .chunkAt(seconds(0))).isEqualTo(Optional.empty());
+    }
+
+    private static LedgerChunkSummary chunk(int number, long firstSecond, long lastSecond) {
+        return LedgerChunkSummary
+                .newBuilder()
+                .setNumber(number)
+                .setFirstEntryTime(seconds(firstSecond))
+                .setLastEntryTime(seconds(lastSecond))
+                .setEntries(1)
+                .build();
+    }
+
+    private static Timestamp seconds(long value) {
+        return Timestamp
+                .newBuilder()
+                .setSeconds(value)
+                .build();
+    }
+}
@@ -51,3 +51,95 @@ dependencies {
 application {
     mainClass.set("io.spine.examples.shareaware.server.ShareAwareServer")
 }
+
+/*
+ * Load tests are tagged with `load` and take much longer than the regular ones.
+ * They are excluded from the `test` task and run only via `./gradlew loadTest`.
+ *
+ * The allocation budgets of the hot paths are checked by the regular tests
+ * and recorded anew with `-Dshareaware.allocation.record=true`.
+ */
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+    systemProperties(System.getProperties()
+                         .filterKeys { it.toString().startsWith("shareaware.allocation.") }
+                         .mapKeys { it.key.toString() })
+}
+
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs the load tests comparing the server configurations."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    systemProperties(System.getProperties()
+                         .filterKeys { it.toString().startsWith("shareaware.") }
+                         .mapKeys { it.key.toString() })
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+/*
+ * Summarizes the custom events of a flight recording dumped from the server:
+ * `./gradlew :server:analyzeRecording --args=path/to/recording.jfr`.
+ */
+val analyzeRecording by tasks.registering(JavaExec::class) {
+    description = "Summarizes the custom events of a dumped flight recording."
+    group = "application"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.spine.examples.shareaware.server.profiling.RecordingAnalyzer")
+}
+
+/*
+ * Builds the application class-data sharing (AppCDS) archive of the server,
+ * which shortens its startup, as the archived classes are mapped into memory
+ * already parsed and verified.
+ *
+ * The classes loaded by the server till it is ready are listed by a training run,
+ * and then dumped to the archive, which is used by `./gradlew :server:runWithCds`.
+ * The archived classes must come from JARs, and the class path of the run
+ * must be the same as the one used to dump the archive.
+ */
+val cdsDir = layout.buildDirectory.dir("cds")
+val cdsClassList = cdsDir.map { it.file("classes.lst") }
+val cdsArchive = cdsDir.map { it.file("shareaware.jsa") }
+val cdsClasspath = files(tasks.jar, configurations.runtimeClasspath)
+
+val listCdsClasses by tasks.registering(JavaExec::class) {
+    description = "Lists the classes loaded by the server till it is ready."
+    group = "application"
+    classpath = cdsClasspath
+    mainClass.set(application.mainClass)
+    args("--exit-when-ready=true")
+    jvmArgs("-Xshare:off", "-XX:DumpLoadedClassList=${cdsClassList.get().asFile}")
+    outputs.file(cdsClassList)
+    doFirst {
+        cdsDir.get().asFile.mkdirs()
+    }
+}
+
+val buildCdsArchive by tasks.registering(JavaExec::class) {
+    description = "Builds the class-data sharing archive of the server."
+    group = "application"
+    classpath = cdsClasspath
+    mainClass.set(application.mainClass)
+    jvmArgs("-Xshare:dump",
+            "-XX:SharedClassListFile=${cdsClassList.get().asFile}",
+            "-XX:SharedArchiveFile=${cdsArchive.get().asFile}")
+    inputs.files(listCdsClasses)
+    outputs.file(cdsArchive)
+}
+
+val runWithCds by tasks.registering(JavaExec::class) {
+    description = "Runs the server with the class-data sharing archive."
+    group = "application"
+    classpath = cdsClasspath
+    mainClass.set(application.mainClass)
+    jvmArgs("-Xshare:auto", "-XX:SharedArchiveFile=${cdsArchive.get().asFile}")
+    inputs.files(buildCdsArchive)
+}
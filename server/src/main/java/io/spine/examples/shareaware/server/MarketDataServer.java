@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import io.spine.examples.shareaware.server.market.MarketDataProvider;
+import io.spine.examples.shareaware.server.transport.Transport;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Runs the {@link MarketDataProvider} in a JVM separate from the {@link ShareAwareServer}.
+ *
+ * <p>The market data are delivered to the Trading context through
+ * the {@linkplain Transport#SHARED_MEMORY shared-memory} transport, so both
+ * processes must be launched with the same {@code --transport=shared-memory}
+ * and {@code --transport-dir} {@linkplain StartupOptions options}.
+ */
+public final class MarketDataServer {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private MarketDataServer() {
+    }
+
+    /**
+     * The entry point of the market data process.
+     *
+     * <p>Accepts the {@linkplain StartupOptions startup options} as arguments.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var options = StartupOptions.parse(args);
+        checkArgument(options.transport() == Transport.SHARED_MEMORY,
+                      "The market data server requires the `shared-memory` transport.");
+        ShareAwareServer.configureEnvironment(options);
+        var provider = MarketDataProvider.instance(options.threading());
+        provider.runWith(Duration.ofSeconds(10));
+        Thread.currentThread()
+              .join();
+    }
+}
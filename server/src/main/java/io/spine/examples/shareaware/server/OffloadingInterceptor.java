@@ -0,0 +1,332 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import com.google.protobuf.Any;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.grpc.SubscriptionServiceGrpc.SubscriptionServiceImplBase;
+import io.spine.examples.shareaware.server.metrics.SubscriptionMetrics;
+import io.spine.examples.shareaware.server.profiling.SubscriptionDeliveryEvent;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.newSequentialExecutor;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * Moves the delivery of the outgoing messages of a gRPC call
+ * from the thread that produced them onto the given executor.
+ *
+ * <p>Subscription updates are produced by the thread which has changed the subscribed
+ * entity. Offloading them releases this thread as soon as the update is handed over.
+ *
+ * <p>The messages of a single call are delivered one by one in the order
+ * they were sent, as {@code ServerCall} is not thread-safe.
+ *
+ * <p>The messages are handed over to the transport only while the client is ready
+ * to receive them. Until then, they wait in the buffer of the call. When the buffer
+ * of a subscriber exceeds the {@linkplain SubscriptionLimits limits}, the subscriber
+ * is either dropped or downgraded to the latest updates according
+ * to the {@link SlowConsumerPolicy}. The subscription of a dropped subscriber is canceled
+ * through the subscription service, so that its updates are no longer produced.
+ *
+ * <p>The active subscriptions, the time their updates wait to be delivered and
+ * the slow subscribers are counted in the {@link SubscriptionMetrics}.
+ *
+ * <p>The delivery of each message is recorded as a {@link SubscriptionDeliveryEvent},
+ * which includes the time the message has waited in the queue of its call.
+ */
+final class OffloadingInterceptor implements ServerInterceptor {
+
+    private final Executor executor;
+    private final SubscriptionLimits limits;
+    private final SubscriptionMetrics metrics;
+    private final SubscriptionServiceImplBase subscriptions;
+
+    OffloadingInterceptor(Executor executor,
+                          SubscriptionLimits limits,
+                          SubscriptionMetrics metrics,
+                          SubscriptionServiceImplBase subscriptions) {
+        this.executor = checkNotNull(executor);
+        this.limits = checkNotNull(limits);
+        this.metrics = checkNotNull(metrics);
+        this.subscriptions = checkNotNull(subscriptions);
+    }
+
+    @Override
+    public <Q, A> ServerCall.Listener<Q> interceptCall(ServerCall<Q, A> call,
+                                                      Metadata headers,
+                                                      ServerCallHandler<Q, A> next) {
+        var offloaded = new OffloadedCall<>(call, newSequentialExecutor(executor));
+        var listener = next.startCall(offloaded, headers);
+        return offloaded.new CallListener(listener);
+    }
+
+    private final class OffloadedCall<Q, A> extends SimpleForwardingServerCall<Q, A> {
+
+        private final Executor delivery;
+        private final AtomicBoolean subscribed = new AtomicBoolean();
+        private volatile String target;
+        private volatile @Nullable Subscription subscription;
+
+        /**
+         * The messages waiting to be handed over to the transport.
+         *
+         * <p>The messages are keyed by the entity whose state they bring once
+         * the subscriber receives only the latest updates, so that a newer update
+         * replaces the pending one. Otherwise, each message has its own key.
+         *
+         * <p>The buffer, as well as the other mutable state of the call except
+         * the subscription, is accessed only by the tasks of the delivery executor.
+         */
+        private final Map<Object, Pending<A>> pending = new LinkedHashMap<>();
+        private boolean latestOnly;
+        private boolean closed;
+
+        private OffloadedCall(ServerCall<Q, A> delegate, Executor delivery) {
+            super(delegate);
+            this.delivery = delivery;
+            this.target = delegate.getMethodDescriptor()
+                                  .getFullMethodName();
+        }
+
+        @Override
+        public void sendMessage(A message) {
+            var event = new SubscriptionDeliveryEvent();
+            event.begin();
+            var update = new Pending<>(message, System.nanoTime(), event);
+            delivery.execute(() -> enqueue(update));
+        }
+
+        private void enqueue(Pending<A> update) {
+            if (closed) {
+                return;
+            }
+            buffer(update);
+            drain();
+            if (pending.size() > limits.bufferCapacity()) {
+                overflow();
+            }
+        }
+
+        private void buffer(Pending<A> update) {
+            Object key = latestOnly ? entityOf(update.message) : null;
+            if (key == null) {
+                key = new Object();
+            } else {
+                pending.remove(key);
+            }
+            pending.put(key, update);
+        }
+
+        /**
+         * Hands over the pending messages to the transport while the client is ready.
+         */
+        private void drain() {
+            var updates = pending.values()
+                                 .iterator();
+            while (!closed && updates.hasNext() && isReady()) {
+                var update = updates.next();
+                updates.remove();
+                deliver(update);
+            }
+        }
+
+        private void deliver(Pending<A> update) {
+            super.sendMessage(update.message);
+            if (subscribed.get()) {
+                metrics.onDelivered(target, System.nanoTime() - update.sent);
+            }
+            update.event.complete(target);
+        }
+
+        /**
+         * Applies the {@linkplain SlowConsumerPolicy policy} to the subscriber
+         * whose updates have exceeded the buffer capacity.
+         */
+        private void overflow() {
+            if (limits.policy() == SlowConsumerPolicy.SNAPSHOT && !latestOnly) {
+                latestOnly = true;
+                metrics.onDowngraded(target);
+                var updates = new ArrayList<>(pending.values());
+                pending.clear();
+                updates.forEach(this::buffer);
+            }
+            if (pending.size() > limits.bufferCapacity()) {
+                drop();
+            }
+        }
+
+        private void drop() {
+            pending.clear();
+            closed = true;
+            metrics.onDropped(target);
+            unsubscribe();
+            cancelSubscription();
+            var status = Status.RESOURCE_EXHAUSTED
+                    .withDescription("The subscriber is too slow to receive the updates.");
+            super.close(status, new Metadata());
+        }
+
+        /**
+         * Cancels the subscription of the dropped subscriber, as closing its call
+         * does not stop the Bounded Context from producing the updates.
+         */
+        private void cancelSubscription() {
+            var subscription = this.subscription;
+            if (subscription != null) {
+                subscriptions.cancel(subscription, noOpObserver());
+            }
+        }
+
+        /**
+         * Returns the ID of the entity whose state the given message brings,
+         * or {@code null} if the message is not an update of a single entity.
+         */
+        private @Nullable Any entityOf(A message) {
+            if (!(message instanceof SubscriptionUpdate)) {
+                return null;
+            }
+            var update = (SubscriptionUpdate) message;
+            if (!update.hasEntityUpdates()) {
+                return null;
+            }
+            var entities = update.getEntityUpdates();
+            if (entities.getUpdateCount() != 1) {
+                return null;
+            }
+            return entities.getUpdate(0)
+                           .getId();
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            delivery.execute(() -> {
+                if (closed) {
+                    return;
+                }
+                pending.values()
+                       .forEach(this::deliver);
+                pending.clear();
+                closed = true;
+                unsubscribe();
+                super.close(status, trailers);
+            });
+        }
+
+        /**
+         * Counts the call as a subscription if it activates the subscription
+         * to the messages of some type.
+         */
+        private void subscribe(Q request) {
+            if (!(request instanceof Subscription)
+                    || getMethodDescriptor().getType() != MethodType.SERVER_STREAMING) {
+                return;
+            }
+            var subscription = (Subscription) request;
+            this.subscription = subscription;
+            target = subscription.getTopic()
+                                 .getTarget()
+                                 .getType();
+            if (subscribed.compareAndSet(false, true)) {
+                metrics.onSubscribed(target);
+            }
+        }
+
+        private void unsubscribe() {
+            if (subscribed.compareAndSet(true, false)) {
+                metrics.onUnsubscribed(target);
+            }
+        }
+
+        /**
+         * Tracks the subscription of the call and resumes the delivery
+         * when the client becomes ready to receive the messages.
+         */
+        private final class CallListener extends SimpleForwardingServerCallListener<Q> {
+
+            private CallListener(ServerCall.Listener<Q> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public void onMessage(Q message) {
+                subscribe(message);
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onReady() {
+                delivery.execute(OffloadedCall.this::drain);
+                super.onReady();
+            }
+
+            @Override
+            public void onCancel() {
+                unsubscribe();
+                super.onCancel();
+            }
+
+            @Override
+            public void onComplete() {
+                unsubscribe();
+                super.onComplete();
+            }
+        }
+    }
+
+    /**
+     * A message waiting to be delivered.
+     */
+    private static final class Pending<A> {
+
+        private final A message;
+        private final long sent;
+        private final SubscriptionDeliveryEvent event;
+
+        private Pending(A message, long sent, SubscriptionDeliveryEvent event) {
+            this.message = message;
+            this.sent = sent;
+            this.event = event;
+        }
+    }
+}
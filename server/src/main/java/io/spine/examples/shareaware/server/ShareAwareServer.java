@@ -27,15 +27,32 @@
 package io.spine.examples.shareaware.server;
 
 import io.spine.environment.Environment;
+import io.spine.examples.shareaware.server.cluster.MembershipFile;
+import io.spine.examples.shareaware.server.cluster.MembershipWatcher;
+import io.spine.examples.shareaware.server.cluster.PartitionRing;
+import io.spine.examples.shareaware.server.cluster.Partitioning;
 import io.spine.examples.shareaware.server.market.MarketDataProvider;
+import io.spine.examples.shareaware.server.metrics.HandlerMetrics;
+import io.spine.examples.shareaware.server.metrics.MetricsEndpoint;
+import io.spine.examples.shareaware.server.metrics.SubscriptionMetrics;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
+import io.spine.examples.shareaware.server.paymentgateway.Settlement;
+import io.spine.examples.shareaware.server.profiling.ContinuousRecording;
+import io.spine.examples.shareaware.server.profiling.FlightTracing;
+import io.spine.examples.shareaware.server.profiling.RecordingAnalyzer;
+import io.spine.examples.shareaware.server.profiling.RecordingEndpoint;
+import io.spine.examples.shareaware.server.transport.Transport;
+import io.spine.server.BoundedContextBuilder;
 import io.spine.server.Server;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
-import io.spine.server.transport.memory.InMemoryTransportFactory;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 
 /**
@@ -44,9 +61,34 @@ import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
  * <p>Server side of this application is currently running in in-memory storage mode.
  * Therefore, any changes made by users of this application will not be persisted
  * in-between the application launches.
+ *
+ * <p>When launched with the {@linkplain Transport#SHARED_MEMORY shared-memory} transport,
+ * the server does not provide the market data itself. Instead, it expects them
+ * from the {@link MarketDataServer} running in a separate JVM on the same host.
+ *
+ * <p>Several servers may run as the nodes of a cluster, each launched with its own
+ * {@code --node} option. The users are partitioned across the nodes, while the market
+ * data are delivered to all of them through the shared-memory transport.
+ *
+ * <p>The handlers of the Trading context and its subscriptions are
+ * {@linkplain HandlerMetrics measured}, and the metrics are served locally
+ * if the {@code --metrics-port} option is set.
+ *
+ * <p>If the {@code --recording-minutes} option is set, the server runs
+ * a {@linkplain ContinuousRecording continuous flight recording}, which may be dumped
+ * through the {@link RecordingEndpoint} and summarized by the {@link RecordingAnalyzer}.
+ *
+ * <p>The money transfers of the Trading context are settled in batches by
+ * the {@link Settlement} shared by the server, which is closed once the server stops.
  */
 public class ShareAwareServer {
 
+    private static final HandlerMetrics HANDLER_METRICS = HandlerMetrics.newInstance();
+    private static final SubscriptionMetrics SUBSCRIPTION_METRICS =
+            SubscriptionMetrics.newInstance();
+    private static final Settlement SETTLEMENT = Settlement.newBuilder()
+                                                           .build();
+
     /**
      * Prevents instantiation of this class.
      */
@@ -55,13 +97,134 @@ public class ShareAwareServer {
 
     /**
      * The entry point of the ShareAware application.
+     *
+     * <p>Accepts the {@linkplain StartupOptions startup options} as arguments.
+     *
+     * <p>The phases of the startup are {@linkplain StartupPhases timed and logged}.
+     * The flight recording starts first, so that it covers the rest of the startup.
+     * The metrics endpoint starts in parallel with the Trading context.
+     */
+    public static void main(String[] args) throws Exception {
+        var startup = new StartupPhases();
+        var options = startup.time("options", () -> StartupOptions.parse(args));
+        var recording = startup.time("flight recording", () -> startRecording(options));
+        Optional<RecordingEndpoint> dumps = Optional.empty();
+        if (recording.isPresent()) {
+            dumps = acceptDumps(options, recording.get());
+        }
+        var metrics = startup.supplyAsync("metrics endpoint", () -> serveMetrics(options));
+        try {
+            if (options.node()
+                       .isPresent()) {
+                runClusterNode(options, startup);
+                return;
+            }
+            var server = startTradingServer(options, startup);
+            if (options.exitWhenReady()) {
+                server.shutdownAndWait();
+                return;
+            }
+            if (options.transport() == Transport.IN_MEMORY) {
+                runMarketData(options.threading());
+            }
+            server.awaitTermination();
+        } finally {
+            dumps.ifPresent(RecordingEndpoint::close);
+            recording.ifPresent(ContinuousRecording::close);
+            closeWhenStarted(metrics);
+            SETTLEMENT.close();
+        }
+    }
+
+    /**
+     * Closes the metrics endpoint once it is started, unless it has failed to start.
+     */
+    private static void closeWhenStarted(CompletableFuture<Optional<MetricsEndpoint>> metrics) {
+        metrics.thenAccept(endpoint -> endpoint.ifPresent(MetricsEndpoint::close))
+               .exceptionally(failure -> null)
+               .join();
+    }
+
+    /**
+     * Starts serving the metrics of the message handlers and the subscriptions
+     * if the port for them is set in the options.
+     */
+    private static Optional<MetricsEndpoint> serveMetrics(StartupOptions options)
+            throws IOException {
+        var port = options.metricsPort();
+        if (port.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(MetricsEndpoint.start(port.get(), HANDLER_METRICS,
+                                                 SUBSCRIPTION_METRICS));
+    }
+
+    /**
+     * Starts the continuous recording if the recorded period is set in the options.
+     */
+    private static Optional<ContinuousRecording> startRecording(StartupOptions options) {
+        return options.recordingAge()
+                      .map(age -> ContinuousRecording.start(age, options.recordingDir()));
+    }
+
+    /**
+     * Starts accepting the command to dump the recording
+     * if the port for it is set in the options.
      */
-    public static void main(String[] args) throws IOException {
-        var server = create();
-        server.start();
-        MarketDataProvider provider = MarketDataProvider.instance();
+    private static Optional<RecordingEndpoint> acceptDumps(StartupOptions options,
+                                                           ContinuousRecording recording)
+            throws IOException {
+        var port = options.recordingPort();
+        if (port.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(RecordingEndpoint.start(port.get(), recording));
+    }
+
+    /**
+     * Runs the server as a node of the cluster.
+     *
+     * <p>The node joins the cluster through the membership file and
+     * rebalances the users whenever other nodes join. The environment is configured
+     * while the node is joining.
+     *
+     * <p>If the {@linkplain StartupOptions#exitWhenReady() exit when ready} option is set,
+     * the node shuts down as soon as it is ready to serve.
+     */
+    private static void runClusterNode(StartupOptions options, StartupPhases startup)
+            throws Exception {
+        checkArgument(options.transport() == Transport.SHARED_MEMORY,
+                      "The cluster nodes receive the market data only through " +
+                              "the `shared-memory` transport.");
+        var node = options.node()
+                          .orElseThrow();
+        var membership = MembershipFile.at(options.clusterFile());
+        var joining = startup.supplyAsync("cluster membership", () -> {
+            membership.join(node);
+            return Partitioning.of(node, PartitionRing.of(membership.read()));
+        });
+        startup.run("environment", () -> configureEnvironment(options));
+        var partitioning = StartupPhases.await(joining);
+        var server = startup.time("trading context", () -> TradingServer.clusterNode(
+                partitioning, newContext(options), options.threading(), options.admissionLimits(),
+                options.subscriptionLimits(), SUBSCRIPTION_METRICS,
+                options.reservationTimeout()
+                       .orElse(null)
+        ));
+        try (var ignored = MembershipWatcher.start(membership, partitioning)) {
+            startup.run("gRPC server start", server::start);
+            startup.ready();
+            if (options.exitWhenReady()) {
+                server.shutdownAndWait();
+                return;
+            }
+            server.awaitTermination();
+        }
+    }
+
+    private static void runMarketData(ThreadingMode threading) {
+        MarketDataProvider provider = MarketDataProvider.instance(threading);
         provider.runWith(Duration.ofSeconds(10));
-        server.awaitTermination();
     }
 
     /**
@@ -69,20 +232,76 @@ public class ShareAwareServer {
      * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default} port.
      */
     static Server create() {
-        configureEnvironment();
-        var context = TradingContext.newBuilder();
+        return create(StartupOptions.defaults());
+    }
+
+    /**
+     * Creates {@code Server} instance at the
+     * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default} port
+     * configured according to the passed options.
+     */
+    static Server create(StartupOptions options) {
+        configureEnvironment(options);
+        var context = newContext(options);
         return Server
                 .atPort(DEFAULT_CLIENT_SERVICE_PORT)
                 .add(context)
                 .build();
     }
 
-    private static void configureEnvironment() {
+    /**
+     * Creates and starts {@code TradingServer} instance at the
+     * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default} port,
+     * which handles the requests on the threads of the mode set in the options.
+     *
+     * <p>The shares available on the market do not depend on the Trading context,
+     * so they are loaded in parallel with setting up the repositories of the context.
+     */
+    private static TradingServer startTradingServer(StartupOptions options,
+                                                    StartupPhases startup) throws Exception {
+        startup.run("environment", () -> configureEnvironment(options));
+        var shares = options.transport() == Transport.IN_MEMORY
+                     ? startup.runAsync("market shares", MarketDataProvider::loadShares)
+                     : CompletableFuture.<Void>completedFuture(null);
+        var server = startup.time("trading context", () -> TradingServer.atPort(
+                DEFAULT_CLIENT_SERVICE_PORT, newContext(options),
+                options.threading(), options.admissionLimits(),
+                options.subscriptionLimits(), SUBSCRIPTION_METRICS,
+                options.reservationTimeout()
+                       .orElse(null)
+        ));
+        shares.join();
+        startup.run("gRPC server start", server::start);
+        startup.ready();
+        return server;
+    }
+
+    /**
+     * Creates the builder of the Trading context, whose handlers are measured
+     * and whose money transfers are settled by the shared settlement.
+     */
+    private static BoundedContextBuilder newContext(StartupOptions options) {
+        var context = TradingContext.newBuilder(options.purchaseFlow(),
+                                                PaymentGatewayAdapter.using(SETTLEMENT));
+        HANDLER_METRICS.registerWith(context);
+        return context;
+    }
+
+    /**
+     * Registers the production environment and configures the storage,
+     * the transport and the tracing of the message handlers for it.
+     *
+     * <p>The handling of the commands is also recorded as the flight recorder events.
+     */
+    static void configureEnvironment(StartupOptions options) {
         Environment environment = Environment.instance();
         environment.register(Production.class);
+        var transport = options.transport()
+                               .newFactory(options.transportDir());
         ServerEnvironment
                 .when(Production.class)
                 .use(InMemoryStorageFactory.newInstance())
-                .use(InMemoryTransportFactory.newInstance());
+                .use(transport)
+                .use(FlightTracing.around(HANDLER_METRICS.tracing()));
     }
 }
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HostAndPort;
+import io.spine.examples.shareaware.server.admission.AdmissionLimits;
+import io.spine.examples.shareaware.server.investment.PurchaseFlow;
+import io.spine.examples.shareaware.server.metrics.HandlerMetrics;
+import io.spine.examples.shareaware.server.metrics.SubscriptionMetrics;
+import io.spine.examples.shareaware.server.profiling.ContinuousRecording;
+import io.spine.examples.shareaware.server.transport.Transport;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * The options with which the {@link ShareAwareServer} is launched.
+ *
+ * <p>The options are passed to the server as command-line arguments
+ * in the {@code --name=value} form:
+ *
+ * <ul>
+ *     <li>{@code --threading=platform|virtual} chooses the {@link ThreadingMode},
+ *     {@code platform} is used by default;</li>
+ *     <li>{@code --purchase-flow=standard|low-latency} chooses the {@link PurchaseFlow},
+ *     {@code standard} is used by default;</li>
+ *     <li>{@code --transport=in-memory|shared-memory} chooses the {@link Transport}
+ *     between the Bounded Contexts, {@code in-memory} is used by default;</li>
+ *     <li>{@code --transport-dir=path} sets the directory through which the shared-memory
+ *     transport exchanges the messages, {@code shareaware-transport} in the temporary
+ *     directory is used by default;</li>
+ *     <li>{@code --node=host:port} launches the server as a node of the cluster,
+ *     which partitions the users across several servers on the same host;</li>
+ *     <li>{@code --cluster-file=path} sets the file listing the nodes of the cluster,
+ *     {@code shareaware-cluster} in the temporary directory is used by default;</li>
+ *     <li>{@code --intake-queue=N} sets the maximum number of commands of all the users
+ *     waiting to be handled;</li>
+ *     <li>{@code --user-command-rate=N} sets the number of commands per second
+ *     a single user may send;</li>
+ *     <li>{@code --subscription-buffer=N} sets the maximum number of the updates
+ *     waiting for a single subscriber;</li>
+ *     <li>{@code --slow-consumers=drop|snapshot} chooses the {@link SlowConsumerPolicy}
+ *     applied to the subscribers exceeding the buffer, {@code snapshot} is used by default;</li>
+ *     <li>{@code --reservation-timeout-seconds=N} cancels the reservations of money and shares
+ *     held by the processes longer than the given number of seconds, the reservations are
+ *     not cancelled by default;</li>
+ *     <li>{@code --metrics-port=N} serves the {@linkplain HandlerMetrics metrics}
+ *     of the message handlers and the {@linkplain SubscriptionMetrics subscriptions}
+ *     at the given port of the local host, the metrics are not served by default;</li>
+ *     <li>{@code --recording-minutes=N} runs the {@linkplain ContinuousRecording continuous
+ *     flight recording}, which keeps the data of the given number of last minutes,
+ *     the recording does not run by default;</li>
+ *     <li>{@code --recording-dir=path} sets the directory to which the recording is dumped,
+ *     {@code shareaware-recordings} in the temporary directory is used by default;</li>
+ *     <li>{@code --recording-port=N} accepts the command to dump the recording at the given
+ *     port of the local host, the command is not accepted by default;</li>
+ *     <li>{@code --exit-when-ready=true|false} stops the standalone server as soon as
+ *     it is ready, as the training run building the class-data sharing archive does,
+ *     {@code false} is used by default.</li>
+ * </ul>
+ *
+ * <p>The intake limits which are not set are taken from the
+ * {@linkplain AdmissionLimits#defaults() defaults}, as well as
+ * the {@linkplain SubscriptionLimits#defaults() subscription limits}.
+ */
+public final class StartupOptions {
+
+    private static final String THREADING = "threading";
+    private static final String PURCHASE_FLOW = "purchase-flow";
+    private static final String TRANSPORT = "transport";
+    private static final String TRANSPORT_DIR = "transport-dir";
+    private static final String NODE = "node";
+    private static final String CLUSTER_FILE = "cluster-file";
+    private static final String INTAKE_QUEUE = "intake-queue";
+    private static final String USER_COMMAND_RATE = "user-command-rate";
+    private static final String SUBSCRIPTION_BUFFER = "subscription-buffer";
+    private static final String SLOW_CONSUMERS = "slow-consumers";
+    private static final String RESERVATION_TIMEOUT_SECONDS = "reservation-timeout-seconds";
+    private static final String METRICS_PORT = "metrics-port";
+    private static final String RECORDING_MINUTES = "recording-minutes";
+    private static final String RECORDING_DIR = "recording-dir";
+    private static final String RECORDING_PORT = "recording-port";
+    private static final String EXIT_WHEN_READY = "exit-when-ready";
+    private static final ImmutableSet<String> KNOWN_OPTIONS =
+            ImmutableSet.of(THREADING, PURCHASE_FLOW, TRANSPORT, TRANSPORT_DIR,
+                            NODE, CLUSTER_FILE, INTAKE_QUEUE, USER_COMMAND_RATE,
+                            SUBSCRIPTION_BUFFER, SLOW_CONSUMERS, RESERVATION_TIMEOUT_SECONDS,
+                            METRICS_PORT, RECORDING_MINUTES, RECORDING_DIR, RECORDING_PORT,
+                            EXIT_WHEN_READY);
+
+    private final ImmutableMap<String, String> values;
+
+    private StartupOptions(ImmutableMap<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the options with all the values set to defaults.
+     */
+    public static StartupOptions defaults() {
+        return new StartupOptions(ImmutableMap.of());
+    }
+
+    /**
+     * Parses the options from the command-line arguments.
+     *
+     * @throws IllegalArgumentException
+     *         if an argument is not recognized or has an unknown value
+     */
+    public static StartupOptions parse(String... args) {
+        checkNotNull(args);
+        var values = ImmutableMap.<String, String>builder();
+        for (var arg : args) {
+            values.put(nameOf(arg), valueOf(arg));
+        }
+        var options = new StartupOptions(values.build());
+        options.validate();
+        return options;
+    }
+
+    /**
+     * Checks that all the options are known and parses their values,
+     * so that the unknown values are reported right away.
+     */
+    private void validate() {
+        for (var name : values.keySet()) {
+            if (!KNOWN_OPTIONS.contains(name)) {
+                throw newIllegalArgumentException("Unknown startup option `%s`.", name);
+            }
+        }
+        checkNotNull(threading());
+        checkNotNull(purchaseFlow());
+        checkNotNull(transport());
+        checkNotNull(node());
+        checkNotNull(admissionLimits());
+        checkNotNull(subscriptionLimits());
+        checkNotNull(reservationTimeout());
+        checkNotNull(metricsPort());
+        checkNotNull(recordingAge());
+        checkNotNull(recordingPort());
+        checkNotNull(exitWhenReady());
+        if (values.containsKey(RECORDING_PORT) && !values.containsKey(RECORDING_MINUTES)) {
+            throw newIllegalArgumentException(
+                    "The option `%s` requires the option `%s`.", RECORDING_PORT, RECORDING_MINUTES);
+        }
+    }
+
+    /**
+     * Returns the threading mode of the server.
+     */
+    public ThreadingMode threading() {
+        return enumValue(THREADING, ThreadingMode.PLATFORM);
+    }
+
+    /**
+     * Returns the flow of the shares purchase.
+     */
+    public PurchaseFlow purchaseFlow() {
+        return enumValue(PURCHASE_FLOW, PurchaseFlow.STANDARD);
+    }
+
+    /**
+     * Returns the transport between the Bounded Contexts.
+     */
+    public Transport transport() {
+        return enumValue(TRANSPORT, Transport.IN_MEMORY);
+    }
+
+    /**
+     * Returns the directory through which the shared-memory transport
+     * exchanges the messages.
+     */
+    public Path transportDir() {
+        if (values.containsKey(TRANSPORT_DIR)) {
+            return Path.of(values.get(TRANSPORT_DIR));
+        }
+        return Path.of(System.getProperty("java.io.tmpdir"), "shareaware-transport");
+    }
+
+    /**
+     * Returns the address of this server in the cluster,
+     * or an empty {@code Optional} if the server runs standalone.
+     */
+    public Optional<HostAndPort> node() {
+        if (!values.containsKey(NODE)) {
+            return Optional.empty();
+        }
+        var value = values.get(NODE);
+        HostAndPort node;
+        try {
+            node = HostAndPort.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw newIllegalArgumentException(e, "Invalid node address `%s`.", value);
+        }
+        if (!node.hasPort()) {
+            throw newIllegalArgumentException("The node address `%s` lacks the port.", value);
+        }
+        return Optional.of(node);
+    }
+
+    /**
+     * Returns the file listing the nodes of the cluster.
+     */
+    public Path clusterFile() {
+        if (values.containsKey(CLUSTER_FILE)) {
+            return Path.of(values.get(CLUSTER_FILE));
+        }
+        return Path.of(System.getProperty("java.io.tmpdir"), "shareaware-cluster");
+    }
+
+    /**
+     * Returns the limits of the command intake.
+     */
+    public AdmissionLimits admissionLimits() {
+        var limits = AdmissionLimits.newBuilder();
+        if (values.containsKey(INTAKE_QUEUE)) {
+            limits.setQueueCapacity(intValue(INTAKE_QUEUE));
+        }
+        if (values.containsKey(USER_COMMAND_RATE)) {
+            limits.setUserRate(intValue(USER_COMMAND_RATE));
+        }
+        return limits.build();
+    }
+
+    /**
+     * Returns the limits of the updates waiting for a single subscriber.
+     */
+    public SubscriptionLimits subscriptionLimits() {
+        var defaults = SubscriptionLimits.defaults();
+        var capacity = values.containsKey(SUBSCRIPTION_BUFFER)
+                       ? intValue(SUBSCRIPTION_BUFFER)
+                       : defaults.bufferCapacity();
+        if (capacity <= 0) {
+            throw newIllegalArgumentException("The option `%s` must be positive, but got `%s`.",
+                                              SUBSCRIPTION_BUFFER, capacity);
+        }
+        return SubscriptionLimits.of(capacity, enumValue(SLOW_CONSUMERS, defaults.policy()));
+    }
+
+    /**
+     * Returns the time after which the reservations held by the processes are cancelled,
+     * or an empty {@code Optional} if they are not cancelled.
+     */
+    public Optional<Duration> reservationTimeout() {
+        if (!values.containsKey(RESERVATION_TIMEOUT_SECONDS)) {
+            return Optional.empty();
+        }
+        var seconds = intValue(RESERVATION_TIMEOUT_SECONDS);
+        if (seconds <= 0) {
+            throw newIllegalArgumentException("The option `%s` must be positive, but got `%s`.",
+                                              RESERVATION_TIMEOUT_SECONDS, seconds);
+        }
+        return Optional.of(Duration.ofSeconds(seconds));
+    }
+
+    /**
+     * Returns the port at which the metrics of the message handlers are served,
+     * or an empty {@code Optional} if they are not served.
+     */
+    public Optional<Integer> metricsPort() {
+        if (!values.containsKey(METRICS_PORT)) {
+            return Optional.empty();
+        }
+        return Optional.of(intValue(METRICS_PORT));
+    }
+
+    /**
+     * Returns the period for which the continuous recording keeps the data,
+     * or an empty {@code Optional} if the recording does not run.
+     */
+    public Optional<Duration> recordingAge() {
+        if (!values.containsKey(RECORDING_MINUTES)) {
+            return Optional.empty();
+        }
+        var minutes = intValue(RECORDING_MINUTES);
+        if (minutes <= 0) {
+            throw newIllegalArgumentException("The option `%s` must be positive, but got `%s`.",
+                                              RECORDING_MINUTES, minutes);
+        }
+        return Optional.of(Duration.ofMinutes(minutes));
+    }
+
+    /**
+     * Returns the directory to which the continuous recording is dumped.
+     */
+    public Path recordingDir() {
+        if (values.containsKey(RECORDING_DIR)) {
+            return Path.of(values.get(RECORDING_DIR));
+        }
+        return Path.of(System.getProperty("java.io.tmpdir"), "shareaware-recordings");
+    }
+
+    /**
+     * Returns the port at which the command to dump the recording is accepted,
+     * or an empty {@code Optional} if it is not accepted.
+     */
+    public Optional<Integer> recordingPort() {
+        if (!values.containsKey(RECORDING_PORT)) {
+            return Optional.empty();
+        }
+        return Optional.of(intValue(RECORDING_PORT));
+    }
+
+    /**
+     * Tells whether the standalone server should stop as soon as it is ready.
+     */
+    public boolean exitWhenReady() {
+        if (!values.containsKey(EXIT_WHEN_READY)) {
+            return false;
+        }
+        var value = values.get(EXIT_WHEN_READY);
+        if ("true".equals(value)) {
+            return true;
+        }
+        if ("false".equals(value)) {
+            return false;
+        }
+        throw newIllegalArgumentException(
+                "The option `%s` must be `true` or `false`, but got `%s`.", EXIT_WHEN_READY, value);
+    }
+
+    private static String nameOf(String arg) {
+        var separator = arg.indexOf('=');
+        if (!arg.startsWith("--") || separator < 0) {
+            throw newIllegalArgumentException(
+                    "Startup options must be passed as `--name=value`, but got `%s`.", arg);
+        }
+        return arg.substring(2, separator);
+    }
+
+    private static String valueOf(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private int intValue(String name) {
+        var value = values.get(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw newIllegalArgumentException(e, "The option `%s` must be a number, but got `%s`.",
+                                              name, value);
+        }
+    }
+
+    private <E extends Enum<E>> E enumValue(String name, E defaultValue) {
+        if (!values.containsKey(name)) {
+            return defaultValue;
+        }
+        var value = values.get(name);
+        var constant = value.toUpperCase(Locale.ROOT)
+                            .replace('-', '_');
+        var type = defaultValue.getDeclaringClass();
+        try {
+            return Enum.valueOf(type, constant);
+        } catch (IllegalArgumentException e) {
+            throw newIllegalArgumentException(e, "Unknown %s `%s`.", type.getSimpleName(), value);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.logging.Logging;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Times the phases of the server startup and logs them.
+ *
+ * <p>The phases may run one after another or in parallel. Once the server is
+ * {@linkplain #ready() ready}, the phases running in parallel are awaited, and
+ * the time passed since the start of the JVM is logged along with the durations
+ * of all the phases. This time includes the loading of
+ * the classes required to call the {@code main} method.
+ */
+final class StartupPhases implements Logging {
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private final List<CompletableFuture<?>> parallel = new ArrayList<>();
+
+    /**
+     * Performs the phase in the current thread and records its duration.
+     *
+     * @return the result of the phase
+     */
+    <T, E extends Exception> T time(String phase, Step<T, E> step) throws E {
+        checkNotNull(phase);
+        checkNotNull(step);
+        var start = System.nanoTime();
+        var result = step.perform();
+        record(phase, start);
+        return result;
+    }
+
+    /**
+     * Performs the phase, which has no result, in the current thread
+     * and records its duration.
+     */
+    <E extends Exception> void run(String phase, Action<E> action) throws E {
+        checkNotNull(action);
+        time(phase, () -> {
+            action.perform();
+            return phase;
+        });
+    }
+
+    /**
+     * Starts the phase in another thread, so that it runs in parallel
+     * with the phases performed by the current thread.
+     *
+     * @return the future completed when the phase is done
+     */
+    CompletableFuture<Void> runAsync(String phase, Runnable action) {
+        checkNotNull(action);
+        return supplyAsync(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Starts the phase, which produces a result, in another thread, so that it runs
+     * in parallel with the phases performed by the current thread.
+     *
+     * @return the future completed with the result of the phase, or completed
+     *         exceptionally with the exception thrown by the phase
+     */
+    <T> CompletableFuture<T> supplyAsync(String phase, Step<T, ?> step) {
+        checkNotNull(phase);
+        checkNotNull(step);
+        var future = CompletableFuture.supplyAsync(() -> {
+            var start = System.nanoTime();
+            T result;
+            try {
+                result = step.perform();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            record(phase, start);
+            return result;
+        });
+        track(future);
+        return future;
+    }
+
+    private synchronized void track(CompletableFuture<?> phase) {
+        parallel.add(phase);
+    }
+
+    /**
+     * Waits for the phase running in another thread and returns its result.
+     *
+     * @throws Exception
+     *         the exception thrown by the phase
+     */
+    static <T> T await(CompletableFuture<T> phase) throws Exception {
+        try {
+            return phase.join();
+        } catch (CompletionException e) {
+            throw causeOf(e);
+        }
+    }
+
+    private static Exception causeOf(CompletionException e) {
+        var cause = e.getCause();
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+
+    private synchronized void record(String phase, long startNanos) {
+        var duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        phases.put(phase, duration);
+        _debug().log("Startup phase `%s` took %d ms.", phase, duration.toMillis());
+    }
+
+    private synchronized ImmutableList<CompletableFuture<?>> parallelPhases() {
+        return ImmutableList.copyOf(parallel);
+    }
+
+    /**
+     * Returns the durations of the completed phases in the order of their completion.
+     */
+    synchronized ImmutableMap<String, Duration> phases() {
+        return ImmutableMap.copyOf(phases);
+    }
+
+    /**
+     * Waits for the phases running in parallel and logs the time passed since the start
+     * of the JVM and the durations of the phases.
+     *
+     * @throws Exception
+     *         the exception thrown by a phase running in parallel
+     */
+    void ready() throws Exception {
+        for (var phase : parallelPhases()) {
+            try {
+                phase.join();
+            } catch (CompletionException e) {
+                throw causeOf(e);
+            }
+        }
+        var uptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean()
+                                                        .getUptime());
+        var breakdown = phases().entrySet()
+                                .stream()
+                                .map(e -> e.getKey() + ' ' + e.getValue()
+                                                              .toMillis() + " ms")
+                                .collect(joining(", "));
+        _info().log("The server is ready in %d ms since the JVM start (%s).",
+                    uptime.toMillis(), breakdown);
+    }
+
+    /**
+     * A phase of the startup which produces a result.
+     */
+    @FunctionalInterface
+    interface Step<T, E extends Exception> {
+
+        T perform() throws E;
+    }
+
+    /**
+     * A phase of the startup which has no result.
+     */
+    @FunctionalInterface
+    interface Action<E extends Exception> {
+
+        void perform() throws E;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The limit of the updates waiting for a single subscriber
+ * and the policy applied to the subscribers exceeding it.
+ */
+public final class SubscriptionLimits {
+
+    private static final int DEFAULT_BUFFER_CAPACITY = 1_000;
+
+    private final int bufferCapacity;
+    private final SlowConsumerPolicy policy;
+
+    private SubscriptionLimits(int bufferCapacity, SlowConsumerPolicy policy) {
+        this.bufferCapacity = bufferCapacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the limits under which the slow subscribers
+     * are downgraded to the latest updates.
+     */
+    public static SubscriptionLimits defaults() {
+        return of(DEFAULT_BUFFER_CAPACITY, SlowConsumerPolicy.SNAPSHOT);
+    }
+
+    /**
+     * Creates the limits with the given buffer capacity and the slow consumer policy.
+     */
+    public static SubscriptionLimits of(int bufferCapacity, SlowConsumerPolicy policy) {
+        checkArgument(bufferCapacity > 0, "The buffer capacity must be positive.");
+        checkNotNull(policy);
+        return new SubscriptionLimits(bufferCapacity, policy);
+    }
+
+    /**
+     * Returns the maximum number of the updates waiting for a single subscriber.
+     */
+    public int bufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Returns the policy applied to the subscribers exceeding the buffer capacity.
+     */
+    public SlowConsumerPolicy policy() {
+        return policy;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Tells which kind of threads the server uses to handle gRPC calls,
+ * deliver subscription updates and emit the market data.
+ *
+ * <p>The market data are emitted by a single thread of the mode,
+ * so that the updates keep their order.
+ */
+public enum ThreadingMode {
+
+    /**
+     * The default mode, in which the work is performed by the platform threads.
+     */
+    PLATFORM {
+        @Override
+        public ExecutorService newExecutor() {
+            return Executors.newCachedThreadPool();
+        }
+    },
+
+    /**
+     * The mode in which each task is performed by a new virtual thread.
+     *
+     * <p>Virtual threads are available starting from Java 21. The project is compiled
+     * for an older Java version, so the executor is obtained reflectively and
+     * the mode is {@linkplain #isSupported() supported} only when the server
+     * is launched on a JVM that provides them.
+     */
+    VIRTUAL {
+        @Override
+        public ExecutorService newExecutor() {
+            checkState(isSupported(),
+                       "Virtual threads require Java %s or newer, but the current version is %s.",
+                       VIRTUAL_THREADS_JAVA_VERSION, Runtime.version());
+            try {
+                var factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factoryMethod.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+
+        @Override
+        public boolean isSupported() {
+            return Runtime.version()
+                          .feature() >= VIRTUAL_THREADS_JAVA_VERSION;
+        }
+    };
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    /**
+     * Creates a new executor which runs the submitted tasks in this mode.
+     *
+     * <p>The caller is responsible for shutting down the returned executor.
+     */
+    public abstract ExecutorService newExecutor();
+
+    /**
+     * Tells whether this mode can be used in the current JVM.
+     */
+    public boolean isSupported() {
+        return true;
+    }
+}
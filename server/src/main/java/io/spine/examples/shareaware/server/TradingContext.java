@@ -28,13 +28,16 @@ package io.spine.examples.shareaware.server;
 
 import io.spine.examples.shareaware.server.investment.InvestmentViewRepository;
 import io.spine.examples.shareaware.server.investment.InvestmentAggregate;
-import io.spine.examples.shareaware.server.investment.SharesPurchaseRepository;
+import io.spine.examples.shareaware.server.investment.SharesBasketPurchaseRepository;
+import io.spine.examples.shareaware.server.investment.PurchaseFlow;
 import io.spine.examples.shareaware.server.investment.SharesSaleRepository;
 import io.spine.examples.shareaware.server.market.AvailableMarketSharesRepository;
 import io.spine.examples.shareaware.server.market.MarketProcess;
-import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayProcess;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
 import io.spine.examples.shareaware.server.wallet.WalletAggregate;
 import io.spine.examples.shareaware.server.wallet.WalletBalanceRepository;
+import io.spine.examples.shareaware.server.wallet.WalletLedgerChunkRepository;
+import io.spine.examples.shareaware.server.wallet.WalletLedgerIndexRepository;
 import io.spine.examples.shareaware.server.wallet.WalletReplenishmentRepository;
 import io.spine.examples.shareaware.server.wallet.WalletWithdrawalRepository;
 import io.spine.examples.shareaware.server.watchlist.UserWatchlistsRepository;
@@ -43,6 +46,8 @@ import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
 import io.spine.server.DefaultRepository;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Configures Trading Bounded Context with repositories.
  */
@@ -61,18 +66,44 @@ public final class TradingContext {
      * and fills it with repositories.
      */
     public static BoundedContextBuilder newBuilder() {
+        return newBuilder(PurchaseFlow.STANDARD);
+    }
+
+    /**
+     * Creates {@code BoundedContextBuilder} for the Trading context
+     * in which the shares are purchased according to the given flow.
+     */
+    public static BoundedContextBuilder newBuilder(PurchaseFlow purchaseFlow) {
+        return newBuilder(purchaseFlow, PaymentGatewayAdapter.newInstance());
+    }
+
+    /**
+     * Creates {@code BoundedContextBuilder} for the Trading context
+     * in which the shares are purchased according to the given flow
+     * and the money transfers are made by the given payment gateway.
+     *
+     * <p>The caller owns the {@linkplain PaymentGatewayAdapter#using settlement}
+     * of the gateway, and closes it once the context is closed.
+     */
+    public static BoundedContextBuilder newBuilder(PurchaseFlow purchaseFlow,
+                                                   PaymentGatewayAdapter paymentGateway) {
+        checkNotNull(purchaseFlow);
+        checkNotNull(paymentGateway);
         return BoundedContext
                 .singleTenant(NAME)
                 .add(DefaultRepository.of(WatchlistAggregate.class))
                 .add(DefaultRepository.of(WalletAggregate.class))
                 .add(DefaultRepository.of(InvestmentAggregate.class))
-                .add(DefaultRepository.of(PaymentGatewayProcess.class))
+                .addCommandDispatcher(paymentGateway)
                 .add(DefaultRepository.of(MarketProcess.class))
                 .add(new WalletWithdrawalRepository())
                 .add(new WalletReplenishmentRepository())
                 .add(new WalletBalanceRepository())
+                .add(new WalletLedgerChunkRepository())
+                .add(new WalletLedgerIndexRepository())
                 .add(new UserWatchlistsRepository())
-                .add(new SharesPurchaseRepository())
+                .add(purchaseFlow.newRepository())
+                .add(new SharesBasketPurchaseRepository())
                 .add(new SharesSaleRepository())
                 .add(new InvestmentViewRepository())
                 .add(new AvailableMarketSharesRepository());
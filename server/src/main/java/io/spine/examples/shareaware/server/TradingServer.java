@@ -0,0 +1,342 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.examples.shareaware.server.admission.AdmissionControl;
+import io.spine.examples.shareaware.server.admission.AdmissionLimits;
+import io.spine.examples.shareaware.server.admission.AdmissionMetrics;
+import io.spine.examples.shareaware.server.cluster.CommandRouter;
+import io.spine.examples.shareaware.server.cluster.Partitioning;
+import io.spine.examples.shareaware.server.deadline.ReservationMetrics;
+import io.spine.examples.shareaware.server.deadline.ReservationWatchdog;
+import io.spine.examples.shareaware.server.dedup.CommandDeduplication;
+import io.spine.examples.shareaware.server.history.PointInTimeQueries;
+import io.spine.examples.shareaware.server.metrics.SubscriptionMetrics;
+import io.spine.examples.shareaware.server.tracing.SagaTracing;
+import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.CommandService;
+import io.spine.server.QueryService;
+import io.spine.server.SubscriptionService;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A gRPC server exposing the services of a single Bounded Context,
+ * which performs all its work on the executor of the given {@link ThreadingMode}.
+ *
+ * <p>The executor is used to handle the incoming gRPC calls and
+ * to deliver the subscription updates to clients.
+ *
+ * <p>Unlike {@link io.spine.server.Server io.spine.server.Server}, which relies
+ * on the default gRPC executor, this server allows choosing
+ * the kind of threads to work on.
+ *
+ * <p>A server may run as a node of a cluster, in which case the commands are
+ * {@linkplain CommandRouter routed} to the nodes keeping the data of their actors.
+ * The queries and subscriptions are served from the data of this node.
+ *
+ * <p>If the {@linkplain AdmissionLimits admission limits} are set, the commands
+ * exceeding them are shed by the {@link AdmissionControl}.
+ *
+ * <p>The commands retried by the clients are {@linkplain CommandDeduplication deduplicated}
+ * before being handled by the Bounded Context of this server.
+ *
+ * <p>If the reservation timeout is set, the reservations of money and shares held by
+ * the stuck processes are cancelled by the {@link ReservationWatchdog}.
+ *
+ * <p>The past states of the wallets and the holdings are restored
+ * by the {@link PointInTimeQueries}.
+ *
+ * <p>The purchase, sale, withdrawal and replenishment processes are
+ * {@linkplain SagaTracing traced} step by step.
+ *
+ * <p>The subscribers too slow to receive their updates are dropped or downgraded
+ * to the latest updates according to the {@linkplain SubscriptionLimits subscription limits}.
+ */
+public final class TradingServer {
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final BoundedContext context;
+    private final ExecutorService executor;
+    private final @Nullable ReservationWatchdog watchdog;
+    private final PointInTimeQueries history;
+    private final SagaTracing tracing;
+    private final SubscriptionMetrics subscriptionMetrics;
+    private final @Nullable CommandRouter router;
+    private final @Nullable AdmissionControl admission;
+    private final io.grpc.Server grpcServer;
+
+    private TradingServer(BoundedContextBuilder contextBuilder,
+                          ExecutorService executor,
+                          int port,
+                          @Nullable Partitioning partitioning,
+                          @Nullable AdmissionLimits limits,
+                          SubscriptionLimits subscriptionLimits,
+                          SubscriptionMetrics subscriptionMetrics,
+                          @Nullable Duration reservationTimeout) {
+        this.subscriptionMetrics = subscriptionMetrics;
+        this.watchdog = reservationTimeout == null
+                        ? null
+                        : ReservationWatchdog.withTimeout(reservationTimeout);
+        if (watchdog != null) {
+            contextBuilder.addEventDispatcher(watchdog);
+        }
+        this.history = PointInTimeQueries.registerWith(contextBuilder);
+        this.tracing = SagaTracing.registerWith(contextBuilder);
+        this.context = contextBuilder.build();
+        this.executor = executor;
+        var local = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+        if (watchdog != null) {
+            watchdog.postThrough(local);
+        }
+        CommandServiceImplBase commands = CommandDeduplication.of(local);
+        this.router = partitioning == null
+                      ? null
+                      : new CommandRouter(commands, partitioning);
+        if (router != null) {
+            commands = router;
+        }
+        this.admission = limits == null
+                         ? null
+                         : AdmissionControl.of(commands, limits, CommandRouter::isForwarded);
+        if (admission != null) {
+            commands = admission;
+        }
+        var subscriptions = SubscriptionService
+                .newBuilder()
+                .add(context)
+                .build();
+        this.grpcServer = ServerBuilder
+                .forPort(port)
+                .executor(executor)
+                .addService(intercepted(commands))
+                .addService(QueryService.newBuilder()
+                                        .add(context)
+                                        .build())
+                .addService(ServerInterceptors.intercept(
+                        subscriptions,
+                        new OffloadingInterceptor(executor, subscriptionLimits,
+                                                  subscriptionMetrics, subscriptions)
+                ))
+                .build();
+    }
+
+    private ServerServiceDefinition intercepted(CommandServiceImplBase commands) {
+        var definition = commands.bindService();
+        if (router == null) {
+            return definition;
+        }
+        return ServerInterceptors.intercept(definition, router.interceptor());
+    }
+
+    /**
+     * Creates a new server at the given port, which admits all the incoming commands
+     * and leaves the reservations to the processes holding them.
+     *
+     * @param port
+     *         the port to listen on
+     * @param context
+     *         the builder of the Bounded Context to expose
+     * @param mode
+     *         the kind of threads to use
+     */
+    public static TradingServer atPort(int port, BoundedContextBuilder context, ThreadingMode mode) {
+        checkNotNull(context);
+        checkNotNull(mode);
+        return new TradingServer(context, mode.newExecutor(), port, null, null,
+                                 SubscriptionLimits.defaults(), SubscriptionMetrics.newInstance(),
+                                 null);
+    }
+
+    /**
+     * Creates a new server at the given port, which sheds the commands
+     * exceeding the given limits.
+     *
+     * @param port
+     *         the port to listen on
+     * @param context
+     *         the builder of the Bounded Context to expose
+     * @param mode
+     *         the kind of threads to use
+     * @param limits
+     *         the limits of the command intake
+     * @param subscriptionLimits
+     *         the limits of the updates waiting for a single subscriber
+     * @param subscriptionMetrics
+     *         the metrics to record the subscriptions to
+     * @param reservationTimeout
+     *         the time after which the reservations are cancelled,
+     *         or {@code null} to leave them to the processes holding them
+     */
+    public static TradingServer atPort(int port,
+                                       BoundedContextBuilder context,
+                                       ThreadingMode mode,
+                                       AdmissionLimits limits,
+                                       SubscriptionLimits subscriptionLimits,
+                                       SubscriptionMetrics subscriptionMetrics,
+                                       @Nullable Duration reservationTimeout) {
+        checkNotNull(context);
+        checkNotNull(mode);
+        checkNotNull(limits);
+        checkNotNull(subscriptionLimits);
+        checkNotNull(subscriptionMetrics);
+        return new TradingServer(context, mode.newExecutor(), port, null, limits,
+                                 subscriptionLimits, subscriptionMetrics, reservationTimeout);
+    }
+
+    /**
+     * Creates a new server running as a node of the cluster.
+     *
+     * <p>The server listens on the port of the {@linkplain Partitioning#self() node}.
+     *
+     * @param partitioning
+     *         the partitioning of the users across the cluster
+     * @param context
+     *         the builder of the Bounded Context to expose
+     * @param mode
+     *         the kind of threads to use
+     * @param limits
+     *         the limits of the command intake
+     * @param subscriptionLimits
+     *         the limits of the updates waiting for a single subscriber
+     * @param subscriptionMetrics
+     *         the metrics to record the subscriptions to
+     * @param reservationTimeout
+     *         the time after which the reservations are cancelled,
+     *         or {@code null} to leave them to the processes holding them
+     */
+    public static TradingServer clusterNode(Partitioning partitioning,
+                                            BoundedContextBuilder context,
+                                            ThreadingMode mode,
+                                            AdmissionLimits limits,
+                                            SubscriptionLimits subscriptionLimits,
+                                            SubscriptionMetrics subscriptionMetrics,
+                                            @Nullable Duration reservationTimeout) {
+        checkNotNull(partitioning);
+        checkNotNull(context);
+        checkNotNull(mode);
+        checkNotNull(limits);
+        checkNotNull(subscriptionLimits);
+        checkNotNull(subscriptionMetrics);
+        var port = partitioning.self()
+                               .getPort();
+        return new TradingServer(context, mode.newExecutor(), port, partitioning, limits,
+                                 subscriptionLimits, subscriptionMetrics, reservationTimeout);
+    }
+
+    /**
+     * Returns the metrics of the command intake,
+     * or an empty {@code Optional} if all the commands are admitted.
+     */
+    public Optional<AdmissionMetrics> admissionMetrics() {
+        return Optional.ofNullable(admission)
+                       .map(AdmissionControl::metrics);
+    }
+
+    /**
+     * Returns the metrics of the subscriptions to the changes in the Bounded Context.
+     */
+    public SubscriptionMetrics subscriptionMetrics() {
+        return subscriptionMetrics;
+    }
+
+    /**
+     * Returns the metrics of the reservations held by the processes in flight,
+     * or an empty {@code Optional} if the reservations are not watched.
+     */
+    public Optional<ReservationMetrics> reservationMetrics() {
+        return Optional.ofNullable(watchdog)
+                       .map(ReservationWatchdog::metrics);
+    }
+
+    /**
+     * Returns the queries restoring the past states of the wallets and the holdings.
+     */
+    public PointInTimeQueries pointInTimeQueries() {
+        return history;
+    }
+
+    /**
+     * Returns the traces of the recently completed processes.
+     */
+    public SagaTracing sagaTracing() {
+        return tracing;
+    }
+
+    /**
+     * Starts the server.
+     */
+    public void start() throws IOException {
+        grpcServer.start();
+    }
+
+    /**
+     * Waits for the server to become terminated.
+     */
+    public void awaitTermination() throws InterruptedException {
+        grpcServer.awaitTermination();
+    }
+
+    /**
+     * Shuts down the server and waits for it to terminate.
+     *
+     * <p>Stops the reservation watchdog if there is one, closes the Bounded Context
+     * and stops the executor afterwards.
+     */
+    public void shutdownAndWait() throws Exception {
+        grpcServer.shutdown();
+        grpcServer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+        if (admission != null) {
+            admission.close();
+        }
+        if (router != null) {
+            router.close();
+        }
+        if (watchdog != null) {
+            watchdog.close();
+        }
+        context.close();
+        executor.shutdown();
+        executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import com.google.protobuf.Message;
+import io.spine.environment.Environment;
+import io.spine.environment.Tests;
+import io.spine.protobuf.ValidatingBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Builds the messages which the handlers derive from the already validated data
+ * without validating them again.
+ *
+ * <p>A message copied from a validated command, event or entity state satisfies
+ * the same constraints as its source, so its validation only takes CPU.
+ * The messages coming from the outside are still validated, as the commands posted
+ * through the gRPC services are checked by the command bus before being handled.
+ *
+ * <p>The handlers should use this class only for the messages whose fields are all
+ * taken from the validated data. The messages holding the newly computed values
+ * are built with {@code vBuild()} as usual.
+ *
+ * <p>In tests, the trusted messages are validated anyway, so that the tests
+ * reveal a handler trusting the data it should not.
+ *
+ * <p>Whether the trusted messages are validated is fixed once this class is loaded.
+ * It may be set explicitly through the {@value #REVALIDATE_PROPERTY} system property
+ * passed at the startup of the JVM, for example, to compare the performance
+ * of the handlers with and without the validation.
+ */
+public final class TrustedBuild {
+
+    /**
+     * The name of the system property telling whether the trusted messages are validated.
+     *
+     * <p>Takes {@code true} or {@code false}. If not set, the trusted messages are validated
+     * only in the {@link Tests} environment.
+     */
+    public static final String REVALIDATE_PROPERTY = "shareaware.trusted.revalidate";
+
+    private static final boolean REVALIDATING = readRevalidating();
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private TrustedBuild() {
+    }
+
+    /**
+     * Builds the message, validating it only if the trusted messages are
+     * {@linkplain #revalidating() revalidated}.
+     */
+    public static <M extends Message> M trusted(ValidatingBuilder<M> builder) {
+        checkNotNull(builder);
+        return REVALIDATING ? builder.vBuild() : builder.build();
+    }
+
+    /**
+     * Tells whether the trusted messages are validated.
+     */
+    public static boolean revalidating() {
+        return REVALIDATING;
+    }
+
+    private static boolean readRevalidating() {
+        var value = System.getProperty(REVALIDATE_PROPERTY);
+        if (value == null) {
+            return Environment.instance()
+                              .is(Tests.class);
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
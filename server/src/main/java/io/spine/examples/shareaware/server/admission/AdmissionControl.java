@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.grpc.Context;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.core.UserId;
+import io.spine.logging.Logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The command service which admits only as many commands as the server can handle
+ * without growing the latency for everybody.
+ *
+ * <p>The admitted commands wait for a worker in a bounded queue, and are passed
+ * to the delegate service by the worker. A command is shed, if:
+ *
+ * <ul>
+ *     <li>its actor sends the commands faster than the rate allowed for a user;</li>
+ *     <li>too many commands of its actor are already waiting to be handled;</li>
+ *     <li>the queue of the commands of all the users is full.</li>
+ * </ul>
+ *
+ * <p>A shed command is acknowledged right away with an error telling
+ * the {@linkplain Overload reason}, so that the client may retry it later,
+ * instead of waiting in an ever-growing backlog. A command shed because of a full
+ * queue does not use up the rate allowed for its actor.
+ *
+ * <p>The quotas are kept per actor, so the commands without an actor are rejected
+ * instead of sharing a single quota, which one client could use up for everybody.
+ *
+ * <p>The commands {@linkplain #of(CommandServiceImplBase, AdmissionLimits, BooleanSupplier)
+ * already admitted} by another node of the cluster are passed to the delegate directly.
+ *
+ * <p>The gRPC context of the call is passed to the worker along with the command.
+ */
+public final class AdmissionControl extends CommandServiceImplBase
+        implements AutoCloseable, Logging {
+
+    private static final int USER_QUOTA_EXPIRATION_MINUTES = 5;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int SHED_LOG_INTERVAL_SECONDS = 10;
+    private static final String NO_ACTOR = "shareaware.admission.NoActor";
+
+    private final CommandServiceImplBase delegate;
+    private final ThreadPoolExecutor intake;
+    private final LoadingCache<UserId, UserQuota> quotas;
+    private final AdmissionMetrics metrics;
+    private final BooleanSupplier alreadyAdmitted;
+
+    private AdmissionControl(CommandServiceImplBase delegate,
+                             AdmissionLimits limits,
+                             Ticker ticker,
+                             BooleanSupplier alreadyAdmitted) {
+        this.delegate = delegate;
+        this.alreadyAdmitted = alreadyAdmitted;
+        this.intake = new ThreadPoolExecutor(limits.workers(), limits.workers(),
+                                             0L, MILLISECONDS,
+                                             new ArrayBlockingQueue<>(limits.queueCapacity()),
+                                             AdmissionControl::newWorker);
+        this.quotas = CacheBuilder
+                .newBuilder()
+                .expireAfterAccess(USER_QUOTA_EXPIRATION_MINUTES, MINUTES)
+                .build(CacheLoader.from(() -> new UserQuota(limits, ticker)));
+        this.metrics = new AdmissionMetrics(() -> intake.getQueue()
+                                                        .size());
+    }
+
+    /**
+     * Creates a new admission control in front of the given service.
+     *
+     * @param delegate
+     *         the service handling the admitted commands
+     * @param limits
+     *         the limits of the command intake
+     */
+    public static AdmissionControl of(CommandServiceImplBase delegate, AdmissionLimits limits) {
+        return of(delegate, limits, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new admission control in front of the given service,
+     * which lets through the commands already admitted elsewhere.
+     *
+     * @param delegate
+     *         the service handling the admitted commands
+     * @param limits
+     *         the limits of the command intake
+     * @param alreadyAdmitted
+     *         tells whether the command of the gRPC call being handled
+     *         has already been admitted, for example, by the node which has forwarded it
+     */
+    public static AdmissionControl of(CommandServiceImplBase delegate,
+                                      AdmissionLimits limits,
+                                      BooleanSupplier alreadyAdmitted) {
+        checkNotNull(delegate);
+        checkNotNull(limits);
+        checkNotNull(alreadyAdmitted);
+        return new AdmissionControl(delegate, limits, Ticker.systemTicker(), alreadyAdmitted);
+    }
+
+    /**
+     * Creates a new admission control which measures the rate of commands
+     * with the given ticker.
+     */
+    static AdmissionControl of(CommandServiceImplBase delegate,
+                               AdmissionLimits limits,
+                               Ticker ticker) {
+        checkNotNull(delegate);
+        checkNotNull(limits);
+        checkNotNull(ticker);
+        return new AdmissionControl(delegate, limits, ticker, () -> false);
+    }
+
+    private static Thread newWorker(Runnable task) {
+        var thread = new Thread(task, "command-intake");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        if (alreadyAdmitted.getAsBoolean()) {
+            delegate.post(command, observer);
+            return;
+        }
+        var user = command.getContext()
+                          .getActorContext()
+                          .getActor();
+        if (user.getValue()
+                .isEmpty()) {
+            metrics.onAnonymous();
+            reject(command, observer);
+            return;
+        }
+        var quota = quotas.getUnchecked(user);
+        if (!quota.rate.tryTake()) {
+            shed(command, Overload.USER_RATE_EXCEEDED, observer);
+            return;
+        }
+        if (!quota.tryEnqueue()) {
+            quota.rate.refund();
+            shed(command, Overload.USER_QUEUE_FULL, observer);
+            return;
+        }
+        try {
+            intake.execute(Context.current()
+                                  .wrap(() -> handle(command, quota, observer)));
+        } catch (RejectedExecutionException e) {
+            quota.dequeue();
+            quota.rate.refund();
+            shed(command, Overload.INTAKE_QUEUE_FULL, observer);
+            return;
+        }
+        metrics.onAdmitted();
+    }
+
+    private void handle(Command command, UserQuota quota, StreamObserver<Ack> observer) {
+        try {
+            delegate.post(command, observer);
+        } finally {
+            quota.dequeue();
+        }
+    }
+
+    private void shed(Command command, Overload reason, StreamObserver<Ack> observer) {
+        metrics.onShed(reason);
+        _warn().atMostEvery(SHED_LOG_INTERVAL_SECONDS, SECONDS)
+               .log("Shedding the commands due to overload. %s", metrics);
+        var message = format("The command `%s` is shed due to overload: %s.",
+                             command.getMessage()
+                                    .getTypeUrl(),
+                             reason);
+        acknowledgeError(command, reason.errorType(), message, observer);
+    }
+
+    private static void reject(Command command, StreamObserver<Ack> observer) {
+        var message = format("The command `%s` has no actor.",
+                             command.getMessage()
+                                    .getTypeUrl());
+        acknowledgeError(command, NO_ACTOR, message, observer);
+    }
+
+    private static void acknowledgeError(Command command, String type, String message,
+                                         StreamObserver<Ack> observer) {
+        var error = io.spine.base.Error
+                .newBuilder()
+                .setType(type)
+                .setMessage(message)
+                .build();
+        var ack = Ack
+                .newBuilder()
+                .setMessageId(pack(command.getId()))
+                .setStatus(Status.newBuilder()
+                                 .setError(error))
+                .build();
+        observer.onNext(ack);
+        observer.onCompleted();
+    }
+
+    /**
+     * Returns the metrics of the command intake.
+     */
+    public AdmissionMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting the commands and waits for the admitted ones to be handled.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        intake.shutdown();
+        intake.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+    }
+
+    /**
+     * The limits of the command intake for a single user.
+     */
+    private static final class UserQuota {
+
+        private final TokenBucket rate;
+        private final int queueCapacity;
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private UserQuota(AdmissionLimits limits, Ticker ticker) {
+            this.rate = new TokenBucket(limits.userRate(), limits.userBurst(), ticker);
+            this.queueCapacity = limits.userQueueCapacity();
+        }
+
+        private boolean tryEnqueue() {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void dequeue() {
+            queued.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The limits of the command intake applied by the {@link AdmissionControl}.
+ */
+public final class AdmissionLimits {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final double DEFAULT_USER_RATE = 50;
+    private static final int DEFAULT_USER_BURST = 100;
+    private static final int DEFAULT_USER_QUEUE_CAPACITY = 100;
+
+    private final int workers;
+    private final int queueCapacity;
+    private final double userRate;
+    private final int userBurst;
+    private final int userQueueCapacity;
+
+    private AdmissionLimits(Builder builder) {
+        this.workers = builder.workers;
+        this.queueCapacity = builder.queueCapacity;
+        this.userRate = builder.userRate;
+        this.userBurst = builder.userBurst;
+        this.userQueueCapacity = builder.userQueueCapacity;
+    }
+
+    /**
+     * Returns the limits suitable for most of the deployments.
+     */
+    public static AdmissionLimits defaults() {
+        return newBuilder().build();
+    }
+
+    /**
+     * Creates a new builder of the limits initialized with the default values.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of threads handling the admitted commands.
+     */
+    public int workers() {
+        return workers;
+    }
+
+    /**
+     * Returns the maximum number of commands of all the users waiting to be handled.
+     */
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns the number of commands per second a single user may send.
+     */
+    public double userRate() {
+        return userRate;
+    }
+
+    /**
+     * Returns the number of commands a single user may send at once
+     * above the {@linkplain #userRate() rate}.
+     */
+    public int userBurst() {
+        return userBurst;
+    }
+
+    /**
+     * Returns the maximum number of commands of a single user waiting to be handled.
+     */
+    public int userQueueCapacity() {
+        return userQueueCapacity;
+    }
+
+    /**
+     * The builder of the admission limits.
+     */
+    public static final class Builder {
+
+        private int workers = Runtime.getRuntime()
+                                     .availableProcessors() * 2;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private double userRate = DEFAULT_USER_RATE;
+        private int userBurst = DEFAULT_USER_BURST;
+        private int userQueueCapacity = DEFAULT_USER_QUEUE_CAPACITY;
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        @CanIgnoreReturnValue
+        public Builder setWorkers(int workers) {
+            checkArgument(workers > 0, "The number of workers must be positive.");
+            this.workers = workers;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder setQueueCapacity(int queueCapacity) {
+            checkArgument(queueCapacity > 0, "The queue capacity must be positive.");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder setUserRate(double userRate) {
+            checkArgument(userRate > 0, "The user rate must be positive.");
+            this.userRate = userRate;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder setUserBurst(int userBurst) {
+            checkArgument(userBurst > 0, "The user burst must be positive.");
+            this.userBurst = userBurst;
+            return this;
+        }
+
+        @CanIgnoreReturnValue
+        public Builder setUserQueueCapacity(int userQueueCapacity) {
+            checkArgument(userQueueCapacity > 0, "The user queue capacity must be positive.");
+            this.userQueueCapacity = userQueueCapacity;
+            return this;
+        }
+
+        public AdmissionLimits build() {
+            return new AdmissionLimits(this);
+        }
+    }
+}
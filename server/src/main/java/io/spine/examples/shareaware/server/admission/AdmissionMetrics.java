@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of the command intake.
+ *
+ * <p>The metrics are updated by the {@link AdmissionControl} and may be read at any time.
+ */
+public final class AdmissionMetrics {
+
+    private final IntSupplier queueDepth;
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder anonymous = new LongAdder();
+    private final Map<Overload, LongAdder> shed = new EnumMap<>(Overload.class);
+
+    AdmissionMetrics(IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+        for (var reason : Overload.values()) {
+            shed.put(reason, new LongAdder());
+        }
+    }
+
+    void onAdmitted() {
+        admitted.increment();
+        peakQueueDepth.accumulateAndGet(queueDepth.getAsInt(), Math::max);
+    }
+
+    void onAnonymous() {
+        anonymous.increment();
+    }
+
+    void onShed(Overload reason) {
+        shed.get(reason)
+            .increment();
+    }
+
+    /**
+     * Returns the number of commands waiting to be handled.
+     */
+    public int queueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    /**
+     * Returns the highest number of commands which were waiting to be handled at once.
+     */
+    public int peakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Returns the number of admitted commands.
+     */
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * Returns the number of commands rejected for having no actor.
+     */
+    public long anonymous() {
+        return anonymous.sum();
+    }
+
+    /**
+     * Returns the number of commands shed for the given reason.
+     */
+    public long shed(Overload reason) {
+        checkNotNull(reason);
+        return shed.get(reason)
+                   .sum();
+    }
+
+    /**
+     * Returns the number of commands shed for any reason.
+     */
+    public long shed() {
+        return shed.values()
+                   .stream()
+                   .mapToLong(LongAdder::sum)
+                   .sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "queueDepth=%d, peakQueueDepth=%d, admitted=%d, anonymous=%d, shed=%s",
+                queueDepth(), peakQueueDepth(), admitted(), anonymous(), shed);
+    }
+}
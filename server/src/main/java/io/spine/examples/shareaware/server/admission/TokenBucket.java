@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission;
+
+import com.google.common.base.Ticker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Limits the rate of operations to the given number per second,
+ * allowing short bursts up to the given size.
+ *
+ * <p>The bucket is refilled with tokens continuously. Each operation
+ * takes a token, and is not allowed if the bucket is empty.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = SECONDS.toNanos(1);
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final Ticker ticker;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a new full bucket.
+     *
+     * @param ratePerSecond
+     *         the number of tokens added per second
+     * @param burst
+     *         the maximum number of tokens in the bucket
+     * @param ticker
+     *         the source of time
+     */
+    TokenBucket(double ratePerSecond, int burst, Ticker ticker) {
+        checkArgument(ratePerSecond > 0, "The rate must be positive.");
+        checkArgument(burst > 0, "The burst must be positive.");
+        this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+        this.capacity = burst;
+        this.ticker = ticker;
+        this.tokens = burst;
+        this.refilledAt = ticker.read();
+    }
+
+    /**
+     * Takes a token from the bucket, if there is one.
+     *
+     * @return {@code true} if the operation is allowed, {@code false} otherwise
+     */
+    synchronized boolean tryTake() {
+        var now = ticker.read();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Returns the token taken for an operation which has not been performed after all.
+     */
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+}
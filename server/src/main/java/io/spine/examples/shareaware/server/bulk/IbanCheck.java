@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the International Bank Account Numbers.
+ *
+ * <p>Besides the format, the check digits of the number are verified
+ * according to ISO 13616, so that the mistyped numbers are found before
+ * any money is requested from the bank.
+ */
+final class IbanCheck {
+
+    private static final Pattern FORMAT = Pattern.compile("[A-Z]{2}\\d{2}[A-Z\\d]{11,30}");
+    private static final BigInteger MODULUS = BigInteger.valueOf(97);
+    private static final int CHECKED_PREFIX_LENGTH = 4;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private IbanCheck() {
+    }
+
+    /**
+     * Returns the IBAN without the spaces and in the upper case.
+     */
+    static String normalize(String iban) {
+        return iban.replace(" ", "")
+                   .toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the problem with the given normalized IBAN,
+     * or an empty {@code Optional} if the IBAN is valid.
+     */
+    static Optional<String> problemWith(String iban) {
+        if (!FORMAT.matcher(iban)
+                   .matches()) {
+            return Optional.of("IBAN format is not valid.");
+        }
+        var rearranged = iban.substring(CHECKED_PREFIX_LENGTH) +
+                iban.substring(0, CHECKED_PREFIX_LENGTH);
+        var digits = new StringBuilder(rearranged.length() * 2);
+        for (var i = 0; i < rearranged.length(); i++) {
+            digits.append(Character.getNumericValue(rearranged.charAt(i)));
+        }
+        var remainder = new BigInteger(digits.toString()).mod(MODULUS);
+        if (remainder.intValue() != 1) {
+            return Optional.of("IBAN check digits do not match.");
+        }
+        return Optional.empty();
+    }
+}
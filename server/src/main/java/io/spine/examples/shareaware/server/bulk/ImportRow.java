@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import io.spine.core.UserId;
+import io.spine.money.Currency;
+import io.spine.money.Money;
+
+import java.math.BigDecimal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * A row of the import file requesting to replenish a wallet.
+ *
+ * <p>A row consists of three comma-separated values: the ID of the wallet owner,
+ * the amount in US dollars, and the IBAN of the owner.
+ */
+final class ImportRow {
+
+    private static final int FIELDS = 3;
+    private static final int CENTS_SCALE = 2;
+
+    private final long line;
+    private final String text;
+
+    ImportRow(long line, String text) {
+        this.line = line;
+        this.text = text;
+    }
+
+    /**
+     * Returns the number of the line of the file holding this row.
+     */
+    long line() {
+        return line;
+    }
+
+    /**
+     * Parses the row.
+     *
+     * @throws IllegalArgumentException
+     *         if the row is malformed
+     */
+    Fields parse() {
+        var values = text.split(",", -1);
+        checkArgument(values.length == FIELDS,
+                      "Expected %s comma-separated values, but got %s.", FIELDS, values.length);
+        var owner = values[0].trim();
+        checkArgument(!owner.isEmpty(), "The owner is not set.");
+        return new Fields(UserId.newBuilder()
+                                .setValue(owner)
+                                .build(),
+                          amountOf(values[1].trim()),
+                          IbanCheck.normalize(values[2]));
+    }
+
+    private static Money amountOf(String value) {
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw newIllegalArgumentException(e, "The amount `%s` is not a number.", value);
+        }
+        checkArgument(amount.signum() > 0, "The amount must be positive.");
+        checkArgument(amount.scale() <= CENTS_SCALE,
+                      "The amount `%s` has fractions of a cent.", value);
+        var units = amount.longValue();
+        var cents = amount.subtract(BigDecimal.valueOf(units))
+                          .movePointRight(CENTS_SCALE)
+                          .intValueExact();
+        return Money
+                .newBuilder()
+                .setCurrency(Currency.USD)
+                .setUnits(units)
+                .setNanos(cents)
+                .build();
+    }
+
+    /**
+     * The parsed values of the row.
+     */
+    static final class Fields {
+
+        private final UserId owner;
+        private final Money amount;
+        private final String iban;
+
+        private Fields(UserId owner, Money amount, String iban) {
+            this.owner = owner;
+            this.amount = amount;
+            this.iban = iban;
+        }
+
+        UserId owner() {
+            return owner;
+        }
+
+        Money amount() {
+            return amount;
+        }
+
+        String iban() {
+            return iban;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+
+/**
+ * The totals of a {@link ReplenishmentImport} run.
+ */
+public final class ImportSummary {
+
+    private final long accepted;
+    private final long invalid;
+    private final long rejected;
+    private final long failed;
+    private final Duration elapsed;
+
+    ImportSummary(long accepted, long invalid, long rejected, long failed, Duration elapsed) {
+        this.accepted = accepted;
+        this.invalid = invalid;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Returns the number of the imported rows.
+     */
+    public long rows() {
+        return accepted + invalid + rejected + failed;
+    }
+
+    /**
+     * Returns the number of the rows whose commands were acknowledged by the server.
+     */
+    public long accepted() {
+        return accepted;
+    }
+
+    /**
+     * Returns the number of the rows which were not sent as they are invalid.
+     */
+    public long invalid() {
+        return invalid;
+    }
+
+    /**
+     * Returns the number of the rows whose commands the server refused to handle.
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the number of the rows whose commands could not be delivered.
+     */
+    public long failed() {
+        return failed;
+    }
+
+    /**
+     * Returns how long the import took.
+     */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the number of the rows imported per second.
+     */
+    public double throughput() {
+        var seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0 : rows() / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("rows", rows())
+                          .add("accepted", accepted)
+                          .add("invalid", invalid)
+                          .add("rejected", rejected)
+                          .add("failed", failed)
+                          .add("elapsed", elapsed)
+                          .add("rowsPerSecond", Math.round(throughput()))
+                          .toString();
+    }
+}
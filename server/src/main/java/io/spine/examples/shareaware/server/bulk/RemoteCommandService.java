@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceStub;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Posts the commands to a remote server asynchronously.
+ */
+final class RemoteCommandService extends CommandServiceImplBase {
+
+    private final CommandServiceStub stub;
+
+    RemoteCommandService(ManagedChannel channel) {
+        checkNotNull(channel);
+        this.stub = CommandServiceGrpc.newStub(channel);
+    }
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        stub.post(command, observer);
+    }
+}
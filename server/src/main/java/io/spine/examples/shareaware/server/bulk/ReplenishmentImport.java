@@ -0,0 +1,395 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.examples.shareaware.ReplenishmentId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.server.bulk.RowResult.Status;
+import io.spine.examples.shareaware.wallet.Iban;
+import io.spine.examples.shareaware.wallet.command.ReplenishWallet;
+import io.spine.logging.Logging;
+import io.spine.validate.ValidationException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Imports the requests to replenish the wallets from a file.
+ *
+ * <p>The file is read line by line, so it is never loaded into memory at once.
+ * The rows are grouped into batches, which are processed as a pipeline:
+ * while the commands of a batch await their acknowledgements, the next batches
+ * are read, validated and sent. The number of batches in flight is bounded,
+ * so the import slows down the reading once the server falls behind.
+ *
+ * <p>The rows of a batch are validated in parallel. Besides the format of
+ * the values, the check digits of the IBAN are verified.
+ *
+ * <p>The outcome of every row is written to the result file in the order of the rows,
+ * with the ID of the started replenishment process for each of the sent commands.
+ *
+ * <p>The first line of the file is skipped if it is the {@code owner,amount,iban} header.
+ */
+public final class ReplenishmentImport implements Logging {
+
+    private static final String HEADER = "owner,amount,iban";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_BATCHES_IN_FLIGHT = 8;
+
+    private final CommandServiceImplBase commands;
+    private final int batchSize;
+    private final int batchesInFlight;
+    private final int validationThreads;
+
+    private ReplenishmentImport(Builder builder) {
+        this.commands = checkNotNull(builder.commands);
+        this.batchSize = builder.batchSize;
+        this.batchesInFlight = builder.batchesInFlight;
+        this.validationThreads = builder.validationThreads;
+    }
+
+    /**
+     * Creates a new builder of the import.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Imports the rows of the given file and writes the outcome of each of them
+     * to the result file.
+     *
+     * <p>Waits until all the commands are acknowledged.
+     *
+     * @param input
+     *         the file with the replenishment requests
+     * @param results
+     *         the file to write the outcomes of the rows to
+     */
+    public ImportSummary run(Path input, Path results) throws IOException {
+        checkNotNull(input);
+        checkNotNull(results);
+        var validation = Executors.newFixedThreadPool(validationThreads);
+        var run = new Run(validation, new Semaphore(batchesInFlight));
+        var start = System.nanoTime();
+        try (var reader = Files.newBufferedReader(input);
+             var writer = Files.newBufferedWriter(results)) {
+            writer.write(RowResult.HEADER);
+            writer.newLine();
+            var line = 0L;
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            for (var text = reader.readLine(); text != null; text = reader.readLine()) {
+                line++;
+                if ((line == 1 && HEADER.equals(text.trim())) || text.isBlank()) {
+                    continue;
+                }
+                batch.add(new ImportRow(line, text));
+                if (batch.size() == batchSize) {
+                    run.submit(batch);
+                    batch = new ArrayList<>(batchSize);
+                    run.writeCompleted(writer, false);
+                }
+            }
+            if (!batch.isEmpty()) {
+                run.submit(batch);
+            }
+            run.writeCompleted(writer, true);
+        } finally {
+            validation.shutdown();
+        }
+        var summary = run.summary(Duration.ofNanos(System.nanoTime() - start));
+        _info().log("Imported the replenishments from `%s`: %s.", input, summary);
+        return summary;
+    }
+
+    /**
+     * A single run of the import.
+     */
+    private final class Run {
+
+        private final Executor validation;
+        private final Semaphore inFlight;
+        private final Queue<CompletableFuture<ImmutableList<RowResult>>> pending =
+                new ArrayDeque<>();
+        private final Map<Status, Long> totals = new EnumMap<>(Status.class);
+
+        private Run(Executor validation, Semaphore inFlight) {
+            this.validation = validation;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Validates and sends the rows of the batch asynchronously.
+         *
+         * <p>Blocks while the maximum number of batches is in flight.
+         */
+        private void submit(List<ImportRow> batch) {
+            inFlight.acquireUninterruptibly();
+            var rows = batch.stream()
+                            .map(row -> supplyAsync(() -> prepare(row), validation)
+                                    .thenCompose(ReplenishmentImport.this::send))
+                            .collect(toImmutableList());
+            var outcome = CompletableFuture
+                    .allOf(rows.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> rows.stream()
+                                              .map(CompletableFuture::join)
+                                              .collect(toImmutableList()));
+            outcome.whenComplete((result, error) -> inFlight.release());
+            pending.add(outcome);
+        }
+
+        /**
+         * Writes the outcomes of the completed batches in the order of the batches.
+         *
+         * @param all
+         *         whether to wait for all the pending batches to complete
+         */
+        private void writeCompleted(BufferedWriter writer, boolean all) throws IOException {
+            while (!pending.isEmpty() && (all || pending.peek()
+                                                        .isDone())) {
+                for (var result : pending.remove()
+                                         .join()) {
+                    writer.write(result.toCsv());
+                    writer.newLine();
+                    totals.merge(result.status(), 1L, Long::sum);
+                }
+            }
+        }
+
+        private ImportSummary summary(Duration elapsed) {
+            return new ImportSummary(totals.getOrDefault(Status.ACCEPTED, 0L),
+                                     totals.getOrDefault(Status.INVALID, 0L),
+                                     totals.getOrDefault(Status.REJECTED, 0L),
+                                     totals.getOrDefault(Status.FAILED, 0L),
+                                     elapsed);
+        }
+    }
+
+    /**
+     * Validates the row and creates the command replenishing the wallet.
+     */
+    private static Prepared prepare(ImportRow row) {
+        try {
+            var fields = row.parse();
+            var problem = IbanCheck.problemWith(fields.iban());
+            if (problem.isPresent()) {
+                return Prepared.invalid(RowResult.invalid(row.line(), problem.get()));
+            }
+            var wallet = WalletId
+                    .newBuilder()
+                    .setOwner(fields.owner())
+                    .vBuild();
+            var iban = Iban
+                    .newBuilder()
+                    .setValue(fields.iban())
+                    .vBuild();
+            var replenishment = ReplenishWallet
+                    .newBuilder()
+                    .setReplenishment(ReplenishmentId.generate())
+                    .setWallet(wallet)
+                    .setIban(iban)
+                    .setMoneyAmount(fields.amount())
+                    .vBuild();
+            return Prepared.command(row, replenishment);
+        } catch (IllegalArgumentException | ValidationException e) {
+            return Prepared.invalid(RowResult.invalid(row.line(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Sends the command of the row on behalf of the wallet owner.
+     */
+    private CompletableFuture<RowResult> send(Prepared prepared) {
+        if (prepared.invalid != null) {
+            return CompletableFuture.completedFuture(prepared.invalid);
+        }
+        var row = checkNotNull(prepared.row);
+        var message = checkNotNull(prepared.replenishment);
+        var owner = message.getWallet()
+                           .getOwner();
+        var command = ActorRequestFactory
+                .newBuilder()
+                .setActor(owner)
+                .build()
+                .command()
+                .create(message);
+        var replenishment = message.getReplenishment()
+                                   .getUuid();
+        var outcome = new CompletableFuture<RowResult>();
+        commands.post(command, new StreamObserver<>() {
+            @Override
+            public void onNext(Ack ack) {
+                var status = ack.getStatus();
+                if (status.hasError()) {
+                    outcome.complete(RowResult.rejected(row.line(), replenishment,
+                                                        status.getError()
+                                                              .getMessage()));
+                } else if (status.hasRejection()) {
+                    outcome.complete(RowResult.rejected(row.line(), replenishment,
+                                                        "The command was rejected."));
+                } else {
+                    outcome.complete(RowResult.accepted(row.line(), replenishment));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                outcome.complete(RowResult.failed(row.line(), replenishment, t.getMessage()));
+            }
+
+            @Override
+            public void onCompleted() {
+                outcome.complete(RowResult.failed(row.line(), replenishment,
+                                                  "The server sent no acknowledgement."));
+            }
+        });
+        return outcome;
+    }
+
+    /**
+     * Either the command to send for a row, or the result of the invalid row.
+     */
+    private static final class Prepared {
+
+        private final @Nullable ImportRow row;
+        private final @Nullable ReplenishWallet replenishment;
+        private final @Nullable RowResult invalid;
+
+        private Prepared(@Nullable ImportRow row,
+                         @Nullable ReplenishWallet replenishment,
+                         @Nullable RowResult invalid) {
+            this.row = row;
+            this.replenishment = replenishment;
+            this.invalid = invalid;
+        }
+
+        private static Prepared command(ImportRow row, ReplenishWallet replenishment) {
+            return new Prepared(row, replenishment, null);
+        }
+
+        private static Prepared invalid(RowResult result) {
+            return new Prepared(null, null, result);
+        }
+    }
+
+    /**
+     * The builder of the {@code ReplenishmentImport}.
+     */
+    public static final class Builder {
+
+        private @Nullable CommandServiceImplBase commands;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int batchesInFlight = DEFAULT_BATCHES_IN_FLIGHT;
+        private int validationThreads = Runtime.getRuntime()
+                                               .availableProcessors();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the service to send the commands to.
+         */
+        @CanIgnoreReturnValue
+        public Builder setCommands(CommandServiceImplBase commands) {
+            this.commands = checkNotNull(commands);
+            return this;
+        }
+
+        /**
+         * Sets the number of rows sent in a batch.
+         *
+         * <p>By default, a batch holds 500 rows.
+         */
+        @CanIgnoreReturnValue
+        public Builder setBatchSize(int batchSize) {
+            checkArgument(batchSize > 0, "The batch size must be positive.");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches which are sent,
+         * but not acknowledged yet.
+         *
+         * <p>By default, up to 8 batches are in flight.
+         */
+        @CanIgnoreReturnValue
+        public Builder setBatchesInFlight(int batchesInFlight) {
+            checkArgument(batchesInFlight > 0,
+                          "The number of batches in flight must be positive.");
+            this.batchesInFlight = batchesInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads validating the rows.
+         *
+         * <p>By default, the number of available processors is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setValidationThreads(int validationThreads) {
+            checkArgument(validationThreads > 0,
+                          "The number of validation threads must be positive.");
+            this.validationThreads = validationThreads;
+            return this;
+        }
+
+        /**
+         * Creates the import.
+         */
+        public ReplenishmentImport build() {
+            checkState(commands != null, "The command service must be set.");
+            return new ReplenishmentImport(this);
+        }
+    }
+}
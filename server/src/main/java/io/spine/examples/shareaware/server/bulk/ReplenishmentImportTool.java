@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import com.google.common.net.HostAndPort;
+import io.grpc.ManagedChannelBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Imports the replenishments from a file into a running {@code ShareAwareServer}.
+ *
+ * <p>Accepts the path of the file to import, the path of the result file and,
+ * optionally, the {@code host:port} address of the server. By default, the server
+ * is expected at the default port of the local host.
+ */
+public final class ReplenishmentImportTool {
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private ReplenishmentImportTool() {
+    }
+
+    /**
+     * The entry point of the import.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        checkArgument(args.length == 2 || args.length == 3,
+                      "Usage: ReplenishmentImportTool <input> <results> [host:port]");
+        var server = args.length == 3
+                     ? HostAndPort.fromString(args[2])
+                     : HostAndPort.fromParts("localhost", DEFAULT_CLIENT_SERVICE_PORT);
+        var channel = ManagedChannelBuilder
+                .forAddress(server.getHost(), server.getPortOrDefault(DEFAULT_CLIENT_SERVICE_PORT))
+                .usePlaintext()
+                .build();
+        try {
+            var summary = ReplenishmentImport
+                    .newBuilder()
+                    .setCommands(new RemoteCommandService(channel))
+                    .build()
+                    .run(Path.of(args[0]), Path.of(args[1]));
+            System.out.println(summary);
+        } finally {
+            channel.shutdown();
+            channel.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+        }
+    }
+}
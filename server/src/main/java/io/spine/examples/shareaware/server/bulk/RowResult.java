@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+/**
+ * The outcome of importing a single row of the file.
+ */
+final class RowResult {
+
+    /**
+     * The header of the result file.
+     */
+    static final String HEADER = "line,status,replenishment,detail";
+
+    /**
+     * Tells what happened to the row.
+     */
+    enum Status {
+
+        /**
+         * The command was acknowledged by the server.
+         */
+        ACCEPTED,
+
+        /**
+         * The row is malformed or holds invalid values, so no command was sent.
+         */
+        INVALID,
+
+        /**
+         * The server refused to handle the command.
+         */
+        REJECTED,
+
+        /**
+         * The command could not be delivered to the server.
+         */
+        FAILED
+    }
+
+    private final long line;
+    private final Status status;
+    private final String replenishment;
+    private final String detail;
+
+    private RowResult(long line, Status status, String replenishment, String detail) {
+        this.line = line;
+        this.status = status;
+        this.replenishment = replenishment;
+        this.detail = detail;
+    }
+
+    static RowResult accepted(long line, String replenishment) {
+        return new RowResult(line, Status.ACCEPTED, replenishment, "");
+    }
+
+    static RowResult invalid(long line, String detail) {
+        return new RowResult(line, Status.INVALID, "", nullToEmpty(detail));
+    }
+
+    static RowResult rejected(long line, String replenishment, String detail) {
+        return new RowResult(line, Status.REJECTED, replenishment, nullToEmpty(detail));
+    }
+
+    static RowResult failed(long line, String replenishment, String detail) {
+        return new RowResult(line, Status.FAILED, replenishment, nullToEmpty(detail));
+    }
+
+    Status status() {
+        return status;
+    }
+
+    /**
+     * Returns the result as a line of the result file.
+     *
+     * <p>The detail is quoted, as it may contain commas.
+     */
+    String toCsv() {
+        var quoted = '"' + detail.replace("\"", "\"\"")
+                                 .replace('\n', ' ') + '"';
+        return line + "," + status + ',' + replenishment + ',' + quoted;
+    }
+}
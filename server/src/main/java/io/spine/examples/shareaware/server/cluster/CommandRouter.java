@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.net.HostAndPort;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceBlockingStub;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.core.UserId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.grpc.Status.Code.DEADLINE_EXCEEDED;
+import static io.grpc.Status.Code.UNAVAILABLE;
+import static io.spine.protobuf.AnyPacker.pack;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The command service of a cluster node, which passes each command
+ * to the node keeping the data of the command actor.
+ *
+ * <p>A command posted by a client is handled by the receiving node if this node keeps
+ * the data of the user or owns the user according to the current ring.
+ * Otherwise, the command is forwarded to the owner.
+ *
+ * <p>The owner handles the commands of the users resident on it. For a user which
+ * is not resident yet, the owner first asks the owners of the user according to
+ * the previous rings, as they may keep the user's data since before the latest
+ * {@linkplain Partitioning#rebalance(PartitionRing) rebalancing}. If none of them
+ * accepts the command, the user settles on the owner.
+ *
+ * <p>A forwarded command is never forwarded further as a command to the owner. This
+ * prevents the commands from looping between the nodes, while they disagree on the ring.
+ *
+ * <p>A forwarded command waits for the other node for a limited time. If that node does
+ * not answer in time or cannot be reached, the command is acknowledged with an error,
+ * which the client may retry.
+ *
+ * <p>Only the commands are routed. The queries and subscriptions are answered from
+ * the data of the receiving node, so a client connected to a node which does not keep
+ * its data reads stale or empty state. Such a client should connect to the owner of
+ * its user.
+ */
+public final class CommandRouter extends CommandServiceImplBase implements AutoCloseable {
+
+    private static final String NOT_RESIDENT = "shareaware.cluster.NotResident";
+    private static final String NODE_UNREACHABLE = "shareaware.cluster.NodeUnreachable";
+    private static final int FORWARDING_TIMEOUT_SECONDS = 5;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final CommandServiceImplBase local;
+    private final Partitioning partitioning;
+    private final Map<HostAndPort, ManagedChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new router.
+     *
+     * @param local
+     *         the service which handles the commands by this node
+     * @param partitioning
+     *         the partitioning of the users across the cluster
+     */
+    public CommandRouter(CommandServiceImplBase local, Partitioning partitioning) {
+        this.local = checkNotNull(local);
+        this.partitioning = checkNotNull(partitioning);
+    }
+
+    /**
+     * Returns the definition of this service to be added to a gRPC server.
+     */
+    public ServerServiceDefinition definition() {
+        return ServerInterceptors.intercept(this, interceptor());
+    }
+
+    /**
+     * Tells whether the command of the gRPC call being handled
+     * was forwarded by another node of the cluster.
+     *
+     * <p>Such a command has already passed the admission control of that node.
+     * Works only for the calls {@linkplain #interceptor() intercepted} by the router.
+     */
+    public static boolean isForwarded() {
+        return Hop.current() != Hop.CLIENT;
+    }
+
+    /**
+     * Returns the interceptor which must be applied to the calls of this service
+     * in case it is wrapped by another one.
+     */
+    public ServerInterceptor interceptor() {
+        return Hop.reader();
+    }
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        var user = command.getContext()
+                          .getActorContext()
+                          .getActor();
+        switch (Hop.current()) {
+            case HANDOFF:
+                postIfResident(command, user, observer);
+                break;
+            case FORWARDED:
+                postAsOwner(command, user, observer);
+                break;
+            case CLIENT:
+            default:
+                route(command, user, observer);
+        }
+    }
+
+    private void route(Command command, UserId user, StreamObserver<Ack> observer) {
+        if (partitioning.isResident(user) || partitioning.owns(user)) {
+            postAsOwner(command, user, observer);
+        } else {
+            forward(command, partitioning.ownerOf(user), Hop.FORWARDED, observer);
+        }
+    }
+
+    private void postAsOwner(Command command, UserId user, StreamObserver<Ack> observer) {
+        if (partitioning.isResident(user)) {
+            local.post(command, observer);
+            return;
+        }
+        var keeper = partitioning.handedOffTo(user);
+        if (keeper.isPresent()) {
+            forward(command, keeper.get(), Hop.HANDOFF, observer);
+            return;
+        }
+        for (var node : partitioning.previousOwnersOf(user)) {
+            Ack ack;
+            try {
+                ack = stubTo(node, Hop.HANDOFF).post(command);
+            } catch (StatusRuntimeException e) {
+                failForwarding(command, node, e, observer);
+                return;
+            }
+            if (!isNotResident(ack)) {
+                if (ack.getStatus()
+                       .hasOk()) {
+                    partitioning.handOff(user, node);
+                }
+                reply(observer, ack);
+                return;
+            }
+        }
+        partitioning.settle(user);
+        local.post(command, observer);
+    }
+
+    private void postIfResident(Command command, UserId user, StreamObserver<Ack> observer) {
+        if (partitioning.isResident(user)) {
+            local.post(command, observer);
+        } else {
+            reply(observer, notResident(command, user));
+        }
+    }
+
+    private void forward(Command command, HostAndPort node, Hop hop,
+                         StreamObserver<Ack> observer) {
+        Ack ack;
+        try {
+            ack = stubTo(node, hop).post(command);
+        } catch (StatusRuntimeException e) {
+            failForwarding(command, node, e, observer);
+            return;
+        }
+        reply(observer, ack);
+    }
+
+    /**
+     * Acknowledges the command with an error if the node it was forwarded to did not
+     * answer in time or could not be reached, otherwise fails the call.
+     */
+    private static void failForwarding(Command command,
+                                       HostAndPort node,
+                                       StatusRuntimeException e,
+                                       StreamObserver<Ack> observer) {
+        var code = e.getStatus()
+                    .getCode();
+        if (isUnreachable(code)) {
+            var message = format("The node `%s` did not handle the command: %s.", node, code);
+            reply(observer, error(command, NODE_UNREACHABLE, message));
+        } else {
+            observer.onError(e);
+        }
+    }
+
+    private static boolean isUnreachable(Code code) {
+        return code == DEADLINE_EXCEEDED || code == UNAVAILABLE;
+    }
+
+    private CommandServiceBlockingStub stubTo(HostAndPort node, Hop hop) {
+        var channel = channels.computeIfAbsent(node, CommandRouter::newChannel);
+        return CommandServiceGrpc.newBlockingStub(channel)
+                                 .withInterceptors(hop.marker())
+                                 .withDeadlineAfter(FORWARDING_TIMEOUT_SECONDS, SECONDS);
+    }
+
+    private static ManagedChannel newChannel(HostAndPort node) {
+        return ManagedChannelBuilder
+                .forAddress(node.getHost(), node.getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    private static void reply(StreamObserver<Ack> observer, Ack ack) {
+        observer.onNext(ack);
+        observer.onCompleted();
+    }
+
+    private static Ack notResident(Command command, UserId user) {
+        var message = format("The data of the user `%s` is not kept by this node.",
+                             user.getValue());
+        return error(command, NOT_RESIDENT, message);
+    }
+
+    private static Ack error(Command command, String type, String message) {
+        var error = io.spine.base.Error
+                .newBuilder()
+                .setType(type)
+                .setMessage(message)
+                .build();
+        return Ack
+                .newBuilder()
+                .setMessageId(pack(command.getId()))
+                .setStatus(Status.newBuilder()
+                                 .setError(error))
+                .build();
+    }
+
+    private static boolean isNotResident(Ack ack) {
+        var status = ack.getStatus();
+        return status.hasError()
+                && NOT_RESIDENT.equals(status.getError()
+                                             .getType());
+    }
+
+    /**
+     * Closes the connections to other nodes.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        for (var channel : channels.values()) {
+            channel.shutdown();
+        }
+        for (var channel : channels.values()) {
+            channel.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+        }
+        channels.clear();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.stub.MetadataUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static io.grpc.Metadata.ASCII_STRING_MARSHALLER;
+
+/**
+ * Tells how a command has reached a cluster node.
+ *
+ * <p>The hop is passed between the nodes in the header of the gRPC call.
+ */
+enum Hop {
+
+    /**
+     * The command is posted by a client.
+     */
+    CLIENT,
+
+    /**
+     * The command is forwarded by another node to its owner according to the current ring.
+     */
+    FORWARDED,
+
+    /**
+     * The command is forwarded by the owner of the user to the node which may keep
+     * the data of the user since the previous ring.
+     */
+    HANDOFF;
+
+    private static final Metadata.Key<String> HEADER =
+            Metadata.Key.of("shareaware-hop", ASCII_STRING_MARSHALLER);
+    private static final Context.Key<Hop> CURRENT = Context.keyWithDefault("hop", CLIENT);
+
+    /**
+     * Returns the hop of the gRPC call being handled.
+     */
+    static Hop current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Creates an interceptor which marks the outgoing calls with this hop.
+     */
+    ClientInterceptor marker() {
+        var headers = new Metadata();
+        headers.put(HEADER, name());
+        return MetadataUtils.newAttachHeadersInterceptor(headers);
+    }
+
+    /**
+     * Creates an interceptor which makes the hop of the incoming call
+     * available via {@link #current()}.
+     */
+    static ServerInterceptor reader() {
+        return new Reader();
+    }
+
+    private static Hop parse(@Nullable String value) {
+        if (value == null) {
+            return CLIENT;
+        }
+        for (var hop : values()) {
+            if (hop.name()
+                   .equals(value)) {
+                return hop;
+            }
+        }
+        return CLIENT;
+    }
+
+    private static final class Reader implements ServerInterceptor {
+
+        @Override
+        public <Q, A> ServerCall.Listener<Q> interceptCall(ServerCall<Q, A> call,
+                                                          Metadata headers,
+                                                          ServerCallHandler<Q, A> next) {
+            var hop = parse(headers.get(HEADER));
+            var context = Context.current()
+                                 .withValue(CURRENT, hop);
+            return Contexts.interceptCall(context, call, headers, next);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HostAndPort;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A file listing the nodes of the cluster running on the same host, one node per line.
+ *
+ * <p>A node {@linkplain #join(HostAndPort) joins} the cluster by adding itself to the file.
+ * The file is always replaced as a whole, so that the readers never observe
+ * a partially written list.
+ */
+public final class MembershipFile {
+
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String DRAFT_SUFFIX = ".draft";
+
+    private final Path path;
+
+    private MembershipFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Creates the membership file at the given path.
+     *
+     * <p>The file itself is created when the first node joins.
+     */
+    public static MembershipFile at(Path path) {
+        checkNotNull(path);
+        return new MembershipFile(path.toAbsolutePath());
+    }
+
+    /**
+     * Adds the given node to the cluster, if it is not there yet.
+     *
+     * <p>The file is locked while being updated, so that several nodes
+     * may join at the same time.
+     */
+    public void join(HostAndPort node) throws IOException {
+        checkNotNull(node);
+        Files.createDirectories(path.getParent());
+        var lockPath = path.resolveSibling(path.getFileName() + LOCK_SUFFIX);
+        synchronized (MembershipFile.class) {
+            try (var lockChannel = FileChannel.open(lockPath, CREATE, WRITE);
+                 var ignored = lockChannel.lock()) {
+                var nodes = new LinkedHashSet<>(read());
+                if (nodes.add(node)) {
+                    write(nodes);
+                }
+            }
+        }
+    }
+
+    private void write(Iterable<HostAndPort> nodes) throws IOException {
+        var draft = path.resolveSibling(path.getFileName() + DRAFT_SUFFIX);
+        var content = new StringBuilder();
+        for (var node : nodes) {
+            content.append(node)
+                   .append(System.lineSeparator());
+        }
+        Files.writeString(draft, content, UTF_8);
+        Files.move(draft, path, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the nodes of the cluster.
+     *
+     * @return the nodes in the order they joined,
+     *         or an empty set if no node joined yet
+     */
+    public ImmutableSet<HostAndPort> read() throws IOException {
+        if (!Files.exists(path)) {
+            return ImmutableSet.of();
+        }
+        var nodes = ImmutableSet.<HostAndPort>builder();
+        for (var line : Files.readAllLines(path, UTF_8)) {
+            var trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                nodes.add(HostAndPort.fromString(trimmed));
+            }
+        }
+        return nodes.build();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
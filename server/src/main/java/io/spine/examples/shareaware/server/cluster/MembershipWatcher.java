@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Rebalances the {@link Partitioning} of a node when new nodes join the cluster
+ * through the {@link MembershipFile}.
+ */
+public final class MembershipWatcher implements AutoCloseable, Logging {
+
+    private static final long CHECK_INTERVAL_MILLIS = 500;
+
+    private final MembershipFile file;
+    private final Partitioning partitioning;
+    private final ScheduledExecutorService scheduler;
+
+    private MembershipWatcher(MembershipFile file, Partitioning partitioning) {
+        this.file = file;
+        this.partitioning = partitioning;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "cluster-membership");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts watching the membership file.
+     */
+    public static MembershipWatcher start(MembershipFile file, Partitioning partitioning) {
+        checkNotNull(file);
+        checkNotNull(partitioning);
+        var watcher = new MembershipWatcher(file, partitioning);
+        checkNotNull(watcher.scheduler.scheduleWithFixedDelay(watcher::check,
+                                                              CHECK_INTERVAL_MILLIS,
+                                                              CHECK_INTERVAL_MILLIS,
+                                                              MILLISECONDS));
+        return watcher;
+    }
+
+    private void check() {
+        try {
+            var nodes = file.read();
+            var ring = partitioning.ring();
+            if (ring.nodes()
+                    .containsAll(nodes)) {
+                return;
+            }
+            for (var node : nodes) {
+                ring = ring.withNode(node);
+            }
+            if (partitioning.rebalance(ring)) {
+                _info().log("Rebalanced the users across `%s`.", ring);
+            }
+        } catch (IOException | RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to read the cluster membership from `%s`.", file);
+        }
+    }
+
+    /**
+     * Stops watching the membership file.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.net.HostAndPort;
+import io.spine.core.UserId;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A consistent-hash ring which tells which server node owns the data of a user.
+ *
+ * <p>Each node is placed onto the ring at several points, so that the users
+ * are spread evenly. A user is owned by the node whose point follows the hash
+ * of the user ID clockwise.
+ *
+ * <p>When a node is added, it takes over only the users whose hashes fall right before
+ * its points. The rest of the users keep their owners.
+ *
+ * <p>The ring is immutable.
+ */
+public final class PartitionRing {
+
+    private static final int POINTS_PER_NODE = 128;
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final ImmutableSet<HostAndPort> nodes;
+    private final ImmutableSortedMap<Integer, HostAndPort> points;
+
+    private PartitionRing(ImmutableSet<HostAndPort> nodes) {
+        this.nodes = nodes;
+        var points = ImmutableSortedMap.<Integer, HostAndPort>naturalOrder();
+        Set<Integer> taken = new HashSet<>();
+        for (var node : nodes) {
+            for (var i = 0; i < POINTS_PER_NODE; i++) {
+                var point = hash(node + "#" + i);
+                if (taken.add(point)) {
+                    points.put(point, node);
+                }
+            }
+        }
+        this.points = points.build();
+    }
+
+    /**
+     * Creates a ring of the given nodes.
+     *
+     * @throws IllegalArgumentException
+     *         if no nodes are given
+     */
+    public static PartitionRing of(Set<HostAndPort> nodes) {
+        checkNotNull(nodes);
+        checkArgument(!nodes.isEmpty(), "The partition ring requires at least one node.");
+        return new PartitionRing(ImmutableSet.copyOf(nodes));
+    }
+
+    /**
+     * Returns the nodes of this ring.
+     */
+    public ImmutableSet<HostAndPort> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Tells whether the ring contains the given node.
+     */
+    public boolean contains(HostAndPort node) {
+        return nodes.contains(node);
+    }
+
+    /**
+     * Creates a new ring which additionally contains the given node.
+     */
+    public PartitionRing withNode(HostAndPort node) {
+        checkNotNull(node);
+        var nodes = ImmutableSet.<HostAndPort>builder()
+                .addAll(this.nodes)
+                .add(node)
+                .build();
+        return new PartitionRing(nodes);
+    }
+
+    /**
+     * Returns the node which owns the data of the given user.
+     */
+    public HostAndPort ownerOf(UserId user) {
+        checkNotNull(user);
+        var hash = hash(user.getValue());
+        var owner = points.ceilingEntry(hash);
+        if (owner == null) {
+            return points.firstEntry()
+                         .getValue();
+        }
+        return owner.getValue();
+    }
+
+    private static int hash(String value) {
+        return HASH.hashString(value, UTF_8)
+                   .asInt();
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionRing" + nodes;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+import io.spine.core.UserId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The view of a single server node on how the users are partitioned across the cluster.
+ *
+ * <p>A user is owned by the node chosen by the current {@link PartitionRing}. The node
+ * keeps all the data of the user it handles, such as wallets, investments
+ * and watchlists, in its own storage.
+ *
+ * <p>When a node is added, the ring is {@linkplain #rebalance(PartitionRing) rebalanced}.
+ * The users which already have their data on some node stay <i>resident</i> there,
+ * while the new users are spread according to the new ring. The previous rings are kept,
+ * so that the new owner of a user can find the node holding the user's data.
+ *
+ * <p>The partitioning is thread-safe.
+ */
+public final class Partitioning {
+
+    private final HostAndPort self;
+    private volatile ImmutableList<PartitionRing> generations;
+    private final Set<UserId> residents = ConcurrentHashMap.newKeySet();
+    private final Map<UserId, HostAndPort> handedOff = new ConcurrentHashMap<>();
+
+    private Partitioning(HostAndPort self, PartitionRing ring) {
+        this.self = self;
+        this.generations = ImmutableList.of(ring);
+    }
+
+    /**
+     * Creates the partitioning for the given node.
+     *
+     * @param self
+     *         the address of this node
+     * @param ring
+     *         the ring of the cluster nodes, which must contain this node
+     */
+    public static Partitioning of(HostAndPort self, PartitionRing ring) {
+        checkNotNull(self);
+        checkNotNull(ring);
+        checkArgument(ring.contains(self), "The node `%s` does not belong to `%s`.", self, ring);
+        return new Partitioning(self, ring);
+    }
+
+    /**
+     * Returns the address of this node.
+     */
+    public HostAndPort self() {
+        return self;
+    }
+
+    /**
+     * Returns the current ring of the cluster nodes.
+     */
+    public PartitionRing ring() {
+        return generations.get(generations.size() - 1);
+    }
+
+    /**
+     * Switches to the new ring of the cluster nodes.
+     *
+     * <p>The users resident on this node keep being handled by it.
+     * The new users are handled according to the new ring.
+     *
+     * @param ring
+     *         the ring with all the nodes of the current ring and, possibly, some new ones
+     * @return {@code true} if the ring has changed, {@code false} otherwise
+     */
+    public synchronized boolean rebalance(PartitionRing ring) {
+        checkNotNull(ring);
+        var current = ring();
+        if (current.nodes()
+                   .equals(ring.nodes())) {
+            return false;
+        }
+        checkArgument(ring.nodes()
+                          .containsAll(current.nodes()),
+                      "Removing nodes from the cluster is not supported, but `%s` lacks some of `%s`.",
+                      ring, current);
+        generations = ImmutableList.<PartitionRing>builder()
+                .addAll(generations)
+                .add(ring)
+                .build();
+        return true;
+    }
+
+    /**
+     * Returns the node which owns the given user according to the current ring.
+     */
+    public HostAndPort ownerOf(UserId user) {
+        return ring().ownerOf(user);
+    }
+
+    /**
+     * Tells whether this node owns the given user according to the current ring.
+     */
+    public boolean owns(UserId user) {
+        return self.equals(ownerOf(user));
+    }
+
+    /**
+     * Tells whether the data of the given user is kept by this node.
+     */
+    public boolean isResident(UserId user) {
+        return residents.contains(user);
+    }
+
+    /**
+     * Remembers that this node keeps the data of the given user.
+     */
+    public void settle(UserId user) {
+        residents.add(checkNotNull(user));
+        handedOff.remove(user);
+    }
+
+    /**
+     * Returns the nodes which owned the given user according to the previous rings,
+     * starting from the most recent one.
+     *
+     * <p>The data of a user, who is not resident on its current owner, may be kept
+     * by one of these nodes. This node is not included.
+     */
+    public ImmutableList<HostAndPort> previousOwnersOf(UserId user) {
+        checkNotNull(user);
+        var rings = generations;
+        List<HostAndPort> result = new ArrayList<>(rings.size());
+        for (var i = rings.size() - 2; i >= 0; i--) {
+            var owner = rings.get(i)
+                             .ownerOf(user);
+            if (!owner.equals(self) && !result.contains(owner)) {
+                result.add(owner);
+            }
+        }
+        return ImmutableList.copyOf(result);
+    }
+
+    /**
+     * Remembers that the data of the given user is kept by another node.
+     */
+    public void handOff(UserId user, HostAndPort node) {
+        checkNotNull(user);
+        checkNotNull(node);
+        handedOff.put(user, node);
+    }
+
+    /**
+     * Returns the node which keeps the data of the given user
+     * if it was {@linkplain #handOff(UserId, HostAndPort) handed off} earlier.
+     */
+    public Optional<HostAndPort> handedOffTo(UserId user) {
+        return Optional.ofNullable(handedOff.get(user));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import com.google.common.base.Ticker;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.spine.examples.shareaware.server.deadline.TimingWheel.Timeout;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Fires the deadlines of the keys once their time comes.
+ *
+ * <p>The deadlines are kept in a {@link TimingWheel}, so that millions of them
+ * may be pending at once. The wheel is advanced each tick, and the keys whose
+ * deadlines have passed are passed to the consumer. A deadline fires not earlier
+ * than its time, and not later than a tick after it.
+ *
+ * <p>The scheduler is thread-safe.
+ *
+ * @param <K>
+ *         the type of the keys
+ */
+final class DeadlineScheduler<K> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final Ticker ticker;
+    private final long startedAt;
+    private final Consumer<K> onExpired;
+    private final @Nullable ScheduledExecutorService timer;
+
+    @GuardedBy("this")
+    private final TimingWheel<K> wheel = new TimingWheel<>();
+
+    @GuardedBy("this")
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    private DeadlineScheduler(Duration tick,
+                              Ticker ticker,
+                              Consumer<K> onExpired,
+                              @Nullable ScheduledExecutorService timer) {
+        checkNotNull(tick);
+        checkArgument(!tick.isNegative() && !tick.isZero(), "The tick must be positive.");
+        this.tickNanos = tick.toNanos();
+        this.ticker = checkNotNull(ticker);
+        this.startedAt = ticker.read();
+        this.onExpired = checkNotNull(onExpired);
+        this.timer = timer;
+    }
+
+    /**
+     * Creates a scheduler which fires the deadlines on its own thread.
+     *
+     * @param tick
+     *         the precision of the deadlines
+     * @param onExpired
+     *         the consumer of the keys whose deadlines have passed
+     */
+    static <K> DeadlineScheduler<K> start(Duration tick, Consumer<K> onExpired) {
+        var timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var scheduler = new DeadlineScheduler<>(tick, Ticker.systemTicker(), onExpired, timer);
+        checkNotNull(timer.scheduleAtFixedRate(scheduler::fireDue, scheduler.tickNanos,
+                                               scheduler.tickNanos, NANOSECONDS));
+        return scheduler;
+    }
+
+    /**
+     * Creates a scheduler which fires the deadlines only when
+     * {@linkplain #fireDue() told to}.
+     *
+     * @param tick
+     *         the precision of the deadlines
+     * @param ticker
+     *         the source of time
+     * @param onExpired
+     *         the consumer of the keys whose deadlines have passed
+     */
+    static <K> DeadlineScheduler<K> manual(Duration tick, Ticker ticker, Consumer<K> onExpired) {
+        return new DeadlineScheduler<>(tick, ticker, onExpired, null);
+    }
+
+    /**
+     * Sets the deadline of the key after the given time, replacing its previous deadline.
+     */
+    synchronized void schedule(K key, Duration after) {
+        checkNotNull(key);
+        checkNotNull(after);
+        var previous = timeouts.remove(key);
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+        var deadline = ticker.read() - startedAt + after.toNanos();
+        var deadlineTick = (deadline + tickNanos - 1) / tickNanos;
+        timeouts.put(key, wheel.schedule(key, deadlineTick));
+    }
+
+    /**
+     * Removes the deadline of the key.
+     *
+     * @return {@code true} if the deadline was pending, {@code false} otherwise
+     */
+    @CanIgnoreReturnValue
+    synchronized boolean cancel(K key) {
+        checkNotNull(key);
+        var timeout = timeouts.remove(key);
+        return timeout != null && wheel.cancel(timeout);
+    }
+
+    /**
+     * Returns the number of the pending deadlines.
+     */
+    synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Fires the deadlines which have passed by now.
+     *
+     * <p>The consumer is called outside the lock of the scheduler,
+     * so it may schedule and cancel the deadlines.
+     */
+    void fireDue() {
+        List<K> expired = new ArrayList<>();
+        synchronized (this) {
+            var now = (ticker.read() - startedAt) / tickNanos;
+            wheel.advanceTo(now, expired::add);
+            for (var key : expired) {
+                timeouts.remove(key);
+            }
+        }
+        expired.forEach(onExpired);
+    }
+
+    /**
+     * Stops firing the deadlines.
+     */
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+
+/**
+ * The snapshot of the reservations held by the processes in flight.
+ */
+public final class ReservationMetrics {
+
+    private final int inFlight;
+    private final Duration oldestAge;
+    private final long timedOut;
+
+    ReservationMetrics(int inFlight, Duration oldestAge, long timedOut) {
+        this.inFlight = inFlight;
+        this.oldestAge = oldestAge;
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * Returns the number of the processes holding a reservation of money or shares.
+     */
+    public int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns how long the oldest reservation is held,
+     * or {@code Duration.ZERO} if there are no reservations.
+     */
+    public Duration oldestAge() {
+        return oldestAge;
+    }
+
+    /**
+     * Returns the number of the reservations cancelled after their timeout.
+     */
+    public long timedOut() {
+        return timedOut;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("inFlight", inFlight)
+                          .add("oldestAge", oldestAge)
+                          .add("timedOut", timedOut)
+                          .toString();
+    }
+}
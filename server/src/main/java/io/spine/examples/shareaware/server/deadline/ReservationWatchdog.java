@@ -0,0 +1,372 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import com.google.common.base.Ticker;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Subscribe;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.command.CancelSharesReservation;
+import io.spine.examples.shareaware.investment.event.BasketSharesSettled;
+import io.spine.examples.shareaware.investment.event.SharesReservationCanceled;
+import io.spine.examples.shareaware.investment.event.SharesReservationCompleted;
+import io.spine.examples.shareaware.investment.event.SharesReserved;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.market.event.SharesSoldOnMarket;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.logging.Logging;
+import io.spine.server.event.AbstractEventSubscriber;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * Cancels the reservations of money and shares held by the processes for too long.
+ *
+ * <p>The shares purchase and the shares sale processes reserve the money or the shares
+ * first, and then wait for the market. If the answer never comes, the process stays open,
+ * and the reservation stays locked.
+ *
+ * <p>The watchdog sets a deadline for each reservation once it is made, and removes it
+ * once the market answers, or the reservation is debited or cancelled. When the deadline
+ * passes, the watchdog sends {@code CancelMoneyReservation} or {@code CancelSharesReservation}
+ * on behalf of the owner. The reservation returns to the wallet or the investment, and
+ * the process holding it terminates as if the market has failed. The answer of the market
+ * coming after that is ignored by the process, and a debit racing with the cancellation
+ * is rejected by the wallet.
+ *
+ * <p>The money reserved by the withdrawals is not watched. The transfer is passed to
+ * the payment gateway right after the reservation, and its outcome is never given up on,
+ * as the bank may still settle the transfer. Cancelling the reservation while
+ * the transfer is pending would pay the money out twice.
+ *
+ * <p>The reservations are watched, released and expired under the lock of the watchdog,
+ * so that a deadline passing at the same time as the reservation is debited
+ * either fires before the release or does not fire at all. The events may also
+ * arrive out of order, so the operations released recently are remembered,
+ * and a reservation reported after its release is not watched.
+ * A cancellation may still race with a debit already sent to the wallet or
+ * the investment, which then ignore the cancellation of a finished operation.
+ *
+ * <p>The timeout should exceed the time the market is given to answer,
+ * so that only the processes which are truly stuck are compensated.
+ *
+ * <p>The watchdog must be {@linkplain #postThrough(CommandServiceImplBase) given}
+ * the command service of its Bounded Context before the deadlines start passing.
+ */
+public final class ReservationWatchdog extends AbstractEventSubscriber
+        implements AutoCloseable, Logging {
+
+    private static final Duration TICK = Duration.ofMillis(100);
+    private static final int RELEASED_CAPACITY = 10_000;
+
+    private final Duration timeout;
+    private final Ticker ticker;
+    private final DeadlineScheduler<Message> deadlines;
+
+    @GuardedBy("this")
+    private final Map<Message, Reservation> reservations = new HashMap<>();
+
+    /**
+     * The operations released recently, oldest first.
+     */
+    @GuardedBy("this")
+    private final Set<Message> released = newSetFromMap(new LinkedHashMap<>() {
+        private static final long serialVersionUID = 0L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Message, Boolean> eldest) {
+            return size() > RELEASED_CAPACITY;
+        }
+    });
+
+    private final AtomicLong timedOut = new AtomicLong();
+    private volatile @Nullable CommandServiceImplBase commands;
+
+    private ReservationWatchdog(Duration timeout, Ticker ticker, boolean ownThread) {
+        this.timeout = timeout;
+        this.ticker = ticker;
+        this.deadlines = ownThread
+                         ? DeadlineScheduler.start(TICK, this::onExpired)
+                         : DeadlineScheduler.manual(TICK, ticker, this::onExpired);
+    }
+
+    /**
+     * Creates the watchdog which cancels the reservations held longer than the given timeout.
+     */
+    public static ReservationWatchdog withTimeout(Duration timeout) {
+        checkTimeout(timeout);
+        return new ReservationWatchdog(timeout, Ticker.systemTicker(), true);
+    }
+
+    /**
+     * Creates the watchdog which checks the deadlines only when
+     * {@linkplain #checkDeadlines() told to}, according to the given ticker.
+     */
+    static ReservationWatchdog manual(Duration timeout, Ticker ticker) {
+        checkTimeout(timeout);
+        checkNotNull(ticker);
+        return new ReservationWatchdog(timeout, ticker, false);
+    }
+
+    private static void checkTimeout(Duration timeout) {
+        checkNotNull(timeout);
+        checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                      "The timeout must be positive.");
+    }
+
+    /**
+     * Sets the command service through which the cancellations are sent.
+     */
+    public void postThrough(CommandServiceImplBase commands) {
+        this.commands = checkNotNull(commands);
+    }
+
+    @Subscribe
+    void on(MoneyReserved e) {
+        if (e.isPartOfWithdrawal()) {
+            return;
+        }
+        var cancellation = CancelMoneyReservation
+                .newBuilder()
+                .setWallet(e.getWallet())
+                .setOperation(e.getOperation())
+                .vBuild();
+        watch(e.getOperation(), e.getWallet()
+                                 .getOwner(), cancellation);
+    }
+
+    @Subscribe
+    void on(ReservedMoneyDebited e) {
+        release(e.getOperation());
+    }
+
+    @Subscribe
+    void on(MoneyReservationCanceled e) {
+        release(e.getOperation());
+    }
+
+    @Subscribe
+    void on(SharesObtained e) {
+        if (e.hasBasket()) {
+            return;
+        }
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setPurchase(e.getPurchaseProcess())
+                .build();
+        release(operation);
+    }
+
+    @Subscribe
+    void on(BasketSharesSettled e) {
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setBasket(e.getBasketProcess())
+                .build();
+        release(operation);
+    }
+
+    @Subscribe
+    void on(SharesReserved e) {
+        var cancellation = CancelSharesReservation
+                .newBuilder()
+                .setInvestment(e.getInvestment())
+                .setProcess(e.getProcess())
+                .vBuild();
+        watch(e.getProcess(), e.getInvestment()
+                               .getOwner(), cancellation);
+    }
+
+    @Subscribe
+    void on(SharesSoldOnMarket e) {
+        release(e.getSaleProcess());
+    }
+
+    @Subscribe
+    void on(SharesReservationCompleted e) {
+        release(e.getProcess());
+    }
+
+    @Subscribe
+    void on(SharesReservationCanceled e) {
+        release(e.getProcess());
+    }
+
+    private synchronized void watch(Message operation, UserId owner, CommandMessage cancellation) {
+        if (released.contains(operation)) {
+            return;
+        }
+        reservations.put(operation, new Reservation(owner, cancellation, ticker.read()));
+        deadlines.schedule(operation, timeout);
+    }
+
+    private synchronized void release(Message operation) {
+        released.add(operation);
+        reservations.remove(operation);
+        deadlines.cancel(operation);
+    }
+
+    /**
+     * Takes the reservation whose deadline has passed, if it is still held.
+     */
+    private synchronized @Nullable Reservation expire(Message operation) {
+        var reservation = reservations.remove(operation);
+        if (reservation != null) {
+            released.add(operation);
+        }
+        return reservation;
+    }
+
+    /**
+     * Cancels the reservation whose deadline has passed.
+     *
+     * <p>The cancellation is posted outside the lock of the watchdog, as handling it
+     * delivers the events back to the watchdog, possibly on another thread.
+     */
+    private void onExpired(Message operation) {
+        var reservation = expire(operation);
+        if (reservation == null) {
+            return;
+        }
+        timedOut.incrementAndGet();
+        var sink = commands;
+        if (sink == null) {
+            _error().log("Unable to cancel the reservation of `%s`: no command service is set.",
+                         operation);
+            return;
+        }
+        _warn().log("Cancelling the reservation of `%s` held longer than %s.",
+                    operation, timeout);
+        var command = ActorRequestFactory
+                .newBuilder()
+                .setActor(reservation.owner)
+                .build()
+                .command()
+                .create(reservation.cancellation);
+        sink.post(command, new CancellationObserver(operation));
+    }
+
+    /**
+     * Passes the deadlines which have come by now according to the ticker
+     * of the {@linkplain #manual(Duration, Ticker) manual} watchdog.
+     */
+    void checkDeadlines() {
+        deadlines.fireDue();
+    }
+
+    /**
+     * Returns the metrics of the reservations held at the moment.
+     */
+    public synchronized ReservationMetrics metrics() {
+        var now = ticker.read();
+        var oldest = reservations.values()
+                                 .stream()
+                                 .mapToLong(reservation -> reservation.reservedAt)
+                                 .min()
+                                 .orElse(now);
+        return new ReservationMetrics(reservations.size(),
+                                      Duration.ofNanos(now - oldest),
+                                      timedOut.get());
+    }
+
+    /**
+     * Stops checking the deadlines.
+     */
+    @Override
+    public void close() {
+        deadlines.close();
+    }
+
+    /**
+     * A reservation held by a process.
+     */
+    private static final class Reservation {
+
+        private final UserId owner;
+        private final CommandMessage cancellation;
+        private final long reservedAt;
+
+        private Reservation(UserId owner, CommandMessage cancellation, long reservedAt) {
+            this.owner = owner;
+            this.cancellation = cancellation;
+            this.reservedAt = reservedAt;
+        }
+    }
+
+    /**
+     * Logs the cancellations which could not be sent.
+     */
+    private final class CancellationObserver implements StreamObserver<Ack> {
+
+        private final Message operation;
+
+        private CancellationObserver(Message operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            var status = ack.getStatus();
+            if (status.hasError()) {
+                _error().log("The cancellation of the reservation of `%s` failed: %s.",
+                             operation, status.getError()
+                                              .getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            _error().withCause(t)
+                    .log("Unable to cancel the reservation of `%s`.", operation);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
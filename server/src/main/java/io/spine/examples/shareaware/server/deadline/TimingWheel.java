@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A hierarchical timing wheel, which keeps the items until their deadlines.
+ *
+ * <p>The time is counted in ticks. The wheel consists of the levels of {@value #SLOTS} slots
+ * each. A slot of the first level holds the items expiring at a single tick, a slot of each
+ * next level spans as many ticks as the whole previous level. The items far from their
+ * deadlines are kept at the upper levels and move down as their deadlines approach.
+ * The levels are added as the farther deadlines are scheduled.
+ *
+ * <p>Adding and cancelling an item takes constant time regardless of the number of
+ * the scheduled items. Advancing the wheel by a tick takes the time proportional to
+ * the number of items moved or expired at this tick.
+ *
+ * <p>The wheel is not thread-safe.
+ *
+ * @param <T>
+ *         the type of the scheduled items
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final List<Slot<T>[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel() {
+        levels.add(newLevel());
+    }
+
+    @SuppressWarnings("unchecked") // Generic arrays cannot be created directly.
+    private static <T> Slot<T>[] newLevel() {
+        Slot<T>[] level = new Slot[SLOTS];
+        for (var i = 0; i < SLOTS; i++) {
+            level[i] = new Slot<>();
+        }
+        return level;
+    }
+
+    /**
+     * Returns the tick the wheel has advanced to.
+     */
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the number of the scheduled items.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the item to expire at the given tick.
+     *
+     * <p>The item scheduled for the current or a past tick expires
+     * on the next {@linkplain #advanceTo(long, Consumer) advance}.
+     *
+     * @return the timeout which allows cancelling the item
+     */
+    Timeout<T> schedule(T item, long deadlineTick) {
+        checkNotNull(item);
+        var timeout = new Timeout<T>(item, Math.max(deadlineTick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes the item from the wheel, so that it never expires.
+     *
+     * @return {@code true} if the item was removed,
+     *         {@code false} if it has already expired or been cancelled
+     */
+    @CanIgnoreReturnValue
+    boolean cancel(Timeout<T> timeout) {
+        checkNotNull(timeout);
+        if (timeout.slot == null) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given tick, passing the expired items to the consumer.
+     */
+    void advanceTo(long tick, Consumer<T> onExpired) {
+        checkArgument(tick >= currentTick, "The wheel cannot go back in time.");
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            var due = levels.get(0)[(int) (currentTick & SLOT_MASK)];
+            for (var timeout = due.first(); timeout != null; timeout = due.first()) {
+                timeout.unlink();
+                size--;
+                onExpired.accept(timeout.item);
+            }
+        }
+    }
+
+    /**
+     * Moves the items of the upper levels, whose slots start at the current tick,
+     * to the lower levels.
+     *
+     * <p>The upper levels are processed first, as their items may fall into
+     * the slots of the lower levels which are about to be processed.
+     */
+    private void cascade() {
+        var topLevel = 0;
+        while (topLevel + 1 < levels.size()
+                && (currentTick & (spanOf(topLevel) - 1)) == 0) {
+            topLevel++;
+        }
+        for (var level = topLevel; level > 0; level--) {
+            var slot = levels.get(level)[slotIndex(currentTick, level)];
+            for (var timeout = slot.first(); timeout != null; timeout = slot.first()) {
+                timeout.unlink();
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        var distance = timeout.deadlineTick - currentTick;
+        var level = 0;
+        while (distance >= spanOf(level)) {
+            level++;
+            if (level == levels.size()) {
+                levels.add(newLevel());
+            }
+        }
+        levels.get(level)[slotIndex(timeout.deadlineTick, level)].add(timeout);
+    }
+
+    /**
+     * Returns the number of ticks covered by the whole level.
+     */
+    private static long spanOf(int level) {
+        var bits = SLOT_BITS * (level + 1);
+        return bits >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bits;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    /**
+     * An item scheduled in the wheel.
+     *
+     * <p>The timeouts of a slot form a doubly-linked list, so that a timeout
+     * is removed from its slot in constant time.
+     */
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private @Nullable Slot<T> slot;
+        private @Nullable Timeout<T> previous;
+        private @Nullable Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Returns the scheduled item.
+         */
+        T item() {
+            return item;
+        }
+
+        private void unlink() {
+            var owner = checkNotNull(slot);
+            if (previous == null) {
+                owner.head = next;
+            } else {
+                previous.next = next;
+            }
+            if (next != null) {
+                next.previous = previous;
+            }
+            slot = null;
+            previous = null;
+            next = null;
+        }
+    }
+
+    /**
+     * The timeouts expiring within the same span of ticks.
+     */
+    private static final class Slot<T> {
+
+        private @Nullable Timeout<T> head;
+
+        private @Nullable Timeout<T> first() {
+            return head;
+        }
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+    }
+}
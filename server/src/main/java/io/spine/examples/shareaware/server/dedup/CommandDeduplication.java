@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.dedup;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * The command service which does not pass the duplicates of the recent commands
+ * to the delegate service.
+ *
+ * <p>A client may retry posting a command if it did not receive the acknowledgement.
+ * The duplicates are {@linkplain DeduplicationKeys recognized} by the command ID and,
+ * for the commands starting a process, by the ID of the process.
+ *
+ * <p>The keys of the recent commands are kept in a bounded concurrent cache
+ * in memory, so recognizing a duplicate requires no storage lookup. A key expires
+ * after the given time window, or earlier if the cache overflows.
+ *
+ * <p>A duplicate is acknowledged with the status of the original command. If the
+ * original is still being posted, the duplicate waits for its outcome. If the original
+ * is not acknowledged successfully, its keys are forgotten, so that it may be retried.
+ */
+public final class CommandDeduplication extends CommandServiceImplBase {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(10);
+    private static final long DEFAULT_MAX_KEYS = 100_000;
+
+    private final CommandServiceImplBase delegate;
+    private final ConcurrentMap<DeduplicationKey, CompletableFuture<Ack>> recent;
+
+    private CommandDeduplication(CommandServiceImplBase delegate,
+                                 Duration window,
+                                 long maxKeys,
+                                 Ticker ticker) {
+        this.delegate = delegate;
+        Cache<DeduplicationKey, CompletableFuture<Ack>> cache = CacheBuilder
+                .newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxKeys)
+                .ticker(ticker)
+                .build();
+        this.recent = cache.asMap();
+    }
+
+    /**
+     * Creates a new deduplication in front of the given service with the default window
+     * and number of remembered commands.
+     */
+    public static CommandDeduplication of(CommandServiceImplBase delegate) {
+        return of(delegate, DEFAULT_WINDOW, DEFAULT_MAX_KEYS, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new deduplication in front of the given service.
+     *
+     * @param delegate
+     *         the service handling the original commands
+     * @param window
+     *         the time during which the duplicates of a command are recognized
+     * @param maxKeys
+     *         the maximum number of the remembered keys
+     * @param ticker
+     *         the source of time
+     */
+    static CommandDeduplication of(CommandServiceImplBase delegate,
+                                   Duration window,
+                                   long maxKeys,
+                                   Ticker ticker) {
+        checkNotNull(delegate);
+        checkNotNull(window);
+        checkNotNull(ticker);
+        checkArgument(!window.isNegative() && !window.isZero(), "The window must be positive.");
+        checkArgument(maxKeys > 0, "The number of keys must be positive.");
+        return new CommandDeduplication(delegate, window, maxKeys, ticker);
+    }
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        var outcome = new CompletableFuture<Ack>();
+        var keys = DeduplicationKeys.of(command);
+        List<DeduplicationKey> claimed = new ArrayList<>(keys.size());
+        for (var key : keys) {
+            var original = recent.putIfAbsent(key, outcome);
+            if (original != null) {
+                release(claimed, outcome);
+                checkNotNull(original.whenComplete(
+                        (ack, error) -> replyToDuplicate(command, ack, error, observer)));
+                return;
+            }
+            claimed.add(key);
+        }
+        try {
+            delegate.post(command, new Recording(observer, outcome, claimed));
+        } catch (RuntimeException e) {
+            release(claimed, outcome);
+            outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void release(List<DeduplicationKey> keys, CompletableFuture<Ack> outcome) {
+        for (var key : keys) {
+            recent.remove(key, outcome);
+        }
+    }
+
+    private static void replyToDuplicate(Command command,
+                                         @Nullable Ack original,
+                                         @Nullable Throwable error,
+                                         StreamObserver<Ack> observer) {
+        if (original == null) {
+            observer.onError(checkNotNull(error));
+            return;
+        }
+        var ack = Ack
+                .newBuilder()
+                .setMessageId(pack(command.getId()))
+                .setStatus(original.getStatus())
+                .build();
+        observer.onNext(ack);
+        observer.onCompleted();
+    }
+
+    /**
+     * Passes the acknowledgement of the original command to the client,
+     * and remembers it for the duplicates.
+     */
+    private final class Recording implements StreamObserver<Ack> {
+
+        private final StreamObserver<Ack> observer;
+        private final CompletableFuture<Ack> outcome;
+        private final List<DeduplicationKey> keys;
+
+        private Recording(StreamObserver<Ack> observer,
+                          CompletableFuture<Ack> outcome,
+                          List<DeduplicationKey> keys) {
+            this.observer = observer;
+            this.outcome = outcome;
+            this.keys = keys;
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            if (!ack.getStatus()
+                    .hasOk()) {
+                release(keys, outcome);
+            }
+            observer.onNext(ack);
+            outcome.complete(ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            release(keys, outcome);
+            observer.onError(t);
+            outcome.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            observer.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.dedup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import io.spine.core.Command;
+import io.spine.examples.shareaware.investment.command.PurchaseBasket;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.command.SellShares;
+import io.spine.examples.shareaware.wallet.command.ReplenishWallet;
+import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
+
+import java.util.function.Function;
+
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Tells by which keys the duplicates of a command are recognized.
+ *
+ * <p>Each command is recognized by its ID, which stays the same when the client retries
+ * posting the command. The commands starting a process are also recognized by
+ * their business key, which is the ID of the process to start. So, a process is not
+ * started twice even if the client creates a new command for a retry.
+ *
+ * <p>The business key is read from the process ID field of the unpacked command message.
+ * A process ID which is not set does not make a business key.
+ */
+final class DeduplicationKeys {
+
+    private static final String COMMAND_KIND = "command";
+
+    /**
+     * Obtains the process ID from the process-starting commands by their type name.
+     */
+    private static final ImmutableMap<String, Function<Any, Message>> PROCESS_IDS =
+            ImmutableMap.<String, Function<Any, Message>>builder()
+                    .put(PurchaseShares.getDescriptor().getFullName(),
+                         any -> unpack(any, PurchaseShares.class).getPurchaseProcess())
+                    .put(PurchaseBasket.getDescriptor().getFullName(),
+                         any -> unpack(any, PurchaseBasket.class).getBasketProcess())
+                    .put(SellShares.getDescriptor().getFullName(),
+                         any -> unpack(any, SellShares.class).getSaleProcess())
+                    .put(WithdrawMoney.getDescriptor().getFullName(),
+                         any -> unpack(any, WithdrawMoney.class).getWithdrawalProcess())
+                    .put(ReplenishWallet.getDescriptor().getFullName(),
+                         any -> unpack(any, ReplenishWallet.class).getReplenishment())
+                    .build();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private DeduplicationKeys() {
+    }
+
+    /**
+     * Returns the keys by which the duplicates of the given command are recognized.
+     */
+    static ImmutableList<DeduplicationKey> of(Command command) {
+        var commandId = ByteString.copyFromUtf8(command.getId()
+                                                       .getUuid());
+        var commandKey = new DeduplicationKey(COMMAND_KIND, commandId);
+        var message = command.getMessage();
+        var typeName = typeName(message);
+        var processId = PROCESS_IDS.get(typeName);
+        if (processId == null) {
+            return ImmutableList.of(commandKey);
+        }
+        var id = processId.apply(message);
+        if (id.equals(id.getDefaultInstanceForType())) {
+            return ImmutableList.of(commandKey);
+        }
+        var businessKey = new DeduplicationKey(typeName, id.toByteString());
+        return ImmutableList.of(commandKey, businessKey);
+    }
+
+    private static String typeName(Any message) {
+        var typeUrl = message.getTypeUrl();
+        return typeUrl.substring(typeUrl.lastIndexOf('/') + 1);
+    }
+}
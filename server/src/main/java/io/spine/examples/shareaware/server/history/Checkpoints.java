@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import com.google.protobuf.Timestamp;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.protobuf.util.Timestamps.compare;
+
+/**
+ * Tells when to record a checkpoint and finds the checkpoint nearest to the given time.
+ *
+ * <p>The checkpoints are split into the chunks of {@link #CHECKPOINTS_PER_CHUNK}
+ * checkpoints. The version of a checkpoint tells the chunk to put it into,
+ * so the chunk is known without reading the checkpoints recorded before.
+ */
+final class Checkpoints {
+
+    /**
+     * The number of versions between two consecutive checkpoints.
+     *
+     * <p>Restoring a state replays at most {@code INTERVAL - 1} events
+     * after the checkpoint.
+     */
+    static final int INTERVAL = 32;
+
+    /**
+     * The number of checkpoints in a full chunk.
+     */
+    static final int CHECKPOINTS_PER_CHUNK = 64;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Checkpoints() {
+    }
+
+    /**
+     * Tells whether the state of the given version should be recorded as a checkpoint.
+     *
+     * <p>The first version is always recorded, so that any state
+     * has a checkpoint to start from.
+     */
+    static boolean isCheckpoint(int version) {
+        return (version - 1) % INTERVAL == 0;
+    }
+
+    /**
+     * Returns the number of the chunk holding the checkpoint of the given version.
+     */
+    static int chunkNumber(int version) {
+        checkArgument(version >= 1 && isCheckpoint(version),
+                      "The version `%s` is not recorded as a checkpoint.", version);
+        return (version - 1) / INTERVAL / CHECKPOINTS_PER_CHUNK;
+    }
+
+    /**
+     * Returns the number of chunks holding the checkpoints of the history
+     * which reached the given version.
+     */
+    static int chunkCount(int latestVersion) {
+        if (latestVersion < 1) {
+            return 0;
+        }
+        return (latestVersion - 1) / INTERVAL / CHECKPOINTS_PER_CHUNK + 1;
+    }
+
+    /**
+     * Returns the latest of the checkpoints recorded not later than the given time.
+     *
+     * <p>Reads only the chunks needed to find the checkpoint, which is
+     * the logarithm of their count.
+     *
+     * @param chunks
+     *         the number of the chunks
+     * @param chunk
+     *         obtains the checkpoints of the chunk by its number
+     * @param timeOf
+     *         obtains the time of a checkpoint
+     * @param time
+     *         the time to find the checkpoint for
+     */
+    static <C> Optional<C> latestAt(int chunks,
+                                    IntFunction<List<C>> chunk,
+                                    Function<C, Timestamp> timeOf,
+                                    Timestamp time) {
+        var low = 0;
+        var high = chunks;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            var checkpoints = chunk.apply(middle);
+            if (!checkpoints.isEmpty()
+                    && compare(timeOf.apply(checkpoints.get(0)), time) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == 0) {
+            return Optional.empty();
+        }
+        return latestAt(chunk.apply(low - 1), timeOf, time);
+    }
+
+    /**
+     * Returns the latest of the checkpoints recorded not later than the given time.
+     *
+     * @param checkpoints
+     *         the checkpoints in the order they were recorded
+     * @param timeOf
+     *         obtains the time of a checkpoint
+     * @param time
+     *         the time to find the checkpoint for
+     */
+    static <C> Optional<C> latestAt(List<C> checkpoints,
+                                    Function<C, Timestamp> timeOf,
+                                    Timestamp time) {
+        var low = 0;
+        var high = checkpoints.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (compare(timeOf.apply(checkpoints.get(middle)), time) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(checkpoints.get(low - 1));
+    }
+}
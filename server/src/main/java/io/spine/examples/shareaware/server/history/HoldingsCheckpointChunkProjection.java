@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.shareaware.HoldingsCheckpointChunkId;
+import io.spine.examples.shareaware.history.HoldingsCheckpointChunk;
+import io.spine.examples.shareaware.history.event.HoldingsCheckpointRecorded;
+import io.spine.server.projection.Projection;
+
+/**
+ * Appends the checkpoints of the user's investments to a chunk of their sparse history.
+ *
+ * <p>The checkpoints are {@linkplain HoldingsCheckpointChunkRepository routed}
+ * to the chunk by their versions, so each chunk receives at most
+ * {@link Checkpoints#CHECKPOINTS_PER_CHUNK} checkpoints.
+ */
+final class HoldingsCheckpointChunkProjection
+        extends Projection<HoldingsCheckpointChunkId,
+                           HoldingsCheckpointChunk,
+                           HoldingsCheckpointChunk.Builder> {
+
+    @Subscribe
+    void on(HoldingsCheckpointRecorded e) {
+        builder()
+                .setId(id())
+                .addCheckpoint(e.getCheckpoint());
+    }
+}
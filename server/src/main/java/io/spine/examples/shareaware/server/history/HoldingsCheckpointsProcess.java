@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import io.spine.base.EventMessage;
+import io.spine.core.EventContext;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.history.HoldingsCheckpoint;
+import io.spine.examples.shareaware.history.HoldingsCheckpoints;
+import io.spine.examples.shareaware.history.InvestmentSnapshot;
+import io.spine.examples.shareaware.history.event.HoldingsCheckpointRecorded;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.investment.event.SharesReservationCanceled;
+import io.spine.examples.shareaware.investment.event.SharesReservationCompleted;
+import io.spine.examples.shareaware.investment.event.SharesReserved;
+import io.spine.examples.shareaware.server.investment.InvestmentReplay;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.history.Checkpoints.isCheckpoint;
+
+/**
+ * Follows the states of all the investments of the user and records them
+ * after each checkpoint number of changes.
+ *
+ * <p>Unlike the checkpoints of a wallet, which follow a single aggregate,
+ * the holdings of a user span many investments. Therefore, the checkpoints
+ * are counted by the changes of all of them, while each investment keeps
+ * its own version to tell which of its events are already applied.
+ *
+ * <p>The process keeps only the current states of the investments. The checkpoints
+ * are emitted as events and stored in the {@linkplain HoldingsCheckpointChunkProjection
+ * chunks}, so the state of the process does not grow with the history of the holdings.
+ */
+final class HoldingsCheckpointsProcess
+        extends ProcessManager<UserId, HoldingsCheckpoints, HoldingsCheckpoints.Builder> {
+
+    @React
+    Optional<HoldingsCheckpointRecorded> on(SharesAdded e, EventContext ctx) {
+        return record(e.getInvestment(), e, ctx);
+    }
+
+    @React
+    Optional<HoldingsCheckpointRecorded> on(SharesReserved e, EventContext ctx) {
+        return record(e.getInvestment(), e, ctx);
+    }
+
+    @React
+    Optional<HoldingsCheckpointRecorded> on(SharesReservationCompleted e, EventContext ctx) {
+        return record(e.getInvestment(), e, ctx);
+    }
+
+    @React
+    Optional<HoldingsCheckpointRecorded> on(SharesReservationCanceled e, EventContext ctx) {
+        return record(e.getInvestment(), e, ctx);
+    }
+
+    private Optional<HoldingsCheckpointRecorded> record(InvestmentId investment,
+                                                        EventMessage e,
+                                                        EventContext ctx) {
+        var share = investment.getShare()
+                              .getUuid();
+        var previous = builder().getLatestOrDefault(share,
+                                                    InvestmentSnapshot.getDefaultInstance());
+        var replay = InvestmentReplay.startingFrom(previous.getState());
+        replay.play(e);
+        var snapshot = InvestmentSnapshot
+                .newBuilder()
+                .setState(replay.state())
+                .setVersion(ctx.getVersion()
+                               .getNumber())
+                .build();
+        var changes = builder().getChanges() + 1;
+        builder()
+                .setId(id())
+                .putLatest(share, snapshot)
+                .setChanges(changes);
+        if (!isCheckpoint(changes)) {
+            return Optional.empty();
+        }
+        var checkpoint = HoldingsCheckpoint
+                .newBuilder()
+                .setWhen(ctx.getTimestamp())
+                .setVersion(changes)
+                .putAllInvestment(builder().getLatestMap())
+                .build();
+        var recorded = HoldingsCheckpointRecorded
+                .newBuilder()
+                .setUser(id())
+                .setCheckpoint(checkpoint)
+                .vBuild();
+        return Optional.of(recorded);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Duration;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.core.Event;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.history.HoldingsCheckpoint;
+import io.spine.examples.shareaware.history.InvestmentSnapshot;
+import io.spine.examples.shareaware.history.WalletCheckpoint;
+import io.spine.examples.shareaware.investment.Investment;
+import io.spine.examples.shareaware.server.investment.InvestmentReplay;
+import io.spine.examples.shareaware.server.wallet.WalletReplay;
+import io.spine.examples.shareaware.wallet.Wallet;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.event.EventFilter;
+import io.spine.server.event.EventStreamQuery;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.protobuf.util.Durations.fromNanos;
+import static com.google.protobuf.util.Timestamps.add;
+import static com.google.protobuf.util.Timestamps.comparator;
+import static com.google.protobuf.util.Timestamps.subtract;
+import static io.spine.examples.shareaware.server.history.Checkpoints.chunkCount;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Restores the wallet balances and the user holdings as they were at the given time.
+ *
+ * <p>Instead of replaying the whole history of an aggregate, a query loads the nearest
+ * checkpoint recorded not later than the given time, and replays only the events
+ * which followed it. The checkpoints are recorded every {@link Checkpoints#INTERVAL}
+ * versions, so a query reads at most as many events.
+ *
+ * <p>The checkpoints are stored in the chunks of a fixed size. A query finds
+ * the chunk holding the checkpoint by comparing the first checkpoints of the chunks,
+ * so it reads only a logarithm of their count.
+ *
+ * <p>The queries read the checkpoints and the event store of the Bounded Context,
+ * which they are {@linkplain #registerWith(BoundedContextBuilder) registered} with.
+ */
+public final class PointInTimeQueries {
+
+    private static final Duration ONE_NANO = fromNanos(1);
+
+    private static final Comparator<Event> CHRONOLOGICALLY =
+            Comparator.comparing((Event e) -> e.context()
+                                               .getTimestamp(), comparator())
+                      .thenComparingInt(e -> e.context()
+                                              .getVersion()
+                                              .getNumber());
+
+    private final WalletCheckpointsRepository wallets;
+    private final WalletCheckpointChunkRepository walletChunks;
+    private final HoldingsCheckpointsRepository holdings;
+    private final HoldingsCheckpointChunkRepository holdingsChunks;
+
+    private PointInTimeQueries(WalletCheckpointsRepository wallets,
+                               WalletCheckpointChunkRepository walletChunks,
+                               HoldingsCheckpointsRepository holdings,
+                               HoldingsCheckpointChunkRepository holdingsChunks) {
+        this.wallets = wallets;
+        this.walletChunks = walletChunks;
+        this.holdings = holdings;
+        this.holdingsChunks = holdingsChunks;
+    }
+
+    /**
+     * Registers the checkpoint projections in the given Bounded Context
+     * and returns the queries reading them.
+     *
+     * <p>The queries may be run once the context is built.
+     */
+    public static PointInTimeQueries registerWith(BoundedContextBuilder context) {
+        checkNotNull(context);
+        var wallets = new WalletCheckpointsRepository();
+        var walletChunks = new WalletCheckpointChunkRepository();
+        var holdings = new HoldingsCheckpointsRepository();
+        var holdingsChunks = new HoldingsCheckpointChunkRepository();
+        context.add(wallets)
+               .add(walletChunks)
+               .add(holdings)
+               .add(holdingsChunks);
+        return new PointInTimeQueries(wallets, walletChunks, holdings, holdingsChunks);
+    }
+
+    /**
+     * Returns the state of the wallet at the given time,
+     * or an empty {@code Optional} if the wallet did not exist at that time.
+     */
+    public Optional<Wallet> walletAt(WalletId wallet, Timestamp time) {
+        checkNotNull(wallet);
+        checkNotNull(time);
+        var checkpoint = wallets
+                .find(wallet)
+                .map(WalletCheckpointsProcess::state)
+                .flatMap(state -> Checkpoints.latestAt(chunkCount(state.getLatestVersion()),
+                                                       number -> checkpointsOf(wallet, number),
+                                                       WalletCheckpoint::getWhen,
+                                                       time));
+        if (checkpoint.isEmpty()) {
+            return Optional.empty();
+        }
+        var start = checkpoint.get();
+        var replay = WalletReplay.startingFrom(start.getState());
+        for (var event : eventsOf(ImmutableList.of(wallet), start.getWhen(), time)) {
+            var message = event.enclosedMessage();
+            if (event.context()
+                     .getVersion()
+                     .getNumber() > start.getVersion()
+                    && WalletReplay.changesWallet(message)) {
+                replay.play(message);
+            }
+        }
+        return Optional.of(replay.state());
+    }
+
+    /**
+     * Returns the states of the investments of the user at the given time.
+     *
+     * <p>The investments which did not exist at that time are not included.
+     */
+    public ImmutableList<Investment> holdingsAt(UserId user, Timestamp time) {
+        checkNotNull(user);
+        checkNotNull(time);
+        var current = holdings.find(user)
+                              .map(HoldingsCheckpointsProcess::state);
+        if (current.isEmpty()) {
+            return ImmutableList.of();
+        }
+        var checkpoint = Checkpoints.latestAt(chunkCount(current.get()
+                                                                .getChanges()),
+                                              number -> checkpointsOf(user, number),
+                                              HoldingsCheckpoint::getWhen,
+                                              time);
+        if (checkpoint.isEmpty()) {
+            return ImmutableList.of();
+        }
+        var start = checkpoint.get();
+        var snapshots = new HashMap<>(start.getInvestmentMap());
+        var investments = current.get()
+                                 .getLatestMap()
+                                 .values()
+                                 .stream()
+                                 .map(snapshot -> snapshot.getState()
+                                                          .getId())
+                                 .collect(toImmutableList());
+        for (var event : eventsOf(investments, start.getWhen(), time)) {
+            var message = event.enclosedMessage();
+            if (!InvestmentReplay.changesInvestment(message)) {
+                continue;
+            }
+            var investment = unpack(event.context()
+                                         .getProducerId(), InvestmentId.class);
+            var share = investment.getShare()
+                                  .getUuid();
+            var version = event.context()
+                               .getVersion()
+                               .getNumber();
+            var previous = snapshots.getOrDefault(share, InvestmentSnapshot.getDefaultInstance());
+            if (version <= previous.getVersion()) {
+                continue;
+            }
+            var replay = InvestmentReplay.startingFrom(previous.getState());
+            replay.play(message);
+            var snapshot = InvestmentSnapshot
+                    .newBuilder()
+                    .setState(replay.state())
+                    .setVersion(version)
+                    .build();
+            snapshots.put(share, snapshot);
+        }
+        return snapshots.values()
+                        .stream()
+                        .map(InvestmentSnapshot::getState)
+                        .collect(toImmutableList());
+    }
+
+    /**
+     * Reads the checkpoints of the wallet from the chunk with the given number.
+     */
+    private List<WalletCheckpoint> checkpointsOf(WalletId wallet, int number) {
+        return walletChunks.find(WalletCheckpointChunkRepository.chunk(wallet, number))
+                           .map(chunk -> chunk.state()
+                                              .getCheckpointList())
+                           .orElse(ImmutableList.of());
+    }
+
+    /**
+     * Reads the checkpoints of the user's holdings from the chunk with the given number.
+     */
+    private List<HoldingsCheckpoint> checkpointsOf(UserId user, int number) {
+        return holdingsChunks.find(HoldingsCheckpointChunkRepository.chunk(user, number))
+                             .map(chunk -> chunk.state()
+                                                .getCheckpointList())
+                             .orElse(ImmutableList.of());
+    }
+
+    /**
+     * Reads the events emitted by the given aggregates in the given period,
+     * both ends inclusive, in the order they were emitted.
+     */
+    private ImmutableList<Event> eventsOf(Collection<? extends Message> aggregates,
+                                          Timestamp since,
+                                          Timestamp until) {
+        var filter = EventFilter.newBuilder();
+        for (var id : aggregates) {
+            filter.addAggregateId(pack(id));
+        }
+        var query = EventStreamQuery
+                .newBuilder()
+                .setAfter(subtract(since, ONE_NANO))
+                .setBefore(add(until, ONE_NANO))
+                .addFilter(filter)
+                .build();
+        MemoizingObserver<Event> observer = memoizingObserver();
+        wallets.eventStore()
+               .read(query, observer);
+        return observer.responses()
+                       .stream()
+                       .sorted(CHRONOLOGICALLY)
+                       .collect(toImmutableList());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import io.spine.base.EventMessage;
+import io.spine.core.EventContext;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.history.WalletCheckpoint;
+import io.spine.examples.shareaware.history.WalletCheckpoints;
+import io.spine.examples.shareaware.history.event.WalletCheckpointRecorded;
+import io.spine.examples.shareaware.server.wallet.WalletReplay;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.event.WalletCreated;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.history.Checkpoints.isCheckpoint;
+
+/**
+ * Follows the state of the wallet and records it at the checkpoint versions.
+ *
+ * <p>The process keeps only the current state of the wallet. The checkpoints
+ * are emitted as events and stored in the {@linkplain WalletCheckpointChunkProjection
+ * chunks}, so the state of the process does not grow with the history of the wallet.
+ */
+final class WalletCheckpointsProcess
+        extends ProcessManager<WalletId, WalletCheckpoints, WalletCheckpoints.Builder> {
+
+    @React
+    Optional<WalletCheckpointRecorded> on(WalletCreated e, EventContext ctx) {
+        return record(e, ctx);
+    }
+
+    @React
+    Optional<WalletCheckpointRecorded> on(BalanceRecharged e, EventContext ctx) {
+        return record(e, ctx);
+    }
+
+    @React
+    Optional<WalletCheckpointRecorded> on(MoneyReserved e, EventContext ctx) {
+        return record(e, ctx);
+    }
+
+    @React
+    Optional<WalletCheckpointRecorded> on(ReservedMoneyDebited e, EventContext ctx) {
+        return record(e, ctx);
+    }
+
+    @React
+    Optional<WalletCheckpointRecorded> on(MoneyReservationCanceled e, EventContext ctx) {
+        return record(e, ctx);
+    }
+
+    private Optional<WalletCheckpointRecorded> record(EventMessage e, EventContext ctx) {
+        var replay = WalletReplay.startingFrom(builder().getLatest());
+        replay.play(e);
+        var version = ctx.getVersion()
+                         .getNumber();
+        var latest = replay.state();
+        builder()
+                .setId(id())
+                .setLatest(latest)
+                .setLatestVersion(version);
+        if (!isCheckpoint(version)) {
+            return Optional.empty();
+        }
+        var checkpoint = WalletCheckpoint
+                .newBuilder()
+                .setWhen(ctx.getTimestamp())
+                .setVersion(version)
+                .setState(latest)
+                .vBuild();
+        var recorded = WalletCheckpointRecorded
+                .newBuilder()
+                .setWallet(id())
+                .setCheckpoint(checkpoint)
+                .vBuild();
+        return Optional.of(recorded);
+    }
+}
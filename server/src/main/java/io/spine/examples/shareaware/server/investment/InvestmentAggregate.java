@@ -41,6 +41,8 @@ import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
 /**
  * Manages the shares of a single type purchased by a particular ShareAware user.
  */
@@ -50,19 +52,18 @@ public final class InvestmentAggregate
     @Assign
     SharesAdded on(AddShares c) {
         var newAvailableShares = state().getSharesAvailable() + c.getQuantity();
-        return SharesAdded
+        var event = SharesAdded
                 .newBuilder()
                 .setInvestment(c.getInvestment())
                 .setProcess(c.getProcess())
                 .setSharesAvailable(newAvailableShares)
-                .vBuild();
+                .setBasket(c.getBasket());
+        return event.vBuild();
     }
 
     @Apply
     private void event(SharesAdded e) {
-        builder()
-                .setId(e.getInvestment())
-                .setSharesAvailable(e.getSharesAvailable());
+        InvestmentStates.apply(builder(), e);
     }
 
     @Assign
@@ -75,57 +76,45 @@ public final class InvestmentAggregate
                     .setQuantity(c.getQuantity())
                     .build();
         }
-        return SharesReserved
+        var event = SharesReserved
                 .newBuilder()
                 .setInvestment(c.getInvestment())
                 .setProcess(c.getProcess())
-                .setQuantity(c.getQuantity())
-                .vBuild();
+                .setQuantity(c.getQuantity());
+        return trusted(event);
     }
 
     @Apply
     private void event(SharesReserved e) {
-        var newAvailableShares = builder().getSharesAvailable() - e.getQuantity();
-        var saleId = e.getProcess()
-                      .getUuid();
-        builder()
-                .setSharesAvailable(newAvailableShares)
-                .putSharesReserved(saleId, e.getQuantity());
+        InvestmentStates.apply(builder(), e);
     }
 
     @Assign
     SharesReservationCompleted on(CompleteSharesReservation c) {
-        return SharesReservationCompleted
+        var event = SharesReservationCompleted
                 .newBuilder()
                 .setInvestment(c.getInvestment())
                 .setProcess(c.getProcess())
-                .setSharesAvailable(state().getSharesAvailable())
-                .vBuild();
+                .setSharesAvailable(state().getSharesAvailable());
+        return trusted(event);
     }
 
     @Apply
     private void event(SharesReservationCompleted e) {
-        builder().removeSharesReserved(e.getProcess()
-                                        .getUuid());
+        InvestmentStates.apply(builder(), e);
     }
 
     @Assign
     SharesReservationCanceled on(CancelSharesReservation c) {
-        return SharesReservationCanceled
+        var event = SharesReservationCanceled
                 .newBuilder()
                 .setInvestment(c.getInvestment())
-                .setProcess(c.getProcess())
-                .vBuild();
+                .setProcess(c.getProcess());
+        return trusted(event);
     }
 
     @Apply
     private void event(SharesReservationCanceled e) {
-        var saleId = e.getProcess()
-                      .getUuid();
-        var reservedSharesAmount = builder().getSharesReservedOrThrow(saleId);
-        var restoredAvailableShares = builder().getSharesAvailable() + reservedSharesAmount;
-        builder()
-                .setSharesAvailable(restoredAvailableShares)
-                .removeSharesReserved(saleId);
+        InvestmentStates.apply(builder(), e);
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.investment.Investment;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.investment.event.SharesReservationCanceled;
+import io.spine.examples.shareaware.investment.event.SharesReservationCompleted;
+import io.spine.examples.shareaware.investment.event.SharesReserved;
+
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Applies the events of the investment to its state.
+ *
+ * <p>The {@link InvestmentAggregate} applies its events through this class.
+ * The states restored from the events elsewhere are {@linkplain InvestmentReplay replayed}
+ * through it too, so they never differ from the state of the aggregate.
+ */
+final class InvestmentStates {
+
+    /**
+     * The events which change the state of the investment.
+     */
+    static final ImmutableSet<Class<? extends EventMessage>> EVENTS =
+            ImmutableSet.of(SharesAdded.class, SharesReserved.class,
+                            SharesReservationCompleted.class, SharesReservationCanceled.class);
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private InvestmentStates() {
+    }
+
+    /**
+     * Applies the event to the state of the investment.
+     *
+     * @throws IllegalArgumentException
+     *         if the event does not change the state of the investment
+     */
+    static void apply(Investment.Builder investment, EventMessage event) {
+        if (event instanceof SharesAdded) {
+            apply(investment, (SharesAdded) event);
+        } else if (event instanceof SharesReserved) {
+            apply(investment, (SharesReserved) event);
+        } else if (event instanceof SharesReservationCompleted) {
+            apply(investment, (SharesReservationCompleted) event);
+        } else if (event instanceof SharesReservationCanceled) {
+            apply(investment, (SharesReservationCanceled) event);
+        } else {
+            throw newIllegalArgumentException("The event `%s` does not change the investment.",
+                                              event.getClass()
+                                                   .getName());
+        }
+    }
+
+    static void apply(Investment.Builder investment, SharesAdded e) {
+        investment.setId(e.getInvestment())
+                  .setSharesAvailable(e.getSharesAvailable());
+    }
+
+    static void apply(Investment.Builder investment, SharesReserved e) {
+        var newAvailableShares = investment.getSharesAvailable() - e.getQuantity();
+        var saleId = e.getProcess()
+                      .getUuid();
+        investment.setSharesAvailable(newAvailableShares)
+                  .putSharesReserved(saleId, e.getQuantity());
+    }
+
+    static void apply(Investment.Builder investment, SharesReservationCompleted e) {
+        investment.removeSharesReserved(e.getProcess()
+                                         .getUuid());
+    }
+
+    static void apply(Investment.Builder investment, SharesReservationCanceled e) {
+        var saleId = e.getProcess()
+                      .getUuid();
+        var reservedSharesAmount = investment.getSharesReservedOrThrow(saleId);
+        var restoredAvailableShares = investment.getSharesAvailable() + reservedSharesAmount;
+        investment.setSharesAvailable(restoredAvailableShares)
+                  .removeSharesReserved(saleId);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.CommandMessage;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.SharesPurchase;
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.investment.event.SharesPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.market.rejection.Rejections.SharesCannotBeObtained;
+import io.spine.examples.shareaware.server.market.MarketProcess;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
+import io.spine.logging.Logging;
+import io.spine.server.command.Command;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
+/**
+ * Coordinates the shares purchase from the market with the shortest
+ * possible chain of messages.
+ *
+ * <p>Unlike {@link SharesPurchaseProcess}, which adds the obtained shares to the investment
+ * and only then debits the reserved money, this process issues both commands at once
+ * after the shares were obtained from the market. The process ends when both
+ * the investment and the wallet confirm the changes.
+ *
+ * <p>Adding shares to the investment cannot be rejected, so the money can be safely
+ * debited without waiting for it. The money is still reserved before the shares are
+ * obtained, which keeps the rejections and the compensation of the market errors
+ * the same as in the regular purchase.
+ *
+ * <p>The debit is rejected if the money reservation was canceled in the meantime.
+ * Such a purchase fails, and the shares added by it are left to the reconciliation.
+ */
+final class LowLatencySharesPurchaseProcess
+        extends ProcessManager<PurchaseId, SharesPurchase, SharesPurchase.Builder>
+        implements Logging {
+
+    /**
+     * Issues a command to reserve money for shares purchase.
+     */
+    @Command
+    ReserveMoney on(PurchaseShares c) {
+        initState(c);
+        return ReserveMoney
+                .newBuilder()
+                .setWallet(walletId(c.getPurchaser()))
+                .setOperation(operationId(c.getPurchaseProcess()))
+                .setAmount(c.totalCost())
+                .vBuild();
+    }
+
+    private void initState(PurchaseShares c) {
+        builder()
+                .setId(c.getPurchaseProcess())
+                .setPurchaser(c.getPurchaser())
+                .setShare(c.getShare())
+                .setQuantity(c.getQuantity());
+    }
+
+    /**
+     * Terminates the process when there are insufficient funds
+     * for shares purchased in the wallet.
+     */
+    @React
+    SharesPurchaseFailed on(InsufficientFunds r) {
+        setArchived(true);
+        var event = SharesPurchaseFailed
+                .newBuilder()
+                .setPurchaseProcess(r.purchaseProcess())
+                .setPurchaser(state().getPurchaser());
+        return trusted(event);
+    }
+
+    /**
+     * Issues the command to obtain shares from the market
+     * after money for it was reserved.
+     */
+    @Command
+    ObtainShares on(MoneyReserved e) {
+        var command = ObtainShares
+                .newBuilder()
+                .setPurchase(e.purchaseProcess())
+                .setShare(state().getShare())
+                .setQuantity(state().getQuantity())
+                .setMarket(MarketProcess.ID);
+        return trusted(command);
+    }
+
+    /**
+     * Issues the commands to add shares to the user's investment and to debit
+     * the reserved money after the shares were bought from the market.
+     *
+     * <p>If the market answers after the money reservation was canceled,
+     * the process has already failed, and no commands are issued.
+     */
+    @Command
+    List<CommandMessage> on(SharesObtained e) {
+        if (isArchived()) {
+            _warn().log("The shares of the failed purchase `%s` are not added.", state().getId());
+            return ImmutableList.of();
+        }
+        var addShares = AddShares
+                .newBuilder()
+                .setInvestment(investmentId())
+                .setProcess(e.getPurchaseProcess())
+                .setQuantity(e.getQuantity());
+        var debitMoney = DebitReservedMoney
+                .newBuilder()
+                .setWallet(walletId())
+                .setOperation(operationId());
+        return ImmutableList.of(trusted(addShares), trusted(debitMoney));
+    }
+
+    /**
+     * Issues the command to cancel money reservation made for shares purchase
+     * after the unexpected error in the shares market.
+     */
+    @Command
+    CancelMoneyReservation on(SharesCannotBeObtained r) {
+        var command = CancelMoneyReservation
+                .newBuilder()
+                .setWallet(walletId())
+                .setOperation(operationId());
+        return trusted(command);
+    }
+
+    /**
+     * Terminates the process after the money reservation for shares purchase is canceled.
+     */
+    @React
+    SharesPurchaseFailed on(MoneyReservationCanceled e) {
+        setArchived(true);
+        var event = SharesPurchaseFailed
+                .newBuilder()
+                .setPurchaseProcess(state().getId())
+                .setPurchaser(state().getPurchaser());
+        return trusted(event);
+    }
+
+    /**
+     * Terminates the process when the reserved money cannot be debited,
+     * as the reservation was canceled after the shares were obtained.
+     *
+     * <p>The shares are left to the reconciliation. The failure is reported
+     * unless the process has already failed on the cancellation itself.
+     */
+    @React
+    Optional<SharesPurchaseFailed> on(MoneyNotReserved r, DebitReservedMoney rejected) {
+        _error().log("The shares of the purchase `%s` were added, " +
+                             "but the money reserved for them is gone.", state().getId());
+        if (isArchived()) {
+            return Optional.empty();
+        }
+        setArchived(true);
+        var event = SharesPurchaseFailed
+                .newBuilder()
+                .setPurchaseProcess(r.purchaseProcess())
+                .setPurchaser(state().getPurchaser());
+        return Optional.of(trusted(event));
+    }
+
+    /**
+     * Ignores the rejected cancellation of the money reservation, as the reservation
+     * was already canceled, for example, by the {@code ReservationWatchdog}.
+     *
+     * <p>The process ends on that cancellation itself.
+     */
+    @React
+    Optional<SharesPurchaseFailed> on(MoneyNotReserved r, CancelMoneyReservation rejected) {
+        return Optional.empty();
+    }
+
+    /**
+     * Ends the process successfully if the reserved money is already debited.
+     */
+    @React
+    Optional<SharesPurchased> on(SharesAdded e) {
+        builder()
+                .setSharesAdded(true)
+                .setSharesAvailable(e.getSharesAvailable());
+        return purchasedIfCompleted();
+    }
+
+    /**
+     * Ends the process successfully if the shares are already added to the investment.
+     */
+    @React
+    Optional<SharesPurchased> on(ReservedMoneyDebited e) {
+        builder().setMoneyDebited(true);
+        return purchasedIfCompleted();
+    }
+
+    private Optional<SharesPurchased> purchasedIfCompleted() {
+        if (!builder().getSharesAdded() || !builder().getMoneyDebited()) {
+            return Optional.empty();
+        }
+        setArchived(true);
+        var purchased = SharesPurchased
+                .newBuilder()
+                .setPurchaseProcess(builder().getId())
+                .setPurchaser(builder().getPurchaser())
+                .setShare(builder().getShare())
+                .setSharesAvailable(builder().getSharesAvailable());
+        return Optional.of(trusted(purchased));
+    }
+
+    private InvestmentId investmentId() {
+        var id = InvestmentId
+                .newBuilder()
+                .setShare(state().getShare())
+                .setOwner(state().getPurchaser());
+        return trusted(id);
+    }
+
+    private WalletId walletId() {
+        return walletId(state().getPurchaser());
+    }
+
+    private static WalletId walletId(UserId owner) {
+        var id = WalletId
+                .newBuilder()
+                .setOwner(owner);
+        return trusted(id);
+    }
+
+    private WithdrawalOperationId operationId() {
+        return operationId(state().getId());
+    }
+
+    private static WithdrawalOperationId operationId(PurchaseId id) {
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setPurchase(id);
+        return trusted(operation);
+    }
+}
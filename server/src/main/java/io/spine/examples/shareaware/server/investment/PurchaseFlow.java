@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.investment.SharesPurchase;
+import io.spine.server.procman.ProcessManagerRepository;
+
+/**
+ * Tells which process coordinates the purchase of shares.
+ *
+ * <p>Both processes manage the same {@code SharesPurchase} state,
+ * so only one of them may be registered in a Bounded Context.
+ */
+public enum PurchaseFlow {
+
+    /**
+     * The purchase in which each step waits for the previous one to complete.
+     *
+     * @see SharesPurchaseProcess
+     */
+    STANDARD {
+        @Override
+        public ProcessManagerRepository<PurchaseId, ?, SharesPurchase> newRepository() {
+            return new SharesPurchaseRepository();
+        }
+    },
+
+    /**
+     * The purchase in which the shares are added to the investment and the money
+     * is debited at the same time.
+     *
+     * @see LowLatencySharesPurchaseProcess
+     */
+    LOW_LATENCY {
+        @Override
+        public ProcessManagerRepository<PurchaseId, ?, SharesPurchase> newRepository() {
+            return new LowLatencySharesPurchaseRepository();
+        }
+    };
+
+    /**
+     * Creates a new repository of the purchase processes of this flow.
+     */
+    public abstract ProcessManagerRepository<PurchaseId, ?, SharesPurchase> newRepository();
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import io.spine.examples.shareaware.BasketId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.MoneyCalculator;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.BasketItem;
+import io.spine.examples.shareaware.investment.BasketItemOutcome;
+import io.spine.examples.shareaware.investment.BasketLeg;
+import io.spine.examples.shareaware.investment.SharesBasketPurchase;
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.investment.command.PurchaseBasket;
+import io.spine.examples.shareaware.investment.event.BasketPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.BasketPurchased;
+import io.spine.examples.shareaware.investment.event.BasketSharesSettled;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.market.rejection.Rejections.SharesCannotBeObtained;
+import io.spine.examples.shareaware.server.market.MarketProcess;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
+import io.spine.logging.Logging;
+import io.spine.money.Money;
+import io.spine.server.command.Command;
+import io.spine.server.event.React;
+import io.spine.server.procman.ProcessManager;
+import io.spine.server.tuple.EitherOf2;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
+/**
+ * Coordinates the purchase of several shares at once.
+ *
+ * <p>The money for the whole basket is reserved in the wallet with a single command.
+ * Then each share of the basket is obtained from the market and added
+ * to the corresponding investment independently of the others.
+ *
+ * <p>When all the shares are either added or rejected by the market, only the money
+ * for the purchased shares is debited from the wallet, and the rest is returned
+ * to the balance. If none of the shares were purchased, the money reservation is canceled.
+ *
+ * <p>If the money reservation is canceled while some shares are still requested
+ * from the market, for example, by the {@code ReservationWatchdog}, the basket fails
+ * right away, but the process stays until the market answers the outstanding shares.
+ * The shares obtained after the cancellation are not added to the investments.
+ */
+final class SharesBasketPurchaseProcess
+        extends ProcessManager<BasketId, SharesBasketPurchase, SharesBasketPurchase.Builder>
+        implements Logging {
+
+    /**
+     * Issues a command to reserve money for the whole basket.
+     */
+    @Command
+    ReserveMoney on(PurchaseBasket c) {
+        initState(c);
+        return ReserveMoney
+                .newBuilder()
+                .setWallet(walletId())
+                .setOperation(operationId())
+                .setAmount(totalCost(c.getItemList()))
+                .vBuild();
+    }
+
+    private void initState(PurchaseBasket c) {
+        builder()
+                .setId(c.getBasketProcess())
+                .setPurchaser(c.getPurchaser());
+        for (var item : c.getItemList()) {
+            var purchase = PurchaseId.generate();
+            var leg = BasketLeg
+                    .newBuilder()
+                    .setPurchase(purchase)
+                    .setItem(item)
+                    .vBuild();
+            builder().putLeg(purchase.getUuid(), leg);
+        }
+    }
+
+    /**
+     * Terminates the process when there are insufficient funds
+     * for the basket in the wallet.
+     */
+    @React
+    BasketPurchaseFailed on(InsufficientFunds r) {
+        setArchived(true);
+        return failure("Insufficient funds in the wallet.");
+    }
+
+    /**
+     * Issues the commands to obtain each share of the basket from the market
+     * after money for the basket was reserved.
+     */
+    @Command
+    List<ObtainShares> on(MoneyReserved e) {
+        return state().getLegMap()
+                      .values()
+                      .stream()
+                      .map(this::obtainShares)
+                      .collect(toImmutableList());
+    }
+
+    private ObtainShares obtainShares(BasketLeg leg) {
+        var item = leg.getItem();
+        var command = ObtainShares
+                .newBuilder()
+                .setMarket(MarketProcess.ID)
+                .setPurchase(leg.getPurchase())
+                .setShare(item.getShare())
+                .setQuantity(item.getQuantity())
+                .setBasket(state().getId());
+        return trusted(command);
+    }
+
+    /**
+     * Issues the command to add the obtained shares to the user's investment.
+     *
+     * <p>Adds nothing if the money reservation was already canceled, as there is
+     * no money to pay for the shares. The process ends when the market answers
+     * the last outstanding share.
+     */
+    @Command
+    Optional<AddShares> on(SharesObtained e) {
+        if (builder().getReservationCanceled()) {
+            _warn().log("The shares obtained for the basket `%s` are not added, " +
+                                "as the money reservation is canceled.", builder().getId());
+            updateLeg(e.getPurchaseProcess(), leg -> leg.setFailed(true));
+            if (!hasPendingLegs()) {
+                setArchived(true);
+            }
+            return Optional.empty();
+        }
+        var command = AddShares
+                .newBuilder()
+                .setInvestment(investmentId(e.getShare()))
+                .setProcess(e.getPurchaseProcess())
+                .setQuantity(e.getQuantity())
+                .setBasket(state().getId());
+        return Optional.of(trusted(command));
+    }
+
+    /**
+     * Marks the share as purchased after it was added to the investment.
+     *
+     * <p>Emits the {@code BasketSharesSettled} event if it was the last pending share
+     * of the basket.
+     */
+    @React
+    Optional<BasketSharesSettled> on(SharesAdded e) {
+        if (builder().getReservationCanceled()) {
+            _error().log("The shares of the basket `%s` were added, " +
+                                 "but the money reserved for them is canceled.",
+                         builder().getId());
+        }
+        updateLeg(e.getProcess(), leg -> leg.setPurchased(true)
+                                            .setSharesAvailable(e.getSharesAvailable()));
+        return settledIfNothingPending();
+    }
+
+    /**
+     * Marks the share as failed after the market could not provide it.
+     *
+     * <p>Emits the {@code BasketSharesSettled} event if it was the last pending share
+     * of the basket.
+     */
+    @React
+    Optional<BasketSharesSettled> on(SharesCannotBeObtained r) {
+        updateLeg(r.getPurchaseProcess(), leg -> leg.setFailed(true));
+        return settledIfNothingPending();
+    }
+
+    private void updateLeg(PurchaseId purchase, UnaryOperator<BasketLeg.Builder> update) {
+        var key = purchase.getUuid();
+        var leg = builder().getLegOrThrow(key)
+                           .toBuilder();
+        builder().putLeg(key, update.apply(leg)
+                                    .vBuild());
+    }
+
+    /**
+     * Emits the {@code BasketSharesSettled} event if the market answered all the shares.
+     *
+     * <p>If the money reservation was already canceled, the basket has failed
+     * at that moment, so the process just ends.
+     */
+    private Optional<BasketSharesSettled> settledIfNothingPending() {
+        if (hasPendingLegs()) {
+            return Optional.empty();
+        }
+        if (builder().getReservationCanceled()) {
+            setArchived(true);
+            return Optional.empty();
+        }
+        var legs = builder().getLegMap()
+                            .values();
+        var purchasedCount = (int) legs.stream()
+                                       .filter(BasketLeg::getPurchased)
+                                       .count();
+        var settled = BasketSharesSettled
+                .newBuilder()
+                .setBasketProcess(builder().getId())
+                .setPurchasedCount(purchasedCount)
+                .vBuild();
+        return Optional.of(settled);
+    }
+
+    private boolean hasPendingLegs() {
+        return builder().getLegMap()
+                        .values()
+                        .stream()
+                        .anyMatch(leg -> !leg.getPurchased() && !leg.getFailed());
+    }
+
+    /**
+     * Debits the money for the purchased shares from the wallet, or cancels
+     * the money reservation if none of the shares were purchased.
+     */
+    @Command
+    EitherOf2<DebitReservedMoney, CancelMoneyReservation> on(BasketSharesSettled e) {
+        if (e.getPurchasedCount() == 0) {
+            var cancel = CancelMoneyReservation
+                    .newBuilder()
+                    .setWallet(walletId())
+                    .setOperation(operationId());
+            return EitherOf2.withB(trusted(cancel));
+        }
+        var purchasedItems = state().getLegMap()
+                                    .values()
+                                    .stream()
+                                    .filter(BasketLeg::getPurchased)
+                                    .map(BasketLeg::getItem)
+                                    .collect(toImmutableList());
+        var debit = DebitReservedMoney
+                .newBuilder()
+                .setWallet(walletId())
+                .setOperation(operationId())
+                .setAmount(totalCost(purchasedItems))
+                .vBuild();
+        return EitherOf2.withA(debit);
+    }
+
+    /**
+     * Ends the process successfully when the money for the purchased shares
+     * is debited from the wallet.
+     */
+    @React
+    BasketPurchased on(ReservedMoneyDebited e) {
+        setArchived(true);
+        var outcomes = state().getLegMap()
+                              .values()
+                              .stream()
+                              .map(SharesBasketPurchaseProcess::outcome)
+                              .collect(toImmutableList());
+        var event = BasketPurchased
+                .newBuilder()
+                .setBasketProcess(state().getId())
+                .setPurchaser(state().getPurchaser())
+                .addAllOutcome(outcomes);
+        return trusted(event);
+    }
+
+    private static BasketItemOutcome outcome(BasketLeg leg) {
+        var item = leg.getItem();
+        var outcome = BasketItemOutcome
+                .newBuilder()
+                .setShare(item.getShare())
+                .setQuantity(item.getQuantity())
+                .setPurchased(leg.getPurchased())
+                .setSharesAvailable(leg.getSharesAvailable());
+        return trusted(outcome);
+    }
+
+    /**
+     * Fails the basket purchase after the money reservation is canceled.
+     *
+     * <p>The process itself cancels the reservation when none of the shares were
+     * obtained from the market. Otherwise, the reservation is canceled before the shares
+     * are paid for, and the process ends only when the market answers the outstanding
+     * shares.
+     */
+    @React
+    BasketPurchaseFailed on(MoneyReservationCanceled e) {
+        builder().setReservationCanceled(true);
+        var pending = hasPendingLegs();
+        if (!pending) {
+            setArchived(true);
+        }
+        var added = builder().getLegMap()
+                             .values()
+                             .stream()
+                             .anyMatch(BasketLeg::getPurchased);
+        if (added) {
+            _error().log("The shares of the basket `%s` were added, " +
+                                 "but the money reserved for them is canceled.",
+                         builder().getId());
+        }
+        if (!pending && !added) {
+            return failure("None of the basket shares could be obtained from the market.");
+        }
+        return failure("The money reservation was canceled before the basket shares " +
+                               "were paid for.");
+    }
+
+    /**
+     * Fails the basket purchase when the money for the purchased shares
+     * cannot be debited, as the money reservation is gone.
+     *
+     * <p>Such a reservation was canceled at the same time the purchased shares
+     * were settled. The purchased shares are already added to the investments,
+     * so the mismatch is reported as an error and left to the reconciliation.
+     *
+     * <p>Emits nothing if the basket has already failed on the cancellation itself.
+     */
+    @React
+    Optional<BasketPurchaseFailed> on(MoneyNotReserved r, DebitReservedMoney rejected) {
+        _error().log("The shares of the basket `%s` were added, " +
+                             "but the money reserved for them is gone.", state().getId());
+        if (isArchived()) {
+            return Optional.empty();
+        }
+        setArchived(true);
+        return Optional.of(failure("The money reserved for the basket is gone."));
+    }
+
+    /**
+     * Ignores the rejected cancellation of the money reservation, as the reservation
+     * was already canceled, for example, by the {@code ReservationWatchdog}.
+     *
+     * <p>The process ends on that cancellation itself.
+     */
+    @React
+    Optional<BasketPurchaseFailed> on(MoneyNotReserved r, CancelMoneyReservation rejected) {
+        return Optional.empty();
+    }
+
+    private BasketPurchaseFailed failure(String cause) {
+        return BasketPurchaseFailed
+                .newBuilder()
+                .setBasketProcess(builder().getId())
+                .setPurchaser(builder().getPurchaser())
+                .setCause(cause)
+                .vBuild();
+    }
+
+    private static Money totalCost(Collection<BasketItem> items) {
+        return items.stream()
+                    .map(BasketItem::totalCost)
+                    .reduce(MoneyCalculator::sum)
+                    .orElseThrow();
+    }
+
+    private InvestmentId investmentId(ShareId share) {
+        var id = InvestmentId
+                .newBuilder()
+                .setShare(share)
+                .setOwner(state().getPurchaser());
+        return trusted(id);
+    }
+
+    private WalletId walletId() {
+        var id = WalletId
+                .newBuilder()
+                .setOwner(builder().getPurchaser());
+        return trusted(id);
+    }
+
+    private WithdrawalOperationId operationId() {
+        var id = WithdrawalOperationId
+                .newBuilder()
+                .setBasket(builder().getId());
+        return trusted(id);
+    }
+}
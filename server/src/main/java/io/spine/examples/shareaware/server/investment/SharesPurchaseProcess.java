@@ -48,15 +48,22 @@ import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
 import io.spine.examples.shareaware.wallet.event.MoneyReserved;
 import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
 import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
+import io.spine.logging.Logging;
 import io.spine.server.command.Command;
 import io.spine.server.event.React;
 import io.spine.server.procman.ProcessManager;
 
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
 /**
  * Coordinates the shares purchase from the market.
  */
 final class SharesPurchaseProcess
-        extends ProcessManager<PurchaseId, SharesPurchase, SharesPurchase.Builder> {
+        extends ProcessManager<PurchaseId, SharesPurchase, SharesPurchase.Builder>
+        implements Logging {
 
     /**
      * Issues a command to reserve money for shares purchase.
@@ -64,12 +71,12 @@ final class SharesPurchaseProcess
     @Command
     ReserveMoney on(PurchaseShares c) {
         initState(c);
-        return ReserveMoney
+        var command = ReserveMoney
                 .newBuilder()
                 .setWallet(walletId(c.getPurchaser()))
                 .setOperation(operationId(c.getPurchaseProcess()))
-                .setAmount(c.totalCost())
-                .vBuild();
+                .setAmount(c.totalCost());
+        return command.vBuild();
     }
 
     private void initState(PurchaseShares c) {
@@ -87,11 +94,11 @@ final class SharesPurchaseProcess
     @React
     SharesPurchaseFailed on(InsufficientFunds r) {
         setArchived(true);
-        return SharesPurchaseFailed
+        var event = SharesPurchaseFailed
                 .newBuilder()
                 .setPurchaseProcess(r.purchaseProcess())
-                .setPurchaser(state().getPurchaser())
-                .vBuild();
+                .setPurchaser(state().getPurchaser());
+        return trusted(event);
     }
 
     /**
@@ -100,27 +107,35 @@ final class SharesPurchaseProcess
      */
     @Command
     ObtainShares on(MoneyReserved e) {
-        return ObtainShares
+        var command = ObtainShares
                 .newBuilder()
                 .setPurchase(e.purchaseProcess())
                 .setShare(state().getShare())
                 .setQuantity(state().getQuantity())
-                .setMarket(MarketProcess.ID)
-                .vBuild();
+                .setMarket(MarketProcess.ID);
+        return trusted(command);
     }
 
     /**
      * Issues the command to add shares to the user's investment
      * after they were bought from the market.
+     *
+     * <p>If the market answers after the money reservation was canceled,
+     * the process has already failed, and the shares are not added,
+     * as there is no money to pay for them.
      */
     @Command
-    AddShares on(SharesObtained e) {
-        return AddShares
+    Optional<AddShares> on(SharesObtained e) {
+        if (isArchived()) {
+            _warn().log("The shares of the failed purchase `%s` are not added.", state().getId());
+            return Optional.empty();
+        }
+        var command = AddShares
                 .newBuilder()
                 .setInvestment(investmentId())
                 .setProcess(e.getPurchaseProcess())
-                .setQuantity(e.getQuantity())
-                .vBuild();
+                .setQuantity(e.getQuantity());
+        return Optional.of(trusted(command));
     }
 
     /**
@@ -129,11 +144,11 @@ final class SharesPurchaseProcess
      */
     @Command
     CancelMoneyReservation on(SharesCannotBeObtained r) {
-        return CancelMoneyReservation
+        var command = CancelMoneyReservation
                 .newBuilder()
                 .setWallet(walletId())
-                .setOperation(operationId())
-                .vBuild();
+                .setOperation(operationId());
+        return trusted(command);
     }
 
     /**
@@ -142,11 +157,11 @@ final class SharesPurchaseProcess
     @React
     SharesPurchaseFailed on(MoneyReservationCanceled e) {
         setArchived(true);
-        return SharesPurchaseFailed
+        var event = SharesPurchaseFailed
                 .newBuilder()
                 .setPurchaseProcess(state().getId())
-                .setPurchaser(state().getPurchaser())
-                .vBuild();
+                .setPurchaser(state().getPurchaser());
+        return trusted(event);
     }
 
     /**
@@ -156,11 +171,44 @@ final class SharesPurchaseProcess
     @Command
     DebitReservedMoney on(SharesAdded e) {
         builder().setSharesAvailable(e.getSharesAvailable());
-        return DebitReservedMoney
+        var command = DebitReservedMoney
                 .newBuilder()
                 .setWallet(walletId())
-                .setOperation(operationId())
-                .vBuild();
+                .setOperation(operationId());
+        return trusted(command);
+    }
+
+    /**
+     * Terminates the process when the reserved money cannot be debited,
+     * as the reservation was canceled after the shares were added.
+     *
+     * <p>The shares are left to the reconciliation. The failure is reported
+     * unless the process has already failed on the cancellation itself.
+     */
+    @React
+    Optional<SharesPurchaseFailed> on(MoneyNotReserved r, DebitReservedMoney rejected) {
+        _error().log("The shares of the purchase `%s` were added, " +
+                             "but the money reserved for them is gone.", state().getId());
+        if (isArchived()) {
+            return Optional.empty();
+        }
+        setArchived(true);
+        var event = SharesPurchaseFailed
+                .newBuilder()
+                .setPurchaseProcess(r.purchaseProcess())
+                .setPurchaser(state().getPurchaser());
+        return Optional.of(trusted(event));
+    }
+
+    /**
+     * Ignores the rejected cancellation of the money reservation, as the reservation
+     * was already canceled, for example, by the {@code ReservationWatchdog}.
+     *
+     * <p>The process ends on that cancellation itself.
+     */
+    @React
+    Optional<SharesPurchaseFailed> on(MoneyNotReserved r, CancelMoneyReservation rejected) {
+        return Optional.empty();
     }
 
     /**
@@ -169,48 +217,48 @@ final class SharesPurchaseProcess
     @React
     SharesPurchased on(ReservedMoneyDebited e) {
         setArchived(true);
-        return SharesPurchased
+        var event = SharesPurchased
                 .newBuilder()
                 .setPurchaseProcess(state().getId())
                 .setPurchaser(state().getPurchaser())
                 .setShare(state().getShare())
-                .setSharesAvailable(state().getSharesAvailable())
-                .vBuild();
+                .setSharesAvailable(state().getSharesAvailable());
+        return trusted(event);
     }
 
     private InvestmentId investmentId() {
-        return InvestmentId
+        var id = InvestmentId
                 .newBuilder()
                 .setShare(state().getShare())
-                .setOwner(state().getPurchaser())
-                .vBuild();
+                .setOwner(state().getPurchaser());
+        return trusted(id);
     }
 
     private WalletId walletId() {
-        return WalletId
+        var id = WalletId
                 .newBuilder()
-                .setOwner(state().getPurchaser())
-                .vBuild();
+                .setOwner(state().getPurchaser());
+        return trusted(id);
     }
 
     private static WalletId walletId(UserId owner) {
-        return WalletId
+        var id = WalletId
                 .newBuilder()
-                .setOwner(owner)
-                .vBuild();
+                .setOwner(owner);
+        return trusted(id);
     }
 
     private WithdrawalOperationId operationId() {
-        return WithdrawalOperationId
+        var id = WithdrawalOperationId
                 .newBuilder()
-                .setPurchase(state().getId())
-                .vBuild();
+                .setPurchase(state().getId());
+        return trusted(id);
     }
 
-    private static WithdrawalOperationId operationId(PurchaseId id) {
-        return WithdrawalOperationId
+    private static WithdrawalOperationId operationId(PurchaseId purchase) {
+        var id = WithdrawalOperationId
                 .newBuilder()
-                .setPurchase(id)
-                .vBuild();
+                .setPurchase(purchase);
+        return trusted(id);
     }
 }
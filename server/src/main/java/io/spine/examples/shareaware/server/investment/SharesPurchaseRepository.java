@@ -38,6 +38,7 @@ import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
 import io.spine.examples.shareaware.wallet.event.MoneyReserved;
 import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
 import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
 import io.spine.server.procman.ProcessManagerRepository;
 import io.spine.server.route.EventRouting;
 
@@ -55,18 +56,33 @@ public final class SharesPurchaseRepository
     @Override
     protected void setupEventRouting(EventRouting<PurchaseId> routing) {
         super.setupEventRouting(routing);
+        routePurchaseEvents(routing);
+    }
+
+    /**
+     * Routes the events of the shares purchase to the purchase processes.
+     *
+     * <p>Is shared with the {@link LowLatencySharesPurchaseRepository}, as both
+     * kinds of the purchase process react on the same events.
+     */
+    static void routePurchaseEvents(EventRouting<PurchaseId> routing) {
         routing.route(MoneyReserved.class,
                       (event, context) -> withPurchaseId(event))
                .route(SharesObtained.class,
-                      (event, context) -> withId(event.getPurchaseProcess()))
+                      (event, context) -> withPurchaseId(event.getPurchaseProcess(),
+                                                         event.hasBasket()))
                .route(SharesAdded.class,
-                      (event, context) -> withId(event.getProcess()))
+                      (event, context) -> withPurchaseId(event.getProcess(),
+                                                         event.hasBasket()))
                .route(ReservedMoneyDebited.class,
                       (event, context) -> withPurchaseId(event))
                .route(InsufficientFunds.class,
                       (event, context) -> withPurchaseId(event))
+               .route(MoneyNotReserved.class,
+                      (event, context) -> withPurchaseId(event))
                .route(SharesCannotBeObtained.class,
-                      (event, context) -> withId(event.getPurchaseProcess()))
+                      (event, context) -> withPurchaseId(event.getPurchaseProcess(),
+                                                         event.hasBasket()))
                .route(MoneyReservationCanceled.class,
                       (event, context) -> withPurchaseId(event));
     }
@@ -77,4 +93,15 @@ public final class SharesPurchaseRepository
         }
         return ImmutableSet.of();
     }
+
+    /**
+     * Routes the signal to the purchase process unless the signal is a part of
+     * the {@linkplain SharesBasketPurchaseProcess basket purchase}.
+     */
+    private static Set<PurchaseId> withPurchaseId(PurchaseId purchase, boolean partOfBasket) {
+        if (partOfBasket) {
+            return ImmutableSet.of();
+        }
+        return withId(purchase);
+    }
 }
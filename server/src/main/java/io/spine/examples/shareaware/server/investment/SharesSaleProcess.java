@@ -49,15 +49,21 @@ import io.spine.examples.shareaware.market.rejection.Rejections.SharesCannotBeSo
 import io.spine.examples.shareaware.server.market.MarketProcess;
 import io.spine.examples.shareaware.wallet.command.RechargeBalance;
 import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.logging.Logging;
 import io.spine.server.command.Command;
 import io.spine.server.event.React;
 import io.spine.server.procman.ProcessManager;
 
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
 /**
  * Coordinates the shares sale to the market.
  */
 final class SharesSaleProcess
-        extends ProcessManager<SaleId, SharesSale, SharesSale.Builder> {
+        extends ProcessManager<SaleId, SharesSale, SharesSale.Builder>
+        implements Logging {
 
     /**
      * Issues the command to reserve shares for their sale.
@@ -67,12 +73,12 @@ final class SharesSaleProcess
         initState(c);
         var user = c.getSeller();
         var share = c.getShare();
-        return ReserveShares
+        var command = ReserveShares
                 .newBuilder()
                 .setProcess(c.getSaleProcess())
                 .setInvestment(investmentId(user, share))
-                .setQuantity(c.getQuantity())
-                .vBuild();
+                .setQuantity(c.getQuantity());
+        return trusted(command);
     }
 
     private void initState(SellShares c) {
@@ -89,14 +95,14 @@ final class SharesSaleProcess
      */
     @Command
     SellSharesOnMarket on(SharesReserved e) {
-        return SellSharesOnMarket
+        var command = SellSharesOnMarket
                 .newBuilder()
                 .setMarket(MarketProcess.ID)
                 .setSaleProcess(e.getProcess())
                 .setShare(state().getShare())
                 .setPrice(state().getPrice())
-                .setQuantity(e.getQuantity())
-                .vBuild();
+                .setQuantity(e.getQuantity());
+        return trusted(command);
     }
 
     /**
@@ -106,25 +112,33 @@ final class SharesSaleProcess
     @React
     SharesSaleFailed on(InsufficientShares r) {
         setArchived(true);
-        return SharesSaleFailed
+        var event = SharesSaleFailed
                 .newBuilder()
                 .setSaleProcess(r.getProcess())
-                .setSeller(state().getSeller())
-                .vBuild();
+                .setSeller(state().getSeller());
+        return trusted(event);
     }
 
     /**
      * Issues a command to recharge the wallet balance
      * after shares were sold on the market.
+     *
+     * <p>If the market answers after the shares reservation was canceled,
+     * the process has already failed, and the wallet is not recharged,
+     * as the shares are back in the investment.
      */
     @Command
-    RechargeBalance on(SharesSoldOnMarket e) {
-        return RechargeBalance
+    Optional<RechargeBalance> on(SharesSoldOnMarket e) {
+        if (isArchived()) {
+            _warn().log("The wallet is not recharged by the failed sale `%s`.", state().getId());
+            return Optional.empty();
+        }
+        var command = RechargeBalance
                 .newBuilder()
                 .setWallet(walletId())
                 .setOperation(operationId())
-                .setMoneyAmount(e.getPrice())
-                .vBuild();
+                .setMoneyAmount(e.getPrice());
+        return Optional.of(trusted(command));
     }
 
     /**
@@ -133,11 +147,11 @@ final class SharesSaleProcess
      */
     @Command
     CancelSharesReservation on(SharesCannotBeSoldOnMarket r) {
-        return CancelSharesReservation
+        var command = CancelSharesReservation
                 .newBuilder()
                 .setInvestment(investmentId())
-                .setProcess(r.getSaleProcess())
-                .vBuild();
+                .setProcess(r.getSaleProcess());
+        return trusted(command);
     }
 
     /**
@@ -146,11 +160,11 @@ final class SharesSaleProcess
     @React
     SharesSaleFailed on(SharesReservationCanceled e) {
         setArchived(true);
-        return SharesSaleFailed
+        var event = SharesSaleFailed
                 .newBuilder()
                 .setSaleProcess(e.getProcess())
-                .setSeller(state().getSeller())
-                .vBuild();
+                .setSeller(state().getSeller());
+        return trusted(event);
     }
 
     /**
@@ -161,11 +175,11 @@ final class SharesSaleProcess
     CompleteSharesReservation on(BalanceRecharged e) {
         var process = e.getOperation()
                        .getSale();
-        return CompleteSharesReservation
+        var command = CompleteSharesReservation
                 .newBuilder()
                 .setInvestment(investmentId())
-                .setProcess(process)
-                .vBuild();
+                .setProcess(process);
+        return trusted(command);
     }
 
     /**
@@ -174,43 +188,43 @@ final class SharesSaleProcess
     @React
     SharesSold on(SharesReservationCompleted e) {
         setArchived(true);
-        return SharesSold
+        var event = SharesSold
                 .newBuilder()
                 .setSaleProcess(e.getProcess())
                 .setSeller(state().getSeller())
                 .setShare(state().getShare())
                 .setPrice(state().getPrice())
-                .setSharesAvailable(e.getSharesAvailable())
-                .vBuild();
+                .setSharesAvailable(e.getSharesAvailable());
+        return trusted(event);
     }
 
     private static InvestmentId investmentId(UserId owner, ShareId share) {
-        return InvestmentId
+        var id = InvestmentId
                 .newBuilder()
                 .setOwner(owner)
-                .setShare(share)
-                .vBuild();
+                .setShare(share);
+        return trusted(id);
     }
 
     private InvestmentId investmentId() {
-        return InvestmentId
+        var id = InvestmentId
                 .newBuilder()
                 .setShare(state().getShare())
-                .setOwner(state().getSeller())
-                .vBuild();
+                .setOwner(state().getSeller());
+        return trusted(id);
     }
 
     private WalletId walletId() {
-        return WalletId
+        var id = WalletId
                 .newBuilder()
-                .setOwner(state().getSeller())
-                .vBuild();
+                .setOwner(state().getSeller());
+        return trusted(id);
     }
 
     private ReplenishmentOperationId operationId() {
-        return ReplenishmentOperationId
+        var id = ReplenishmentOperationId
                 .newBuilder()
-                .setSale(state().getId())
-                .vBuild();
+                .setSale(state().getId());
+        return trusted(id);
     }
 }
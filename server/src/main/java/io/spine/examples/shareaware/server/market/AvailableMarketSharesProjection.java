@@ -26,6 +26,7 @@
 
 package io.spine.examples.shareaware.server.market;
 
+import io.spine.core.EventContext;
 import io.spine.core.External;
 import io.spine.core.Subscribe;
 import io.spine.examples.shareaware.MarketId;
@@ -35,13 +36,17 @@ import io.spine.server.projection.Projection;
 
 /**
  * The view of the shares that are currently available on the market.
+ *
+ * <p>The view tells when the market data were emitted, so that the clients
+ * may find out how long it took for the update to reach them.
  */
 final class AvailableMarketSharesProjection
         extends Projection<MarketId, AvailableMarketShares, AvailableMarketShares.Builder> {
 
     @Subscribe
-    void on(@External MarketSharesUpdated e) {
+    void on(@External MarketSharesUpdated e, EventContext ctx) {
         builder().clearShare()
-                 .addAllShare(e.getShareList());
+                 .addAllShare(e.getShareList())
+                 .setWhenUpdated(ctx.getTimestamp());
     }
 }
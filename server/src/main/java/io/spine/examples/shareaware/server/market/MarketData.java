@@ -31,7 +31,6 @@ import io.spine.examples.shareaware.share.Share;
 import io.spine.examples.shareaware.share.SharesReader;
 import io.spine.money.Money;
 
-import java.io.File;
 import java.security.SecureRandom;
 import java.util.Random;
 import java.util.Set;
@@ -59,8 +58,17 @@ final class MarketData {
     static {
         var classLoader = currentThread().getContextClassLoader();
         var urlToFile = requireNonNull(classLoader.getResource("shares.yml"));
-        var file = new File(urlToFile.getFile());
-        shares = SharesReader.read(file);
+        shares = SharesReader.read(urlToFile);
+    }
+
+    /**
+     * Loads the shares available on the market, if they are not loaded yet.
+     *
+     * <p>The shares are loaded when this class is initialized, which the call
+     * of this method causes. So the method itself has nothing to do.
+     */
+    static void load() {
+        // The shares are loaded by the static initializer.
     }
 
     /**
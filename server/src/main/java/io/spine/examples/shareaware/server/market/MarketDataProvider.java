@@ -26,10 +26,13 @@
 
 package io.spine.examples.shareaware.server.market;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.spine.base.EventMessage;
 import io.spine.core.UserId;
 import io.spine.examples.shareaware.market.event.MarketSharesUpdated;
+import io.spine.examples.shareaware.server.ThreadingMode;
+import io.spine.examples.shareaware.server.profiling.MarketTickEvent;
 import io.spine.server.integration.ThirdPartyContext;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
@@ -76,8 +79,11 @@ public final class MarketDataProvider {
     /**
      * The thread executor that allows {@code MarketDataProvider} to work
      * in a separate thread from the ShareAware application.
+     *
+     * <p>The market data are emitted by a single task regardless of the threading mode
+     * of the server, so that the updates are published in the order they are produced.
      */
-    private final ExecutorService marketThread = newSingleThreadExecutor();
+    private final ExecutorService marketThread;
 
     /**
      * Controls the thread in which {@code MarketDataProvider}
@@ -91,22 +97,60 @@ public final class MarketDataProvider {
     private Duration period;
 
     /**
-     * Prevents instantiation of this class.
+     * Prevents instantiation of this class from outside.
      */
-    private MarketDataProvider() {
+    private MarketDataProvider(ThreadingMode mode) {
+        marketThread = newMarketExecutor(mode);
     }
 
     /**
-     * Creates the instance of the {@code MarketDataProvider} if there is no such,
-     * otherwise returns the existing.
+     * Creates the instance of the {@code MarketDataProvider} running on a platform thread
+     * if there is no such, otherwise returns the existing.
      */
     public static synchronized MarketDataProvider instance() {
+        return instance(ThreadingMode.PLATFORM);
+    }
+
+    /**
+     * Creates the instance of the {@code MarketDataProvider} running on a thread
+     * of the passed mode if there is no such, otherwise returns the existing.
+     *
+     * <p>The mode of the existing instance is not changed.
+     */
+    public static synchronized MarketDataProvider instance(ThreadingMode mode) {
         if (instance == null) {
-            instance = new MarketDataProvider();
+            instance = new MarketDataProvider(mode);
         }
         return instance;
     }
 
+    /**
+     * Creates the executor emitting the market data in the passed mode.
+     *
+     * <p>In the {@link ThreadingMode#VIRTUAL VIRTUAL} mode, the market data are emitted by
+     * a virtual thread, which does not hold a platform thread while sleeping between the ticks.
+     * In the platform mode, or if the JVM does not support virtual threads,
+     * they are emitted by a single platform thread.
+     */
+    @VisibleForTesting
+    static ExecutorService newMarketExecutor(ThreadingMode mode) {
+        if (mode == ThreadingMode.VIRTUAL && mode.isSupported()) {
+            return mode.newExecutor();
+        }
+        return newSingleThreadExecutor();
+    }
+
+    /**
+     * Loads the shares available on the market.
+     *
+     * <p>Otherwise, the shares are loaded when the first tick of the market data
+     * is emitted. Loading them in advance allows doing it in parallel
+     * with the rest of the server startup.
+     */
+    public static void loadShares() {
+        MarketData.load();
+    }
+
     /**
      * Emits the {@code MarketSharesUpdated} event with a specified periodicity
      * on behalf of the {@value contextName} Bounded Context.
@@ -152,8 +196,13 @@ public final class MarketDataProvider {
         marketThread.awaitTermination(period.toMillis(), MILLISECONDS);
     }
 
+    /**
+     * Emits the tick of the market data and records it as a {@link MarketTickEvent}.
+     */
     @CanIgnoreReturnValue
     private MarketSharesUpdated emitEvent() {
+        var tick = new MarketTickEvent();
+        tick.begin();
         var updatedShares = MarketData.actualShares();
         var event = MarketSharesUpdated
                 .newBuilder()
@@ -161,6 +210,7 @@ public final class MarketDataProvider {
                 .addAllShare(updatedShares)
                 .vBuild();
         marketContext.emittedEvent(event, actor);
+        tick.complete(updatedShares.size());
         return event;
     }
 }
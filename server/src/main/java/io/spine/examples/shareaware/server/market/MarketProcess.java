@@ -26,6 +26,7 @@
 
 package io.spine.examples.shareaware.server.market;
 
+import io.spine.examples.shareaware.Cents;
 import io.spine.examples.shareaware.MarketId;
 import io.spine.examples.shareaware.market.Market;
 import io.spine.examples.shareaware.market.command.CloseMarket;
@@ -41,7 +42,9 @@ import io.spine.examples.shareaware.market.rejection.SharesCannotBeSoldOnMarket;
 import io.spine.server.command.Assign;
 import io.spine.server.procman.ProcessManager;
 
-import static io.spine.examples.shareaware.MoneyCalculator.*;
+import static io.spine.examples.shareaware.Cents.multiply;
+import static io.spine.examples.shareaware.Cents.toMoney;
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
 
 /**
  * The imitation of the shares market.
@@ -71,15 +74,17 @@ public final class MarketProcess
             throw SharesCannotBeObtained
                     .newBuilder()
                     .setPurchaseProcess(c.getPurchase())
+                    .setBasket(c.getBasket())
                     .build();
         }
-        return SharesObtained
+        var event = SharesObtained
                 .newBuilder()
                 .setMarket(c.getMarket())
                 .setPurchaseProcess(c.getPurchase())
                 .setShare(c.getShare())
                 .setQuantity(c.getQuantity())
-                .vBuild();
+                .setBasket(c.getBasket());
+        return trusted(event);
     }
 
     /**
@@ -94,15 +99,16 @@ public final class MarketProcess
                     .setSaleProcess(c.getSaleProcess())
                     .build();
         }
-        var sellPrice = multiply(c.getPrice(), c.getQuantity());
-        return SharesSoldOnMarket
+        var price = c.getPrice();
+        var sellPrice = toMoney(multiply(Cents.of(price), c.getQuantity()), price.getCurrency());
+        var event = SharesSoldOnMarket
                 .newBuilder()
                 .setMarket(c.getMarket())
                 .setSaleProcess(c.getSaleProcess())
                 .setShare(c.getShare())
                 .setQuantity(c.getQuantity())
-                .setPrice(sellPrice)
-                .vBuild();
+                .setPrice(sellPrice);
+        return event.vBuild();
     }
 
     @Assign
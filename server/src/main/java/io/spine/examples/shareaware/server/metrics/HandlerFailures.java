@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import io.spine.core.Subscribe;
+import io.spine.server.event.AbstractEventSubscriber;
+import io.spine.system.server.HandlerFailedUnexpectedly;
+import io.spine.type.TypeUrl;
+
+import static io.spine.examples.shareaware.server.metrics.HandlerMetrics.simpleName;
+
+/**
+ * Counts the messages the handlers have failed to handle.
+ *
+ * <p>When a handler throws, Spine emits the {@code HandlerFailedUnexpectedly}
+ * system event telling the type of the entity and the message it has failed on.
+ */
+final class HandlerFailures extends AbstractEventSubscriber {
+
+    private final HandlerMetrics metrics;
+
+    HandlerFailures(HandlerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Subscribe
+    void on(HandlerFailedUnexpectedly e) {
+        var entityType = TypeUrl.parse(e.getEntity()
+                                        .getTypeUrl());
+        var messageType = TypeUrl.parse(e.getHandledSignal()
+                                         .getTypeUrl());
+        metrics.failed(simpleName(entityType), simpleName(messageType));
+    }
+}
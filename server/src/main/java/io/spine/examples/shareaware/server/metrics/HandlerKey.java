@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Identifies the handler of the messages of some type in the entities of some type.
+ */
+final class HandlerKey implements Comparable<HandlerKey> {
+
+    private final String entityType;
+    private final String messageType;
+
+    HandlerKey(String entityType, String messageType) {
+        this.entityType = checkNotNull(entityType);
+        this.messageType = checkNotNull(messageType);
+    }
+
+    /**
+     * Returns the simple name of the entity state type.
+     */
+    String entityType() {
+        return entityType;
+    }
+
+    /**
+     * Returns the simple name of the handled message type.
+     */
+    String messageType() {
+        return messageType;
+    }
+
+    /**
+     * Returns the Prometheus labels of the handler.
+     */
+    String labels() {
+        return String.format("entity=\"%s\",message=\"%s\"", entityType, messageType);
+    }
+
+    @Override
+    public int compareTo(HandlerKey other) {
+        var byEntity = entityType.compareTo(other.entityType);
+        return byEntity != 0
+               ? byEntity
+               : messageType.compareTo(other.messageType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HandlerKey)) {
+            return false;
+        }
+        var other = (HandlerKey) o;
+        return entityType.equals(other.entityType) && messageType.equals(other.messageType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityType, messageType);
+    }
+
+    @Override
+    public String toString() {
+        return entityType + '.' + messageType;
+    }
+}
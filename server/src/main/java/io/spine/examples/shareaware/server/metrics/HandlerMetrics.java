@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.trace.TracerFactory;
+import io.spine.type.TypeUrl;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The invocation counts, the latencies, the rejections and the errors of the message
+ * handlers of a Bounded Context, tagged by the entity type and the message type.
+ *
+ * <p>The handlers are timed by the {@linkplain #tracing() tracers}, which Spine calls
+ * each time a signal is processed by one of its receivers. The latency of a handler is
+ * the time the receiver took to process the signal after it has been dispatched or
+ * after the previous receiver was done with it.
+ *
+ * <p>The rejections are counted against the handler of the rejected command. The errors
+ * are counted by the subscriber to the {@code HandlerFailedUnexpectedly} system events,
+ * which must be {@linkplain #registerWith(BoundedContextBuilder) registered} in the
+ * Bounded Context.
+ *
+ * <p>The metrics are recorded with the striped counters and may be read at any time
+ * in the {@linkplain #toPrometheusText() Prometheus text format}.
+ */
+public final class HandlerMetrics {
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final ConcurrentMap<HandlerKey, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> commandHandlers = new ConcurrentHashMap<>();
+    private final TracerFactory tracing = new HandlerTracing(this);
+
+    private HandlerMetrics() {
+    }
+
+    /**
+     * Creates new metrics with nothing recorded.
+     */
+    public static HandlerMetrics newInstance() {
+        return new HandlerMetrics();
+    }
+
+    /**
+     * Returns the factory of the tracers timing the handlers.
+     *
+     * <p>The factory should be set in the {@code ServerEnvironment}
+     * before the Bounded Context is built.
+     */
+    public TracerFactory tracing() {
+        return tracing;
+    }
+
+    /**
+     * Registers the subscriber counting the errors of the handlers
+     * in the given Bounded Context.
+     */
+    public void registerWith(BoundedContextBuilder context) {
+        checkNotNull(context);
+        context.addEventDispatcher(new HandlerFailures(this));
+    }
+
+    /**
+     * Records the message handled by the entity of the given type.
+     */
+    void handled(String entityType, String messageType, long nanos) {
+        stats(entityType, messageType).handled(nanos);
+    }
+
+    /**
+     * Records the command handled by the entity of the given type.
+     *
+     * <p>As each command has the only handler, the entity type is remembered
+     * to count the rejections of the commands of this type against it.
+     */
+    void commandHandled(String entityType, String commandType, long nanos) {
+        commandHandlers.putIfAbsent(commandType, entityType);
+        handled(entityType, commandType, nanos);
+    }
+
+    /**
+     * Records the rejection of the command of the given type.
+     */
+    void rejected(String commandType) {
+        var entityType = commandHandlers.getOrDefault(commandType, UNKNOWN);
+        stats(entityType, commandType).rejected();
+    }
+
+    /**
+     * Records the failure of the entity of the given type to handle the message.
+     */
+    void failed(String entityType, String messageType) {
+        stats(entityType, messageType).failed();
+    }
+
+    /**
+     * Returns the statistics of the given handler,
+     * or an empty {@code Optional} if nothing is recorded for it yet.
+     */
+    Optional<HandlerStats> find(String entityType, String messageType) {
+        return Optional.ofNullable(handlers.get(new HandlerKey(entityType, messageType)));
+    }
+
+    private HandlerStats stats(String entityType, String messageType) {
+        var key = new HandlerKey(entityType, messageType);
+        var stats = handlers.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        return handlers.computeIfAbsent(key, k -> new HandlerStats());
+    }
+
+    /**
+     * Returns the simple name of the given type.
+     */
+    static String simpleName(TypeUrl type) {
+        return type.toTypeName()
+                   .simpleName();
+    }
+
+    /**
+     * Writes the metrics of all the handlers in the Prometheus text format.
+     */
+    public String toPrometheusText() {
+        var out = new StringBuilder();
+        var sorted = handlers.keySet()
+                             .stream()
+                             .sorted()
+                             .toArray(HandlerKey[]::new);
+        counter(out, sorted, "shareaware_handler_invocations_total",
+                "The number of the messages handled.", HandlerStats::invocations);
+        counter(out, sorted, "shareaware_handler_rejections_total",
+                "The number of the commands rejected by the handler.", HandlerStats::rejections);
+        counter(out, sorted, "shareaware_handler_errors_total",
+                "The number of the messages the handler has failed to handle.", HandlerStats::errors);
+        var latency = "shareaware_handler_latency_seconds";
+        header(out, latency, "The time the handler took to handle a message.", "histogram");
+        for (var key : sorted) {
+            handlers.get(key)
+                    .latency()
+                    .writeTo(out, latency, key.labels());
+        }
+        return out.toString();
+    }
+
+    private void counter(StringBuilder out, HandlerKey[] keys,
+                         String name, String help, ToLongFunction<HandlerStats> metric) {
+        header(out, name, help, "counter");
+        for (var key : keys) {
+            var value = metric.applyAsLong(handlers.get(key));
+            out.append(String.format("%s{%s} %d\n", name, key.labels(), value));
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append(String.format("# HELP %s %s\n", name, help))
+           .append(String.format("# TYPE %s %s\n", name, type));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The invocations, the latencies and the outcomes of a single handler.
+ */
+final class HandlerStats {
+
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void handled(long nanos) {
+        latency.record(nanos);
+    }
+
+    void rejected() {
+        rejections.increment();
+    }
+
+    void failed() {
+        errors.increment();
+    }
+
+    /**
+     * Returns the number of the handled messages.
+     */
+    long invocations() {
+        return latency.count();
+    }
+
+    /**
+     * Returns the number of the commands rejected by the handler.
+     */
+    long rejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Returns the number of the messages the handler has failed to handle.
+     */
+    long errors() {
+        return errors.sum();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import io.spine.core.Command;
+import io.spine.core.MessageId;
+import io.spine.core.Signal;
+import io.spine.server.trace.Tracer;
+import io.spine.type.TypeUrl;
+
+import static io.spine.examples.shareaware.server.metrics.HandlerMetrics.simpleName;
+
+/**
+ * Times the handlers of a single signal.
+ *
+ * <p>The tracer is created right before the signal is dispatched. Each time the signal
+ * is processed by a receiver, the time elapsed since the dispatching has started or
+ * since the previous receiver was done is recorded as the latency of the handler.
+ */
+final class HandlerTracer implements Tracer {
+
+    private final Signal<?, ?, ?> signal;
+    private final HandlerMetrics metrics;
+    private final String messageType;
+    private final boolean command;
+    private long lastMark;
+
+    HandlerTracer(Signal<?, ?, ?> signal, HandlerMetrics metrics) {
+        this.signal = signal;
+        this.metrics = metrics;
+        this.messageType = signal.enclosedMessage()
+                                 .getClass()
+                                 .getSimpleName();
+        this.command = signal instanceof Command;
+        this.lastMark = System.nanoTime();
+    }
+
+    @Override
+    public Signal<?, ?, ?> signal() {
+        return signal;
+    }
+
+    @Override
+    public synchronized void processedBy(MessageId receiver, TypeUrl receiverType) {
+        var now = System.nanoTime();
+        var latency = now - lastMark;
+        lastMark = now;
+        var entityType = simpleName(receiverType);
+        if (command) {
+            metrics.commandHandled(entityType, messageType, latency);
+        } else {
+            metrics.handled(entityType, messageType, latency);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
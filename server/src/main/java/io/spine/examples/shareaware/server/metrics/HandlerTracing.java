@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import io.spine.core.Command;
+import io.spine.core.Event;
+import io.spine.core.Signal;
+import io.spine.server.ContextSpec;
+import io.spine.server.trace.Tracer;
+import io.spine.server.trace.TracerFactory;
+
+/**
+ * Creates the tracers which time the handlers of each dispatched signal.
+ *
+ * <p>Counts the rejections as they are dispatched.
+ */
+final class HandlerTracing implements TracerFactory {
+
+    private final HandlerMetrics metrics;
+
+    HandlerTracing(HandlerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Tracer trace(ContextSpec context, Signal<?, ?, ?> signal) {
+        if (signal instanceof Event) {
+            var event = (Event) signal;
+            if (event.isRejection()) {
+                var command = event.context()
+                                   .getRejection()
+                                   .getCommand();
+                metrics.rejected(typeOf(command));
+            }
+        }
+        return new HandlerTracer(signal, metrics);
+    }
+
+    private static String typeOf(Command command) {
+        return command.enclosedMessage()
+                      .getClass()
+                      .getSimpleName();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A histogram of latencies with the fixed buckets.
+ *
+ * <p>Each bucket is a striped counter, so the values may be recorded by any number
+ * of threads at once without locking and with little contention.
+ *
+ * <p>The histogram is written in the Prometheus text format, in which the buckets
+ * are cumulative and their upper bounds are in seconds.
+ */
+final class LatencyHistogram {
+
+    /**
+     * The upper bounds of the buckets, in nanoseconds.
+     */
+    private static final long[] BOUNDS = {
+            nanos(10, MICROSECONDS), nanos(50, MICROSECONDS), nanos(100, MICROSECONDS),
+            nanos(250, MICROSECONDS), nanos(500, MICROSECONDS), nanos(1, MILLISECONDS),
+            nanos(2_500, MICROSECONDS), nanos(5, MILLISECONDS), nanos(10, MILLISECONDS),
+            nanos(25, MILLISECONDS), nanos(50, MILLISECONDS), nanos(100, MILLISECONDS),
+            nanos(250, MILLISECONDS), nanos(500, MILLISECONDS), nanos(1, SECONDS),
+            nanos(2_500, MILLISECONDS), nanos(5, SECONDS)
+    };
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    /**
+     * The counters of the buckets, the last of which counts the values
+     * exceeding all the bounds.
+     */
+    private final ImmutableList<LongAdder> buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        var counters = ImmutableList.<LongAdder>builder();
+        for (var i = 0; i <= BOUNDS.length; i++) {
+            counters.add(new LongAdder());
+        }
+        this.buckets = counters.build();
+    }
+
+    private static long nanos(long duration, TimeUnit unit) {
+        return unit.toNanos(duration);
+    }
+
+    /**
+     * Records the given latency.
+     */
+    void record(long nanos) {
+        var value = Math.max(0, nanos);
+        var bucket = 0;
+        while (bucket < BOUNDS.length && value > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.get(bucket)
+               .increment();
+        sumNanos.add(value);
+    }
+
+    /**
+     * Returns the number of the recorded values.
+     */
+    long count() {
+        return buckets.stream()
+                      .mapToLong(LongAdder::sum)
+                      .sum();
+    }
+
+    /**
+     * Writes the histogram as the Prometheus samples of the given metric.
+     *
+     * @param out
+     *         the text to append the samples to
+     * @param name
+     *         the name of the metric
+     * @param labels
+     *         the labels of the samples written as {@code name="value"} pairs
+     *         separated with commas
+     */
+    void writeTo(StringBuilder out, String name, String labels) {
+        var cumulative = 0L;
+        for (var i = 0; i < BOUNDS.length; i++) {
+            cumulative += buckets.get(i)
+                                 .sum();
+            out.append(String.format("%s_bucket{%s,le=\"%s\"} %d\n",
+                                     name, labels, BOUNDS[i] / NANOS_IN_SECOND, cumulative));
+        }
+        cumulative += buckets.get(BOUNDS.length)
+                             .sum();
+        out.append(String.format("%s_bucket{%s,le=\"+Inf\"} %d\n", name, labels, cumulative))
+           .append(String.format("%s_sum{%s} %s\n",
+                                 name, labels, sumNanos.sum() / NANOS_IN_SECOND))
+           .append(String.format("%s_count{%s} %d\n", name, labels, cumulative));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A local HTTP endpoint serving the {@linkplain HandlerMetrics handler metrics}
+ * and, optionally, the {@linkplain SubscriptionMetrics subscription metrics}
+ * in the Prometheus text format.
+ *
+ * <p>The endpoint listens on the loopback interface only and serves
+ * the metrics at the {@link #PATH} to the {@code GET} requests.
+ */
+public final class MetricsEndpoint implements AutoCloseable {
+
+    /**
+     * The path at which the metrics are served.
+     */
+    public static final String PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int OK = 200;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int NO_RESPONSE_BODY = -1;
+
+    private final HttpServer server;
+
+    private MetricsEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts the endpoint at the given port of the local host.
+     *
+     * @param port
+     *         the port to listen on, or {@code 0} to pick any free port
+     * @param metrics
+     *         the metrics to serve
+     */
+    public static MetricsEndpoint start(int port, HandlerMetrics metrics) throws IOException {
+        checkNotNull(metrics);
+        return start(port, metrics::toPrometheusText);
+    }
+
+    /**
+     * Starts the endpoint at the given port of the local host.
+     *
+     * @param port
+     *         the port to listen on, or {@code 0} to pick any free port
+     * @param handlers
+     *         the metrics of the message handlers to serve
+     * @param subscriptions
+     *         the metrics of the subscriptions to serve
+     */
+    public static MetricsEndpoint start(int port,
+                                        HandlerMetrics handlers,
+                                        SubscriptionMetrics subscriptions) throws IOException {
+        checkNotNull(handlers);
+        checkNotNull(subscriptions);
+        return start(port, () -> handlers.toPrometheusText() + subscriptions.toPrometheusText());
+    }
+
+    private static MetricsEndpoint start(int port, Supplier<String> metrics) throws IOException {
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        var server = HttpServer.create(address, 0);
+        server.createContext(PATH, exchange -> respond(exchange, metrics));
+        server.start();
+        return new MetricsEndpoint(server);
+    }
+
+    private static void respond(HttpExchange exchange, Supplier<String> metrics)
+            throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(METHOD_NOT_ALLOWED, NO_RESPONSE_BODY);
+                return;
+            }
+            var body = metrics.get()
+                              .getBytes(UTF_8);
+            exchange.getResponseHeaders()
+                    .set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(OK, body.length);
+            exchange.getResponseBody()
+                    .write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the port the endpoint listens on.
+     */
+    public int port() {
+        return server.getAddress()
+                     .getPort();
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
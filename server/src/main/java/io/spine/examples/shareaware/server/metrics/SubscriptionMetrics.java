@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The active subscriptions, the latencies of the delivery of their updates
+ * and the slow subscribers, tagged by the type of the subscribed messages.
+ *
+ * <p>The latency of the delivery is the time from the moment the update is sent
+ * by the server to the moment it is handed over to the gRPC transport of
+ * the subscriber. It grows when the updates wait for a slow subscriber.
+ *
+ * <p>The metrics are updated by the delivery of the subscription updates
+ * and may be read at any time in the {@linkplain #toPrometheusText() Prometheus text format}.
+ */
+public final class SubscriptionMetrics {
+
+    private final ConcurrentMap<String, SubscriptionStats> targets = new ConcurrentHashMap<>();
+
+    private SubscriptionMetrics() {
+    }
+
+    /**
+     * Creates new metrics with nothing recorded.
+     */
+    public static SubscriptionMetrics newInstance() {
+        return new SubscriptionMetrics();
+    }
+
+    /**
+     * Records a new subscription to the messages of the given type.
+     */
+    public void onSubscribed(String target) {
+        stats(target).subscribed();
+    }
+
+    /**
+     * Records the end of a subscription to the messages of the given type.
+     */
+    public void onUnsubscribed(String target) {
+        stats(target).unsubscribed();
+    }
+
+    /**
+     * Records the update of the subscription to the messages of the given type
+     * delivered after waiting for the given time.
+     */
+    public void onDelivered(String target, long nanos) {
+        stats(target).delivered(nanos);
+    }
+
+    /**
+     * Records the subscriber of the messages of the given type which was too slow
+     * to receive all the updates and now receives only the latest of them.
+     */
+    public void onDowngraded(String target) {
+        stats(target).downgraded();
+    }
+
+    /**
+     * Records the subscriber of the messages of the given type which was too slow
+     * to receive the updates and was dropped.
+     */
+    public void onDropped(String target) {
+        stats(target).dropped();
+    }
+
+    /**
+     * Returns the number of the active subscriptions to the messages of the given type.
+     */
+    public long active(String target) {
+        return metric(target, SubscriptionStats::active);
+    }
+
+    /**
+     * Returns the number of the delivered updates of the messages of the given type.
+     */
+    public long delivered(String target) {
+        return metric(target, SubscriptionStats::delivered);
+    }
+
+    /**
+     * Returns the number of the subscribers of the messages of the given type
+     * downgraded to the latest updates.
+     */
+    public long downgraded(String target) {
+        return metric(target, SubscriptionStats::downgrades);
+    }
+
+    /**
+     * Returns the number of the dropped subscribers of the messages of the given type.
+     */
+    public long dropped(String target) {
+        return metric(target, SubscriptionStats::drops);
+    }
+
+    private long metric(String target, ToLongFunction<SubscriptionStats> metric) {
+        checkNotNull(target);
+        var stats = targets.get(target);
+        return stats == null
+               ? 0
+               : metric.applyAsLong(stats);
+    }
+
+    private SubscriptionStats stats(String target) {
+        checkNotNull(target);
+        var stats = targets.get(target);
+        if (stats != null) {
+            return stats;
+        }
+        return targets.computeIfAbsent(target, t -> new SubscriptionStats());
+    }
+
+    /**
+     * Writes the metrics of all the subscribed types in the Prometheus text format.
+     */
+    public String toPrometheusText() {
+        var out = new StringBuilder();
+        var sorted = targets.keySet()
+                            .stream()
+                            .sorted()
+                            .toArray(String[]::new);
+        sample(out, sorted, "shareaware_subscriptions_active", "gauge",
+               "The number of the active subscriptions.", SubscriptionStats::active);
+        sample(out, sorted, "shareaware_subscription_downgrades_total", "counter",
+               "The number of the slow subscribers receiving only the latest updates.",
+               SubscriptionStats::downgrades);
+        sample(out, sorted, "shareaware_subscription_drops_total", "counter",
+               "The number of the slow subscribers dropped.", SubscriptionStats::drops);
+        var latency = "shareaware_subscription_delivery_seconds";
+        header(out, latency, "The time the update has waited to be delivered.", "histogram");
+        for (var target : sorted) {
+            targets.get(target)
+                   .latency()
+                   .writeTo(out, latency, labels(target));
+        }
+        return out.toString();
+    }
+
+    private void sample(StringBuilder out, String[] sorted, String name, String type,
+                        String help, ToLongFunction<SubscriptionStats> metric) {
+        header(out, name, help, type);
+        for (var target : sorted) {
+            var value = metric.applyAsLong(targets.get(target));
+            out.append(String.format("%s{%s} %d\n", name, labels(target), value));
+        }
+    }
+
+    private static String labels(String target) {
+        return String.format("target=\"%s\"", target);
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append(String.format("# HELP %s %s\n", name, help))
+           .append(String.format("# TYPE %s %s\n", name, type));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The subscriptions to the messages of a single type and the delivery of their updates.
+ */
+final class SubscriptionStats {
+
+    private final LongAdder active = new LongAdder();
+    private final LongAdder downgrades = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void subscribed() {
+        active.increment();
+    }
+
+    void unsubscribed() {
+        active.decrement();
+    }
+
+    void delivered(long nanos) {
+        latency.record(nanos);
+    }
+
+    void downgraded() {
+        downgrades.increment();
+    }
+
+    void dropped() {
+        drops.increment();
+    }
+
+    /**
+     * Returns the number of the active subscriptions.
+     */
+    long active() {
+        return active.sum();
+    }
+
+    /**
+     * Returns the number of the delivered updates.
+     */
+    long delivered() {
+        return latency.count();
+    }
+
+    /**
+     * Returns the number of the slow subscribers receiving only the latest updates.
+     */
+    long downgrades() {
+        return downgrades.sum();
+    }
+
+    /**
+     * Returns the number of the dropped slow subscribers.
+     */
+    long drops() {
+        return drops.sum();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+}
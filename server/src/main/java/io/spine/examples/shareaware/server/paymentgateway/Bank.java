@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Optional;
+
+/**
+ * The external bank which settles the money transfers requested by the payment gateway.
+ *
+ * <p>The bank knows each transfer by its {@linkplain BankTransfer#reference() reference}.
+ * If a call to settle the transfers fails, their outcomes are not known to the caller,
+ * and the bank must be asked about them.
+ */
+public interface Bank {
+
+    /**
+     * Settles the batch of transfers.
+     *
+     * <p>The call may take as long as the bank needs to process the batch.
+     *
+     * @param batch
+     *         the transfers to settle
+     * @return the outcomes of the transfers in the same order as the transfers in the batch
+     */
+    ImmutableList<TransferOutcome> settle(ImmutableList<BankTransfer> batch);
+
+    /**
+     * Looks up the outcome of the transfer sent to the bank before.
+     *
+     * @param reference
+     *         the reference of the transfer
+     * @return the outcome of the transfer, or an empty {@code Optional}
+     *         if the bank has not received the transfer
+     */
+    Optional<TransferOutcome> outcomeOf(String reference);
+}
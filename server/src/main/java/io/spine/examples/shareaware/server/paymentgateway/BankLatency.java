@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The distribution of the time the {@link SimulatedBank} spends on a call.
+ */
+@FunctionalInterface
+public interface BankLatency {
+
+    /**
+     * Returns the latency of the next call.
+     *
+     * @param random
+     *         the source of randomness to use
+     */
+    Duration next(Random random);
+
+    /**
+     * Returns the distribution in which each call takes the same time.
+     */
+    static BankLatency fixed(Duration latency) {
+        checkNotNegative(latency);
+        return random -> latency;
+    }
+
+    /**
+     * Returns the distribution in which the latency is spread evenly
+     * between the given bounds.
+     */
+    static BankLatency uniform(Duration min, Duration max) {
+        checkNotNegative(min);
+        checkNotNegative(max);
+        checkArgument(min.compareTo(max) <= 0, "The minimum latency exceeds the maximum.");
+        var spread = max.minus(min)
+                        .toNanos();
+        return random -> min.plusNanos((long) (random.nextDouble() * spread));
+    }
+
+    /**
+     * Returns the log-normal distribution with the given median and 99th percentile.
+     *
+     * <p>Most of the calls take about the median time, while a few of them
+     * take many times longer, as it usually happens with remote services.
+     */
+    static BankLatency logNormal(Duration median, Duration p99) {
+        checkNotNegative(median);
+        checkArgument(!median.isZero(), "The median latency must be positive.");
+        checkArgument(p99.compareTo(median) >= 0,
+                      "The 99th percentile is lower than the median.");
+        // The 99th percentile of the standard normal distribution.
+        var p99Deviations = 2.326;
+        var mu = Math.log(median.toNanos());
+        var sigma = Math.log((double) p99.toNanos() / median.toNanos()) / p99Deviations;
+        return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    private static void checkNotNegative(Duration latency) {
+        checkNotNull(latency);
+        checkArgument(!latency.isNegative(), "The latency cannot be negative.");
+    }
+}
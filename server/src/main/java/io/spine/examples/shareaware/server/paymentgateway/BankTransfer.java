@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.base.MoreObjects;
+import io.spine.examples.shareaware.wallet.Iban;
+import io.spine.money.Money;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A money transfer between two bank accounts.
+ */
+public final class BankTransfer {
+
+    private final String reference;
+    private final Iban sender;
+    private final Iban recipient;
+    private final Money amount;
+
+    /**
+     * Creates a new transfer.
+     *
+     * @param reference
+     *         the reference by which the transfer is known to its initiator
+     * @param sender
+     *         the account to transfer the money from
+     * @param recipient
+     *         the account to transfer the money to
+     * @param amount
+     *         the amount of money to transfer
+     */
+    public BankTransfer(String reference, Iban sender, Iban recipient, Money amount) {
+        this.reference = checkNotNull(reference);
+        this.sender = checkNotNull(sender);
+        this.recipient = checkNotNull(recipient);
+        this.amount = checkNotNull(amount);
+    }
+
+    public String reference() {
+        return reference;
+    }
+
+    public Iban sender() {
+        return sender;
+    }
+
+    public Iban recipient() {
+        return recipient;
+    }
+
+    public Money amount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("reference", reference)
+                          .toString();
+    }
+}
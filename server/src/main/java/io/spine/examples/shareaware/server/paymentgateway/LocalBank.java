@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A local stand-in for the external bank, which settles every transfer successfully
+ * after the simulated latency.
+ *
+ * <p>Settling a batch takes the fixed latency of a call to the bank, plus
+ * the latency of processing each transfer in the batch.
+ */
+public final class LocalBank implements Bank {
+
+    private final Duration callLatency;
+    private final Duration transferLatency;
+    private final Set<String> settled = ConcurrentHashMap.newKeySet();
+
+    private LocalBank(Duration callLatency, Duration transferLatency) {
+        this.callLatency = callLatency;
+        this.transferLatency = transferLatency;
+    }
+
+    /**
+     * Creates a bank with the given latencies.
+     *
+     * @param callLatency
+     *         the time it takes to settle an empty batch
+     * @param transferLatency
+     *         the time it takes to process each transfer of the batch
+     */
+    public static LocalBank withLatency(Duration callLatency, Duration transferLatency) {
+        checkNotNull(callLatency);
+        checkNotNull(transferLatency);
+        checkArgument(!callLatency.isNegative() && !transferLatency.isNegative(),
+                      "The latency cannot be negative.");
+        return new LocalBank(callLatency, transferLatency);
+    }
+
+    @Override
+    public ImmutableList<TransferOutcome> settle(ImmutableList<BankTransfer> batch) {
+        checkNotNull(batch);
+        var latency = callLatency.plus(transferLatency.multipliedBy(batch.size()));
+        sleepUninterruptibly(latency.toNanos(), NANOSECONDS);
+        batch.forEach(transfer -> settled.add(transfer.reference()));
+        return batch.stream()
+                    .map(transfer -> TransferOutcome.succeeded())
+                    .collect(toImmutableList());
+    }
+
+    @Override
+    public Optional<TransferOutcome> outcomeOf(String reference) {
+        checkNotNull(reference);
+        return settled.contains(reference)
+               ? Optional.of(TransferOutcome.succeeded())
+               : Optional.empty();
+    }
+}
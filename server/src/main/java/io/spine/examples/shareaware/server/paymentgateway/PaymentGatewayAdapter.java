@@ -0,0 +1,351 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.CommandContext;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PaymentGatewayId;
+import io.spine.examples.shareaware.paymentgateway.command.CompleteMoneyTransferFromUser;
+import io.spine.examples.shareaware.paymentgateway.command.CompleteMoneyTransferToUser;
+import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyFromUser;
+import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyToUser;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferFromUserSubmitted;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferToUserSubmitted;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredFromUser;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredToUser;
+import io.spine.examples.shareaware.paymentgateway.rejection.MoneyCannotBeTransferredFromUser;
+import io.spine.examples.shareaware.paymentgateway.rejection.MoneyCannotBeTransferredToUser;
+import io.spine.logging.Logging;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import io.spine.server.command.AbstractCommandHandler;
+import io.spine.server.command.Assign;
+import io.spine.server.tuple.EitherOf2;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * The adapter to the external payment system.
+ *
+ * <p>Each transfer is passed to the {@link Settlement}, which sends the transfers
+ * to the bank in batches. The handlers do not wait for the bank. If the outcome of
+ * the transfer is already known, the handler emits the corresponding event or rejection
+ * right away. Otherwise, it emits the event telling that the transfer is submitted, and
+ * keeps the transfer pending by the ID of the process which has requested it.
+ * Once the bank settles the transfer, the adapter posts the command to complete it
+ * to itself, and emits the event or the rejection when handling that command.
+ * The transfer requested again by a process whose transfer is pending is not
+ * submitted twice.
+ *
+ * <p>A transfer whose outcome is unknown because the bank did not answer stays pending
+ * until the settlement {@linkplain Settlement reconciles} it with the bank. It is never
+ * rejected on a timeout, as the bank may still settle it.
+ *
+ * <p>The {@linkplain #newInstance() default} adapter settles each transfer right away
+ * with an in-process bank, and so never leaves a transfer pending.
+ */
+public final class PaymentGatewayAdapter extends AbstractCommandHandler implements Logging {
+
+    /**
+     * The ID of the payment gateway set in the transfer commands and events.
+     */
+    public static final PaymentGatewayId ID = PaymentGatewayId
+            .newBuilder()
+            .setUuid("ImitationOfExternalPaymentSystem")
+            .vBuild();
+
+    private final @Nullable Settlement settlement;
+    private final @Nullable Bank immediateBank;
+    private final Map<Message, CompletableFuture<TransferOutcome>> pending =
+            new ConcurrentHashMap<>();
+    private volatile @Nullable CommandServiceImplBase commands;
+
+    private PaymentGatewayAdapter(@Nullable Settlement settlement, @Nullable Bank immediateBank) {
+        this.settlement = settlement;
+        this.immediateBank = immediateBank;
+    }
+
+    /**
+     * Creates the adapter which settles each transfer right away
+     * with the local stand-in of the bank.
+     *
+     * <p>The transfers are settled on the thread handling the transfer command,
+     * so the adapter does not start any threads of its own.
+     */
+    public static PaymentGatewayAdapter newInstance() {
+        return new PaymentGatewayAdapter(null, LocalBank.withLatency(Duration.ZERO,
+                                                                     Duration.ZERO));
+    }
+
+    /**
+     * Creates the adapter which settles the transfers with the given settlement.
+     *
+     * <p>The settlement is owned by the caller, which closes it
+     * once the Bounded Context is closed.
+     */
+    public static PaymentGatewayAdapter using(Settlement settlement) {
+        checkNotNull(settlement);
+        return new PaymentGatewayAdapter(settlement, null);
+    }
+
+    /**
+     * Remembers the command service of the context in order to post
+     * the commands completing the transfers settled by the bank later.
+     */
+    @Override
+    public void registerWith(BoundedContext context) {
+        super.registerWith(context);
+        this.commands = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+    }
+
+    /**
+     * Transfers the money from the user's bank account emitting
+     * the {@code MoneyTransferredFromUser} event, or the {@code MoneyTransferFromUserSubmitted}
+     * event if the bank has not settled the transfer yet.
+     */
+    @Assign
+    EitherOf2<MoneyTransferredFromUser, MoneyTransferFromUserSubmitted>
+    on(TransferMoneyFromUser c, CommandContext ctx) throws MoneyCannotBeTransferredFromUser {
+        var process = c.getReplenishmentProcess();
+        var transfer = new BankTransfer(process.getUuid(),
+                                        c.getSender(), c.getRecipient(), c.getAmount());
+        var outcome = submit(process, transfer);
+        var completion = CompleteMoneyTransferFromUser
+                .newBuilder()
+                .setGateway(c.getGateway())
+                .setReplenishmentProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+        if (outcome != null) {
+            if (outcome.isDone()) {
+                return EitherOf2.withA(on(completion));
+            }
+            completeLater(outcome, completion, actorOf(ctx));
+        }
+        var submitted = MoneyTransferFromUserSubmitted
+                .newBuilder()
+                .setGateway(c.getGateway())
+                .setReplenishmentProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+        return EitherOf2.withB(submitted);
+    }
+
+    /**
+     * Emits the {@code MoneyTransferredFromUser} event or
+     * the {@code MoneyCannotBeTransferredFromUser} rejection
+     * according to the outcome of the transfer settled by the bank.
+     */
+    @Assign
+    MoneyTransferredFromUser on(CompleteMoneyTransferFromUser c)
+            throws MoneyCannotBeTransferredFromUser {
+        var process = c.getReplenishmentProcess();
+        var outcome = settled(process);
+        if (!outcome.isSuccessful()) {
+            throw MoneyCannotBeTransferredFromUser
+                    .newBuilder()
+                    .setReplenishment(process)
+                    .setCause(outcome.cause())
+                    .build();
+        }
+        return MoneyTransferredFromUser
+                .newBuilder()
+                .setGateway(c.getGateway())
+                .setReplenishmentProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+    }
+
+    /**
+     * Transfers the money to the user's bank account emitting
+     * the {@code MoneyTransferredToUser} event, or the {@code MoneyTransferToUserSubmitted}
+     * event if the bank has not settled the transfer yet.
+     */
+    @Assign
+    EitherOf2<MoneyTransferredToUser, MoneyTransferToUserSubmitted>
+    on(TransferMoneyToUser c, CommandContext ctx) throws MoneyCannotBeTransferredToUser {
+        var process = c.getWithdrawalProcess();
+        var transfer = new BankTransfer(process.getUuid(),
+                                        c.getSender(), c.getRecipient(), c.getAmount());
+        var outcome = submit(process, transfer);
+        var completion = CompleteMoneyTransferToUser
+                .newBuilder()
+                .setGateway(c.getGateway())
+                .setWithdrawalProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+        if (outcome != null) {
+            if (outcome.isDone()) {
+                return EitherOf2.withA(on(completion));
+            }
+            completeLater(outcome, completion, actorOf(ctx));
+        }
+        var submitted = MoneyTransferToUserSubmitted
+                .newBuilder()
+                .setGateway(c.getGateway())
+                .setWithdrawalProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+        return EitherOf2.withB(submitted);
+    }
+
+    /**
+     * Emits the {@code MoneyTransferredToUser} event or
+     * the {@code MoneyCannotBeTransferredToUser} rejection
+     * according to the outcome of the transfer settled by the bank.
+     */
+    @Assign
+    MoneyTransferredToUser on(CompleteMoneyTransferToUser c)
+            throws MoneyCannotBeTransferredToUser {
+        var process = c.getWithdrawalProcess();
+        var outcome = settled(process);
+        if (!outcome.isSuccessful()) {
+            throw MoneyCannotBeTransferredToUser
+                    .newBuilder()
+                    .setWithdrawalProcess(process)
+                    .setCause(outcome.cause())
+                    .build();
+        }
+        return MoneyTransferredToUser
+                .newBuilder()
+                .setGetaway(c.getGateway())
+                .setWithdrawalProcess(process)
+                .setAmount(c.getAmount())
+                .vBuild();
+    }
+
+    /**
+     * Submits the transfer requested by the given process.
+     *
+     * @return the future outcome of the transfer, or {@code null} if the transfer
+     *         of this process is already pending
+     */
+    private @Nullable CompletableFuture<TransferOutcome>
+    submit(Message process, BankTransfer transfer) {
+        var outcome = new CompletableFuture<TransferOutcome>();
+        if (pending.putIfAbsent(process, outcome) != null) {
+            return null;
+        }
+        if (settlement != null) {
+            checkNotNull(settlement.submit(transfer)
+                                   .thenAccept(outcome::complete));
+        } else {
+            var bank = checkNotNull(immediateBank);
+            outcome.complete(bank.settle(ImmutableList.of(transfer))
+                                 .get(0));
+        }
+        return outcome;
+    }
+
+    /**
+     * Takes the outcome of the settled transfer requested by the given process.
+     */
+    private TransferOutcome settled(Message process) {
+        var outcome = pending.remove(process);
+        if (outcome == null || !outcome.isDone()) {
+            throw newIllegalStateException("The transfer of `%s` is not settled.", process);
+        }
+        return outcome.join();
+    }
+
+    private void completeLater(CompletableFuture<TransferOutcome> outcome,
+                               CommandMessage completion,
+                               UserId actor) {
+        checkNotNull(outcome.thenRun(() -> post(completion, actor)));
+    }
+
+    private void post(CommandMessage completion, UserId actor) {
+        var sink = commands;
+        if (sink == null) {
+            _error().log("Unable to complete the transfer `%s`: the adapter is not registered " +
+                                 "with a Bounded Context.", completion);
+            return;
+        }
+        var command = ActorRequestFactory
+                .newBuilder()
+                .setActor(actor)
+                .build()
+                .command()
+                .create(completion);
+        sink.post(command, new CompletionObserver(completion));
+    }
+
+    private static UserId actorOf(CommandContext ctx) {
+        return ctx.getActorContext()
+                  .getActor();
+    }
+
+    /**
+     * Logs the completions which could not be posted.
+     */
+    private final class CompletionObserver implements StreamObserver<Ack> {
+
+        private final CommandMessage completion;
+
+        private CompletionObserver(CommandMessage completion) {
+            this.completion = completion;
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            var status = ack.getStatus();
+            if (status.hasError()) {
+                _error().log("The completion of the transfer `%s` failed: %s.",
+                             completion, status.getError()
+                                               .getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            _error().withCause(t)
+                    .log("Unable to complete the transfer `%s`.", completion);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -1,80 +0,0 @@
-/*
- * Copyright 2023, TeamDev. All rights reserved.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Redistribution and use in source and/or binary forms, with or without
- * modification, must retain the above copyright notice and the following
- * disclaimer.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
- * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
- * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
- * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
- * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
- * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
- * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
- * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
- * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
- * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
- * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package io.spine.examples.shareaware.server.paymentgateway;
-
-import io.spine.examples.shareaware.PaymentGatewayId;
-import io.spine.examples.shareaware.paymentgateway.PaymentGateway;
-import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyFromUser;
-import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyToUser;
-import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredFromUser;
-import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredToUser;
-import io.spine.server.command.Assign;
-import io.spine.server.procman.ProcessManager;
-
-/**
- * The imitation of the external payment system.
- */
-public final class PaymentGatewayProcess
-        extends ProcessManager<PaymentGatewayId, PaymentGateway, PaymentGateway.Builder> {
-
-    /**
-     * The hardcoded ID for this imitation.
-     *
-     * <p>Only one instance of this process can exist in context,
-     * so all matching signals would be routed to the instance with this ID.
-     */
-    public static final PaymentGatewayId ID = PaymentGatewayId
-            .newBuilder()
-            .setUuid("ImitationOfExternalPaymentSystem")
-            .vBuild();
-
-    /**
-     * Emits the event when the money has been transferred from the user's bank account.
-     */
-    @Assign
-    MoneyTransferredFromUser on(TransferMoneyFromUser c) {
-        return MoneyTransferredFromUser
-                .newBuilder()
-                .setGateway(c.getGateway())
-                .setReplenishmentProcess(c.getReplenishmentProcess())
-                .setAmount(c.getAmount())
-                .vBuild();
-    }
-
-    /**
-     * Transfers money to the user's card emitting the {@code MoneyTransferredToUser} event.
-     */
-    @Assign
-    MoneyTransferredToUser on(TransferMoneyToUser c) {
-        return MoneyTransferredToUser
-                .newBuilder()
-                .setGetaway(c.getGateway())
-                .setWithdrawalProcess(c.getWithdrawalProcess())
-                .setAmount(c.getAmount())
-                .vBuild();
-    }
-}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Groups the money transfers into settlement batches and settles them with the {@link Bank}.
+ *
+ * <p>A batch is sent to the bank once it has reached the maximum size, or once
+ * the time window has passed since the first transfer was added to it.
+ * The batches are settled in parallel, by no more than the given number at a time.
+ * The rest of the batches wait for their turn.
+ *
+ * <p>If the call to the bank fails, the outcomes of the transfers are not known:
+ * the bank may have settled them or not. Such transfers are not failed. Instead,
+ * they are reconciled with the bank by their references once the reconciliation
+ * interval passes. The transfers the bank has settled complete with their outcomes,
+ * and the transfers the bank has not received are sent to it again. The reconciliation
+ * is repeated until the bank answers.
+ *
+ * <p>The settlement is thread-safe.
+ */
+public final class Settlement implements AutoCloseable, Logging {
+
+    private static final int KEEP_ALIVE_SECONDS = 60;
+
+    private final Bank bank;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Duration reconciliationInterval;
+    private final ThreadPoolExecutor settlers;
+    private final ScheduledExecutorService timer;
+
+    @GuardedBy("this")
+    private List<PendingTransfer> batch = new ArrayList<>();
+
+    @GuardedBy("this")
+    private long batchNumber;
+
+    private Settlement(Builder builder) {
+        this.bank = builder.bank;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.window = builder.window;
+        this.reconciliationInterval = builder.reconciliationInterval;
+        this.settlers = new ThreadPoolExecutor(builder.parallelism, builder.parallelism,
+                                               KEEP_ALIVE_SECONDS, SECONDS,
+                                               new LinkedBlockingQueue<>(),
+                                               daemon("settlement"));
+        this.settlers.allowCoreThreadTimeOut(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("settlement-timer"));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return task -> {
+            var thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates a new builder of the settlement.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Adds the transfer to the current batch.
+     *
+     * @return the future which completes with the outcome of the transfer
+     *         once its batch is settled
+     */
+    public CompletableFuture<TransferOutcome> submit(BankTransfer transfer) {
+        checkNotNull(transfer);
+        var pending = new PendingTransfer(transfer);
+        @Nullable ImmutableList<PendingTransfer> full = null;
+        synchronized (this) {
+            batch.add(pending);
+            if (batch.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (batch.size() == 1) {
+                var number = batchNumber;
+                checkNotNull(timer.schedule(() -> flush(number), window.toNanos(), NANOSECONDS));
+            }
+        }
+        if (full != null) {
+            settle(full);
+        }
+        return pending.outcome;
+    }
+
+    /**
+     * Sends the batch with the given number to the bank, unless it is already sent.
+     */
+    private void flush(long number) {
+        ImmutableList<PendingTransfer> expired;
+        synchronized (this) {
+            if (number != batchNumber || batch.isEmpty()) {
+                return;
+            }
+            expired = takeBatch();
+        }
+        settle(expired);
+    }
+
+    @GuardedBy("this")
+    private ImmutableList<PendingTransfer> takeBatch() {
+        var taken = ImmutableList.copyOf(batch);
+        batch = new ArrayList<>(maxBatchSize);
+        batchNumber++;
+        return taken;
+    }
+
+    private void settle(ImmutableList<PendingTransfer> pending) {
+        settlers.execute(() -> settleNow(pending));
+    }
+
+    private void settleNow(ImmutableList<PendingTransfer> pending) {
+        var transfers = pending.stream()
+                               .map(transfer -> transfer.transfer)
+                               .collect(ImmutableList.toImmutableList());
+        ImmutableList<TransferOutcome> outcomes;
+        try {
+            outcomes = bank.settle(transfers);
+            checkArgument(outcomes.size() == transfers.size(),
+                          "The bank returned %s outcomes for %s transfers.",
+                          outcomes.size(), transfers.size());
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to settle the batch of %d transfers. " +
+                                 "The transfers will be reconciled.", transfers.size());
+            reconcileLater(pending);
+            return;
+        }
+        for (var i = 0; i < pending.size(); i++) {
+            pending.get(i).outcome.complete(outcomes.get(i));
+        }
+    }
+
+    private void reconcileLater(ImmutableList<PendingTransfer> pending) {
+        try {
+            checkNotNull(timer.schedule(() -> settlers.execute(() -> reconcile(pending)),
+                                        reconciliationInterval.toNanos(), NANOSECONDS));
+        } catch (RejectedExecutionException e) {
+            _error().log("The settlement is closed. " +
+                                 "The outcomes of %d transfers remain unknown.", pending.size());
+        }
+    }
+
+    /**
+     * Asks the bank about the transfers whose outcomes are not known.
+     *
+     * <p>Completes the transfers settled by the bank, and sends the transfers
+     * not received by the bank once again.
+     */
+    private void reconcile(ImmutableList<PendingTransfer> pending) {
+        var unreceived = ImmutableList.<PendingTransfer>builder();
+        try {
+            for (var transfer : pending) {
+                var outcome = bank.outcomeOf(transfer.transfer.reference());
+                if (outcome.isPresent()) {
+                    transfer.outcome.complete(outcome.get());
+                } else {
+                    unreceived.add(transfer);
+                }
+            }
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to reconcile %d transfers with the bank.", pending.size());
+            var unknown = pending.stream()
+                                 .filter(transfer -> !transfer.outcome.isDone())
+                                 .collect(ImmutableList.toImmutableList());
+            reconcileLater(unknown);
+            return;
+        }
+        var resent = unreceived.build();
+        if (!resent.isEmpty()) {
+            settleNow(resent);
+        }
+    }
+
+    /**
+     * Settles the transfers submitted so far and stops the settlement.
+     *
+     * <p>The transfers still being reconciled remain incomplete.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        ImmutableList<PendingTransfer> last;
+        synchronized (this) {
+            last = takeBatch();
+        }
+        if (!last.isEmpty()) {
+            settle(last);
+        }
+        timer.shutdownNow();
+        settlers.shutdown();
+        settlers.awaitTermination(KEEP_ALIVE_SECONDS, SECONDS);
+    }
+
+    /**
+     * A transfer waiting for its batch to be settled.
+     */
+    private static final class PendingTransfer {
+
+        private final BankTransfer transfer;
+        private final CompletableFuture<TransferOutcome> outcome = new CompletableFuture<>();
+
+        private PendingTransfer(BankTransfer transfer) {
+            this.transfer = transfer;
+        }
+    }
+
+    /**
+     * The builder of the settlement.
+     */
+    public static final class Builder {
+
+        private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+        private static final Duration DEFAULT_WINDOW = Duration.ofMillis(10);
+        private static final int DEFAULT_PARALLELISM = 8;
+        private static final Duration DEFAULT_RECONCILIATION_INTERVAL = Duration.ofSeconds(1);
+
+        private Bank bank = LocalBank.withLatency(Duration.ofMillis(20), Duration.ZERO);
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private Duration window = DEFAULT_WINDOW;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private Duration reconciliationInterval = DEFAULT_RECONCILIATION_INTERVAL;
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the bank to settle the transfers with.
+         *
+         * <p>If not set, the {@linkplain LocalBank local stand-in} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setBank(Bank bank) {
+            this.bank = checkNotNull(bank);
+            return this;
+        }
+
+        /**
+         * Sets the number of transfers after which a batch is sent to the bank right away.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            checkArgument(maxBatchSize > 0, "The batch size must be positive.");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a batch is sent to the bank even if it is not full.
+         */
+        @CanIgnoreReturnValue
+        public Builder setWindow(Duration window) {
+            checkNotNull(window);
+            checkArgument(!window.isNegative(), "The window cannot be negative.");
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches settled at the same time.
+         */
+        @CanIgnoreReturnValue
+        public Builder setParallelism(int parallelism) {
+            checkArgument(parallelism > 0, "The parallelism must be positive.");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the time after which the transfers with unknown outcomes
+         * are reconciled with the bank.
+         */
+        @CanIgnoreReturnValue
+        public Builder setReconciliationInterval(Duration interval) {
+            checkNotNull(interval);
+            checkArgument(!interval.isNegative() && !interval.isZero(),
+                          "The reconciliation interval must be positive.");
+            this.reconciliationInterval = interval;
+            return this;
+        }
+
+        public Settlement build() {
+            return new Settlement(this);
+        }
+    }
+}
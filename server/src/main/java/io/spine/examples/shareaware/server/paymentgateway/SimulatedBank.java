@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Range;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A local imitation of the bank, which behaves as a remote service would.
+ *
+ * <p>The bank may be configured to:
+ * <ul>
+ *     <li>spend the time on each call according to the given {@link BankLatency};</li>
+ *     <li>time out the calls taking longer than the given timeout;</li>
+ *     <li>decline the given share of the transfers;</li>
+ *     <li>throttle the calls exceeding the given number of concurrent calls;</li>
+ *     <li>be unavailable during the given outage windows, counted from its creation.</li>
+ * </ul>
+ *
+ * <p>The timed out, throttled and declined transfers are returned as failed.
+ * During the outage, the calls fail with an exception, and the transfers
+ * of such calls are not received by the bank.
+ */
+public final class SimulatedBank implements Bank {
+
+    private final BankLatency latency;
+    private final Duration timeout;
+    private final double failureRate;
+    private final Semaphore calls;
+    private final ImmutableList<Range<Duration>> outages;
+    private final Ticker ticker;
+    private final long createdAt;
+    private final Random random;
+    private final Map<String, TransferOutcome> outcomes = new ConcurrentHashMap<>();
+
+    private SimulatedBank(Builder builder) {
+        this.latency = builder.latency;
+        this.timeout = builder.timeout;
+        this.failureRate = builder.failureRate;
+        this.calls = new Semaphore(builder.maxConcurrentCalls);
+        this.outages = builder.outages.build();
+        this.ticker = builder.ticker;
+        this.createdAt = ticker.read();
+        this.random = new Random(builder.seed);
+    }
+
+    /**
+     * Creates a new builder of the bank.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Settles the batch as the configured bank would.
+     *
+     * @throws IllegalStateException
+     *         if the bank is in outage
+     */
+    @Override
+    public ImmutableList<TransferOutcome> settle(ImmutableList<BankTransfer> batch) {
+        checkNotNull(batch);
+        var sinceCreation = Duration.ofNanos(ticker.read() - createdAt);
+        if (isInOutage(sinceCreation)) {
+            throw new IllegalStateException("The bank is unavailable.");
+        }
+        if (!calls.tryAcquire()) {
+            return record(batch, allFailed(batch, "The bank throttled the call."));
+        }
+        try {
+            var callLatency = latency.next(random);
+            if (callLatency.compareTo(timeout) > 0) {
+                sleep(timeout);
+                return record(batch, allFailed(batch, "The bank did not respond in time."));
+            }
+            sleep(callLatency);
+            var settled = batch.stream()
+                               .map(transfer -> random.nextDouble() < failureRate
+                                                ? TransferOutcome.failed(
+                                                        "The bank declined the transfer.")
+                                                : TransferOutcome.succeeded())
+                               .collect(toImmutableList());
+            return record(batch, settled);
+        } finally {
+            calls.release();
+        }
+    }
+
+    @Override
+    public Optional<TransferOutcome> outcomeOf(String reference) {
+        checkNotNull(reference);
+        return Optional.ofNullable(outcomes.get(reference));
+    }
+
+    private ImmutableList<TransferOutcome> record(ImmutableList<BankTransfer> batch,
+                                                  ImmutableList<TransferOutcome> settled) {
+        for (var i = 0; i < batch.size(); i++) {
+            outcomes.put(batch.get(i)
+                              .reference(), settled.get(i));
+        }
+        return settled;
+    }
+
+    private boolean isInOutage(Duration sinceCreation) {
+        return outages.stream()
+                      .anyMatch(outage -> outage.contains(sinceCreation));
+    }
+
+    private static ImmutableList<TransferOutcome>
+    allFailed(ImmutableList<BankTransfer> batch, String cause) {
+        var failure = TransferOutcome.failed(cause);
+        return batch.stream()
+                    .map(transfer -> failure)
+                    .collect(toImmutableList());
+    }
+
+    private static void sleep(Duration duration) {
+        sleepUninterruptibly(duration.toNanos(), NANOSECONDS);
+    }
+
+    /**
+     * The builder of the simulated bank.
+     *
+     * <p>By default, the bank responds right away, never times out,
+     * declines no transfers, is not throttled and is never in outage.
+     */
+    public static final class Builder {
+
+        private BankLatency latency = BankLatency.fixed(Duration.ZERO);
+        private Duration timeout = Duration.ofSeconds(Long.MAX_VALUE);
+        private double failureRate = 0.0;
+        private int maxConcurrentCalls = Integer.MAX_VALUE;
+        private final ImmutableList.Builder<Range<Duration>> outages = ImmutableList.builder();
+        private Ticker ticker = Ticker.systemTicker();
+        private long seed = System.nanoTime();
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the distribution of the time spent on each call.
+         */
+        @CanIgnoreReturnValue
+        public Builder setLatency(BankLatency latency) {
+            this.latency = checkNotNull(latency);
+            return this;
+        }
+
+        /**
+         * Sets the time after which a call fails all its transfers.
+         */
+        @CanIgnoreReturnValue
+        public Builder setTimeout(Duration timeout) {
+            checkNotNull(timeout);
+            checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                          "The timeout must be positive.");
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the share of the transfers declined by the bank, from {@code 0.0} to {@code 1.0}.
+         */
+        @CanIgnoreReturnValue
+        public Builder setFailureRate(double failureRate) {
+            checkArgument(failureRate >= 0.0 && failureRate <= 1.0,
+                          "The failure rate must be between 0.0 and 1.0.");
+            this.failureRate = failureRate;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls processed at the same time, above which
+         * the calls are throttled.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxConcurrentCalls(int maxConcurrentCalls) {
+            checkArgument(maxConcurrentCalls > 0, "The number of calls must be positive.");
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * Adds the window during which the bank is unavailable.
+         *
+         * @param start
+         *         the time since the creation of the bank when the outage starts
+         * @param length
+         *         how long the outage lasts
+         */
+        @CanIgnoreReturnValue
+        public Builder addOutage(Duration start, Duration length) {
+            checkNotNull(start);
+            checkNotNull(length);
+            checkArgument(!start.isNegative() && !length.isNegative(),
+                          "The outage cannot start or last a negative time.");
+            outages.add(Range.closedOpen(start, start.plus(length)));
+            return this;
+        }
+
+        /**
+         * Sets the source of time for the outage windows.
+         */
+        @CanIgnoreReturnValue
+        public Builder setTicker(Ticker ticker) {
+            this.ticker = checkNotNull(ticker);
+            return this;
+        }
+
+        /**
+         * Sets the seed of the random latencies and failures,
+         * so that the bank behaves the same from run to run.
+         */
+        @CanIgnoreReturnValue
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SimulatedBank build() {
+            return new SimulatedBank(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The outcome of a money transfer settled by the {@link Bank}.
+ */
+public final class TransferOutcome {
+
+    private static final TransferOutcome SUCCEEDED = new TransferOutcome(true, "");
+
+    private final boolean successful;
+    private final String cause;
+
+    private TransferOutcome(boolean successful, String cause) {
+        this.successful = successful;
+        this.cause = cause;
+    }
+
+    /**
+     * Returns the outcome of a transfer which has been made.
+     */
+    public static TransferOutcome succeeded() {
+        return SUCCEEDED;
+    }
+
+    /**
+     * Returns the outcome of a transfer which could not be made.
+     *
+     * @param cause
+     *         why the transfer failed
+     */
+    public static TransferOutcome failed(String cause) {
+        checkNotNull(cause);
+        return new TransferOutcome(false, cause);
+    }
+
+    /**
+     * Tells whether the transfer has been made.
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Returns why the transfer failed.
+     *
+     * @throws IllegalStateException
+     *         if the transfer has been made
+     */
+    public String cause() {
+        checkState(!successful, "The transfer has been made.");
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return successful ? "succeeded" : "failed: " + cause;
+    }
+}
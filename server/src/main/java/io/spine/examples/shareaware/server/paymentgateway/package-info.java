@@ -25,7 +25,8 @@
  */
 
 /**
- * Provides server-side classes for working with imitation of the PaymentSystem.
+ * Provides the server-side adapter to the external payment system,
+ * which settles the money transfers with the bank in batches.
  */
 @CheckReturnValue
 @ParametersAreNonnullByDefault
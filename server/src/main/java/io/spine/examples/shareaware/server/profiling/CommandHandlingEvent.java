@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event of handling a command by an entity.
+ *
+ * <p>Lasts from the start of the command dispatching
+ * till the handler of the command is done with it.
+ */
+@Name(CommandHandlingEvent.NAME)
+@Label("Command Handling")
+@Category(CommandHandlingEvent.CATEGORY)
+@Description("Handling of a command by an entity of the Trading context.")
+public final class CommandHandlingEvent extends Event {
+
+    static final String NAME = "io.spine.examples.shareaware.CommandHandling";
+    static final String CATEGORY = "ShareAware";
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Command")
+    String command;
+
+    /**
+     * Commits the event if it is recorded.
+     *
+     * @param entity
+     *         the simple name of the entity state type
+     * @param command
+     *         the simple name of the command type
+     */
+    public void complete(String entity, String command) {
+        if (shouldCommit()) {
+            this.entity = entity;
+            this.command = command;
+            commit();
+        }
+    }
+}
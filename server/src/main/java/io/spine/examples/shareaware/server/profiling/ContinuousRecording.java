@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A flight recording running along with the server, which keeps the data
+ * of the last period, so that it can be dumped when the latency of the server spikes.
+ *
+ * <p>The recording uses the {@code default} settings of the JDK, which are meant
+ * to run in production with an overhead of about one percent, and records
+ * the custom events of the server as well.
+ *
+ * <p>The data are kept on disk in the repository of the flight recorder,
+ * as the recorded period may be too long to keep it in memory.
+ */
+public final class ContinuousRecording implements AutoCloseable {
+
+    private static final String NAME = "shareaware-continuous";
+    private static final String SETTINGS = "default";
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+                             .withZone(ZoneOffset.UTC);
+
+    private final Recording recording;
+    private final Duration maxAge;
+    private final Path dumpDir;
+
+    private ContinuousRecording(Recording recording, Duration maxAge, Path dumpDir) {
+        this.recording = recording;
+        this.maxAge = maxAge;
+        this.dumpDir = dumpDir;
+    }
+
+    /**
+     * Starts the recording.
+     *
+     * @param maxAge
+     *         the period for which the data are kept
+     * @param dumpDir
+     *         the directory to which the recording is dumped
+     */
+    public static ContinuousRecording start(Duration maxAge, Path dumpDir) {
+        checkNotNull(maxAge);
+        checkNotNull(dumpDir);
+        checkArgument(!maxAge.isNegative() && !maxAge.isZero(),
+                      "The recorded period must be positive.");
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration(SETTINGS);
+        } catch (IOException | ParseException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        var recording = new Recording(settings);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.enable(CommandHandlingEvent.class);
+        recording.enable(MarketTickEvent.class);
+        recording.enable(SubscriptionDeliveryEvent.class);
+        recording.start();
+        return new ContinuousRecording(recording, maxAge, dumpDir);
+    }
+
+    /**
+     * Returns the period for which the data are kept.
+     */
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Dumps the data of the last period to a new file in the dump directory.
+     *
+     * <p>The recording keeps running. The dumped data are split in chunks by the flight
+     * recorder, so the file may contain the events recorded slightly earlier than
+     * the requested period.
+     *
+     * @param period
+     *         the period before now to dump, which is limited by
+     *         the {@linkplain #maxAge() kept} one
+     * @return the file with the dumped data
+     * @throws IllegalStateException
+     *         if there are no recorded data for the period
+     */
+    public synchronized Path dumpLast(Duration period) throws IOException {
+        checkNotNull(period);
+        checkArgument(!period.isNegative() && !period.isZero(),
+                      "The dumped period must be positive.");
+        var end = Instant.now();
+        var start = end.minus(period);
+        Files.createDirectories(dumpDir);
+        var file = dumpDir.resolve("shareaware-" + FILE_TIME.format(end) + ".jfr");
+        try (var snapshot = recording.copy(true);
+             var data = snapshot.getStream(start, end)) {
+            if (data == null) {
+                throw newIllegalStateException("There are no recorded data for the last %s.",
+                                               period);
+            }
+            Files.copy(data, file);
+        }
+        return file;
+    }
+
+    /**
+     * Stops the recording and deletes its data.
+     */
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
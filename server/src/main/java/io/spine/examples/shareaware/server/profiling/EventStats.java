@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The durations of the recorded events of a single kind and subject.
+ */
+final class EventStats {
+
+    private final String event;
+    private final String subject;
+    private final List<Long> durations = new ArrayList<>();
+    private long total;
+    private boolean sorted = true;
+
+    EventStats(String event, String subject) {
+        this.event = event;
+        this.subject = subject;
+    }
+
+    void add(Duration duration) {
+        var nanos = duration.toNanos();
+        durations.add(nanos);
+        total += nanos;
+        sorted = false;
+    }
+
+    /**
+     * Returns the label of the event type.
+     */
+    String event() {
+        return event;
+    }
+
+    /**
+     * Returns what the events are about, such as the handled command
+     * or the type of the delivered updates.
+     */
+    String subject() {
+        return subject;
+    }
+
+    int count() {
+        return durations.size();
+    }
+
+    Duration total() {
+        return Duration.ofNanos(total);
+    }
+
+    Duration mean() {
+        checkState(!durations.isEmpty(), "There are no events.");
+        return Duration.ofNanos(total / durations.size());
+    }
+
+    /**
+     * Returns the duration which the given percentage of the events does not exceed.
+     *
+     * @param percent
+     *         the percentage from 0 to 100
+     */
+    Duration percentile(double percent) {
+        checkArgument(percent >= 0 && percent <= 100,
+                      "The percentile must be in the range [0, 100], but got `%s`.", percent);
+        checkState(!durations.isEmpty(), "There are no events.");
+        if (!sorted) {
+            Collections.sort(durations);
+            sorted = true;
+        }
+        var index = (int) Math.ceil(percent / 100 * durations.size()) - 1;
+        return Duration.ofNanos(durations.get(Math.max(index, 0)));
+    }
+
+    Duration max() {
+        return percentile(100);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import io.spine.core.Command;
+import io.spine.core.MessageId;
+import io.spine.core.Signal;
+import io.spine.server.trace.Tracer;
+import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Emits the {@link CommandHandlingEvent} when a command is processed by its handler
+ * and passes the calls on to another tracer.
+ */
+final class FlightTracer implements Tracer {
+
+    private final Tracer delegate;
+    private @Nullable CommandHandlingEvent handling;
+
+    FlightTracer(Tracer delegate) {
+        this.delegate = delegate;
+        if (delegate.signal() instanceof Command) {
+            handling = new CommandHandlingEvent();
+            handling.begin();
+        }
+    }
+
+    @Override
+    public Signal<?, ?, ?> signal() {
+        return delegate.signal();
+    }
+
+    @Override
+    public synchronized void processedBy(MessageId receiver, TypeUrl receiverType) {
+        delegate.processedBy(receiver, receiverType);
+        if (handling != null) {
+            var command = signal().enclosedMessage()
+                                  .getClass()
+                                  .getSimpleName();
+            var entity = receiverType.toTypeName()
+                                     .simpleName();
+            handling.complete(entity, command);
+            handling = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import io.spine.core.Signal;
+import io.spine.server.ContextSpec;
+import io.spine.server.trace.Tracer;
+import io.spine.server.trace.TracerFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Emits the {@linkplain CommandHandlingEvent command handling events}
+ * around the tracers of another factory.
+ *
+ * <p>Spine uses a single tracer factory, so the factory already used by the server is
+ * decorated rather than replaced. The events cost next to nothing while
+ * the flight recorder does not record them.
+ */
+public final class FlightTracing implements TracerFactory {
+
+    private final TracerFactory delegate;
+
+    private FlightTracing(TracerFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates the factory emitting the events around the tracers of the given one.
+     */
+    public static FlightTracing around(TracerFactory delegate) {
+        checkNotNull(delegate);
+        return new FlightTracing(delegate);
+    }
+
+    @Override
+    public Tracer trace(ContextSpec context, Signal<?, ?, ?> signal) {
+        return new FlightTracer(delegate.trace(context, signal));
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Prints the summary of the custom events of a recording
+ * dumped from the {@linkplain ContinuousRecording continuous recording}.
+ *
+ * <p>Accepts the path of the recording file as the only argument:
+ *
+ * <pre>
+ * ./gradlew :server:analyzeRecording --args=/tmp/shareaware-recordings/shareaware-....jfr
+ * </pre>
+ */
+public final class RecordingAnalyzer {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private RecordingAnalyzer() {
+    }
+
+    /**
+     * Summarizes the recording from the file passed as the argument.
+     */
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length == 1, "Pass the path of the recording file.");
+        var summary = RecordingSummary.read(Path.of(args[0]));
+        System.out.print(summary.toText());
+    }
+}
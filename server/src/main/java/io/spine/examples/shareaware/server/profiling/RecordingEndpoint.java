@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import com.google.common.base.Splitter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A local HTTP endpoint accepting the admin command to dump
+ * the {@linkplain ContinuousRecording continuous recording}.
+ *
+ * <p>The endpoint listens on the loopback interface only. A {@code POST} request
+ * to the {@link #PATH} dumps the last minutes of the recording and responds with
+ * the path of the dumped file:
+ *
+ * <pre>
+ * curl -X POST 'http://localhost:PORT/recording/dump?minutes=5'
+ * </pre>
+ *
+ * <p>If the {@code minutes} parameter is omitted, the whole
+ * {@linkplain ContinuousRecording#maxAge() kept} period is dumped.
+ */
+public final class RecordingEndpoint implements AutoCloseable {
+
+    /**
+     * The path accepting the dump command.
+     */
+    public static final String PATH = "/recording/dump";
+
+    private static final String MINUTES = "minutes";
+    private static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int CONFLICT = 409;
+    private static final int NO_RESPONSE_BODY = -1;
+
+    private final HttpServer server;
+
+    private RecordingEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts the endpoint at the given port of the local host.
+     *
+     * @param port
+     *         the port to listen on, or {@code 0} to pick any free port
+     * @param recording
+     *         the recording to dump
+     */
+    public static RecordingEndpoint start(int port, ContinuousRecording recording)
+            throws IOException {
+        checkNotNull(recording);
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        var server = HttpServer.create(address, 0);
+        server.createContext(PATH, exchange -> respond(exchange, recording));
+        server.start();
+        return new RecordingEndpoint(server);
+    }
+
+    private static void respond(HttpExchange exchange, ContinuousRecording recording)
+            throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(METHOD_NOT_ALLOWED, NO_RESPONSE_BODY);
+                return;
+            }
+            Duration period;
+            try {
+                period = period(exchange.getRequestURI()
+                                        .getQuery(), recording);
+            } catch (IllegalArgumentException e) {
+                send(exchange, BAD_REQUEST, e.getMessage());
+                return;
+            }
+            try {
+                var file = recording.dumpLast(period);
+                send(exchange, OK, file.toAbsolutePath()
+                                       .toString());
+            } catch (IllegalStateException e) {
+                send(exchange, CONFLICT, e.getMessage());
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Duration period(@Nullable String query, ContinuousRecording recording) {
+        if (query == null) {
+            return recording.maxAge();
+        }
+        var parameters = Splitter.on('&')
+                                 .withKeyValueSeparator('=')
+                                 .split(query);
+        var minutes = parameters.get(MINUTES);
+        if (minutes == null) {
+            return recording.maxAge();
+        }
+        long value;
+        try {
+            value = Long.parseLong(minutes);
+        } catch (NumberFormatException e) {
+            throw newIllegalArgumentException(e, "The `%s` must be a number, but got `%s`.",
+                                              MINUTES, minutes);
+        }
+        checkArgument(value > 0, "The `%s` must be positive, but got `%s`.", MINUTES, value);
+        return Duration.ofMinutes(value);
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        var body = (text + '\n').getBytes(UTF_8);
+        exchange.getResponseHeaders()
+                .set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody()
+                .write(body);
+    }
+
+    /**
+     * Returns the port the endpoint listens on.
+     */
+    public int port() {
+        return server.getAddress()
+                     .getPort();
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
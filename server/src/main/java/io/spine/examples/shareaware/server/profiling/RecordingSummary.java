@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import com.google.common.collect.ImmutableList;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Comparator.comparing;
+
+/**
+ * Summarizes the custom events of a flight recording.
+ *
+ * <p>The events are grouped by their kind and subject. Within a kind,
+ * the subjects which took the most time in total come first.
+ */
+public final class RecordingSummary {
+
+    private static final String ROW_FORMAT = "  %-56s %8s %10s %10s %10s %10s%n";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final ImmutableList<EventStats> stats;
+
+    private RecordingSummary(ImmutableList<EventStats> stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Reads and summarizes the recording from the given file.
+     */
+    public static RecordingSummary read(Path file) throws IOException {
+        checkNotNull(file);
+        return of(RecordingFile.readAllEvents(file));
+    }
+
+    /**
+     * Summarizes the given recorded events, skipping the events which are not custom.
+     */
+    static RecordingSummary of(Iterable<RecordedEvent> events) {
+        Map<String, EventStats> groups = new LinkedHashMap<>();
+        for (var event : events) {
+            var type = event.getEventType();
+            var subject = subjectOf(event);
+            if (subject != null) {
+                var key = type.getName() + '#' + subject;
+                groups.computeIfAbsent(key, k -> new EventStats(type.getLabel(), subject))
+                      .add(event.getDuration());
+            }
+        }
+        Comparator<EventStats> order = comparing(EventStats::event);
+        var sorted = groups.values()
+                           .stream()
+                           .sorted(order.thenComparing(EventStats::total,
+                                                       Comparator.reverseOrder()))
+                           .collect(toImmutableList());
+        return new RecordingSummary(sorted);
+    }
+
+    /**
+     * Returns the subject of a custom event, or {@code null}
+     * if the event is not a custom one.
+     */
+    private static @Nullable String subjectOf(RecordedEvent event) {
+        switch (event.getEventType()
+                     .getName()) {
+            case CommandHandlingEvent.NAME:
+                return event.getString("entity") + '/' + event.getString("command");
+            case MarketTickEvent.NAME:
+                return event.getInt("shares") + " shares";
+            case SubscriptionDeliveryEvent.NAME:
+                return event.getString("target");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the statistics of the events by their kind and subject.
+     */
+    ImmutableList<EventStats> stats() {
+        return stats;
+    }
+
+    /**
+     * Prints the summary as a table per each kind of the events,
+     * with the durations in milliseconds.
+     */
+    public String toText() {
+        var out = new StringBuilder();
+        @Nullable String lastEvent = null;
+        for (var row : stats) {
+            if (!row.event().equals(lastEvent)) {
+                lastEvent = row.event();
+                out.append(String.format("%n%s%n", lastEvent));
+                out.append(String.format(ROW_FORMAT, "subject", "count",
+                                         "mean, ms", "p50, ms", "p99, ms", "max, ms"));
+            }
+            out.append(String.format(ROW_FORMAT, row.subject(), row.count(),
+                                     millis(row.mean()), millis(row.percentile(50)),
+                                     millis(row.percentile(99)), millis(row.max())));
+        }
+        if (stats.isEmpty()) {
+            out.append("The recording has no events of the server.")
+               .append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.3f", duration.toNanos() / NANOS_PER_MILLI);
+    }
+}
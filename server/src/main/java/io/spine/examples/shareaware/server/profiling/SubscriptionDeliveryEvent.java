@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The flight recorder event of delivering a message to a subscriber.
+ *
+ * <p>Lasts from the moment the message is handed over for the delivery
+ * till it is sent to the client, so that it includes the time
+ * the message has waited for the previous ones.
+ */
+@Name(SubscriptionDeliveryEvent.NAME)
+@Label("Subscription Delivery")
+@Category(CommandHandlingEvent.CATEGORY)
+@Description("Delivery of a subscription update to a client.")
+public final class SubscriptionDeliveryEvent extends Event {
+
+    static final String NAME = "io.spine.examples.shareaware.SubscriptionDelivery";
+
+    @Label("Target")
+    @Description("The type of the subscribed messages, or the called method "
+            + "for the messages other than updates.")
+    String target;
+
+    /**
+     * Commits the event if it is recorded.
+     *
+     * @param target
+     *         the type of the subscribed messages, or the name of
+     *         the called method for the messages other than subscription updates
+     */
+    public void complete(String target) {
+        if (shouldCommit()) {
+            this.target = target;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.examples.shareaware.server.reconciliation.ReconciliationReport.Tally;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Checks that the data of every wallet is consistent with the history of its events.
+ *
+ * <p>For each wallet, the events of the {@code WalletAggregate} are folded into its state,
+ * which is then checked against the rest of the data:
+ *
+ * <ul>
+ *     <li>the {@code WalletBalance} projection shows the folded balance;
+ *     <li>each money reservation held by the wallet belongs to a process
+ *     which is still running.
+ * </ul>
+ *
+ * <p>The wallets are split into {@linkplain Partition partitions}, which are reconciled
+ * in parallel by a fork-join pool. Within a partition, the wallets are streamed from
+ * the {@link ReconciliationSource} one after another, so each partition takes
+ * constant memory regardless of the number of the wallets in it.
+ */
+public final class BalanceReconciliation implements Logging {
+
+    /**
+     * The number of partitions per thread used by default.
+     *
+     * <p>Several partitions per thread let the pool balance the work
+     * when the partitions differ in size.
+     */
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private final ReconciliationSource source;
+    private final int parallelism;
+    private final int partitions;
+
+    private BalanceReconciliation(Builder builder) {
+        this.source = checkNotNull(builder.source);
+        this.parallelism = builder.parallelism;
+        this.partitions = builder.partitions == 0
+                          ? parallelism * PARTITIONS_PER_THREAD
+                          : builder.partitions;
+    }
+
+    /**
+     * Creates a new builder of the reconciliation.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Reconciles all the wallets and waits for the reconciliation to complete.
+     */
+    public ReconciliationReport run() {
+        var pool = new ForkJoinPool(parallelism);
+        var start = System.nanoTime();
+        try {
+            var tally = pool.invoke(new PartitionRange(0, partitions));
+            var report = tally.toReport(Duration.ofNanos(System.nanoTime() - start));
+            _info().log("Reconciled the wallets: %s.", report);
+            return report;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Reconciles a range of partitions, splitting it in halves
+     * until a single partition is left.
+     */
+    private final class PartitionRange extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 0L;
+
+        private final int from;
+        private final int to;
+
+        private PartitionRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from == 1) {
+                return new PartitionReconciler(source).reconcile(Partition.of(from, partitions));
+            }
+            var middle = (from + to) >>> 1;
+            var left = new PartitionRange(from, middle);
+            left.fork();
+            var right = new PartitionRange(middle, to).compute();
+            return left.join()
+                       .merge(right);
+        }
+    }
+
+    /**
+     * The builder of the {@code BalanceReconciliation}.
+     */
+    public static final class Builder {
+
+        private @Nullable ReconciliationSource source;
+        private int parallelism = Runtime.getRuntime()
+                                         .availableProcessors();
+        private int partitions;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the source of the data to reconcile.
+         */
+        @CanIgnoreReturnValue
+        public Builder setSource(ReconciliationSource source) {
+            this.source = checkNotNull(source);
+            return this;
+        }
+
+        /**
+         * Sets the number of threads reconciling the partitions.
+         *
+         * <p>By default, the number of available processors is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setParallelism(int parallelism) {
+            checkArgument(parallelism > 0, "The parallelism must be positive.");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the number of partitions to split the wallets into.
+         *
+         * <p>By default, there are four partitions per thread.
+         */
+        @CanIgnoreReturnValue
+        public Builder setPartitions(int partitions) {
+            checkArgument(partitions > 0, "The number of partitions must be positive.");
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Creates the reconciliation.
+         */
+        public BalanceReconciliation build() {
+            checkState(source != null, "The source of the data must be set.");
+            return new BalanceReconciliation(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import com.google.common.base.MoreObjects;
+import io.spine.examples.shareaware.WalletId;
+
+/**
+ * A discrepancy found in the data of a wallet.
+ */
+public final class Mismatch {
+
+    /**
+     * The kind of the discrepancy.
+     */
+    public enum Kind {
+
+        /**
+         * The {@code WalletBalance} projection differs from the fold of the wallet events.
+         */
+        BALANCE,
+
+        /**
+         * The wallet has events, but no {@code WalletBalance} projection.
+         */
+        MISSING_BALANCE,
+
+        /**
+         * The wallet holds a reservation of the process which is not running anymore.
+         */
+        STALE_RESERVATION,
+
+        /**
+         * The events of the wallet cannot be applied one after another.
+         */
+        BROKEN_HISTORY
+    }
+
+    private final WalletId wallet;
+    private final Kind kind;
+    private final String detail;
+
+    Mismatch(WalletId wallet, Kind kind, String detail) {
+        this.wallet = wallet;
+        this.kind = kind;
+        this.detail = detail;
+    }
+
+    /**
+     * Returns the ID of the wallet.
+     */
+    public WalletId wallet() {
+        return wallet;
+    }
+
+    /**
+     * Returns the kind of the discrepancy.
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the human-readable description of the discrepancy.
+     */
+    public String detail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("wallet", wallet.getOwner()
+                                               .getValue())
+                          .add("kind", kind)
+                          .add("detail", detail)
+                          .toString();
+    }
+}
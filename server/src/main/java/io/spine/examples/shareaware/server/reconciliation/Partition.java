@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import com.google.common.base.MoreObjects;
+import io.spine.examples.shareaware.WalletId;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A part of the wallets reconciled independently of the others.
+ *
+ * <p>The wallets are assigned to the partitions by the hash of their owners,
+ * so that each wallet belongs to exactly one partition.
+ */
+public final class Partition {
+
+    private final int index;
+    private final int count;
+
+    private Partition(int index, int count) {
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Returns the partition with the given index out of the given number of partitions.
+     */
+    public static Partition of(int index, int count) {
+        checkArgument(count > 0, "The number of partitions must be positive.");
+        checkArgument(index >= 0 && index < count,
+                      "The partition index `%s` is out of `[0, %s)`.", index, count);
+        return new Partition(index, count);
+    }
+
+    /**
+     * Returns the index of this partition.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the total number of partitions.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Tells whether the given wallet belongs to this partition.
+     */
+    public boolean contains(WalletId wallet) {
+        checkNotNull(wallet);
+        var hash = wallet.getOwner()
+                         .getValue()
+                         .hashCode();
+        return Math.floorMod(hash, count) == index;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("index", index)
+                          .add("count", count)
+                          .toString();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.server.reconciliation.ReconciliationReport.Tally;
+import io.spine.examples.shareaware.server.wallet.WalletReplay;
+import io.spine.examples.shareaware.wallet.Wallet;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.spine.examples.shareaware.MoneyCalculator.sum;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.BALANCE;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.BROKEN_HISTORY;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.MISSING_BALANCE;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.STALE_RESERVATION;
+import static java.lang.String.format;
+
+/**
+ * Reconciles the wallets of a single partition one after another.
+ *
+ * <p>Only the wallet being checked is kept in memory, along with the operations
+ * of its open reservations.
+ */
+final class PartitionReconciler {
+
+    private final ReconciliationSource source;
+    private final Tally tally = new Tally();
+
+    PartitionReconciler(ReconciliationSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Reconciles all the wallets of the partition.
+     */
+    Tally reconcile(Partition partition) {
+        try (var histories = source.histories(partition)) {
+            histories.forEachOrdered(this::reconcile);
+        }
+        return tally;
+    }
+
+    private void reconcile(WalletHistory history) {
+        var fold = new Fold();
+        try (var events = history.events()) {
+            events.forEachOrdered(fold::apply);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            tally.walletChecked(fold.applied);
+            tally.mismatch(new Mismatch(history.wallet(), BROKEN_HISTORY, e.getMessage()));
+            return;
+        }
+        tally.walletChecked(fold.applied);
+        var wallet = fold.replay.state();
+        checkBalance(history, wallet);
+        checkReservations(history, fold.operations);
+    }
+
+    /**
+     * Checks the balance shown by the projection.
+     *
+     * <p>The projection is not updated when the money is reserved, only when it is
+     * debited, so the money of the open reservations is still shown in it.
+     */
+    private void checkBalance(WalletHistory history, Wallet wallet) {
+        var expected = wallet.getBalance();
+        for (var reserved : wallet.getReservedMoneyMap()
+                                  .values()) {
+            expected = sum(expected, reserved);
+        }
+        var projected = source.projectedBalance(history.wallet());
+        if (projected.isEmpty()) {
+            tally.mismatch(new Mismatch(history.wallet(), MISSING_BALANCE,
+                                        "No `WalletBalance` projection."));
+            return;
+        }
+        if (!projected.get()
+                      .equals(expected)) {
+            var detail = format("The projection shows `%s`, while the events fold to `%s`.",
+                                projected.get(), expected);
+            tally.mismatch(new Mismatch(history.wallet(), BALANCE, detail));
+        }
+    }
+
+    private void checkReservations(WalletHistory history,
+                                   Map<String, WithdrawalOperationId> operations) {
+        for (var operation : operations.values()) {
+            if (!source.isLive(operation)) {
+                var detail = format("The money is reserved by the finished operation `%s`.",
+                                    operation);
+                tally.mismatch(new Mismatch(history.wallet(), STALE_RESERVATION, detail));
+            }
+        }
+    }
+
+    /**
+     * The state of the wallet folded from its events.
+     *
+     * <p>The events are {@linkplain WalletReplay replayed} the same way
+     * the {@code WalletAggregate} applies them, so the history which
+     * the aggregate cannot be restored from is reported as broken.
+     */
+    private static final class Fold {
+
+        private final WalletReplay replay = WalletReplay.fromScratch();
+        private final Map<String, WithdrawalOperationId> operations = new HashMap<>();
+        private long applied;
+
+        private void apply(EventMessage event) {
+            replay.play(event);
+            applied++;
+            if (event instanceof MoneyReserved) {
+                var reserved = (MoneyReserved) event;
+                operations.put(reserved.operationIdValue(), reserved.getOperation());
+            }
+            operations.keySet()
+                      .retainAll(replay.reservedMoney()
+                                       .keySet());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of the {@link BalanceReconciliation}.
+ *
+ * <p>All the mismatches are counted, while only the first
+ * {@link #MAX_REPORTED_MISMATCHES} of them are kept for the investigation.
+ */
+public final class ReconciliationReport {
+
+    /**
+     * The maximum number of mismatches kept in the report.
+     */
+    public static final int MAX_REPORTED_MISMATCHES = 1_000;
+
+    private final long walletsChecked;
+    private final long eventsApplied;
+    private final long mismatchCount;
+    private final ImmutableList<Mismatch> mismatches;
+    private final Duration elapsed;
+
+    private ReconciliationReport(Tally tally, Duration elapsed) {
+        this.walletsChecked = tally.walletsChecked;
+        this.eventsApplied = tally.eventsApplied;
+        this.mismatchCount = tally.mismatchCount;
+        this.mismatches = ImmutableList.copyOf(tally.mismatches);
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Returns the number of the checked wallets.
+     */
+    public long walletsChecked() {
+        return walletsChecked;
+    }
+
+    /**
+     * Returns the number of the wallet events applied while checking.
+     */
+    public long eventsApplied() {
+        return eventsApplied;
+    }
+
+    /**
+     * Returns the number of all the found mismatches.
+     */
+    public long mismatchCount() {
+        return mismatchCount;
+    }
+
+    /**
+     * Returns the found mismatches, at most {@link #MAX_REPORTED_MISMATCHES} of them.
+     */
+    public ImmutableList<Mismatch> mismatches() {
+        return mismatches;
+    }
+
+    /**
+     * Tells whether no mismatches were found.
+     */
+    public boolean isClean() {
+        return mismatchCount == 0;
+    }
+
+    /**
+     * Returns how long the reconciliation took.
+     */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("walletsChecked", walletsChecked)
+                          .add("eventsApplied", eventsApplied)
+                          .add("mismatchCount", mismatchCount)
+                          .add("elapsed", elapsed)
+                          .toString();
+    }
+
+    /**
+     * Accumulates the outcome of reconciling a part of the wallets.
+     */
+    static final class Tally {
+
+        private long walletsChecked;
+        private long eventsApplied;
+        private long mismatchCount;
+        private final List<Mismatch> mismatches = new ArrayList<>();
+
+        void walletChecked(long events) {
+            walletsChecked++;
+            eventsApplied += events;
+        }
+
+        void mismatch(Mismatch mismatch) {
+            mismatchCount++;
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                mismatches.add(mismatch);
+            }
+        }
+
+        /**
+         * Adds the outcome of the other part of the wallets to this one.
+         */
+        Tally merge(Tally other) {
+            walletsChecked += other.walletsChecked;
+            eventsApplied += other.eventsApplied;
+            mismatchCount += other.mismatchCount;
+            var room = MAX_REPORTED_MISMATCHES - mismatches.size();
+            mismatches.addAll(other.mismatches.subList(0, Math.min(room,
+                                                                   other.mismatches.size())));
+            return this;
+        }
+
+        ReconciliationReport toReport(Duration elapsed) {
+            return new ReconciliationReport(this, elapsed);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.money.Money;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Provides the data checked by the {@link BalanceReconciliation}.
+ *
+ * <p>The methods are called concurrently for different partitions.
+ */
+public interface ReconciliationSource {
+
+    /**
+     * Streams the histories of the wallets of the given partition, one wallet after another.
+     *
+     * <p>The stream is expected to read the storage lazily, so that
+     * a partition is reconciled in constant memory regardless of its size.
+     */
+    Stream<WalletHistory> histories(Partition partition);
+
+    /**
+     * Returns the balance shown by the {@code WalletBalance} projection of the wallet,
+     * or an empty {@code Optional} if there is no such projection.
+     */
+    Optional<Money> projectedBalance(WalletId wallet);
+
+    /**
+     * Tells whether the process of the given operation is still running.
+     */
+    boolean isLive(WithdrawalOperationId operation);
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.WalletId;
+
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The events of a single wallet aggregate in the order they were applied.
+ *
+ * <p>The events are read lazily, so that the history of a wallet
+ * is never loaded into memory at once.
+ */
+public final class WalletHistory {
+
+    private final WalletId wallet;
+    private final Stream<? extends EventMessage> events;
+
+    private WalletHistory(WalletId wallet, Stream<? extends EventMessage> events) {
+        this.wallet = wallet;
+        this.events = events;
+    }
+
+    /**
+     * Creates the history of the given wallet.
+     *
+     * @param wallet
+     *         the ID of the wallet
+     * @param events
+     *         the events of the wallet in the order of their versions;
+     *         the stream is closed once the history is reconciled
+     */
+    public static WalletHistory of(WalletId wallet, Stream<? extends EventMessage> events) {
+        checkNotNull(wallet);
+        checkNotNull(events);
+        return new WalletHistory(wallet, events);
+    }
+
+    /**
+     * Returns the ID of the wallet.
+     */
+    public WalletId wallet() {
+        return wallet;
+    }
+
+    /**
+     * Returns the events of the wallet.
+     */
+    Stream<? extends EventMessage> events() {
+        return events;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.base.Identifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The trace of a completed process, made of the spans of its steps.
+ */
+public final class SagaTrace {
+
+    private final SagaType type;
+    private final Message process;
+    private final ImmutableList<Span> spans;
+    private final boolean succeeded;
+
+    SagaTrace(SagaType type, Message process, ImmutableList<Span> spans, boolean succeeded) {
+        this.type = type;
+        this.process = process;
+        this.spans = spans;
+        this.succeeded = succeeded;
+    }
+
+    /**
+     * Returns the kind of the process.
+     */
+    public SagaType type() {
+        return type;
+    }
+
+    /**
+     * Returns the ID of the process.
+     */
+    public Message process() {
+        return process;
+    }
+
+    /**
+     * Returns the spans of the steps in the order they were made.
+     */
+    public ImmutableList<Span> spans() {
+        return spans;
+    }
+
+    /**
+     * Tells whether the process has succeeded.
+     */
+    public boolean succeeded() {
+        return succeeded;
+    }
+
+    /**
+     * Returns the time the process has started.
+     */
+    public Instant start() {
+        return spans.get(0)
+                    .start();
+    }
+
+    /**
+     * Returns the time the process has completed.
+     */
+    public Instant end() {
+        return spans.get(spans.size() - 1)
+                    .end();
+    }
+
+    /**
+     * Returns the time the whole process took.
+     */
+    public Duration duration() {
+        return Duration.between(start(), end());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s in %d us: %s",
+                             type, Identifier.toString(process),
+                             succeeded ? "succeeded" : "failed",
+                             duration().toNanos() / 1_000, spans);
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.base.EventMessage;
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.shareaware.investment.event.SharesAdded;
+import io.spine.examples.shareaware.investment.event.SharesPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.investment.event.SharesReservationCanceled;
+import io.spine.examples.shareaware.investment.event.SharesReservationCompleted;
+import io.spine.examples.shareaware.investment.event.SharesReserved;
+import io.spine.examples.shareaware.investment.event.SharesSaleFailed;
+import io.spine.examples.shareaware.investment.event.SharesSold;
+import io.spine.examples.shareaware.investment.rejection.Rejections.InsufficientShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.market.event.SharesSoldOnMarket;
+import io.spine.examples.shareaware.market.rejection.Rejections.SharesCannotBeObtained;
+import io.spine.examples.shareaware.market.rejection.Rejections.SharesCannotBeSoldOnMarket;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredFromUser;
+import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredToUser;
+import io.spine.examples.shareaware.paymentgateway.rejection.Rejections.MoneyCannotBeTransferredFromUser;
+import io.spine.examples.shareaware.paymentgateway.rejection.Rejections.MoneyCannotBeTransferredToUser;
+import io.spine.examples.shareaware.wallet.MoneyWithdrawalSignal;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyNotWithdrawn;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.MoneyWithdrawn;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.event.WalletNotReplenished;
+import io.spine.examples.shareaware.wallet.event.WalletReplenished;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Traces the shares purchase, the shares sale, the wallet withdrawal and
+ * the wallet replenishment processes.
+ *
+ * <p>Each process is traced by the events of its steps, keyed by the ID of the process.
+ * A step lasts from the command sent by the process to the event telling its outcome,
+ * e.g. from {@code ReserveMoney} to {@code MoneyReserved}. As the process sends the next
+ * command right after the previous event, the step is timed from the previous event
+ * of the process. The first step is timed from the request of the user.
+ *
+ * <p>The times are taken from the contexts of the events, so the traces tell the time
+ * spent by each step in the Bounded Context, including the time of the delivery.
+ *
+ * <p>Once the process completes, its trace is put to the ring buffer keeping the most
+ * recent traces. The buffer may be queried for the {@linkplain #slowest(int) slowest}
+ * traces and for the {@linkplain #breakdown(SagaType) latencies of each step}.
+ */
+public final class SagaTracing extends AbstractEventSubscriber {
+
+    /**
+     * The number of the most recent traces kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final Map<Message, OpenTrace> inFlight = new ConcurrentHashMap<>();
+    private final TraceBuffer completed;
+
+    private SagaTracing(int capacity) {
+        this.completed = new TraceBuffer(capacity);
+    }
+
+    /**
+     * Registers the tracing in the given Bounded Context, keeping
+     * the {@linkplain #DEFAULT_CAPACITY default} number of traces.
+     */
+    public static SagaTracing registerWith(BoundedContextBuilder context) {
+        return registerWith(context, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Registers the tracing in the given Bounded Context,
+     * keeping the given number of the most recent traces.
+     */
+    public static SagaTracing registerWith(BoundedContextBuilder context, int capacity) {
+        checkNotNull(context);
+        var tracing = withCapacity(capacity);
+        context.addEventDispatcher(tracing);
+        return tracing;
+    }
+
+    /**
+     * Creates the tracing which is not registered in any Bounded Context.
+     */
+    static SagaTracing withCapacity(int capacity) {
+        return new SagaTracing(capacity);
+    }
+
+    @Subscribe
+    void on(MoneyReserved e, EventContext ctx) {
+        onWithdrawalSignal(e, ctx);
+    }
+
+    @Subscribe
+    void on(InsufficientFunds e, EventContext ctx) {
+        onWithdrawalSignal(e, ctx);
+    }
+
+    @Subscribe
+    void on(ReservedMoneyDebited e, EventContext ctx) {
+        onWithdrawalSignal(e, ctx);
+    }
+
+    @Subscribe
+    void on(MoneyReservationCanceled e, EventContext ctx) {
+        onWithdrawalSignal(e, ctx);
+    }
+
+    private void onWithdrawalSignal(MoneyWithdrawalSignal e, EventContext ctx) {
+        if (e.isPartOfPurchase()) {
+            step(SagaType.PURCHASE, e.purchaseProcess(), e, ctx);
+        } else if (e.isPartOfWithdrawal()) {
+            step(SagaType.WITHDRAWAL, e.withdrawalProcess(), e, ctx);
+        }
+    }
+
+    @Subscribe
+    void on(SharesObtained e, EventContext ctx) {
+        if (!e.hasBasket()) {
+            step(SagaType.PURCHASE, e.getPurchaseProcess(), e, ctx);
+        }
+    }
+
+    @Subscribe
+    void on(SharesCannotBeObtained e, EventContext ctx) {
+        if (!e.hasBasket()) {
+            step(SagaType.PURCHASE, e.getPurchaseProcess(), e, ctx);
+        }
+    }
+
+    @Subscribe
+    void on(SharesAdded e, EventContext ctx) {
+        if (!e.hasBasket()) {
+            step(SagaType.PURCHASE, e.getProcess(), e, ctx);
+        }
+    }
+
+    @Subscribe
+    void on(SharesPurchased e, EventContext ctx) {
+        finish(SagaType.PURCHASE, e.getPurchaseProcess(), e, ctx, true);
+    }
+
+    @Subscribe
+    void on(SharesPurchaseFailed e, EventContext ctx) {
+        finish(SagaType.PURCHASE, e.getPurchaseProcess(), e, ctx, false);
+    }
+
+    @Subscribe
+    void on(SharesReserved e, EventContext ctx) {
+        step(SagaType.SALE, e.getProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(InsufficientShares e, EventContext ctx) {
+        step(SagaType.SALE, e.getProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(SharesSoldOnMarket e, EventContext ctx) {
+        step(SagaType.SALE, e.getSaleProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(SharesCannotBeSoldOnMarket e, EventContext ctx) {
+        step(SagaType.SALE, e.getSaleProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(SharesReservationCanceled e, EventContext ctx) {
+        step(SagaType.SALE, e.getProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(SharesReservationCompleted e, EventContext ctx) {
+        step(SagaType.SALE, e.getProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(BalanceRecharged e, EventContext ctx) {
+        var operation = e.getOperation();
+        if (operation.hasSale()) {
+            step(SagaType.SALE, operation.getSale(), e, ctx);
+        } else if (operation.hasReplenishment()) {
+            step(SagaType.REPLENISHMENT, operation.getReplenishment(), e, ctx);
+        }
+    }
+
+    @Subscribe
+    void on(SharesSold e, EventContext ctx) {
+        finish(SagaType.SALE, e.getSaleProcess(), e, ctx, true);
+    }
+
+    @Subscribe
+    void on(SharesSaleFailed e, EventContext ctx) {
+        finish(SagaType.SALE, e.getSaleProcess(), e, ctx, false);
+    }
+
+    @Subscribe
+    void on(MoneyTransferredToUser e, EventContext ctx) {
+        step(SagaType.WITHDRAWAL, e.getWithdrawalProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(MoneyCannotBeTransferredToUser e, EventContext ctx) {
+        step(SagaType.WITHDRAWAL, e.getWithdrawalProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(MoneyWithdrawn e, EventContext ctx) {
+        finish(SagaType.WITHDRAWAL, e.getWithdrawalProcess(), e, ctx, true);
+    }
+
+    @Subscribe
+    void on(MoneyNotWithdrawn e, EventContext ctx) {
+        finish(SagaType.WITHDRAWAL, e.getWithdrawalProcess(), e, ctx, false);
+    }
+
+    @Subscribe
+    void on(MoneyTransferredFromUser e, EventContext ctx) {
+        step(SagaType.REPLENISHMENT, e.getReplenishmentProcess(), e, ctx);
+    }
+
+    @Subscribe
+    void on(MoneyCannotBeTransferredFromUser e, EventContext ctx) {
+        step(SagaType.REPLENISHMENT, e.getReplenishment(), e, ctx);
+    }
+
+    @Subscribe
+    void on(WalletReplenished e, EventContext ctx) {
+        finish(SagaType.REPLENISHMENT, e.getReplenishment(), e, ctx, true);
+    }
+
+    @Subscribe
+    void on(WalletNotReplenished e, EventContext ctx) {
+        finish(SagaType.REPLENISHMENT, e.getReplenishment(), e, ctx, false);
+    }
+
+    private void step(SagaType type, Message process, EventMessage e, EventContext ctx) {
+        step(type, process, nameOf(e), requestTime(ctx), instant(ctx.getTimestamp()));
+    }
+
+    private void finish(SagaType type, Message process,
+                        EventMessage e, EventContext ctx, boolean succeeded) {
+        finish(type, process, nameOf(e), requestTime(ctx),
+               instant(ctx.getTimestamp()), succeeded);
+    }
+
+    /**
+     * Records the step of the process.
+     *
+     * @param type
+     *         the kind of the process
+     * @param process
+     *         the ID of the process
+     * @param step
+     *         the name of the step
+     * @param requested
+     *         the time the user has requested the process
+     * @param happened
+     *         the time the step has completed
+     */
+    void step(SagaType type, Message process, String step, Instant requested, Instant happened) {
+        inFlight.compute(process, (id, trace) -> {
+            var opened = trace == null
+                         ? new OpenTrace(type, startOf(requested, happened))
+                         : trace;
+            opened.add(step, happened);
+            return opened;
+        });
+    }
+
+    /**
+     * Records the last step of the process and puts its trace to the buffer.
+     *
+     * @see #step(SagaType, Message, String, Instant, Instant)
+     */
+    void finish(SagaType type, Message process, String step,
+                Instant requested, Instant happened, boolean succeeded) {
+        var trace = inFlight.remove(process);
+        var opened = trace == null
+                     ? new OpenTrace(type, startOf(requested, happened))
+                     : trace;
+        opened.add(step, happened);
+        completed.add(opened.complete(process, succeeded));
+    }
+
+    /**
+     * Returns the time the process has started, which is the time of the request,
+     * unless it is unknown.
+     */
+    private static Instant startOf(Instant requested, Instant happened) {
+        return requested.equals(Instant.EPOCH)
+               ? happened
+               : requested;
+    }
+
+    private static String nameOf(EventMessage e) {
+        return e.getClass()
+                .getSimpleName();
+    }
+
+    private static Instant requestTime(EventContext ctx) {
+        return instant(ctx.actorContext()
+                          .getTimestamp());
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+
+    /**
+     * Returns the number of the processes which are traced but not yet completed.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the trace of the given completed process,
+     * or an empty {@code Optional} if it is not kept in the buffer.
+     */
+    public Optional<SagaTrace> find(Message process) {
+        checkNotNull(process);
+        return completed.snapshot()
+                        .stream()
+                        .filter(trace -> trace.process()
+                                              .equals(process))
+                        .findFirst();
+    }
+
+    /**
+     * Returns the given number of the slowest kept traces, the slowest first.
+     */
+    public ImmutableList<SagaTrace> slowest(int limit) {
+        checkArgument(limit > 0, "The number of the traces must be positive.");
+        return completed.snapshot()
+                        .stream()
+                        .sorted(Comparator.comparing(SagaTrace::duration)
+                                          .reversed())
+                        .limit(limit)
+                        .collect(toImmutableList());
+    }
+
+    /**
+     * Returns the kept traces which took longer than the given threshold,
+     * from the oldest to the most recent.
+     */
+    public ImmutableList<SagaTrace> slowerThan(Duration threshold) {
+        checkNotNull(threshold);
+        return completed.snapshot()
+                        .stream()
+                        .filter(trace -> trace.duration()
+                                              .compareTo(threshold) > 0)
+                        .collect(toImmutableList());
+    }
+
+    /**
+     * Returns the latencies of each step of the kept processes of the given kind,
+     * in the order the steps were first made.
+     */
+    public ImmutableList<StepLatency> breakdown(SagaType type) {
+        checkNotNull(type);
+        Map<String, List<Duration>> durations = new LinkedHashMap<>();
+        for (var trace : completed.snapshot()) {
+            if (trace.type() != type) {
+                continue;
+            }
+            for (var span : trace.spans()) {
+                durations.computeIfAbsent(span.step(), step -> new ArrayList<>())
+                         .add(span.duration());
+            }
+        }
+        return durations.entrySet()
+                        .stream()
+                        .map(entry -> new StepLatency(entry.getKey(), entry.getValue()))
+                        .collect(toImmutableList());
+    }
+
+    /**
+     * The trace of the process in flight.
+     */
+    private static final class OpenTrace {
+
+        private final SagaType type;
+        private final List<Span> spans = new ArrayList<>();
+        private Instant last;
+
+        private OpenTrace(SagaType type, Instant start) {
+            this.type = type;
+            this.last = start;
+        }
+
+        private void add(String step, Instant happened) {
+            var span = new Span(step, last, happened);
+            spans.add(span);
+            last = span.end();
+        }
+
+        private SagaTrace complete(Message process, boolean succeeded) {
+            return new SagaTrace(type, process, ImmutableList.copyOf(spans), succeeded);
+        }
+    }
+}
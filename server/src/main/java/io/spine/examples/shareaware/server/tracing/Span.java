@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A single step of the process, which lasts from the command sent by the process
+ * to the event telling the outcome of this command.
+ */
+public final class Span {
+
+    private final String step;
+    private final Instant start;
+    private final Instant end;
+
+    Span(String step, Instant start, Instant end) {
+        this.step = step;
+        this.start = start;
+        this.end = end.isBefore(start)
+                   ? start
+                   : end;
+    }
+
+    /**
+     * Returns the name of the step, which is the simple name
+     * of the event that has completed it.
+     */
+    public String step() {
+        return step;
+    }
+
+    /**
+     * Returns the time the step has started.
+     */
+    public Instant start() {
+        return start;
+    }
+
+    /**
+     * Returns the time the step has completed.
+     */
+    public Instant end() {
+        return end;
+    }
+
+    /**
+     * Returns the time the step took.
+     */
+    public Duration duration() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d us", step, duration().toNanos() / 1_000);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The latencies of a single step across the traced processes of the same kind.
+ */
+public final class StepLatency {
+
+    private final String step;
+    private final ImmutableList<Duration> sorted;
+
+    /**
+     * Creates the latencies of the step.
+     *
+     * @param step
+     *         the name of the step
+     * @param durations
+     *         the durations of the step, at least one
+     */
+    StepLatency(String step, List<Duration> durations) {
+        checkArgument(!durations.isEmpty(), "The step `%s` has no durations.", step);
+        this.step = step;
+        this.sorted = ImmutableList.sortedCopyOf(durations);
+    }
+
+    /**
+     * Returns the name of the step.
+     */
+    public String step() {
+        return step;
+    }
+
+    /**
+     * Returns the number of times the step was made.
+     */
+    public int count() {
+        return sorted.size();
+    }
+
+    /**
+     * Returns the average duration of the step.
+     */
+    public Duration mean() {
+        var total = sorted.stream()
+                          .reduce(Duration.ZERO, Duration::plus);
+        return total.dividedBy(sorted.size());
+    }
+
+    /**
+     * Returns the duration which the given share of the steps did not exceed.
+     *
+     * @param percentile
+     *         the share of the steps in percent, from 0 exclusive to 100 inclusive
+     */
+    public Duration percentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100,
+                      "The percentile must be in (0, 100], but got %s.", percentile);
+        var rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(rank - 1);
+    }
+
+    /**
+     * Returns the longest duration of the step.
+     */
+    public Duration max() {
+        return sorted.get(sorted.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, mean=%d us, p50=%d us, p99=%d us, max=%d us",
+                             step, count(), micros(mean()), micros(percentile(50)),
+                             micros(percentile(99)), micros(max()));
+    }
+
+    private static long micros(Duration duration) {
+        return duration.toNanos() / 1_000;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import com.google.common.collect.ImmutableList;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A ring buffer keeping the most recent traces.
+ *
+ * <p>Once the buffer is full, each new trace replaces the oldest one.
+ */
+final class TraceBuffer {
+
+    private final SagaTrace[] traces;
+    private int next;
+    private int size;
+
+    TraceBuffer(int capacity) {
+        checkArgument(capacity > 0, "The capacity of the traces must be positive.");
+        this.traces = new SagaTrace[capacity];
+    }
+
+    synchronized void add(SagaTrace trace) {
+        traces[next] = trace;
+        next = (next + 1) % traces.length;
+        size = Math.min(size + 1, traces.length);
+    }
+
+    /**
+     * Returns the kept traces from the oldest to the most recent.
+     */
+    synchronized ImmutableList<SagaTrace> snapshot() {
+        var result = ImmutableList.<SagaTrace>builderWithExpectedSize(size);
+        var oldest = (next - size + traces.length) % traces.length;
+        for (var i = 0; i < size; i++) {
+            result.add(traces[(oldest + i) % traces.length]);
+        }
+        return result.build();
+    }
+}
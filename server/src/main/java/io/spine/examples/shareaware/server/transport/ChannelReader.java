@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Reads the messages of a single channel from the ring files of all its publishers.
+ *
+ * <p>The publishers may come and go, so the directory of the channel is rescanned
+ * periodically. The rings found on the first scan are read starting from their heads,
+ * so that only the messages published after the subscription are received.
+ * The rings found later belong to the new publishers and are read from the start.
+ *
+ * <p>The rings of the publishers whose process has terminated without closing them,
+ * for example by crashing, are read till the end and deleted.
+ *
+ * <p>The reader is not thread-safe and is meant to be polled by a single thread.
+ */
+final class ChannelReader {
+
+    private static final String RING_EXTENSION = ".ring";
+    private static final long RESCAN_INTERVAL_NANOS = 100_000_000L;
+
+    private final ChannelId channel;
+    private final Path directory;
+    private final Map<Path, Ring> rings = new HashMap<>();
+    private long lastScan;
+    private boolean scanned;
+
+    ChannelReader(ChannelId channel, Path directory) {
+        this.channel = channel;
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the name of a new ring file in the directory of the channel.
+     */
+    static Path newRingFile(Path directory, String name) {
+        return directory.resolve(name + RING_EXTENSION);
+    }
+
+    /**
+     * Reads the newly published messages, but not more than the given number
+     * from each publisher.
+     *
+     * @return the number of messages read
+     */
+    int poll(int maxBatch, BiConsumer<ChannelId, ExternalMessage> consumer) {
+        var read = 0;
+        for (var ring : rings.values()) {
+            read += ring.poll(maxBatch, consumer);
+        }
+        if (rescanDue()) {
+            read += rescan(consumer);
+        }
+        return read;
+    }
+
+    /**
+     * Releases the opened ring files.
+     */
+    void close() {
+        rings.values()
+             .forEach(Ring::close);
+        rings.clear();
+    }
+
+    private boolean rescanDue() {
+        return !scanned || System.nanoTime() - lastScan >= RESCAN_INTERVAL_NANOS;
+    }
+
+    /**
+     * Opens the rings of the new publishers and releases the rings
+     * of the closed ones and of the terminated processes, reading the messages left in them.
+     */
+    private int rescan(BiConsumer<ChannelId, ExternalMessage> consumer) {
+        var present = ringFiles();
+        var removed = rings.keySet()
+                           .stream()
+                           .filter(path -> !present.contains(path))
+                           .collect(Collectors.toList());
+        var read = 0;
+        for (var path : removed) {
+            var ring = rings.remove(path);
+            read += ring.poll(Integer.MAX_VALUE, consumer);
+            ring.close();
+        }
+        for (var path : present) {
+            if (!rings.containsKey(path)) {
+                openRing(path);
+            }
+        }
+        read += removeOrphaned(consumer);
+        scanned = true;
+        lastScan = System.nanoTime();
+        return read;
+    }
+
+    /**
+     * Reads the messages left in the rings of the terminated processes
+     * and deletes these rings.
+     */
+    private int removeOrphaned(BiConsumer<ChannelId, ExternalMessage> consumer) {
+        var orphaned = rings.entrySet()
+                            .stream()
+                            .filter(entry -> !entry.getValue().file.ownerAlive())
+                            .map(Map.Entry::getKey)
+                            .collect(Collectors.toList());
+        var read = 0;
+        for (var path : orphaned) {
+            var ring = rings.remove(path);
+            read += ring.poll(Integer.MAX_VALUE, consumer);
+            ring.close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+        return read;
+    }
+
+    private void openRing(Path path) {
+        try {
+            var file = RingFile.open(path);
+            var cursor = scanned ? file.cursorAtStart() : file.cursorAtHead();
+            rings.put(path, new Ring(file, cursor));
+        } catch (NoSuchFileException e) {
+            // The publisher has been closed in the meantime.
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private Set<Path> ringFiles() {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName()
+                                            .toString()
+                                            .endsWith(RING_EXTENSION))
+                        .collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * A ring file of a single publisher with the position of this reader in it.
+     */
+    private final class Ring {
+
+        private final RingFile file;
+        private final RingFile.Cursor cursor;
+
+        private Ring(RingFile file, RingFile.Cursor cursor) {
+            this.file = file;
+            this.cursor = cursor;
+        }
+
+        private int poll(int maxBatch, BiConsumer<ChannelId, ExternalMessage> consumer) {
+            return cursor.poll(ExternalMessage.parser(), maxBatch,
+                               message -> consumer.accept(channel, message));
+        }
+
+        private void close() {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+    }
+}
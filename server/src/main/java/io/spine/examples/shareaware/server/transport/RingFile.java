@@ -0,0 +1,327 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A single-producer broadcast ring buffer stored in a memory-mapped file.
+ *
+ * <p>The file starts with a header which holds the position of the ring head, that is,
+ * the total number of bytes ever written, the capacity of the ring and the process which
+ * has created the ring. The header is
+ * followed by the frames, each consisting of the length of a serialized message and
+ * the message itself. The frames are aligned to 8 bytes. A frame which does not fit
+ * till the end of the ring is preceded by a padding and written from the ring start.
+ *
+ * <p>The messages are serialized right into the mapped memory and parsed right from it,
+ * without intermediate copies.
+ *
+ * <p>Any number of readers may consume the ring, each with its own {@link Cursor}.
+ * The writer never waits for the readers. A reader which lags behind by more
+ * than half of the ring is considered lapped and skips to the ring head, losing
+ * the overwritten messages.
+ */
+final class RingFile implements AutoCloseable {
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int HEAD_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = Long.BYTES;
+    private static final int OWNER_PID_OFFSET = 2 * Long.BYTES;
+    private static final int OWNER_START_OFFSET = 3 * Long.BYTES;
+    private static final long UNKNOWN_START = 0L;
+    private static final int HEADER_SIZE = 64;
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int ALIGNMENT = Long.BYTES;
+    private static final int PADDING = -1;
+    private static final String DRAFT_SUFFIX = ".draft";
+
+    private final FileChannel file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private RingFile(FileChannel file, MappedByteBuffer buffer, int capacity) {
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a new ring file of the given capacity.
+     *
+     * <p>The file is initialized under a temporary name and then renamed,
+     * so that the readers never observe a partially initialized ring.
+     *
+     * @throws IOException
+     *         if the file already exists or cannot be created
+     */
+    static RingFile create(Path path, int capacity) throws IOException {
+        checkArgument(capacity > 0 && capacity % ALIGNMENT == 0,
+                      "The ring capacity must be a positive multiple of %s, but was %s.",
+                      ALIGNMENT, capacity);
+        var draft = path.resolveSibling(path.getFileName() + DRAFT_SUFFIX);
+        var file = FileChannel.open(draft, CREATE_NEW, READ, WRITE);
+        var buffer = file.map(READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+        buffer.order(ByteOrder.nativeOrder());
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        var owner = ProcessHandle.current();
+        buffer.putLong(OWNER_PID_OFFSET, owner.pid());
+        buffer.putLong(OWNER_START_OFFSET, startOf(owner));
+        LONGS.setRelease(buffer, HEAD_OFFSET, 0L);
+        Files.move(draft, path, ATOMIC_MOVE);
+        return new RingFile(file, buffer, capacity);
+    }
+
+    /**
+     * Opens an existing ring file for reading.
+     */
+    static RingFile open(Path path) throws IOException {
+        var file = FileChannel.open(path, READ, WRITE);
+        var header = file.map(READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.nativeOrder());
+        var capacity = header.getInt(CAPACITY_OFFSET);
+        var buffer = file.map(READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+        buffer.order(ByteOrder.nativeOrder());
+        return new RingFile(file, buffer, capacity);
+    }
+
+    /**
+     * Tells whether the process which has created this ring is still running.
+     *
+     * <p>The ring of a process which has crashed is never deleted by its publisher.
+     * The start time of the process is compared along with its ID,
+     * so that a new process reusing the ID is not mistaken for the owner.
+     */
+    boolean ownerAlive() {
+        var pid = buffer.getLong(OWNER_PID_OFFSET);
+        var start = buffer.getLong(OWNER_START_OFFSET);
+        return ProcessHandle.of(pid)
+                            .filter(ProcessHandle::isAlive)
+                            .filter(process -> start == UNKNOWN_START
+                                    || startOf(process) == UNKNOWN_START
+                                    || startOf(process) == start)
+                            .isPresent();
+    }
+
+    private static long startOf(ProcessHandle process) {
+        return process.info()
+                      .startInstant()
+                      .map(Instant::toEpochMilli)
+                      .orElse(UNKNOWN_START);
+    }
+
+    /**
+     * Returns the size of the largest message which can be written to this ring.
+     *
+     * <p>Limiting the frames by a quarter of the ring guarantees that a frame together
+     * with a padding preceding it never take more than half of the ring.
+     */
+    int maxMessageSize() {
+        return capacity / 4 - LENGTH_SIZE;
+    }
+
+    /**
+     * Appends the message to the ring.
+     *
+     * <p>Must be called by a single writer at a time.
+     *
+     * @throws IllegalArgumentException
+     *         if the message is larger than the {@linkplain #maxMessageSize() limit}
+     */
+    void append(MessageLite message) throws IOException {
+        var size = message.getSerializedSize();
+        checkArgument(size <= maxMessageSize(),
+                      "The message of %s bytes exceeds the limit of %s bytes.",
+                      size, maxMessageSize());
+        var frameSize = aligned(LENGTH_SIZE + size);
+        var head = head();
+        var index = index(head);
+        var tillEnd = capacity - index;
+        if (tillEnd < frameSize) {
+            buffer.putInt(HEADER_SIZE + index, PADDING);
+            head += tillEnd;
+            index = 0;
+        }
+        buffer.putInt(HEADER_SIZE + index, size);
+        var output = CodedOutputStream.newInstance(region(index + LENGTH_SIZE, size));
+        message.writeTo(output);
+        output.flush();
+        LONGS.setRelease(buffer, HEAD_OFFSET, head + frameSize);
+    }
+
+    /**
+     * Creates a cursor which reads the messages appended after this call.
+     */
+    Cursor cursorAtHead() {
+        return new Cursor(head());
+    }
+
+    /**
+     * Creates a cursor which reads the messages from the start of the ring,
+     * or from the head, if the start was already overwritten.
+     */
+    Cursor cursorAtStart() {
+        var head = head();
+        return new Cursor(isLapped(0, head) ? head : 0);
+    }
+
+    private long head() {
+        return (long) LONGS.getAcquire(buffer, HEAD_OFFSET);
+    }
+
+    private boolean isLapped(long position, long head) {
+        return head - position > capacity / 2;
+    }
+
+    private int index(long position) {
+        return (int) (position % capacity);
+    }
+
+    private ByteBuffer region(int index, int length) {
+        var start = HEADER_SIZE + index;
+        return buffer.duplicate()
+                     .position(start)
+                     .limit(start + length)
+                     .slice();
+    }
+
+    private static int aligned(int size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * A position of a reader in the ring.
+     *
+     * <p>A cursor is not thread-safe.
+     */
+    final class Cursor {
+
+        private long position;
+        private long lost;
+
+        private Cursor(long position) {
+            this.position = position;
+        }
+
+        /**
+         * Reads the messages appended since the previous call, but not more than
+         * the given number.
+         *
+         * @return the number of messages read
+         */
+        <M extends MessageLite> int poll(Parser<M> parser, int maxMessages, Consumer<M> consumer) {
+            var head = head();
+            var read = 0;
+            while (position < head && read < maxMessages) {
+                if (isLapped(position, head)) {
+                    skipTo(head);
+                    break;
+                }
+                var index = index(position);
+                var size = buffer.getInt(HEADER_SIZE + index);
+                if (size == PADDING) {
+                    position += capacity - index;
+                    continue;
+                }
+                var message = parse(parser, index, size);
+                // As in a seqlock, the frame is read with plain loads and validated
+                // by reading the head again. The fence keeps those loads from being
+                // reordered after that read, so the validation covers the frame.
+                VarHandle.acquireFence();
+                var headAfterRead = head();
+                if (isLapped(position, headAfterRead)) {
+                    skipTo(headAfterRead);
+                    break;
+                }
+                if (message == null) {
+                    throw newIllegalStateException(
+                            "The ring frame at position %s is corrupted.", position);
+                }
+                position += aligned(LENGTH_SIZE + size);
+                consumer.accept(message);
+                read++;
+            }
+            return read;
+        }
+
+        /**
+         * Returns the number of bytes skipped because this cursor was lapped by the writer.
+         */
+        long lostBytes() {
+            return lost;
+        }
+
+        private <M extends MessageLite> @Nullable M parse(Parser<M> parser, int index, int size) {
+            if (size < 0 || size > capacity - index - LENGTH_SIZE) {
+                return null;
+            }
+            try {
+                var input = CodedInputStream.newInstance(region(index + LENGTH_SIZE, size));
+                return parser.parseFrom(input);
+            } catch (InvalidProtocolBufferException e) {
+                return null;
+            }
+        }
+
+        private void skipTo(long head) {
+            lost += head - position;
+            position = head;
+        }
+    }
+}
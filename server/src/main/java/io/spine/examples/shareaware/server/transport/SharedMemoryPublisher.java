@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Empty;
+import io.spine.core.Ack;
+import io.spine.core.Status;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Publishes the messages to the ring file owned by this publisher.
+ *
+ * <p>The ring file is deleted when the publisher is closed.
+ */
+final class SharedMemoryPublisher implements Publisher {
+
+    private final ChannelId id;
+    private final Path path;
+    private final RingFile ring;
+    private boolean closed;
+
+    SharedMemoryPublisher(ChannelId id, Path path, int capacity) throws IOException {
+        this.id = id;
+        this.path = path;
+        this.ring = RingFile.create(path, capacity);
+    }
+
+    @Override
+    public synchronized Ack publish(Any messageId, ExternalMessage message) {
+        try {
+            ring.append(message);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return Ack.newBuilder()
+                  .setMessageId(messageId)
+                  .setStatus(Status.newBuilder()
+                                   .setOk(Empty.getDefaultInstance()))
+                  .build();
+    }
+
+    @Override
+    public ChannelId id() {
+        return id;
+    }
+
+    @Override
+    public synchronized boolean isStale() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ring.close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.google.common.hash.Hashing;
+import io.spine.logging.Logging;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import io.spine.server.transport.Subscriber;
+import io.spine.server.transport.TransportFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Multimaps.synchronizedMultimap;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A transport which carries the messages between the Bounded Contexts running
+ * in different JVMs on the same host through the memory-mapped files.
+ *
+ * <p>Each publisher writes the messages to its own {@linkplain RingFile ring file}
+ * in the directory of the channel. The transport factories of all the JVMs,
+ * configured with the same directory, read the messages from the rings of all
+ * the publishers of the channels they are subscribed to.
+ *
+ * <p>The messages are serialized right into the shared memory and parsed right from it.
+ * The rings are read by a single thread of the factory, which delivers the messages
+ * to the subscribers in batches and backs off when there are no new messages.
+ *
+ * <p>The subscribers are called by this thread one by one, so a slow subscriber delays
+ * the messages of all the channels of the factory. The delivery is not handed off
+ * to other threads on purpose: the messages would then pile up in memory instead
+ * of the ring, where a lagging reader only loses the overwritten ones. The subscribers
+ * are expected to pass the messages to their Bounded Context and return.
+ *
+ * <p>The rings of the processes which have crashed are removed by the readers,
+ * as the ring header identifies the process which has created the ring.
+ *
+ * <p>A subscriber, which falls behind the publisher by more than half of the ring,
+ * loses the overwritten messages. The default ring capacity is
+ * {@value #DEFAULT_RING_CAPACITY} bytes.
+ */
+public final class SharedMemoryTransportFactory implements TransportFactory, Logging {
+
+    /**
+     * The default capacity of a ring of a single publisher in bytes.
+     */
+    public static final int DEFAULT_RING_CAPACITY = 16 * 1024 * 1024;
+
+    private static final int MAX_BATCH = 256;
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000L;
+
+    private final Path directory;
+    private final int ringCapacity;
+    private final Multimap<ChannelId, Subscriber> subscribers =
+            synchronizedMultimap(HashMultimap.create());
+    private final Map<ChannelId, ChannelReader> readers = new ConcurrentHashMap<>();
+    private final List<SharedMemoryPublisher> publishers = new ArrayList<>();
+    private final Thread poller;
+    private volatile boolean open = true;
+
+    private SharedMemoryTransportFactory(Path directory, int ringCapacity) {
+        this.directory = directory;
+        this.ringCapacity = ringCapacity;
+        this.poller = new Thread(this::pollRings, "shared-memory-transport");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /**
+     * Creates a new factory which exchanges the messages through the given directory
+     * using the rings of the {@linkplain #DEFAULT_RING_CAPACITY default} capacity.
+     */
+    public static SharedMemoryTransportFactory in(Path directory) {
+        return in(directory, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * Creates a new factory which exchanges the messages through the given directory
+     * using the rings of the given capacity.
+     *
+     * <p>The directory should reside in a memory-backed file system, such as
+     * {@code /dev/shm}, to avoid writing the messages to the disk.
+     */
+    public static SharedMemoryTransportFactory in(Path directory, int ringCapacity) {
+        checkNotNull(directory);
+        checkArgument(ringCapacity > 0);
+        return new SharedMemoryTransportFactory(directory, ringCapacity);
+    }
+
+    @Override
+    public synchronized Publisher createPublisher(ChannelId id) {
+        checkOpen();
+        try {
+            var ring = ChannelReader.newRingFile(channelDirectory(id),
+                                                 UUID.randomUUID()
+                                                     .toString());
+            var publisher = new SharedMemoryPublisher(id, ring, ringCapacity);
+            publishers.add(publisher);
+            return publisher;
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    public synchronized Subscriber createSubscriber(ChannelId id) {
+        checkOpen();
+        var subscriber = new SharedMemorySubscriber(id);
+        subscribers.put(id, subscriber);
+        readers.computeIfAbsent(id, channel -> new ChannelReader(channel,
+                                                                 channelDirectory(channel)));
+        return subscriber;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (!open) {
+            return;
+        }
+        open = false;
+        poller.join();
+        for (var publisher : publishers) {
+            publisher.close();
+        }
+        publishers.clear();
+        readers.values()
+               .forEach(ChannelReader::close);
+        readers.clear();
+        subscribers.clear();
+    }
+
+    private void checkOpen() {
+        checkState(open, "The transport factory is already closed.");
+    }
+
+    /**
+     * Returns the directory of the channel, creating it if needed.
+     *
+     * <p>The directory is named after the hash of the channel ID,
+     * so that it is the same in all the JVMs.
+     */
+    private Path channelDirectory(ChannelId id) {
+        var name = Hashing.sha256()
+                          .hashBytes(id.toByteArray())
+                          .toString();
+        var result = directory.resolve(name);
+        try {
+            return Files.createDirectories(result);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private void pollRings() {
+        var idlePark = 1L;
+        while (open) {
+            var read = 0;
+            for (var reader : readers.values()) {
+                read += reader.poll(MAX_BATCH, this::deliver);
+            }
+            if (read > 0) {
+                idlePark = 1L;
+            } else {
+                LockSupport.parkNanos(idlePark);
+                idlePark = Math.min(idlePark * 2, MAX_IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Passes the message to the subscribers of the channel in the polling thread.
+     */
+    private void deliver(ChannelId channel, ExternalMessage message) {
+        for (var subscriber : subscribersOf(channel)) {
+            try {
+                subscriber.onMessage(message);
+            } catch (RuntimeException e) {
+                _error().withCause(e)
+                        .log("Cannot deliver the message to the subscriber of the channel `%s`.",
+                             channel);
+            }
+        }
+    }
+
+    private Collection<Subscriber> subscribersOf(ChannelId channel) {
+        synchronized (subscribers) {
+            return ImmutableList.copyOf(subscribers.get(channel));
+        }
+    }
+}
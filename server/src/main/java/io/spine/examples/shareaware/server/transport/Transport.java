@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import io.spine.server.transport.TransportFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Tells how the messages are carried between the Bounded Contexts.
+ */
+public enum Transport {
+
+    /**
+     * The contexts run in the same JVM and exchange the messages in memory.
+     */
+    IN_MEMORY {
+        @Override
+        public TransportFactory newFactory(Path directory) {
+            return InMemoryTransportFactory.newInstance();
+        }
+    },
+
+    /**
+     * The contexts may run in different JVMs on the same host and exchange
+     * the messages through the memory-mapped files in the given directory.
+     *
+     * @see SharedMemoryTransportFactory
+     */
+    SHARED_MEMORY {
+        @Override
+        public TransportFactory newFactory(Path directory) {
+            return SharedMemoryTransportFactory.in(directory);
+        }
+    };
+
+    /**
+     * Creates a new transport factory of this kind.
+     *
+     * @param directory
+     *         the directory to exchange the messages through,
+     *         is ignored by the in-memory transport
+     */
+    public abstract TransportFactory newFactory(Path directory);
+}
@@ -0,0 +1,10 @@
+/**
+ * Provides the transport which carries the messages between Bounded Contexts
+ * running in different JVMs on the same host.
+ */
+@CheckReturnValue
+@ParametersAreNonnullByDefault
+package io.spine.examples.shareaware.server.transport;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.ParametersAreNonnullByDefault;
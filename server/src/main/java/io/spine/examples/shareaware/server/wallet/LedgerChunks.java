@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import io.spine.core.EventContext;
+import io.spine.examples.shareaware.LedgerChunkId;
+import io.spine.examples.shareaware.WalletId;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Splits the wallet transaction history into the chunks of a fixed size.
+ *
+ * <p>Every event of the wallet aggregate except {@code WalletCreated} changes
+ * the balance and becomes a single entry of the history. Thus, the version
+ * of the aggregate tells the position of the entry in the history,
+ * and the chunk to put it into is known without reading the history.
+ */
+final class LedgerChunks {
+
+    /**
+     * The number of entries in a full chunk.
+     */
+    static final int ENTRIES_PER_CHUNK = 100;
+
+    /**
+     * The version of the wallet aggregate after the first change of its balance.
+     */
+    private static final int FIRST_ENTRY_VERSION = 2;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private LedgerChunks() {
+    }
+
+    /**
+     * Returns the ID of the chunk holding the entry of the event
+     * emitted by the wallet aggregate.
+     */
+    static LedgerChunkId chunkOf(WalletId wallet, EventContext context) {
+        return LedgerChunkId
+                .newBuilder()
+                .setWallet(wallet)
+                .setNumber(chunkNumber(context))
+                .vBuild();
+    }
+
+    /**
+     * Returns the number of the chunk holding the entry of the event
+     * emitted by the wallet aggregate.
+     */
+    static int chunkNumber(EventContext context) {
+        return chunkNumber(context.getVersion()
+                                  .getNumber());
+    }
+
+    /**
+     * Returns the number of the chunk holding the entry of the event
+     * which brought the wallet aggregate to the given version.
+     */
+    static int chunkNumber(int version) {
+        checkArgument(version >= FIRST_ENTRY_VERSION,
+                      "The wallet of version `%s` has no history entries.", version);
+        return (version - FIRST_ENTRY_VERSION) / ENTRIES_PER_CHUNK;
+    }
+}
@@ -26,6 +26,7 @@
 
 package io.spine.examples.shareaware.server.wallet;
 
+import io.spine.examples.shareaware.Cents;
 import io.spine.examples.shareaware.WalletId;
 import io.spine.examples.shareaware.wallet.Wallet;
 import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
@@ -39,17 +40,24 @@ import io.spine.examples.shareaware.wallet.event.MoneyReserved;
 import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
 import io.spine.examples.shareaware.wallet.event.WalletCreated;
 import io.spine.examples.shareaware.wallet.rejection.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.MoneyNotReserved;
 import io.spine.money.Currency;
 import io.spine.money.Money;
 import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 
-import static io.spine.examples.shareaware.MoneyCalculator.*;
+import static io.spine.examples.shareaware.Cents.subtract;
+import static io.spine.examples.shareaware.Cents.sum;
+import static io.spine.examples.shareaware.Cents.toMoney;
+import static io.spine.examples.shareaware.wallet.MoneyWithdrawalSignal.idValueOf;
 
 /**
  * The Wallet aggregate is responsible for managing the money
  * of a particular ShareAware user.
+ *
+ * <p>The handlers calculate the amounts in {@link Cents}, converting them
+ * from and to {@code Money} only when reading the state and building the events.
  */
 public final class WalletAggregate extends Aggregate<WalletId, Wallet, Wallet.Builder> {
 
@@ -67,9 +75,7 @@ public final class WalletAggregate extends Aggregate<WalletId, Wallet, Wallet.Bu
 
     @Apply
     private void event(WalletCreated e) {
-        builder()
-                .setId(e.getWallet())
-                .setBalance(e.getBalance());
+        WalletStates.apply(builder(), e);
     }
 
     private static Money zeroMoneyValue() {
@@ -83,23 +89,30 @@ public final class WalletAggregate extends Aggregate<WalletId, Wallet, Wallet.Bu
 
     @Assign
     BalanceRecharged handle(RechargeBalance c) {
-        var newBalance = sum(state().getBalance(), c.getMoneyAmount());
+        var balance = state().getBalance();
+        var currency = balance.getCurrency();
+        var newBalance = sum(Cents.of(balance), Cents.of(c.getMoneyAmount(), currency));
         return BalanceRecharged
                 .newBuilder()
                 .setWallet(c.getWallet())
-                .setCurrentBalance(newBalance)
+                .setCurrentBalance(toMoney(newBalance, currency))
                 .setOperation(c.getOperation())
+                .setAmount(c.getMoneyAmount())
                 .vBuild();
     }
 
     @Apply
     private void event(BalanceRecharged e) {
-        builder().setBalance(e.getCurrentBalance());
+        WalletStates.apply(builder(), e);
     }
 
     @Assign
     MoneyReserved on(ReserveMoney c) throws InsufficientFunds {
-        if (isGreater(c.getAmount(), state().getBalance())) {
+        var balance = state().getBalance();
+        var currency = balance.getCurrency();
+        var available = Cents.of(balance);
+        var amount = Cents.of(c.getAmount(), currency);
+        if (amount > available) {
             throw InsufficientFunds
                     .newBuilder()
                     .setWallet(c.getWallet())
@@ -107,55 +120,98 @@ public final class WalletAggregate extends Aggregate<WalletId, Wallet, Wallet.Bu
                     .setAmount(c.getAmount())
                     .build();
         }
-        return MoneyReserved
+        var event = MoneyReserved
                 .newBuilder()
                 .setWallet(c.getWallet())
                 .setOperation(c.getOperation())
                 .setAmount(c.getAmount())
-                .vBuild();
+                .setCurrentBalance(toMoney(subtract(available, amount), currency));
+        return event.vBuild();
     }
 
     @Apply
     private void event(MoneyReserved e) {
-        var newBalance = subtract(builder().getBalance(), e.getAmount());
-        var operationId = e.operationIdValue();
-        builder()
-                .setBalance(newBalance)
-                .putReservedMoney(operationId, e.getAmount());
+        WalletStates.apply(builder(), e);
     }
 
+    /**
+     * Debits the money reserved by the operation.
+     *
+     * <p>If the operation spent only a part of the reserved money,
+     * the rest is returned to the wallet balance.
+     *
+     * <p>The reservation may be already canceled, for example, when the market or
+     * the payment gateway succeeds after the operation was given up. Such a debit
+     * is rejected, so that nothing is paid out or bought without the money.
+     */
     @Assign
-    ReservedMoneyDebited on(DebitReservedMoney c) {
-        return ReservedMoneyDebited
+    ReservedMoneyDebited on(DebitReservedMoney c) throws MoneyNotReserved {
+        var reservedAmount = state().getReservedMoneyMap()
+                                    .get(idValueOf(c.getOperation()));
+        if (reservedAmount == null) {
+            throw MoneyNotReserved
+                    .newBuilder()
+                    .setWallet(c.getWallet())
+                    .setOperation(c.getOperation())
+                    .build();
+        }
+        var event = ReservedMoneyDebited
                 .newBuilder()
                 .setOperation(c.getOperation())
-                .setWallet(c.getWallet())
-                .setCurrentBalance(state().getBalance())
-                .vBuild();
+                .setWallet(c.getWallet());
+        if (!c.hasAmount()) {
+            event.setDebited(reservedAmount)
+                 .setCurrentBalance(state().getBalance());
+            return event.vBuild();
+        }
+        var balance = state().getBalance();
+        var currency = balance.getCurrency();
+        var reserved = Cents.of(reservedAmount, currency);
+        var refunded = subtract(reserved, Cents.of(c.getAmount(), currency));
+        event.setCurrentBalance(toMoney(sum(Cents.of(balance), refunded), currency))
+             .setRefunded(toMoney(refunded, currency))
+             .setDebited(c.getAmount());
+        return event.vBuild();
     }
 
     @Apply
     private void event(ReservedMoneyDebited e) {
-        var operationId = e.operationIdValue();
-        builder().removeReservedMoney(operationId);
+        WalletStates.apply(builder(), e);
     }
 
+    /**
+     * Cancels the money reservation of the operation, returning the reserved money
+     * to the wallet balance.
+     *
+     * <p>The reservation may be already debited or canceled, for example, when
+     * the cancellation is sent by the {@code ReservationWatchdog} at the same time
+     * as the operation completes. Such a cancellation is rejected, leaving the wallet intact.
+     */
     @Assign
-    MoneyReservationCanceled on(CancelMoneyReservation e) {
-        return MoneyReservationCanceled
+    MoneyReservationCanceled on(CancelMoneyReservation e) throws MoneyNotReserved {
+        var reservedAmount = state().getReservedMoneyMap()
+                                    .get(idValueOf(e.getOperation()));
+        if (reservedAmount == null) {
+            throw MoneyNotReserved
+                    .newBuilder()
+                    .setWallet(e.getWallet())
+                    .setOperation(e.getOperation())
+                    .build();
+        }
+        var balance = state().getBalance();
+        var currency = balance.getCurrency();
+        var restoredBalance = sum(Cents.of(balance), Cents.of(reservedAmount, currency));
+        var event = MoneyReservationCanceled
                 .newBuilder()
                 .setOperation(e.getOperation())
                 .setWallet(e.getWallet())
-                .vBuild();
+                .setAmount(reservedAmount)
+                .setCurrentBalance(toMoney(restoredBalance, currency));
+        return event.vBuild();
     }
 
     @Apply
     private void event(MoneyReservationCanceled e) {
-        var operationId = e.operationIdValue();
-        var reservedAmount = builder().getReservedMoneyOrThrow(operationId);
-        var restoredBalance = sum(builder().getBalance(), reservedAmount);
-        builder()
-                .setBalance(restoredBalance)
-                .removeReservedMoney(operationId);
+        WalletStates.apply(builder(), e);
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.shareaware.LedgerChunkId;
+import io.spine.examples.shareaware.wallet.LedgerEntry;
+import io.spine.examples.shareaware.wallet.WalletLedgerChunk;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.server.projection.Projection;
+
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.CANCELLATION;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.DEBIT;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.RECHARGE;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.RESERVATION;
+
+/**
+ * Appends the changes of the wallet balance to a chunk of the wallet transaction history.
+ *
+ * <p>The events are {@linkplain WalletLedgerChunkRepository routed} to the chunk
+ * by the version of the wallet, so each chunk receives at most
+ * {@link LedgerChunks#ENTRIES_PER_CHUNK} entries.
+ */
+final class WalletLedgerChunkProjection
+        extends Projection<LedgerChunkId, WalletLedgerChunk, WalletLedgerChunk.Builder> {
+
+    @Subscribe
+    void on(BalanceRecharged e, EventContext ctx) {
+        var entry = entryAt(ctx)
+                .setReplenishment(e.getOperation())
+                .setKind(RECHARGE)
+                .setAmount(e.getAmount())
+                .setBalance(e.getCurrentBalance());
+        append(entry);
+    }
+
+    @Subscribe
+    void on(MoneyReserved e, EventContext ctx) {
+        var entry = entryAt(ctx)
+                .setWithdrawal(e.getOperation())
+                .setKind(RESERVATION)
+                .setAmount(e.getAmount())
+                .setBalance(e.getCurrentBalance());
+        append(entry);
+    }
+
+    @Subscribe
+    void on(ReservedMoneyDebited e, EventContext ctx) {
+        var entry = entryAt(ctx)
+                .setWithdrawal(e.getOperation())
+                .setKind(DEBIT)
+                .setAmount(e.getDebited())
+                .setBalance(e.getCurrentBalance());
+        append(entry);
+    }
+
+    @Subscribe
+    void on(MoneyReservationCanceled e, EventContext ctx) {
+        var entry = entryAt(ctx)
+                .setWithdrawal(e.getOperation())
+                .setKind(CANCELLATION)
+                .setAmount(e.getAmount())
+                .setBalance(e.getCurrentBalance());
+        append(entry);
+    }
+
+    private static LedgerEntry.Builder entryAt(EventContext ctx) {
+        return LedgerEntry
+                .newBuilder()
+                .setWhen(ctx.getTimestamp());
+    }
+
+    private void append(LedgerEntry.Builder entry) {
+        builder()
+                .setId(id())
+                .addEntry(entry.vBuild());
+    }
+}
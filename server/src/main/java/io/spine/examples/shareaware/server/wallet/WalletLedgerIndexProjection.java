@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.wallet.LedgerChunkSummary;
+import io.spine.examples.shareaware.wallet.WalletLedgerIndex;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.server.projection.Projection;
+
+import static io.spine.examples.shareaware.server.wallet.LedgerChunks.chunkNumber;
+
+/**
+ * Keeps the time index of the wallet transaction history.
+ *
+ * <p>For each chunk of the history, the index tells the time of its first
+ * and last entries. Clients use it to find the chunk holding the entries
+ * of the given time, and then read only this chunk.
+ */
+final class WalletLedgerIndexProjection
+        extends Projection<WalletId, WalletLedgerIndex, WalletLedgerIndex.Builder> {
+
+    @Subscribe
+    void on(BalanceRecharged e, EventContext ctx) {
+        record(ctx);
+    }
+
+    @Subscribe
+    void on(MoneyReserved e, EventContext ctx) {
+        record(ctx);
+    }
+
+    @Subscribe
+    void on(ReservedMoneyDebited e, EventContext ctx) {
+        record(ctx);
+    }
+
+    @Subscribe
+    void on(MoneyReservationCanceled e, EventContext ctx) {
+        record(ctx);
+    }
+
+    /**
+     * Counts the entry of the event in the summary of its chunk,
+     * starting a new summary if the entry opens a chunk.
+     */
+    private void record(EventContext ctx) {
+        var number = chunkNumber(ctx);
+        var time = ctx.getTimestamp();
+        var lastIndex = builder().getChunkCount() - 1;
+        if (lastIndex >= 0 && builder().getChunk(lastIndex)
+                                       .getNumber() == number) {
+            var last = builder().getChunk(lastIndex);
+            var updated = last
+                    .toBuilder()
+                    .setLastEntryTime(time)
+                    .setEntries(last.getEntries() + 1)
+                    .vBuild();
+            builder().setChunk(lastIndex, updated);
+            return;
+        }
+        var opened = LedgerChunkSummary
+                .newBuilder()
+                .setNumber(number)
+                .setFirstEntryTime(time)
+                .setLastEntryTime(time)
+                .setEntries(1)
+                .vBuild();
+        builder()
+                .setId(id())
+                .addChunk(opened);
+    }
+}
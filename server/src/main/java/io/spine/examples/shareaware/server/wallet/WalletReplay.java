@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.wallet.Wallet;
+import io.spine.money.Money;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Replays the events of a wallet outside of the {@link WalletAggregate}.
+ *
+ * <p>The events are applied by the same code the aggregate applies them with,
+ * so the replayed state never differs from the state of the aggregate.
+ */
+public final class WalletReplay {
+
+    private final Wallet.Builder wallet;
+
+    private WalletReplay(Wallet.Builder wallet) {
+        this.wallet = wallet;
+    }
+
+    /**
+     * Starts the replay of the whole history of a wallet.
+     */
+    public static WalletReplay fromScratch() {
+        return new WalletReplay(Wallet.newBuilder());
+    }
+
+    /**
+     * Starts the replay from the given state of a wallet.
+     */
+    public static WalletReplay startingFrom(Wallet state) {
+        checkNotNull(state);
+        return new WalletReplay(state.toBuilder());
+    }
+
+    /**
+     * Tells whether the event changes the state of the wallet.
+     */
+    public static boolean changesWallet(EventMessage event) {
+        checkNotNull(event);
+        return WalletStates.EVENTS.contains(event.getClass());
+    }
+
+    /**
+     * Applies the event to the replayed state.
+     *
+     * @throws IllegalArgumentException
+     *         if the event does not change the state of the wallet,
+     *         or does not follow the replayed state
+     */
+    public void play(EventMessage event) {
+        checkNotNull(event);
+        WalletStates.apply(wallet, event);
+    }
+
+    /**
+     * Returns the money reserved in the replayed state by the IDs of the operations.
+     */
+    public Map<String, Money> reservedMoney() {
+        return wallet.getReservedMoneyMap();
+    }
+
+    /**
+     * Returns the replayed state.
+     */
+    public Wallet state() {
+        return wallet.build();
+    }
+}
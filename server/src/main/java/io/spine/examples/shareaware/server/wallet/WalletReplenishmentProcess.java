@@ -31,7 +31,7 @@ import io.spine.examples.shareaware.ReplenishmentOperationId;
 import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyFromUser;
 import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredFromUser;
 import io.spine.examples.shareaware.paymentgateway.rejection.Rejections.MoneyCannotBeTransferredFromUser;
-import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayProcess;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
 import io.spine.examples.shareaware.wallet.Iban;
 import io.spine.examples.shareaware.wallet.WalletReplenishment;
 import io.spine.examples.shareaware.wallet.command.RechargeBalance;
@@ -43,6 +43,8 @@ import io.spine.server.command.Command;
 import io.spine.server.event.React;
 import io.spine.server.procman.ProcessManager;
 
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
 /**
  * Coordinates the replenishment of user's wallet.
  */
@@ -60,14 +62,14 @@ final class WalletReplenishmentProcess
     @Command
     TransferMoneyFromUser on(ReplenishWallet c) {
         initState(c);
-        return TransferMoneyFromUser
+        var command = TransferMoneyFromUser
                 .newBuilder()
-                .setGateway(PaymentGatewayProcess.ID)
+                .setGateway(PaymentGatewayAdapter.ID)
                 .setReplenishmentProcess(c.getReplenishment())
                 .setRecipient(shareAwareIban)
                 .setSender(c.getIban())
-                .setAmount(c.getMoneyAmount())
-                .vBuild();
+                .setAmount(c.getMoneyAmount());
+        return trusted(command);
     }
 
     private void initState(ReplenishWallet c) {
@@ -83,12 +85,12 @@ final class WalletReplenishmentProcess
      */
     @Command
     RechargeBalance on(MoneyTransferredFromUser e) {
-        return RechargeBalance
+        var command = RechargeBalance
                 .newBuilder()
                 .setWallet(state().getWallet())
                 .setOperation(operationId())
-                .setMoneyAmount(e.getAmount())
-                .vBuild();
+                .setMoneyAmount(e.getAmount());
+        return trusted(command);
     }
 
     /**
@@ -97,12 +99,12 @@ final class WalletReplenishmentProcess
     @React
     WalletReplenished on(BalanceRecharged e) {
         setArchived(true);
-        return WalletReplenished
+        var event = WalletReplenished
                 .newBuilder()
                 .setReplenishment(state().getId())
                 .setWallet(e.getWallet())
-                .setMoneyAmount(state().getAmount())
-                .vBuild();
+                .setMoneyAmount(state().getAmount());
+        return trusted(event);
     }
 
     /**
@@ -111,17 +113,17 @@ final class WalletReplenishmentProcess
     @React
     WalletNotReplenished on(MoneyCannotBeTransferredFromUser r) {
         setArchived(true);
-        return WalletNotReplenished
+        var event = WalletNotReplenished
                 .newBuilder()
                 .setReplenishment(r.getReplenishment())
-                .setCause(r.getCause())
-                .vBuild();
+                .setCause(r.getCause());
+        return trusted(event);
     }
 
     private ReplenishmentOperationId operationId() {
-        return ReplenishmentOperationId
+        var id = ReplenishmentOperationId
                 .newBuilder()
-                .setReplenishment(state().getId())
-                .vBuild();
+                .setReplenishment(state().getId());
+        return trusted(id);
     }
 }
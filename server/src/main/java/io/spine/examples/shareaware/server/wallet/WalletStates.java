@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.wallet.Wallet;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.event.WalletCreated;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Applies the events of the wallet to its state.
+ *
+ * <p>The {@link WalletAggregate} applies its events through this class. The states
+ * restored from the events elsewhere are {@linkplain WalletReplay replayed} through it too,
+ * so they never differ from the state of the aggregate.
+ */
+final class WalletStates {
+
+    /**
+     * The events which change the state of the wallet.
+     */
+    static final ImmutableSet<Class<? extends EventMessage>> EVENTS =
+            ImmutableSet.of(WalletCreated.class, BalanceRecharged.class, MoneyReserved.class,
+                            ReservedMoneyDebited.class, MoneyReservationCanceled.class);
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private WalletStates() {
+    }
+
+    /**
+     * Applies the event to the state of the wallet.
+     *
+     * @throws IllegalArgumentException
+     *         if the event does not change the state of the wallet
+     */
+    static void apply(Wallet.Builder wallet, EventMessage event) {
+        if (event instanceof WalletCreated) {
+            apply(wallet, (WalletCreated) event);
+        } else if (event instanceof BalanceRecharged) {
+            apply(wallet, (BalanceRecharged) event);
+        } else if (event instanceof MoneyReserved) {
+            apply(wallet, (MoneyReserved) event);
+        } else if (event instanceof ReservedMoneyDebited) {
+            apply(wallet, (ReservedMoneyDebited) event);
+        } else if (event instanceof MoneyReservationCanceled) {
+            apply(wallet, (MoneyReservationCanceled) event);
+        } else {
+            throw newIllegalArgumentException("The event `%s` does not change the wallet.",
+                                              event.getClass()
+                                                   .getName());
+        }
+    }
+
+    static void apply(Wallet.Builder wallet, WalletCreated e) {
+        wallet.setId(e.getWallet())
+              .setBalance(e.getBalance());
+    }
+
+    static void apply(Wallet.Builder wallet, BalanceRecharged e) {
+        wallet.setBalance(e.getCurrentBalance());
+    }
+
+    static void apply(Wallet.Builder wallet, MoneyReserved e) {
+        wallet.setBalance(e.getCurrentBalance())
+              .putReservedMoney(e.operationIdValue(), e.getAmount());
+    }
+
+    static void apply(Wallet.Builder wallet, ReservedMoneyDebited e) {
+        wallet.setBalance(e.getCurrentBalance())
+              .removeReservedMoney(e.operationIdValue());
+    }
+
+    static void apply(Wallet.Builder wallet, MoneyReservationCanceled e) {
+        var operationId = e.operationIdValue();
+        checkArgument(wallet.containsReservedMoney(operationId),
+                      "The money is not reserved by the operation `%s`.", operationId);
+        wallet.setBalance(e.getCurrentBalance())
+              .removeReservedMoney(operationId);
+    }
+}
@@ -35,7 +35,8 @@ import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
 import io.spine.examples.shareaware.wallet.event.MoneyReserved;
 import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
 import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
-import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayProcess;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
 import io.spine.examples.shareaware.wallet.WalletWithdrawal;
 import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
 import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
@@ -43,15 +44,21 @@ import io.spine.examples.shareaware.wallet.command.ReserveMoney;
 import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
 import io.spine.examples.shareaware.wallet.event.MoneyNotWithdrawn;
 import io.spine.examples.shareaware.wallet.event.MoneyWithdrawn;
+import io.spine.logging.Logging;
 import io.spine.server.command.Command;
 import io.spine.server.event.React;
 import io.spine.server.procman.ProcessManager;
 
+import java.util.Optional;
+
+import static io.spine.examples.shareaware.server.TrustedBuild.trusted;
+
 /**
  * Coordinates the money withdrawal from the user's wallet.
  */
 final class WalletWithdrawalProcess
-        extends ProcessManager<WithdrawalId, WalletWithdrawal, WalletWithdrawal.Builder> {
+        extends ProcessManager<WithdrawalId, WalletWithdrawal, WalletWithdrawal.Builder>
+        implements Logging {
 
     /**
      * Issues a command to reserve money in the user's wallet.
@@ -59,12 +66,12 @@ final class WalletWithdrawalProcess
     @Command
     ReserveMoney on(WithdrawMoney c) {
         initState(c);
-        return ReserveMoney
+        var command = ReserveMoney
                 .newBuilder()
                 .setWallet(c.getWallet())
                 .setOperation(operationId(c.getWithdrawalProcess()))
-                .setAmount(c.getAmount())
-                .vBuild();
+                .setAmount(c.getAmount());
+        return trusted(command);
     }
 
     private void initState(WithdrawMoney c) {
@@ -80,14 +87,14 @@ final class WalletWithdrawalProcess
      */
     @Command
     TransferMoneyToUser on(MoneyReserved e) {
-        return TransferMoneyToUser
+        var command = TransferMoneyToUser
                 .newBuilder()
-                .setGateway(PaymentGatewayProcess.ID)
+                .setGateway(PaymentGatewayAdapter.ID)
                 .setWithdrawalProcess(e.withdrawalProcess())
                 .setSender(WalletReplenishmentProcess.shareAwareIban)
                 .setRecipient(state().getRecipient())
-                .setAmount(e.getAmount())
-                .vBuild();
+                .setAmount(e.getAmount());
+        return trusted(command);
     }
 
     /**
@@ -96,11 +103,11 @@ final class WalletWithdrawalProcess
      */
     @Command
     DebitReservedMoney on(MoneyTransferredToUser e) {
-        return DebitReservedMoney
+        var command = DebitReservedMoney
                 .newBuilder()
                 .setWallet(state().getWallet())
-                .setOperation(operationId(e.getWithdrawalProcess()))
-                .vBuild();
+                .setOperation(operationId(e.getWithdrawalProcess()));
+        return trusted(command);
     }
 
     /**
@@ -109,11 +116,11 @@ final class WalletWithdrawalProcess
      */
     @Command
     CancelMoneyReservation on(MoneyCannotBeTransferredToUser e) {
-        return CancelMoneyReservation
+        var command = CancelMoneyReservation
                 .newBuilder()
                 .setOperation(operationId(e.getWithdrawalProcess()))
-                .setWallet(state().getWallet())
-                .vBuild();
+                .setWallet(state().getWallet());
+        return trusted(command);
     }
 
     /**
@@ -122,12 +129,12 @@ final class WalletWithdrawalProcess
     @React
     MoneyWithdrawn on(ReservedMoneyDebited e) {
         setArchived(true);
-        return MoneyWithdrawn
+        var event = MoneyWithdrawn
                 .newBuilder()
                 .setWithdrawalProcess(e.withdrawalProcess())
                 .setWallet(e.getWallet())
-                .setCurrentBalance(e.getCurrentBalance())
-                .vBuild();
+                .setCurrentBalance(e.getCurrentBalance());
+        return trusted(event);
     }
 
     /**
@@ -136,10 +143,42 @@ final class WalletWithdrawalProcess
     @React
     MoneyNotWithdrawn on(MoneyReservationCanceled e) {
         setArchived(true);
-        return MoneyNotWithdrawn
+        var event = MoneyNotWithdrawn
                 .newBuilder()
-                .setWithdrawalProcess(e.withdrawalProcess())
-                .vBuild();
+                .setWithdrawalProcess(e.withdrawalProcess());
+        return trusted(event);
+    }
+
+    /**
+     * Terminates the process when the reserved money cannot be debited,
+     * as the reservation was canceled while the transfer was made.
+     *
+     * <p>The transferred money is left to the reconciliation. The failure is reported
+     * unless the process has already failed on the cancellation itself.
+     */
+    @React
+    Optional<MoneyNotWithdrawn> on(MoneyNotReserved r, DebitReservedMoney rejected) {
+        _error().log("The money of the withdrawal `%s` was transferred, " +
+                             "but the money reserved for it is gone.", r.withdrawalProcess());
+        if (isArchived()) {
+            return Optional.empty();
+        }
+        setArchived(true);
+        var event = MoneyNotWithdrawn
+                .newBuilder()
+                .setWithdrawalProcess(r.withdrawalProcess());
+        return Optional.of(trusted(event));
+    }
+
+    /**
+     * Ignores the rejected cancellation of the money reservation,
+     * as the reservation was already canceled.
+     *
+     * <p>The process ends on that cancellation itself.
+     */
+    @React
+    Optional<MoneyNotWithdrawn> on(MoneyNotReserved r, CancelMoneyReservation rejected) {
+        return Optional.empty();
     }
 
     /**
@@ -148,16 +187,16 @@ final class WalletWithdrawalProcess
     @React
     MoneyNotWithdrawn on(InsufficientFunds e) {
         setArchived(true);
-        return MoneyNotWithdrawn
+        var event = MoneyNotWithdrawn
                 .newBuilder()
-                .setWithdrawalProcess(e.withdrawalProcess())
-                .vBuild();
+                .setWithdrawalProcess(e.withdrawalProcess());
+        return trusted(event);
     }
 
     private static WithdrawalOperationId operationId(WithdrawalId withdrawal) {
-        return WithdrawalOperationId
+        var id = WithdrawalOperationId
                 .newBuilder()
-                .setWithdrawal(withdrawal)
-                .vBuild();
+                .setWithdrawal(withdrawal);
+        return trusted(id);
     }
 }
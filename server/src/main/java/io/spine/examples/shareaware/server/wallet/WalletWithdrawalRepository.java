@@ -37,6 +37,7 @@ import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
 import io.spine.examples.shareaware.wallet.event.MoneyReserved;
 import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
 import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
 import io.spine.server.procman.ProcessManagerRepository;
 import io.spine.server.route.EventRouting;
 
@@ -64,6 +65,8 @@ public final class WalletWithdrawalRepository
                       (event, context) -> withWithdrawalId(event))
                .route(InsufficientFunds.class,
                       (event, context) -> withWithdrawalId(event))
+               .route(MoneyNotReserved.class,
+                      (event, context) -> withWithdrawalId(event))
                .route(MoneyCannotBeTransferredToUser.class,
                       (event, context) -> withId(event.getWithdrawalProcess()));
     }
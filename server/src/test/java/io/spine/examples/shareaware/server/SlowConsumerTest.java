@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.examples.shareaware.server.given.RecordingSubscriptionService;
+import io.spine.examples.shareaware.server.given.SubscriberCall;
+import io.spine.examples.shareaware.server.metrics.SubscriptionMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.spine.examples.shareaware.server.given.SubscriberCall.TARGET;
+import static io.spine.examples.shareaware.server.given.SubscriberCall.subscription;
+import static io.spine.examples.shareaware.server.given.SubscriberCall.update;
+
+@DisplayName("The delivery of the subscription updates should")
+final class SlowConsumerTest {
+
+    private static final int BUFFER_CAPACITY = 2;
+
+    private final SubscriptionMetrics metrics = SubscriptionMetrics.newInstance();
+    private final SubscriberCall client = new SubscriberCall();
+    private final RecordingSubscriptionService subscriptions = new RecordingSubscriptionService();
+    private ServerCall<Subscription, SubscriptionUpdate> call;
+
+    @Test
+    @DisplayName("count the active subscriptions and the delivered updates")
+    void countSubscriptions() {
+        var listener = activate(SlowConsumerPolicy.DROP);
+        assertThat(metrics.active(TARGET)).isEqualTo(1);
+
+        client.setReady(true);
+        call.sendMessage(update("wallet-1", 1));
+        call.close(Status.OK, new Metadata());
+        listener.onComplete();
+
+        assertThat(client.received()).hasSize(1);
+        assertThat(metrics.delivered(TARGET)).isEqualTo(1);
+        assertThat(metrics.active(TARGET)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("hold the updates until the subscriber is ready")
+    void holdUpdates() {
+        var listener = activate(SlowConsumerPolicy.DROP);
+        call.sendMessage(update("wallet-1", 1));
+        call.sendMessage(update("wallet-2", 1));
+        assertThat(client.received()).isEmpty();
+
+        client.setReady(true);
+        listener.onReady();
+
+        assertThat(client.received()).containsExactly(update("wallet-1", 1),
+                                                      update("wallet-2", 1)).inOrder();
+    }
+
+    @Test
+    @DisplayName("drop the subscriber exceeding the buffer")
+    void dropSlowConsumer() {
+        activate(SlowConsumerPolicy.DROP);
+        for (var version = 1; version <= BUFFER_CAPACITY + 1; version++) {
+            call.sendMessage(update("wallet-1", version));
+        }
+
+        var status = client.closedWith();
+        assertThat(status).isNotNull();
+        assertThat(status.getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(metrics.dropped(TARGET)).isEqualTo(1);
+        assertThat(metrics.active(TARGET)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("cancel the subscription of the dropped subscriber")
+    void cancelDroppedSubscription() {
+        activate(SlowConsumerPolicy.DROP);
+        for (var version = 1; version <= BUFFER_CAPACITY + 1; version++) {
+            call.sendMessage(update("wallet-1", version));
+        }
+        assertThat(subscriptions.canceled()).containsExactly(subscription());
+
+        client.setReady(true);
+        call.sendMessage(update("wallet-1", BUFFER_CAPACITY + 2));
+        assertThat(client.received()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deliver only the latest state of the entities to the downgraded subscriber")
+    void downgradeSlowConsumer() {
+        var listener = activate(SlowConsumerPolicy.SNAPSHOT);
+        call.sendMessage(update("wallet-1", 1));
+        call.sendMessage(update("wallet-2", 1));
+        call.sendMessage(update("wallet-1", 2));
+        call.sendMessage(update("wallet-1", 3));
+
+        assertThat(client.closedWith()).isNull();
+        assertThat(metrics.downgraded(TARGET)).isEqualTo(1);
+        assertThat(subscriptions.canceled()).isEmpty();
+        client.setReady(true);
+        listener.onReady();
+        assertThat(client.received()).containsExactly(update("wallet-2", 1),
+                                                      update("wallet-1", 3)).inOrder();
+    }
+
+    @Test
+    @DisplayName("drop the downgraded subscriber if the latest states exceed the buffer")
+    void dropDowngradedConsumer() {
+        activate(SlowConsumerPolicy.SNAPSHOT);
+        for (var entity = 1; entity <= BUFFER_CAPACITY + 1; entity++) {
+            call.sendMessage(update("wallet-" + entity, 1));
+        }
+
+        assertThat(metrics.downgraded(TARGET)).isEqualTo(1);
+        assertThat(metrics.dropped(TARGET)).isEqualTo(1);
+        assertThat(client.closedWith()).isNotNull();
+    }
+
+    /**
+     * Intercepts the call of the client and activates its subscription.
+     *
+     * <p>The updates are delivered in the calling thread, so the test observes
+     * the outcome of each update right after it is sent.
+     */
+    private ServerCall.Listener<Subscription> activate(SlowConsumerPolicy policy) {
+        var limits = SubscriptionLimits.of(BUFFER_CAPACITY, policy);
+        var interceptor =
+                new OffloadingInterceptor(directExecutor(), limits, metrics, subscriptions);
+        var listener = interceptor.interceptCall(client, new Metadata(), (offloaded, headers) -> {
+            call = offloaded;
+            return new ServerCall.Listener<>() {};
+        });
+        listener.onMessage(subscription());
+        return listener;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`StartupPhases` should")
+final class StartupPhasesTest {
+
+    private static final Duration PAUSE = Duration.ofMillis(20);
+
+    @Test
+    @DisplayName("time the phases in the order of their completion")
+    void timePhases() {
+        var startup = new StartupPhases();
+
+        var result = startup.time("first", () -> {
+            sleepUninterruptibly(PAUSE);
+            return 42;
+        });
+        startup.run("second", () -> sleepUninterruptibly(PAUSE));
+
+        assertThat(result).isEqualTo(42);
+        var phases = startup.phases();
+        assertThat(phases.keySet()).containsExactly("first", "second")
+                                   .inOrder();
+        assertThat(phases.get("first")).isAtLeast(PAUSE);
+        assertThat(phases.get("second")).isAtLeast(PAUSE);
+    }
+
+    @Test
+    @DisplayName("time the phases running in parallel")
+    void timeParallelPhases() {
+        var startup = new StartupPhases();
+
+        var parallel = startup.runAsync("parallel", () -> sleepUninterruptibly(PAUSE));
+        startup.run("current", () -> sleepUninterruptibly(PAUSE));
+        parallel.join();
+
+        var phases = startup.phases();
+        assertThat(phases.keySet()).containsExactly("parallel", "current");
+        assertThat(phases.get("parallel")).isAtLeast(PAUSE);
+    }
+
+    @Test
+    @DisplayName("return the result of the phase running in parallel")
+    void supplyParallelPhase() throws Exception {
+        var startup = new StartupPhases();
+
+        var parallel = startup.supplyAsync("parallel", () -> {
+            sleepUninterruptibly(PAUSE);
+            return 42;
+        });
+
+        assertThat(StartupPhases.await(parallel)).isEqualTo(42);
+        assertThat(startup.phases()
+                          .get("parallel")).isAtLeast(PAUSE);
+    }
+
+    @Test
+    @DisplayName("wait for the phases running in parallel when ready")
+    void awaitParallelPhases() throws Exception {
+        var startup = new StartupPhases();
+
+        var parallel = startup.runAsync("parallel", () -> sleepUninterruptibly(PAUSE));
+        startup.ready();
+
+        assertThat(parallel.isDone()).isTrue();
+        assertThat(startup.phases()).containsKey("parallel");
+    }
+
+    @Test
+    @DisplayName("rethrow the failure of the phase running in parallel when ready")
+    void failParallelPhase() {
+        var startup = new StartupPhases();
+        var failure = new IOException("The port is taken.");
+
+        var parallel = startup.supplyAsync("parallel", () -> {
+            throw failure;
+        });
+
+        var thrown = assertThrows(IOException.class, startup::ready);
+        assertThat(thrown).isSameInstanceAs(failure);
+        assertThat(parallel.isCompletedExceptionally()).isTrue();
+    }
+}
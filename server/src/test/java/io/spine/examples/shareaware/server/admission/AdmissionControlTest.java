@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission;
+
+import io.spine.core.Ack;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.server.admission.given.BlockingCommandService;
+import io.spine.examples.shareaware.server.admission.given.ManualTicker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.admission.given.AdmissionTestEnv.commandOf;
+import static io.spine.examples.shareaware.server.admission.given.AdmissionTestEnv.commandWithoutActor;
+import static io.spine.examples.shareaware.server.admission.given.AdmissionTestEnv.completing;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@DisplayName("`AdmissionControl` should")
+final class AdmissionControlTest {
+
+    private static final int TIMEOUT_SECONDS = 5;
+
+    @Test
+    @DisplayName("shed the commands of a user exceeding the rate")
+    void shedOverRate() throws Exception {
+        var limits = AdmissionLimits
+                .newBuilder()
+                .setUserRate(1)
+                .setUserBurst(2)
+                .build();
+        try (var admission = AdmissionControl.of(BlockingCommandService.released(),
+                                                 limits, new ManualTicker())) {
+            var user = newUuid();
+            var first = post(admission, user);
+            var second = post(admission, user);
+            var third = post(admission, user);
+            var otherUser = post(admission, newUuid());
+
+            assertOk(first);
+            assertOk(second);
+            assertShed(third, Overload.USER_RATE_EXCEEDED);
+            assertOk(otherUser);
+            assertThat(admission.metrics()
+                                .shed(Overload.USER_RATE_EXCEEDED)).isEqualTo(1);
+            assertThat(admission.metrics()
+                                .admitted()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("shed the commands of a user having too many commands waiting")
+    void shedOverUserQueue() throws Exception {
+        var limits = AdmissionLimits
+                .newBuilder()
+                .setWorkers(2)
+                .setUserQueueCapacity(1)
+                .build();
+        var delegate = new BlockingCommandService();
+        try (var admission = AdmissionControl.of(delegate, limits)) {
+            var user = newUuid();
+            var first = post(admission, user);
+            var second = post(admission, user);
+
+            assertShed(second, Overload.USER_QUEUE_FULL);
+            delegate.release();
+            assertOk(first);
+        }
+    }
+
+    @Test
+    @DisplayName("not use up the rate of a user by the commands shed for a full queue")
+    void refundShedOverQueue() throws Exception {
+        var limits = AdmissionLimits
+                .newBuilder()
+                .setWorkers(2)
+                .setUserRate(1)
+                .setUserBurst(2)
+                .setUserQueueCapacity(1)
+                .build();
+        var delegate = new BlockingCommandService();
+        try (var admission = AdmissionControl.of(delegate, limits, new ManualTicker())) {
+            var user = newUuid();
+            var first = post(admission, user);
+            var second = post(admission, user);
+            var third = post(admission, user);
+
+            assertShed(second, Overload.USER_QUEUE_FULL);
+            assertShed(third, Overload.USER_QUEUE_FULL);
+            assertThat(admission.metrics()
+                                .shed(Overload.USER_RATE_EXCEEDED)).isEqualTo(0);
+            delegate.release();
+            assertOk(first);
+        }
+    }
+
+    @Test
+    @DisplayName("reject the commands without an actor")
+    void rejectWithoutActor() throws Exception {
+        var limits = AdmissionLimits.defaults();
+        try (var admission = AdmissionControl.of(BlockingCommandService.released(), limits)) {
+            var ack = new CompletableFuture<Ack>();
+            admission.post(commandWithoutActor(), completing(ack));
+
+            assertThat(ack.isDone()).isTrue();
+            assertThat(ack.join()
+                          .getStatus()
+                          .hasError()).isTrue();
+            assertThat(admission.metrics()
+                                .anonymous()).isEqualTo(1);
+            assertThat(admission.metrics()
+                                .admitted()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("let through the commands already admitted elsewhere")
+    void passAdmitted() throws Exception {
+        var limits = AdmissionLimits
+                .newBuilder()
+                .setUserRate(1)
+                .setUserBurst(1)
+                .build();
+        try (var admission = AdmissionControl.of(BlockingCommandService.released(),
+                                                 limits, () -> true)) {
+            var user = newUuid();
+            var first = post(admission, user);
+            var second = post(admission, user);
+
+            assertOk(first);
+            assertOk(second);
+            assertThat(admission.metrics()
+                                .shed()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("shed the commands when the intake queue is full")
+    void shedOverIntakeQueue() throws Exception {
+        var limits = AdmissionLimits
+                .newBuilder()
+                .setWorkers(1)
+                .setQueueCapacity(1)
+                .build();
+        var delegate = new BlockingCommandService();
+        try (var admission = AdmissionControl.of(delegate, limits)) {
+            var handled = post(admission, newUuid());
+            var queued = post(admission, newUuid());
+            var rejected = post(admission, newUuid());
+
+            assertShed(rejected, Overload.INTAKE_QUEUE_FULL);
+            var metrics = admission.metrics();
+            assertThat(metrics.queueDepth()).isEqualTo(1);
+            assertThat(metrics.peakQueueDepth()).isEqualTo(1);
+            assertThat(metrics.shed()).isEqualTo(1);
+
+            delegate.release();
+            assertOk(handled);
+            assertOk(queued);
+        }
+    }
+
+    private static CompletableFuture<Ack> post(AdmissionControl admission,
+                                               UserId user) {
+        var ack = new CompletableFuture<Ack>();
+        admission.post(commandOf(user), completing(ack));
+        return ack;
+    }
+
+    private static void assertOk(CompletableFuture<Ack> ack) throws Exception {
+        assertThat(ack.get(TIMEOUT_SECONDS, SECONDS)
+                      .getStatus()
+                      .hasOk()).isTrue();
+    }
+
+    private static void assertShed(CompletableFuture<Ack> ack, Overload reason) {
+        assertThat(ack.isDone()).isTrue();
+        var status = ack.join()
+                        .getStatus();
+        assertThat(status.getError()
+                         .getType()).isEqualTo(reason.errorType());
+    }
+}
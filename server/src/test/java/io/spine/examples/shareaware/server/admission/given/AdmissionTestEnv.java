@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission.given;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.WatchlistId;
+import io.spine.examples.shareaware.watchlist.command.CreateWatchlist;
+import io.spine.testing.core.given.GivenUserId;
+
+import java.util.concurrent.CompletableFuture;
+
+public final class AdmissionTestEnv {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private AdmissionTestEnv() {
+    }
+
+    public static Command commandOf(UserId user) {
+        var factory = ActorRequestFactory
+                .newBuilder()
+                .setActor(user)
+                .build();
+        var message = CreateWatchlist
+                .newBuilder()
+                .setWatchlist(WatchlistId.generate())
+                .setUser(user)
+                .setName("Watchlist")
+                .vBuild();
+        return factory.command()
+                      .create(message);
+    }
+
+    /**
+     * Creates a command which has no actor set in its context.
+     */
+    public static Command commandWithoutActor() {
+        var command = commandOf(GivenUserId.newUuid()).toBuilder();
+        command.getContextBuilder()
+               .getActorContextBuilder()
+               .clearActor();
+        return command.build();
+    }
+
+    /**
+     * Creates an observer which completes the returned future with the received {@code Ack}.
+     */
+    public static StreamObserver<Ack> completing(CompletableFuture<Ack> ack) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(Ack value) {
+                ack.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                ack.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                // Nothing to do.
+            }
+        };
+    }
+}
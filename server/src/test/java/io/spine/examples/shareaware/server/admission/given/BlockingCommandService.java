@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.admission.given;
+
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * A command service which accepts the commands only after being {@linkplain #release()
+ * released}, so that the commands pile up in front of it.
+ */
+public final class BlockingCommandService extends CommandServiceImplBase {
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    /**
+     * Creates a service which accepts the commands right away.
+     */
+    public static BlockingCommandService released() {
+        var service = new BlockingCommandService();
+        service.release();
+        return service;
+    }
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        awaitUninterruptibly(released);
+        var ack = Ack
+                .newBuilder()
+                .setMessageId(pack(command.getId()))
+                .setStatus(Status.newBuilder()
+                                 .setOk(Empty.getDefaultInstance()))
+                .build();
+        observer.onNext(ack);
+        observer.onCompleted();
+    }
+
+    public void release() {
+        released.countDown();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.allocation;
+
+import io.spine.examples.shareaware.server.allocation.given.AllocationMeter;
+import io.spine.examples.shareaware.server.allocation.given.HotPathContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.shareaware.server.allocation.given.AllocationBudgets.assertWithinBudget;
+
+@DisplayName("Hot paths of the Trading context should")
+final class HotPathAllocationTest {
+
+    private static final int OPERATIONS = 200;
+
+    private HotPathContext context;
+
+    @BeforeEach
+    void createContext() {
+        context = HotPathContext.newInstance();
+    }
+
+    @AfterEach
+    void closeContext() throws Exception {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("reserve money in the wallet within the allocation budget")
+    void reserveMoney() {
+        assertWithinBudget("wallet.reservation",
+                           AllocationMeter.of(context::reserveMoney, OPERATIONS));
+    }
+
+    @Test
+    @DisplayName("purchase shares within the allocation budget")
+    void purchaseShares() {
+        assertWithinBudget("purchase.saga",
+                           AllocationMeter.of(context::purchaseShare, OPERATIONS));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.allocation.given;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Checks the memory allocated by the hot paths against their recorded budgets.
+ *
+ * <p>The budgets are kept in the {@code allocation-budgets.properties} test resource
+ * as the maximum number of bytes a single operation may allocate.
+ *
+ * <p>When the {@code shareaware.allocation.record} system property is set to {@code true},
+ * the budgets are not checked. Instead, each of them is recorded as the measured value
+ * plus 20% to tolerate the differences between the JVMs and runs. The budgets should be
+ * recorded anew after an intended change of the allocations, by running:
+ *
+ * <pre>
+ * ./gradlew :server:test --tests '*AllocationTest' -Dshareaware.allocation.record=true
+ * </pre>
+ */
+public final class AllocationBudgets {
+
+    private static final String RESOURCE = "allocation-budgets.properties";
+    private static final Path SOURCE = Path.of("src", "test", "resources", RESOURCE);
+    private static final boolean RECORDING = Boolean.getBoolean("shareaware.allocation.record");
+    private static final double HEADROOM = 1.2;
+    private static final int TOP_CALL_SITES = 15;
+    private static final ImmutableList<String> HEADER = ImmutableList.of(
+            "# The maximum number of bytes allocated by a single operation of a hot path.",
+            "#",
+            "# Checked by the allocation tests of the `server` module,",
+            "# see `io.spine.examples.shareaware.server.allocation.given.AllocationBudgets`."
+    );
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private AllocationBudgets() {
+    }
+
+    /**
+     * Measures the operation and fails if it allocates more than its budget.
+     *
+     * <p>The failure message lists the call sites allocating the most.
+     *
+     * <p>Fails if the budget of the operation is not recorded, so that a new hot path
+     * is not left unchecked.
+     *
+     * @param operation
+     *         the name of the operation under which its budget is recorded
+     * @param meter
+     *         the meter of the operation
+     */
+    public static void assertWithinBudget(String operation, AllocationMeter meter) {
+        checkNotNull(operation);
+        checkNotNull(meter);
+        var allocated = meter.bytesPerOperation();
+        if (RECORDING) {
+            var budget = (long) Math.ceil(allocated * HEADROOM);
+            record(operation, budget);
+            System.out.printf("Recorded the budget of `%s`: %,d bytes per operation.%n",
+                              operation, budget);
+            return;
+        }
+        var budgets = load();
+        assertWithMessage("The allocation budget of `%s` is not recorded in `%s`.",
+                          operation, RESOURCE)
+                .that(budgets.stringPropertyNames())
+                .contains(operation);
+        var budget = Long.parseLong(budgets.getProperty(operation));
+        if (allocated > budget) {
+            var report = report(operation, allocated, budget, meter.topCallSites(TOP_CALL_SITES));
+            assertWithMessage(report).that(allocated)
+                                     .isAtMost(budget);
+        }
+    }
+
+    private static String report(String operation,
+                                 long allocated,
+                                 long budget,
+                                 List<CallSite> callSites) {
+        var report = new StringBuilder(String.format(
+                "`%s` allocates %,d bytes per operation, while its budget is %,d bytes.%n" +
+                        "The call sites allocating the most:%n",
+                operation, allocated, budget));
+        for (var site : callSites) {
+            report.append("  ")
+                  .append(site)
+                  .append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    private static Properties load() {
+        var budgets = new Properties();
+        try (InputStream stream = AllocationBudgets.class.getClassLoader()
+                                                         .getResourceAsStream(RESOURCE)) {
+            if (stream != null) {
+                budgets.load(stream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+
+    /**
+     * Writes the budget to the source of the test resource,
+     * keeping the budgets of the other operations.
+     *
+     * <p>The tests run in the directory of the module, so the source
+     * is resolved against it.
+     */
+    private static void record(String operation, long budget) {
+        Map<String, String> budgets = new TreeMap<>();
+        try {
+            if (Files.exists(SOURCE)) {
+                var recorded = new Properties();
+                try (var reader = Files.newBufferedReader(SOURCE, UTF_8)) {
+                    recorded.load(reader);
+                }
+                recorded.forEach((key, value) -> budgets.put(key.toString(), value.toString()));
+            }
+            budgets.put(operation, String.valueOf(budget));
+            List<String> lines = new ArrayList<>(HEADER);
+            lines.add("");
+            budgets.forEach((key, value) -> lines.add(key + '=' + value));
+            Files.createDirectories(SOURCE.getParent());
+            Files.write(SOURCE, lines, UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.allocation.given;
+
+import com.google.common.collect.ImmutableList;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Measures how much memory an operation allocates.
+ *
+ * <p>The allocated bytes are counted by the JVM for the current thread,
+ * so the operation must perform all its work in the thread which calls it.
+ *
+ * <p>The operation is warmed up before the measurement, so that the allocations
+ * made by the class loading and the first calls are not counted.
+ * Then it is measured in several rounds, and the smallest result is taken
+ * to leave out the occasional allocations unrelated to the operation.
+ */
+public final class AllocationMeter {
+
+    private static final int ROUNDS = 5;
+    private static final String NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final ImmutableList<String> JDK_PACKAGES =
+            ImmutableList.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final Runnable operation;
+    private final int operations;
+
+    private AllocationMeter(Runnable operation, int operations) {
+        this.operation = operation;
+        this.operations = operations;
+    }
+
+    /**
+     * Creates a meter of the given operation.
+     *
+     * @param operation
+     *         the measured operation
+     * @param operations
+     *         the number of times the operation is performed
+     *         in each round of the measurement
+     */
+    public static AllocationMeter of(Runnable operation, int operations) {
+        checkNotNull(operation);
+        checkArgument(operations > 0, "The number of operations must be positive.");
+        return new AllocationMeter(operation, operations);
+    }
+
+    /**
+     * Returns the number of bytes allocated by a single operation.
+     */
+    public long bytesPerOperation() {
+        var threads = threadBean();
+        var thread = Thread.currentThread()
+                           .getId();
+        runAll();
+        var result = Long.MAX_VALUE;
+        for (var round = 0; round < ROUNDS; round++) {
+            var before = threads.getThreadAllocatedBytes(thread);
+            runAll();
+            var allocated = threads.getThreadAllocatedBytes(thread) - before;
+            result = Math.min(result, allocated / operations);
+        }
+        return result;
+    }
+
+    /**
+     * Records the allocations of the operation with the Flight Recorder and
+     * returns the call sites which allocate the most.
+     *
+     * <p>An allocation is attributed to the first frame of its stack trace
+     * which lies outside the JDK, that is, to the code which has asked the JDK
+     * to allocate. The allocated bytes are sampled by the JVM, so the reported
+     * numbers show the proportions of the allocations rather than their exact size.
+     *
+     * @param limit
+     *         the maximum number of the returned call sites
+     */
+    public ImmutableList<CallSite> topCallSites(int limit) {
+        checkArgument(limit > 0, "The number of call sites must be positive.");
+        var thread = Thread.currentThread()
+                           .getId();
+        Map<String, Long> allocated = new HashMap<>();
+        try (var recording = new Recording()) {
+            recording.enable(NEW_TLAB)
+                     .withStackTrace();
+            recording.enable(OUTSIDE_TLAB)
+                     .withStackTrace();
+            recording.start();
+            runAll();
+            recording.stop();
+            var file = Files.createTempFile("allocations", ".jfr");
+            try {
+                recording.dump(file);
+                for (var event : RecordingFile.readAllEvents(file)) {
+                    if (isOfThread(event, thread)) {
+                        callSite(event).ifPresent(
+                                site -> allocated.merge(site, size(event), Long::sum)
+                        );
+                    }
+                }
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to record the allocations.", e);
+        }
+        return allocated.entrySet()
+                        .stream()
+                        .map(entry -> new CallSite(entry.getKey(), entry.getValue()))
+                        .sorted(comparingLong(CallSite::bytes).reversed())
+                        .limit(limit)
+                        .collect(toImmutableList());
+    }
+
+    private void runAll() {
+        for (var i = 0; i < operations; i++) {
+            operation.run();
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        checkState(threads.isThreadAllocatedMemorySupported(),
+                   "The JVM does not count the memory allocated by threads.");
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+
+    private static boolean isOfThread(RecordedEvent event, long thread) {
+        var eventThread = event.getThread();
+        return eventThread != null && eventThread.getJavaThreadId() == thread;
+    }
+
+    private static long size(RecordedEvent event) {
+        return event.getEventType()
+                    .getName()
+                    .equals(NEW_TLAB)
+               ? event.getLong("tlabSize")
+               : event.getLong("allocationSize");
+    }
+
+    private static Optional<String> callSite(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return Optional.empty();
+        }
+        return stackTrace.getFrames()
+                         .stream()
+                         .filter(RecordedFrame::isJavaFrame)
+                         .filter(frame -> !isJdk(frame))
+                         .findFirst()
+                         .map(AllocationMeter::describe);
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        var type = frame.getMethod()
+                        .getType()
+                        .getName();
+        return JDK_PACKAGES.stream()
+                           .anyMatch(type::startsWith);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return String.format("%s.%s:%d", method.getType()
+                                               .getName(),
+                             method.getName(), frame.getLineNumber());
+    }
+}
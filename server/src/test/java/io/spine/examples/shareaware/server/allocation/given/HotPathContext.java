@@ -0,0 +1,194 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.allocation.given;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Subscribe;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.money.Money;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.given.GivenWallet.createWallet;
+import static io.spine.examples.shareaware.server.given.GivenWallet.walletId;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+
+/**
+ * The Trading context performing the operations of a single user,
+ * whose allocations are measured.
+ *
+ * <p>The messages are delivered synchronously in the tests, so each operation is
+ * completed by the thread which performs it. The operations check that,
+ * so that the measurement does not miss the allocations made in other threads.
+ */
+public final class HotPathContext implements AutoCloseable {
+
+    private static final long INITIAL_BALANCE = 1_000_000;
+
+    private final UserId user = newUuid();
+    private final WalletId wallet = walletId(user);
+    private final ShareId share = ShareId.generate();
+    private final Money price = usd(1);
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(user)
+            .build();
+    private final AckChecker acks = new AckChecker();
+    private final CompletedPurchases purchases = new CompletedPurchases();
+    private final BoundedContext context;
+    private final CommandService commands;
+
+    private HotPathContext() {
+        this.context = TradingContext
+                .newBuilder()
+                .addEventDispatcher(purchases)
+                .build();
+        this.commands = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+    }
+
+    /**
+     * Creates the context with the wallet of the user replenished
+     * for all the operations to come.
+     */
+    public static HotPathContext newInstance() {
+        var result = new HotPathContext();
+        result.post(createWallet(result.wallet));
+        result.post(replenish(result.wallet, usd(INITIAL_BALANCE)));
+        return result;
+    }
+
+    /**
+     * Reserves the money in the wallet and debits the reserved money afterwards,
+     * as the processes spending the money do.
+     *
+     * <p>The reservation is debited, so that the state of the wallet does not grow
+     * with the number of the operations.
+     */
+    public void reserveMoney() {
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setPurchase(PurchaseId.generate())
+                .build();
+        post(ReserveMoney
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .setOperation(operation)
+                     .setAmount(price)
+                     .vBuild());
+        post(DebitReservedMoney
+                     .newBuilder()
+                     .setWallet(wallet)
+                     .setOperation(operation)
+                     .setAmount(price)
+                     .vBuild());
+    }
+
+    /**
+     * Purchases a single share and checks that the purchase has completed.
+     */
+    public void purchaseShare() {
+        var expected = purchases.count + 1;
+        post(PurchaseShares
+                     .newBuilder()
+                     .setPurchaseProcess(PurchaseId.generate())
+                     .setPurchaser(user)
+                     .setShare(share)
+                     .setQuantity(1)
+                     .setPrice(price)
+                     .vBuild());
+        checkState(purchases.count == expected,
+                   "The purchase has not completed in the thread which started it.");
+    }
+
+    private void post(CommandMessage message) {
+        var command = requests.command()
+                              .create(message);
+        commands.post(command, acks);
+    }
+
+    @Override
+    public void close() throws Exception {
+        context.close();
+    }
+
+    /**
+     * Counts the purchases completed in the context.
+     *
+     * <p>The purchases are performed one by one, so the counter is not synchronized.
+     */
+    private static final class CompletedPurchases extends AbstractEventSubscriber {
+
+        private long count;
+
+        @Subscribe
+        void on(SharesPurchased e) {
+            count++;
+        }
+    }
+
+    /**
+     * Fails the operation if its command is not handled.
+     */
+    private static final class AckChecker implements StreamObserver<Ack> {
+
+        @Override
+        public void onNext(Ack ack) {
+            var status = ack.getStatus();
+            checkState(!status.hasError() && !status.hasRejection(),
+                       "The command was not handled: `%s`.", ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.bulk.IbanCheck.normalize;
+import static io.spine.examples.shareaware.server.bulk.IbanCheck.problemWith;
+
+@DisplayName("`IbanCheck` should")
+final class IbanCheckTest {
+
+    @Test
+    @DisplayName("accept the IBAN with matching check digits")
+    void valid() {
+        assertThat(problemWith("GB82WEST12345698765432")).isEqualTo(Optional.empty());
+        assertThat(problemWith("DE89370400440532013000")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("find the mistyped IBAN")
+    void mistyped() {
+        assertThat(problemWith("GB82WEST12345698765433")).isPresent();
+    }
+
+    @Test
+    @DisplayName("find the IBAN of an invalid format")
+    void malformed() {
+        assertThat(problemWith("GB82")).isPresent();
+        assertThat(problemWith("8GB2WEST12345698765432")).isPresent();
+    }
+
+    @Test
+    @DisplayName("remove the spaces and upper-case the IBAN")
+    void normalizes() {
+        assertThat(normalize("gb82 west 1234 5698 7654 32")).isEqualTo("GB82WEST12345698765432");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.bulk;
+
+import io.spine.examples.shareaware.server.dedup.given.CountingCommandService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ReplenishmentImport` should")
+final class ReplenishmentImportTest {
+
+    private static final String VALID_IBAN = "GB82WEST12345698765432";
+
+    @TempDir
+    Path dir;
+
+    private CountingCommandService commands;
+    private Path input;
+    private Path results;
+
+    @BeforeEach
+    void createFiles() {
+        commands = new CountingCommandService();
+        input = dir.resolve("replenishments.csv");
+        results = dir.resolve("results.csv");
+    }
+
+    @Test
+    @DisplayName("send a command for every valid row")
+    void sendValid() throws IOException {
+        Files.write(input, List.of("owner,amount,iban",
+                                   "alice,100.50," + VALID_IBAN,
+                                   "bob,20,gb82 west 1234 5698 7654 32"));
+        var summary = importWith(1);
+
+        assertThat(commands.posted()).isEqualTo(2);
+        assertThat(summary.rows()).isEqualTo(2);
+        assertThat(summary.accepted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("not send the commands for the invalid rows")
+    void skipInvalid() throws IOException {
+        Files.write(input, List.of("alice,100," + VALID_IBAN,
+                                   "bob,100,GB82WEST12345698765433",
+                                   "carol,-5," + VALID_IBAN,
+                                   "dave,1.005," + VALID_IBAN,
+                                   "erin,100",
+                                   "",
+                                   "frank,abc," + VALID_IBAN));
+        var summary = importWith(2);
+
+        assertThat(commands.posted()).isEqualTo(1);
+        assertThat(summary.accepted()).isEqualTo(1);
+        assertThat(summary.invalid()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("report the commands acknowledged with an error as rejected")
+    void reportRejected() throws IOException {
+        Files.write(input, List.of("alice,100," + VALID_IBAN,
+                                   "bob,100," + VALID_IBAN));
+        commands.failNext(2);
+        var summary = importWith(1);
+
+        assertThat(summary.rejected()).isEqualTo(2);
+        assertThat(summary.accepted()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("write the outcomes of the rows in the order of the rows")
+    void writeResults() throws IOException {
+        Files.write(input, List.of("owner,amount,iban",
+                                   "alice,100," + VALID_IBAN,
+                                   "bob,0," + VALID_IBAN,
+                                   "carol,100," + VALID_IBAN));
+        importWith(2);
+
+        var lines = Files.readAllLines(results);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo(RowResult.HEADER);
+        assertThat(lines.get(1)).startsWith("2,ACCEPTED,");
+        assertThat(lines.get(2)).startsWith("3,INVALID,,");
+        assertThat(lines.get(3)).startsWith("4,ACCEPTED,");
+    }
+
+    private ImportSummary importWith(int batchSize) throws IOException {
+        return ReplenishmentImport
+                .newBuilder()
+                .setCommands(commands)
+                .setBatchSize(batchSize)
+                .setBatchesInFlight(2)
+                .setValidationThreads(2)
+                .build()
+                .run(input, results);
+    }
+}
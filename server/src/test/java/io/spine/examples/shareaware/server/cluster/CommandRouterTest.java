@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.spine.core.Ack;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.server.cluster.given.TestNode;
+import io.spine.testing.core.given.GivenUserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.cluster.given.TestNode.address;
+
+@DisplayName("`CommandRouter` should")
+final class CommandRouterTest {
+
+    private static final int FIRST_PORT = 4411;
+    private static final int NODES = 3;
+    private static final int USERS = 60;
+
+    private final List<TestNode> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() throws Exception {
+        var addresses = Stream.iterate(FIRST_PORT, port -> port + 1)
+                              .limit(NODES)
+                              .map(TestNode::address)
+                              .collect(ImmutableSet.toImmutableSet());
+        var ring = PartitionRing.of(addresses);
+        for (var address : addresses) {
+            nodes.add(TestNode.start(address.getPort(), ring));
+        }
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (var node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    @DisplayName("pass the commands to the owners of their actors")
+    void routeToOwner() {
+        var entry = nodes.get(0);
+        for (var user : users()) {
+            checkOk(entry.postOnBehalfOf(user));
+
+            assertThat(handlerOf(user).address()).isEqualTo(entry.partitioning()
+                                                                 .ownerOf(user));
+        }
+    }
+
+    @Test
+    @DisplayName("keep the users on their nodes and place the new users by the new ring when a node is added")
+    void rebalance() throws Exception {
+        var existingUsers = users();
+        for (var user : existingUsers) {
+            checkOk(nodes.get(0)
+                         .postOnBehalfOf(user));
+        }
+        var added = addNode();
+        for (var user : existingUsers) {
+            var previousHandler = handlerOf(user);
+            checkOk(added.postOnBehalfOf(user));
+
+            assertThat(handlerOf(user)).isSameInstanceAs(previousHandler);
+        }
+        var newUsers = users();
+        for (var user : newUsers) {
+            checkOk(nodes.get(1)
+                         .postOnBehalfOf(user));
+
+            assertThat(handlerOf(user).address()).isEqualTo(added.partitioning()
+                                                                 .ownerOf(user));
+        }
+        assertThat(newUsers.stream()
+                           .anyMatch(added::handledCommandOf)).isTrue();
+    }
+
+    @Test
+    @DisplayName("acknowledge the command with an error when the owner cannot be reached")
+    void ownerUnreachable() throws Exception {
+        var stopped = nodes.remove(NODES - 1);
+        stopped.close();
+        var entry = nodes.get(0);
+        var user = users().stream()
+                          .filter(u -> entry.partitioning()
+                                            .ownerOf(u)
+                                            .equals(stopped.address()))
+                          .findFirst()
+                          .orElseThrow();
+
+        var ack = entry.postOnBehalfOf(user);
+
+        assertThat(ack.getStatus()
+                      .hasError()).isTrue();
+    }
+
+    private TestNode addNode() throws Exception {
+        var address = address(FIRST_PORT + NODES);
+        var ring = nodes.get(0)
+                        .partitioning()
+                        .ring()
+                        .withNode(address);
+        for (var node : nodes) {
+            assertThat(node.partitioning()
+                           .rebalance(ring)).isTrue();
+        }
+        var added = TestNode.start(address.getPort(), ring);
+        nodes.add(added);
+        return added;
+    }
+
+    /**
+     * Returns the only node which has handled the commands of the given user.
+     */
+    private TestNode handlerOf(UserId user) {
+        var handlers = nodes.stream()
+                            .filter(node -> node.handledCommandOf(user))
+                            .collect(Collectors.toList());
+        assertThat(handlers).hasSize(1);
+        return handlers.get(0);
+    }
+
+    private static void checkOk(Ack ack) {
+        assertThat(ack.getStatus()
+                      .hasOk()).isTrue();
+    }
+
+    private static ImmutableList<UserId> users() {
+        return Stream.generate(GivenUserId::newUuid)
+                     .limit(USERS)
+                     .collect(ImmutableList.toImmutableList());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HostAndPort;
+import io.spine.core.UserId;
+import io.spine.testing.core.given.GivenUserId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`PartitionRing` should")
+final class PartitionRingTest {
+
+    private static final int USERS = 3_000;
+    private static final HostAndPort FIRST = HostAndPort.fromParts("localhost", 5001);
+    private static final HostAndPort SECOND = HostAndPort.fromParts("localhost", 5002);
+    private static final HostAndPort THIRD = HostAndPort.fromParts("localhost", 5003);
+
+    @Test
+    @DisplayName("require at least one node")
+    void requireNode() {
+        assertThrows(IllegalArgumentException.class, () -> PartitionRing.of(ImmutableSet.of()));
+    }
+
+    @Test
+    @DisplayName("spread the users across all the nodes")
+    void spreadUsers() {
+        var ring = PartitionRing.of(ImmutableSet.of(FIRST, SECOND, THIRD));
+        Map<HostAndPort, Integer> usersPerNode = new HashMap<>();
+        for (var user : users()) {
+            usersPerNode.merge(ring.ownerOf(user), 1, Integer::sum);
+        }
+
+        assertThat(usersPerNode.keySet()).containsExactly(FIRST, SECOND, THIRD);
+        for (var count : usersPerNode.values()) {
+            assertThat(count).isGreaterThan(USERS / 5);
+        }
+    }
+
+    @Test
+    @DisplayName("move the users only to the added node")
+    void moveUsersToAddedNode() {
+        var ring = PartitionRing.of(ImmutableSet.of(FIRST, SECOND));
+        var extended = ring.withNode(THIRD);
+        var moved = 0;
+        for (var user : users()) {
+            var owner = ring.ownerOf(user);
+            var newOwner = extended.ownerOf(user);
+            if (!owner.equals(newOwner)) {
+                assertThat(newOwner).isEqualTo(THIRD);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isGreaterThan(0);
+        assertThat(moved).isLessThan(USERS / 2);
+    }
+
+    @Test
+    @DisplayName("choose the same owner regardless of the order of the nodes")
+    void ignoreNodeOrder() {
+        var ring = PartitionRing.of(ImmutableSet.of(FIRST, SECOND, THIRD));
+        var reordered = PartitionRing.of(ImmutableSet.of(THIRD, FIRST, SECOND));
+        for (var user : users()) {
+            assertThat(reordered.ownerOf(user)).isEqualTo(ring.ownerOf(user));
+        }
+    }
+
+    private static List<UserId> users() {
+        return Stream.generate(GivenUserId::newUuid)
+                     .limit(USERS)
+                     .collect(Collectors.toList());
+    }
+}
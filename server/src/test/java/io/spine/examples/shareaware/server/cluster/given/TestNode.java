@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.cluster.given;
+
+import com.google.common.net.HostAndPort;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.core.Ack;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.WatchlistId;
+import io.spine.examples.shareaware.server.cluster.CommandRouter;
+import io.spine.examples.shareaware.server.cluster.PartitionRing;
+import io.spine.examples.shareaware.server.cluster.Partitioning;
+import io.spine.examples.shareaware.watchlist.command.CreateWatchlist;
+
+import java.io.IOException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A cluster node which routes the commands between the nodes
+ * and records the commands handled by itself.
+ *
+ * <p>Several nodes may run in a single JVM, as they do not host a Bounded Context.
+ */
+public final class TestNode implements AutoCloseable {
+
+    private static final String HOST = "localhost";
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final HostAndPort address;
+    private final Partitioning partitioning;
+    private final RecordingCommandService local = new RecordingCommandService();
+    private final CommandRouter router;
+    private final Server server;
+    private final ManagedChannel clientChannel;
+
+    private TestNode(HostAndPort address, PartitionRing ring) {
+        this.address = address;
+        this.partitioning = Partitioning.of(address, ring);
+        this.router = new CommandRouter(local, partitioning);
+        this.server = ServerBuilder
+                .forPort(address.getPort())
+                .addService(router.definition())
+                .build();
+        this.clientChannel = ManagedChannelBuilder
+                .forAddress(HOST, address.getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    /**
+     * Starts a node at the given port.
+     *
+     * @param port
+     *         the port of the node
+     * @param ring
+     *         the ring of the cluster, which must contain the node
+     */
+    public static TestNode start(int port, PartitionRing ring) throws IOException {
+        var node = new TestNode(address(port), ring);
+        node.server.start();
+        return node;
+    }
+
+    /**
+     * Returns the address of the node at the given port.
+     */
+    public static HostAndPort address(int port) {
+        return HostAndPort.fromParts(HOST, port);
+    }
+
+    public HostAndPort address() {
+        return address;
+    }
+
+    public Partitioning partitioning() {
+        return partitioning;
+    }
+
+    /**
+     * Posts a command on behalf of the given user to this node, as a client would do.
+     */
+    public Ack postOnBehalfOf(UserId user) {
+        var factory = ActorRequestFactory
+                .newBuilder()
+                .setActor(user)
+                .build();
+        var command = factory.command()
+                             .create(createWatchlist(user));
+        return CommandServiceGrpc.newBlockingStub(clientChannel)
+                                 .post(command);
+    }
+
+    /**
+     * Tells whether this node has handled a command on behalf of the given user.
+     */
+    public boolean handledCommandOf(UserId user) {
+        return local.commands()
+                    .stream()
+                    .anyMatch(command -> command.getContext()
+                                                .getActorContext()
+                                                .getActor()
+                                                .equals(user));
+    }
+
+    private static CreateWatchlist createWatchlist(UserId user) {
+        return CreateWatchlist
+                .newBuilder()
+                .setWatchlist(WatchlistId.generate())
+                .setUser(user)
+                .setName("Watchlist")
+                .vBuild();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        clientChannel.shutdown();
+        clientChannel.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+        server.shutdown();
+        server.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+        router.close();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.SaleId;
+import io.spine.examples.shareaware.investment.command.CancelSharesReservation;
+import io.spine.examples.shareaware.server.admission.given.ManualTicker;
+import io.spine.examples.shareaware.server.cluster.given.RecordingCommandService;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.investmentOf;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.moneyReserved;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.purchase;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.reservedMoneyDebited;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.sharesObtained;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.sharesReserved;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.walletOf;
+import static io.spine.examples.shareaware.server.deadline.given.DeadlineTestEnv.withdrawal;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+
+@DisplayName("`ReservationWatchdog` should")
+final class ReservationWatchdogTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    private ManualTicker ticker;
+    private RecordingCommandService commands;
+    private ReservationWatchdog watchdog;
+    private UserId owner;
+
+    @BeforeEach
+    void createWatchdog() {
+        ticker = new ManualTicker();
+        commands = new RecordingCommandService();
+        watchdog = ReservationWatchdog.manual(TIMEOUT, ticker);
+        watchdog.postThrough(commands);
+        owner = newUuid();
+    }
+
+    @AfterEach
+    void closeWatchdog() {
+        watchdog.close();
+    }
+
+    @Test
+    @DisplayName("cancel the money reservation held longer than the timeout")
+    void cancelMoneyReservation() {
+        var wallet = walletOf(owner);
+        var operation = purchase();
+        watchdog.on(moneyReserved(wallet, operation));
+        passTime(TIMEOUT.minusSeconds(1));
+        assertThat(commands.commands()).isEmpty();
+
+        passTime(Duration.ofSeconds(2));
+        assertThat(commands.commands()).hasSize(1);
+        var command = commands.commands()
+                              .get(0);
+        var cancellation = unpack(command.getMessage(), CancelMoneyReservation.class);
+        assertThat(cancellation.getWallet()).isEqualTo(wallet);
+        assertThat(cancellation.getOperation()).isEqualTo(operation);
+        assertThat(actorOf(command)).isEqualTo(owner);
+        assertThat(watchdog.metrics()
+                           .timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("not cancel the debited money reservation")
+    void notCancelDebited() {
+        var wallet = walletOf(owner);
+        var operation = purchase();
+        watchdog.on(moneyReserved(wallet, operation));
+        watchdog.on(reservedMoneyDebited(wallet, operation));
+        passTime(TIMEOUT.multipliedBy(2));
+
+        assertThat(commands.commands()).isEmpty();
+        assertThat(watchdog.metrics()
+                           .inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not watch the reservation reported after it has been debited")
+    void ignoreReservedAfterDebited() {
+        var wallet = walletOf(owner);
+        var operation = purchase();
+        watchdog.on(reservedMoneyDebited(wallet, operation));
+        watchdog.on(moneyReserved(wallet, operation));
+        passTime(TIMEOUT.multipliedBy(2));
+
+        assertThat(commands.commands()).isEmpty();
+        assertThat(watchdog.metrics()
+                           .inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not cancel the money reservation once the market has answered")
+    void notCancelAnswered() {
+        var wallet = walletOf(owner);
+        var operation = purchase();
+        watchdog.on(moneyReserved(wallet, operation));
+        watchdog.on(sharesObtained(operation));
+        passTime(TIMEOUT.multipliedBy(2));
+
+        assertThat(commands.commands()).isEmpty();
+        assertThat(watchdog.metrics()
+                           .inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not watch the money reserved by the withdrawal")
+    void ignoreWithdrawal() {
+        var wallet = walletOf(owner);
+        watchdog.on(moneyReserved(wallet, withdrawal()));
+        passTime(TIMEOUT.multipliedBy(2));
+
+        assertThat(commands.commands()).isEmpty();
+        assertThat(watchdog.metrics()
+                           .inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("cancel the expired reservation only once")
+    void cancelOnce() {
+        var wallet = walletOf(owner);
+        var operation = purchase();
+        watchdog.on(moneyReserved(wallet, operation));
+        passTime(TIMEOUT.plusSeconds(1));
+        watchdog.on(moneyReserved(wallet, operation));
+        passTime(TIMEOUT.plusSeconds(1));
+
+        assertThat(commands.commands()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("cancel the shares reservation held longer than the timeout")
+    void cancelSharesReservation() {
+        var investment = investmentOf(owner);
+        var sale = SaleId.generate();
+        watchdog.on(sharesReserved(investment, sale));
+        passTime(TIMEOUT.plusSeconds(1));
+
+        assertThat(commands.commands()).hasSize(1);
+        var cancellation = unpack(commands.commands()
+                                          .get(0)
+                                          .getMessage(), CancelSharesReservation.class);
+        assertThat(cancellation.getInvestment()).isEqualTo(investment);
+        assertThat(cancellation.getProcess()).isEqualTo(sale);
+    }
+
+    @Test
+    @DisplayName("report the reservations in flight and the age of the oldest one")
+    void reportInFlight() {
+        var wallet = walletOf(owner);
+        watchdog.on(moneyReserved(wallet, purchase()));
+        passTime(Duration.ofSeconds(10));
+        watchdog.on(moneyReserved(wallet, purchase()));
+        passTime(Duration.ofSeconds(5));
+
+        var metrics = watchdog.metrics();
+        assertThat(metrics.inFlight()).isEqualTo(2);
+        assertThat(metrics.oldestAge()).isEqualTo(Duration.ofSeconds(15));
+        assertThat(metrics.timedOut()).isEqualTo(0);
+    }
+
+    private void passTime(Duration duration) {
+        ticker.advance(duration);
+        watchdog.checkDeadlines();
+    }
+
+    private static UserId actorOf(Command command) {
+        return command.getContext()
+                      .getActorContext()
+                      .getActor();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`TimingWheel` should")
+final class TimingWheelTest {
+
+    private TimingWheel<String> wheel;
+    private List<String> expired;
+
+    @BeforeEach
+    void createWheel() {
+        wheel = new TimingWheel<>();
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("expire an item at its deadline")
+    void expireAtDeadline() {
+        wheel.schedule("item", 10);
+        wheel.advanceTo(9, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advanceTo(10, expired::add);
+        assertThat(expired).containsExactly("item");
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("expire the items far from their deadlines exactly in time")
+    void expireFarItems() {
+        var far = 64L * 64 * 64 + 17;
+        wheel.schedule("near", 70);
+        wheel.schedule("far", far);
+        wheel.advanceTo(far - 1, expired::add);
+        assertThat(expired).containsExactly("near");
+
+        wheel.advanceTo(far, expired::add);
+        assertThat(expired).containsExactly("near", "far")
+                           .inOrder();
+    }
+
+    @Test
+    @DisplayName("not expire a cancelled item")
+    void notExpireCancelled() {
+        var timeout = wheel.schedule("cancelled", 5);
+        wheel.schedule("kept", 5);
+        assertThat(wheel.cancel(timeout)).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+
+        wheel.advanceTo(5, expired::add);
+        assertThat(expired).containsExactly("kept");
+    }
+
+    @Test
+    @DisplayName("expire an item scheduled in the past on the next tick")
+    void expirePastItem() {
+        wheel.advanceTo(100, expired::add);
+        wheel.schedule("late", 50);
+        wheel.advanceTo(101, expired::add);
+
+        assertThat(expired).containsExactly("late");
+    }
+}
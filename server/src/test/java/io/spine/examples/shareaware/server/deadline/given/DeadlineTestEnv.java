@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.deadline.given;
+
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.InvestmentId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.SaleId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.event.SharesReserved;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+
+/**
+ * Provides the reservation events for testing the deadlines.
+ */
+public final class DeadlineTestEnv {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private DeadlineTestEnv() {
+    }
+
+    public static WalletId walletOf(UserId owner) {
+        return WalletId
+                .newBuilder()
+                .setOwner(owner)
+                .vBuild();
+    }
+
+    public static WithdrawalOperationId purchase() {
+        return WithdrawalOperationId
+                .newBuilder()
+                .setPurchase(PurchaseId.generate())
+                .vBuild();
+    }
+
+    public static WithdrawalOperationId withdrawal() {
+        return WithdrawalOperationId
+                .newBuilder()
+                .setWithdrawal(WithdrawalId.generate())
+                .vBuild();
+    }
+
+    public static MoneyReserved moneyReserved(WalletId wallet, WithdrawalOperationId operation) {
+        return MoneyReserved
+                .newBuilder()
+                .setWallet(wallet)
+                .setOperation(operation)
+                .setAmount(usd(100))
+                .vBuild();
+    }
+
+    public static ReservedMoneyDebited reservedMoneyDebited(WalletId wallet,
+                                                            WithdrawalOperationId operation) {
+        return ReservedMoneyDebited
+                .newBuilder()
+                .setWallet(wallet)
+                .setOperation(operation)
+                .setCurrentBalance(usd(0))
+                .vBuild();
+    }
+
+    public static SharesObtained sharesObtained(WithdrawalOperationId purchase) {
+        return SharesObtained
+                .newBuilder()
+                .setPurchaseProcess(purchase.getPurchase())
+                .setShare(ShareId.generate())
+                .setQuantity(1)
+                .vBuild();
+    }
+
+    public static InvestmentId investmentOf(UserId owner) {
+        return InvestmentId
+                .newBuilder()
+                .setOwner(owner)
+                .setShare(ShareId.generate())
+                .vBuild();
+    }
+
+    public static SharesReserved sharesReserved(InvestmentId investment, SaleId sale) {
+        return SharesReserved
+                .newBuilder()
+                .setInvestment(investment)
+                .setProcess(sale)
+                .setQuantity(1)
+                .vBuild();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.dedup;
+
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.WatchlistId;
+import io.spine.examples.shareaware.server.admission.given.ManualTicker;
+import io.spine.examples.shareaware.server.dedup.given.CountingCommandService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.dedup.given.DeduplicationTestEnv.command;
+import static io.spine.examples.shareaware.server.dedup.given.DeduplicationTestEnv.completing;
+import static io.spine.examples.shareaware.server.dedup.given.DeduplicationTestEnv.createWatchlist;
+import static io.spine.examples.shareaware.server.dedup.given.DeduplicationTestEnv.purchaseShares;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+
+@DisplayName("`CommandDeduplication` should")
+final class CommandDeduplicationTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    private static final int MAX_KEYS = 100;
+
+    private CountingCommandService delegate;
+    private ManualTicker ticker;
+    private CommandDeduplication deduplication;
+    private UserId user;
+
+    @BeforeEach
+    void createDeduplication() {
+        delegate = new CountingCommandService();
+        ticker = new ManualTicker();
+        deduplication = CommandDeduplication.of(delegate, WINDOW, MAX_KEYS, ticker);
+        user = newUuid();
+    }
+
+    @Test
+    @DisplayName("acknowledge a retried command without handling it again")
+    void skipRetriedCommand() {
+        var command = command(user, createWatchlist(user, WatchlistId.generate()));
+        var original = post(command);
+        var retry = post(command);
+
+        assertThat(delegate.posted()).isEqualTo(1);
+        assertThat(retry).isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("not start the same process twice")
+    void skipSameProcess() {
+        var purchase = PurchaseId.generate();
+        var first = command(user, purchaseShares(user, purchase));
+        var second = command(user, purchaseShares(user, purchase));
+        assertThat(post(first).getStatus()
+                              .hasOk()).isTrue();
+        var duplicate = post(second);
+
+        assertThat(delegate.posted()).isEqualTo(1);
+        assertThat(duplicate.getMessageId()).isEqualTo(pack(second.getId()));
+        assertThat(duplicate.getStatus()
+                            .hasOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("handle the different commands addressed to the same entity")
+    void handleCommandsToSameEntity() {
+        var watchlist = WatchlistId.generate();
+        post(command(user, createWatchlist(user, watchlist)));
+        post(command(user, createWatchlist(user, watchlist)));
+
+        assertThat(delegate.posted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("let a failed command be retried")
+    void retryFailedCommand() {
+        delegate.failNext(1);
+        var command = command(user, purchaseShares(user, PurchaseId.generate()));
+        var failed = post(command);
+        var retried = post(command);
+
+        assertThat(failed.getStatus()
+                         .hasError()).isTrue();
+        assertThat(retried.getStatus()
+                          .hasOk()).isTrue();
+        assertThat(delegate.posted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("forget the commands after the window")
+    void forgetOldCommands() {
+        var command = command(user, purchaseShares(user, PurchaseId.generate()));
+        post(command);
+        ticker.advance(WINDOW.plusSeconds(1));
+        post(command);
+
+        assertThat(delegate.posted()).isEqualTo(2);
+    }
+
+    private Ack post(Command command) {
+        var ack = new CompletableFuture<Ack>();
+        deduplication.post(command, completing(ack));
+        assertThat(ack.isDone()).isTrue();
+        return ack.join();
+    }
+}
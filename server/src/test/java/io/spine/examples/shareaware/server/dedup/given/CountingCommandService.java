@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.dedup.given;
+
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceImplBase;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * A command service which counts the posted commands.
+ *
+ * <p>The service may be told to fail the next commands.
+ */
+public final class CountingCommandService extends CommandServiceImplBase {
+
+    private final AtomicInteger posted = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Override
+    public void post(Command command, StreamObserver<Ack> observer) {
+        posted.incrementAndGet();
+        var status = Status.newBuilder();
+        if (failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            status.setError(io.spine.base.Error.newBuilder()
+                                               .setType("test.Failure"));
+        } else {
+            status.setOk(Empty.getDefaultInstance());
+        }
+        var ack = Ack
+                .newBuilder()
+                .setMessageId(pack(command.getId()))
+                .setStatus(status)
+                .build();
+        observer.onNext(ack);
+        observer.onCompleted();
+    }
+
+    /**
+     * Tells the service to acknowledge the given number of the next commands with an error.
+     */
+    public void failNext(int commands) {
+        failuresLeft.set(commands);
+    }
+
+    /**
+     * Returns the number of the posted commands.
+     */
+    public int posted() {
+        return posted.get();
+    }
+}
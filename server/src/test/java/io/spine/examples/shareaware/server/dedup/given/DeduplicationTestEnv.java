@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.dedup.given;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WatchlistId;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.watchlist.command.CreateWatchlist;
+
+import java.util.concurrent.CompletableFuture;
+
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+
+public final class DeduplicationTestEnv {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private DeduplicationTestEnv() {
+    }
+
+    public static Command command(UserId user, CommandMessage message) {
+        var factory = ActorRequestFactory
+                .newBuilder()
+                .setActor(user)
+                .build();
+        return factory.command()
+                      .create(message);
+    }
+
+    public static PurchaseShares purchaseShares(UserId user, PurchaseId purchase) {
+        return PurchaseShares
+                .newBuilder()
+                .setPurchaseProcess(purchase)
+                .setPurchaser(user)
+                .setShare(ShareId.generate())
+                .setQuantity(5)
+                .setPrice(usd(20))
+                .vBuild();
+    }
+
+    public static CreateWatchlist createWatchlist(UserId user, WatchlistId watchlist) {
+        return CreateWatchlist
+                .newBuilder()
+                .setWatchlist(watchlist)
+                .setUser(user)
+                .setName("Watchlist")
+                .vBuild();
+    }
+
+    /**
+     * Creates an observer which completes the returned future with the received {@code Ack}.
+     */
+    public static StreamObserver<Ack> completing(CompletableFuture<Ack> ack) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(Ack value) {
+                ack.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                ack.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                // Nothing to do.
+            }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.given;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.StringValue;
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+import io.spine.client.EntityStateUpdate;
+import io.spine.client.EntityUpdates;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.Target;
+import io.spine.client.Topic;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * The call activating a subscription, which stands for a client
+ * receiving the updates only when it is told to be ready.
+ */
+public final class SubscriberCall extends ServerCall<Subscription, SubscriptionUpdate> {
+
+    /**
+     * The type of the subscribed entities.
+     */
+    public static final String TARGET = "type.spine.io/spine_examples.shareaware.Wallet";
+
+    private static final MethodDescriptor<Subscription, SubscriptionUpdate> ACTIVATE =
+            MethodDescriptor.<Subscription, SubscriptionUpdate>newBuilder()
+                    .setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+                    .setFullMethodName("spine.client.SubscriptionService/Activate")
+                    .setRequestMarshaller(ProtoUtils.marshaller(Subscription.getDefaultInstance()))
+                    .setResponseMarshaller(
+                            ProtoUtils.marshaller(SubscriptionUpdate.getDefaultInstance()))
+                    .build();
+
+    private final List<SubscriptionUpdate> received = new ArrayList<>();
+    private boolean ready;
+    private @Nullable Status closedWith;
+
+    /**
+     * Returns the subscription to the entities of the {@linkplain #TARGET target} type.
+     */
+    public static Subscription subscription() {
+        var topic = Topic
+                .newBuilder()
+                .setTarget(Target.newBuilder()
+                                 .setType(TARGET));
+        return Subscription
+                .newBuilder()
+                .setTopic(topic)
+                .build();
+    }
+
+    /**
+     * Returns the update of the entity with the given ID to the state
+     * with the given version.
+     */
+    public static SubscriptionUpdate update(String entity, int version) {
+        var state = EntityStateUpdate
+                .newBuilder()
+                .setId(pack(StringValue.of(entity)))
+                .setState(pack(StringValue.of(entity + '-' + version)));
+        return SubscriptionUpdate
+                .newBuilder()
+                .setSubscription(subscription())
+                .setEntityUpdates(EntityUpdates.newBuilder()
+                                               .addUpdate(state))
+                .build();
+    }
+
+    /**
+     * Tells whether the client is ready to receive the updates.
+     */
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    /**
+     * Returns the updates received by the client.
+     */
+    public ImmutableList<SubscriptionUpdate> received() {
+        return ImmutableList.copyOf(received);
+    }
+
+    /**
+     * Returns the status with which the call is closed,
+     * or {@code null} if it is not closed.
+     */
+    public @Nullable Status closedWith() {
+        return closedWith;
+    }
+
+    @Override
+    public void request(int numMessages) {
+        // The requests are not limited.
+    }
+
+    @Override
+    public void sendHeaders(Metadata headers) {
+        // The headers are not checked.
+    }
+
+    @Override
+    public void sendMessage(SubscriptionUpdate message) {
+        received.add(message);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void close(Status status, Metadata trailers) {
+        closedWith = status;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+        return Attributes.EMPTY;
+    }
+
+    @Override
+    public MethodDescriptor<Subscription, SubscriptionUpdate> getMethodDescriptor() {
+        return ACTIVATE;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.given;
+
+import io.spine.examples.shareaware.LedgerChunkId;
+import io.spine.examples.shareaware.ReplenishmentOperationId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.wallet.LedgerChunkSummary;
+import io.spine.examples.shareaware.wallet.LedgerEntry;
+import io.spine.examples.shareaware.wallet.WalletLedgerChunk;
+import io.spine.examples.shareaware.wallet.WalletLedgerIndex;
+import io.spine.examples.shareaware.wallet.command.ReplenishWallet;
+import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
+
+import static io.spine.examples.shareaware.MoneyCalculator.subtract;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.DEBIT;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.RECHARGE;
+import static io.spine.examples.shareaware.wallet.LedgerEntryKind.RESERVATION;
+
+/**
+ * Provides the expected states of the wallet ledger projections.
+ *
+ * <p>The expected entries have no time set, so they are to be compared
+ * with the actual ones by the expected fields only.
+ */
+public final class WalletLedgerTestEnv {
+
+    /**
+     * Prevents instantiation of this test environment.
+     */
+    private WalletLedgerTestEnv() {
+    }
+
+    public static LedgerChunkId firstChunkOf(WalletId wallet) {
+        return LedgerChunkId
+                .newBuilder()
+                .setWallet(wallet)
+                .setNumber(0)
+                .vBuild();
+    }
+
+    public static WalletLedgerChunk firstChunkAfter(ReplenishWallet command) {
+        return WalletLedgerChunk
+                .newBuilder()
+                .setId(firstChunkOf(command.getWallet()))
+                .addEntry(rechargeBy(command))
+                .build();
+    }
+
+    public static WalletLedgerChunk firstChunkAfter(ReplenishWallet replenishment,
+                                                    WithdrawMoney withdrawal) {
+        var balance = subtract(replenishment.getMoneyAmount(), withdrawal.getAmount());
+        var operation = WithdrawalOperationId
+                .newBuilder()
+                .setWithdrawal(withdrawal.getWithdrawalProcess())
+                .build();
+        var reservation = LedgerEntry
+                .newBuilder()
+                .setWithdrawal(operation)
+                .setKind(RESERVATION)
+                .setAmount(withdrawal.getAmount())
+                .setBalance(balance)
+                .build();
+        var debit = LedgerEntry
+                .newBuilder()
+                .setWithdrawal(operation)
+                .setKind(DEBIT)
+                .setAmount(withdrawal.getAmount())
+                .setBalance(balance)
+                .build();
+        return WalletLedgerChunk
+                .newBuilder()
+                .setId(firstChunkOf(replenishment.getWallet()))
+                .addEntry(rechargeBy(replenishment))
+                .addEntry(reservation)
+                .addEntry(debit)
+                .build();
+    }
+
+    public static WalletLedgerIndex indexWithFirstChunkOf(WalletId wallet, int entries) {
+        var chunk = LedgerChunkSummary
+                .newBuilder()
+                .setNumber(0)
+                .setEntries(entries)
+                .build();
+        return WalletLedgerIndex
+                .newBuilder()
+                .setId(wallet)
+                .addChunk(chunk)
+                .build();
+    }
+
+    private static LedgerEntry rechargeBy(ReplenishWallet command) {
+        var operation = ReplenishmentOperationId
+                .newBuilder()
+                .setReplenishment(command.getReplenishment())
+                .build();
+        return LedgerEntry
+                .newBuilder()
+                .setReplenishment(operation)
+                .setKind(RECHARGE)
+                .setAmount(command.getMoneyAmount())
+                .setBalance(command.getMoneyAmount())
+                .build();
+    }
+}
@@ -28,6 +28,8 @@ package io.spine.examples.shareaware.server.given;
 
 import io.spine.examples.shareaware.server.wallet.WalletAggregate;
 import io.spine.examples.shareaware.server.wallet.WalletBalanceRepository;
+import io.spine.examples.shareaware.server.wallet.WalletLedgerChunkRepository;
+import io.spine.examples.shareaware.server.wallet.WalletLedgerIndexRepository;
 import io.spine.examples.shareaware.server.wallet.WalletReplenishmentRepository;
 import io.spine.examples.shareaware.server.wallet.WalletWithdrawalRepository;
 import io.spine.examples.shareaware.server.watchlist.UserWatchlistsRepository;
@@ -50,7 +52,7 @@ public final class WalletTestContext {
      * Creates the {@link BoundedContextBuilder} for testing
      * the wallet withdrawal/replenishment flow.
      *
-     * <p>Replaces {@code PaymentGatewayProcess} on {@code RejectingPaymentProcess}
+     * <p>Replaces {@code PaymentGatewayAdapter} on {@code RejectingPaymentProcess}
      * for rejection control.
      */
     public static BoundedContextBuilder newBuilder() {
@@ -62,6 +64,8 @@ public final class WalletTestContext {
                 .add(new WalletWithdrawalRepository())
                 .add(new WalletReplenishmentRepository())
                 .add(new WalletBalanceRepository())
+                .add(new WalletLedgerChunkRepository())
+                .add(new WalletLedgerIndexRepository())
                 .add(new UserWatchlistsRepository());
     }
 }
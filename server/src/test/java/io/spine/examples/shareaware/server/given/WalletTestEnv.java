@@ -9,7 +9,7 @@ import io.spine.examples.shareaware.given.GivenMoney;
 import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyFromUser;
 import io.spine.examples.shareaware.paymentgateway.command.TransferMoneyToUser;
 import io.spine.examples.shareaware.paymentgateway.event.MoneyTransferredToUser;
-import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayProcess;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
 import io.spine.examples.shareaware.wallet.Iban;
 import io.spine.examples.shareaware.wallet.Wallet;
 import io.spine.examples.shareaware.wallet.WalletBalance;
@@ -31,6 +31,7 @@ import io.spine.examples.shareaware.wallet.event.WalletCreated;
 import io.spine.examples.shareaware.wallet.event.WalletNotReplenished;
 import io.spine.examples.shareaware.wallet.event.WalletReplenished;
 import io.spine.examples.shareaware.wallet.rejection.Rejections.InsufficientFunds;
+import io.spine.examples.shareaware.wallet.rejection.Rejections.MoneyNotReserved;
 import io.spine.money.Currency;
 import io.spine.money.Money;
 import io.spine.testing.server.blackbox.BlackBoxContext;
@@ -52,7 +53,7 @@ public final class WalletTestEnv {
     /**
      * Generates {@code ReplenishWallet} command.
      */
-    private static ReplenishWallet replenish(WalletId wallet, Money amount) {
+    public static ReplenishWallet replenish(WalletId wallet, Money amount) {
         var replenishment = ReplenishmentId.generate();
         return ReplenishWallet
                 .newBuilder()
@@ -89,6 +90,7 @@ public final class WalletTestEnv {
                 .setWallet(wallet)
                 .setCurrentBalance(command.getMoneyAmount())
                 .setOperation(operationId(command))
+                .setAmount(command.getMoneyAmount())
                 .vBuild();
     }
 
@@ -118,7 +120,7 @@ public final class WalletTestEnv {
                                                                 Iban recipient) {
         return TransferMoneyFromUser
                 .newBuilder()
-                .setGateway(PaymentGatewayProcess.ID)
+                .setGateway(PaymentGatewayAdapter.ID)
                 .setReplenishmentProcess(command.getReplenishment())
                 .setAmount(command.getMoneyAmount())
                 .setSender(command.getIban())
@@ -188,15 +190,17 @@ public final class WalletTestEnv {
                 .setOperation(operationId(command.getWithdrawalProcess()))
                 .setWallet(wallet.getId())
                 .setCurrentBalance(reducedBalance)
+                .setDebited(command.getAmount())
                 .vBuild();
     }
 
-    public static MoneyReserved moneyReservedBy(WithdrawMoney command) {
+    public static MoneyReserved moneyReservedBy(WithdrawMoney command, Wallet wallet) {
         return MoneyReserved
                 .newBuilder()
                 .setOperation(operationId(command.getWithdrawalProcess()))
                 .setWallet(command.getWallet())
                 .setAmount(command.getAmount())
+                .setCurrentBalance(subtract(wallet.getBalance(), command.getAmount()))
                 .vBuild();
     }
 
@@ -209,11 +213,14 @@ public final class WalletTestEnv {
                 .vBuild();
     }
 
-    public static MoneyReservationCanceled moneyReservationCanceledBy(WithdrawMoney command) {
+    public static MoneyReservationCanceled
+    moneyReservationCanceledBy(WithdrawMoney command, Wallet wallet) {
         return MoneyReservationCanceled
                 .newBuilder()
                 .setWallet(command.getWallet())
                 .setOperation(operationId(command.getWithdrawalProcess()))
+                .setAmount(command.getAmount())
+                .setCurrentBalance(wallet.getBalance())
                 .vBuild();
     }
 
@@ -240,7 +247,7 @@ public final class WalletTestEnv {
         return TransferMoneyToUser
                 .newBuilder()
                 .setWithdrawalProcess(command.getWithdrawalProcess())
-                .setGateway(PaymentGatewayProcess.ID)
+                .setGateway(PaymentGatewayAdapter.ID)
                 .setSender(sender)
                 .setRecipient(command.getRecipient())
                 .setAmount(command.getAmount())
@@ -280,10 +287,18 @@ public final class WalletTestEnv {
                 .vBuild();
     }
 
+    public static MoneyNotReserved moneyNotReservedBy(WithdrawMoney command) {
+        return MoneyNotReserved
+                .newBuilder()
+                .setWallet(command.getWallet())
+                .setOperation(operationId(command.getWithdrawalProcess()))
+                .vBuild();
+    }
+
     public static MoneyTransferredToUser moneyTransferredToUserBy(WithdrawMoney command) {
         return MoneyTransferredToUser
                 .newBuilder()
-                .setGetaway(PaymentGatewayProcess.ID)
+                .setGetaway(PaymentGatewayAdapter.ID)
                 .setWithdrawalProcess(command.getWithdrawalProcess())
                 .setAmount(command.getAmount())
                 .vBuild();
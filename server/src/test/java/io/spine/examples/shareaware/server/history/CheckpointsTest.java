@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.protobuf.util.Timestamps.fromSeconds;
+import static io.spine.examples.shareaware.server.history.Checkpoints.CHECKPOINTS_PER_CHUNK;
+import static io.spine.examples.shareaware.server.history.Checkpoints.INTERVAL;
+import static io.spine.examples.shareaware.server.history.Checkpoints.chunkCount;
+import static io.spine.examples.shareaware.server.history.Checkpoints.chunkNumber;
+import static io.spine.examples.shareaware.server.history.Checkpoints.isCheckpoint;
+import static io.spine.examples.shareaware.server.history.Checkpoints.latestAt;
+
+@DisplayName("`Checkpoints` should")
+final class CheckpointsTest {
+
+    private static final ImmutableList<Timestamp> checkpoints =
+            ImmutableList.of(fromSeconds(10), fromSeconds(20), fromSeconds(30));
+
+    private static final ImmutableList<ImmutableList<Timestamp>> chunks =
+            ImmutableList.of(ImmutableList.of(fromSeconds(10), fromSeconds(20)),
+                             ImmutableList.of(fromSeconds(30), fromSeconds(40)),
+                             ImmutableList.of(fromSeconds(50)));
+
+    @Test
+    @DisplayName("record the first version and every interval after it")
+    void versions() {
+        assertThat(isCheckpoint(1)).isTrue();
+        assertThat(isCheckpoint(2)).isFalse();
+        assertThat(isCheckpoint(INTERVAL)).isFalse();
+        assertThat(isCheckpoint(INTERVAL + 1)).isTrue();
+        assertThat(isCheckpoint(2 * INTERVAL + 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("find the latest checkpoint recorded not later than the given time")
+    void latest() {
+        assertThat(latestAt(checkpoints, Function.identity(), fromSeconds(10)))
+                .isEqualTo(Optional.of(fromSeconds(10)));
+        assertThat(latestAt(checkpoints, Function.identity(), fromSeconds(25)))
+                .isEqualTo(Optional.of(fromSeconds(20)));
+        assertThat(latestAt(checkpoints, Function.identity(), fromSeconds(40)))
+                .isEqualTo(Optional.of(fromSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("find nothing before the first checkpoint")
+    void beforeFirst() {
+        assertThat(latestAt(checkpoints, Function.identity(), fromSeconds(5)))
+                .isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("put a fixed number of checkpoints into a chunk")
+    void chunks() {
+        var lastInFirstChunk = (CHECKPOINTS_PER_CHUNK - 1) * INTERVAL + 1;
+        var firstInSecondChunk = CHECKPOINTS_PER_CHUNK * INTERVAL + 1;
+        assertThat(chunkNumber(1)).isEqualTo(0);
+        assertThat(chunkNumber(lastInFirstChunk)).isEqualTo(0);
+        assertThat(chunkNumber(firstInSecondChunk)).isEqualTo(1);
+        assertThat(chunkCount(0)).isEqualTo(0);
+        assertThat(chunkCount(1)).isEqualTo(1);
+        assertThat(chunkCount(firstInSecondChunk - 1)).isEqualTo(1);
+        assertThat(chunkCount(firstInSecondChunk)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("find the latest checkpoint across the chunks")
+    void latestInChunks() {
+        assertThat(latestAt(chunks.size(), chunks::get, Function.identity(), fromSeconds(5)))
+                .isEqualTo(Optional.empty());
+        assertThat(latestAt(chunks.size(), chunks::get, Function.identity(), fromSeconds(25)))
+                .isEqualTo(Optional.of(fromSeconds(20)));
+        assertThat(latestAt(chunks.size(), chunks::get, Function.identity(), fromSeconds(30)))
+                .isEqualTo(Optional.of(fromSeconds(30)));
+        assertThat(latestAt(chunks.size(), chunks::get, Function.identity(), fromSeconds(60)))
+                .isEqualTo(Optional.of(fromSeconds(50)));
+    }
+}
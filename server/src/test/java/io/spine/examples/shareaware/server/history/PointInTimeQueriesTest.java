@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.history;
+
+import io.spine.examples.shareaware.server.FreshContextTest;
+import io.spine.examples.shareaware.server.investment.given.InvestmentTestContext;
+import io.spine.server.BoundedContextBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Time.currentTime;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.given.GivenWallet.setUpWallet;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.setUpReplenishedWallet;
+import static io.spine.examples.shareaware.server.investment.given.InvestmentTestEnv.purchaseShares;
+
+@DisplayName("`PointInTimeQueries` should")
+public final class PointInTimeQueriesTest extends FreshContextTest {
+
+    private PointInTimeQueries queries;
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        var builder = InvestmentTestContext.newBuilder();
+        queries = PointInTimeQueries.registerWith(builder);
+        return builder;
+    }
+
+    @Nested
+    @DisplayName("restore the wallet")
+    class RestoreWallet {
+
+        @Test
+        @DisplayName("as it was at the given time")
+        void balance() {
+            var wallet = setUpWallet(context());
+            context().receivesCommand(replenish(wallet, usd(500)));
+            var afterFirst = currentTime();
+            context().receivesCommand(replenish(wallet, usd(300)));
+
+            var past = queries.walletAt(wallet, afterFirst)
+                              .orElseThrow();
+            var present = queries.walletAt(wallet, currentTime())
+                                 .orElseThrow();
+            assertThat(past.getBalance()).isEqualTo(usd(500));
+            assertThat(present.getBalance()).isEqualTo(usd(800));
+        }
+
+        @Test
+        @DisplayName("replaying the events after the nearest checkpoint")
+        void afterCheckpoint() {
+            var wallet = setUpWallet(context());
+            var replenishments = Checkpoints.INTERVAL + 8;
+            var queried = Checkpoints.INTERVAL + 3;
+            var queryTime = currentTime();
+            for (var i = 1; i <= replenishments; i++) {
+                context().receivesCommand(replenish(wallet, usd(1)));
+                if (i == queried) {
+                    queryTime = currentTime();
+                }
+            }
+
+            var past = queries.walletAt(wallet, queryTime)
+                              .orElseThrow();
+            assertThat(past.getBalance()).isEqualTo(usd(queried));
+        }
+
+        @Test
+        @DisplayName("only if it existed at the given time")
+        void beforeCreation() {
+            var beforeCreation = currentTime();
+            var wallet = setUpWallet(context());
+
+            assertThat(queries.walletAt(wallet, beforeCreation)
+                              .isPresent()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("restore the holdings")
+    class RestoreHoldings {
+
+        @Test
+        @DisplayName("as they were at the given time")
+        void holdings() {
+            var wallet = setUpReplenishedWallet(context());
+            var user = wallet.getId()
+                             .getOwner();
+            var beforePurchase = currentTime();
+            var purchase = purchaseShares(wallet);
+            context().receivesCommand(purchase);
+
+            assertThat(queries.holdingsAt(user, beforePurchase)).isEmpty();
+            var present = queries.holdingsAt(user, currentTime());
+            assertThat(present).hasSize(1);
+            assertThat(present.get(0)
+                              .getSharesAvailable()).isEqualTo(purchase.getQuantity());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.server.FreshContextTest;
+import io.spine.examples.shareaware.server.investment.given.InvestmentTestContext;
+import io.spine.examples.shareaware.server.investment.given.RejectingMarket;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.server.BoundedContextBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.shareaware.server.given.GivenWallet.setUpWallet;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.setUpReplenishedWallet;
+import static io.spine.examples.shareaware.server.investment.PurchaseFlow.LOW_LATENCY;
+import static io.spine.examples.shareaware.server.investment.given.InvestmentTestEnv.*;
+
+@DisplayName("`LowLatencySharesPurchase` should")
+public final class LowLatencySharesPurchaseTest extends FreshContextTest {
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        return InvestmentTestContext.newBuilder(LOW_LATENCY);
+    }
+
+    @Test
+    @DisplayName("add shares and debit the reserved money after the shares were obtained")
+    void addSharesAndDebitMoney() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseShares(wallet);
+        var addShares = addSharesWith(command);
+        var debitMoney = debitReservedMoneyWith(command);
+        context().receivesCommand(command);
+
+        context().assertCommands()
+                 .withType(AddShares.class)
+                 .message(0)
+                 .isEqualTo(addShares);
+        context().assertCommands()
+                 .withType(DebitReservedMoney.class)
+                 .message(0)
+                 .isEqualTo(debitMoney);
+    }
+
+    @Test
+    @DisplayName("emit the `SharesPurchased` event")
+    void sharesPurchased() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseShares(wallet);
+        var expected = sharesPurchasedAsResultOf(command);
+        context().receivesCommand(command);
+
+        context().assertEvent(expected);
+    }
+
+    @Test
+    @DisplayName("change the wallet and the investment as the standard purchase does")
+    void walletAndInvestment() {
+        var wallet = setUpReplenishedWallet(context());
+        var share = ShareId.generate();
+        var firstPurchase = purchaseShares(wallet, share);
+        var secondPurchase = purchaseShares(wallet, share);
+        var expectedWallet = walletAfter(firstPurchase, secondPurchase, wallet);
+        var expectedInvestment = investmentAfter(firstPurchase, secondPurchase);
+        context().receivesCommands(firstPurchase, secondPurchase);
+
+        context().assertState(wallet.getId(), expectedWallet);
+        context().assertState(expectedInvestment.getId(), expectedInvestment);
+    }
+
+    @Test
+    @DisplayName("emit the `SharesPurchaseFailed` event when insufficient funds in the wallet")
+    void insufficientFunds() {
+        var walletId = setUpWallet(context());
+        var command = purchaseShares(walletId);
+        var expected = sharesPurchaseFailedAsResultOf(command);
+        context().receivesCommand(command);
+
+        context().assertEvent(expected);
+    }
+
+    @Test
+    @DisplayName("cancel the money reservation after error in the Shares Market")
+    void cancelMoneyReservation() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseShares(wallet);
+        var expectedCommand = cancelMoneyReservationAfter(command);
+        var expectedEvent = sharesPurchaseFailedAsResultOf(command);
+        RejectingMarket.switchToRejectionMode();
+        context().receivesCommand(command);
+
+        context().assertCommands()
+                 .withType(CancelMoneyReservation.class)
+                 .message(0)
+                 .isEqualTo(expectedCommand);
+        context().assertEvent(expectedEvent);
+        RejectingMarket.switchToEventsMode();
+    }
+}
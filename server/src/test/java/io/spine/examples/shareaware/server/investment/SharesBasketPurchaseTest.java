@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment;
+
+import io.spine.examples.shareaware.investment.command.AddShares;
+import io.spine.examples.shareaware.investment.event.BasketPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.BasketPurchased;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.server.FreshContextTest;
+import io.spine.examples.shareaware.server.investment.given.InvestmentTestContext;
+import io.spine.examples.shareaware.server.investment.given.RejectingMarket;
+import io.spine.examples.shareaware.wallet.command.CancelMoneyReservation;
+import io.spine.examples.shareaware.wallet.command.DebitReservedMoney;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.server.BoundedContextBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.shareaware.server.given.GivenWallet.setUpWallet;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.setUpReplenishedWallet;
+import static io.spine.examples.shareaware.server.investment.given.BasketPurchaseTestEnv.*;
+
+@DisplayName("`SharesBasketPurchase` should")
+public final class SharesBasketPurchaseTest extends FreshContextTest {
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        return InvestmentTestContext.newBuilder();
+    }
+
+    @AfterEach
+    void resetMarket() {
+        RejectingMarket.switchToEventsMode();
+    }
+
+    @Test
+    @DisplayName("reserve money for the whole basket once")
+    void reserveMoneyOnce() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        var expected = reserveMoneyInitiatedBy(command);
+        context().receivesCommand(command);
+
+        var reservations = context().assertCommands()
+                                    .withType(ReserveMoney.class);
+        reservations.hasSize(1);
+        reservations.message(0)
+                    .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("obtain each share of the basket from the market")
+    void obtainEachShare() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        context().receivesCommand(command);
+
+        context().assertCommands()
+                 .withType(ObtainShares.class)
+                 .hasSize(command.getItemCount());
+    }
+
+    @Test
+    @DisplayName("add the shares to the investments")
+    void addShares() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        context().receivesCommand(command);
+
+        for (var item : command.getItemList()) {
+            var expected = investmentAfter(command, item);
+            context().assertState(expected.getId(), expected);
+        }
+    }
+
+    @Test
+    @DisplayName("debit the money for the whole basket once")
+    void debitMoneyOnce() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        var expected = walletAfter(command, wallet, item -> true);
+        context().receivesCommand(command);
+
+        context().assertCommands()
+                 .withType(DebitReservedMoney.class)
+                 .hasSize(1);
+        context().assertState(wallet.getId(), expected);
+    }
+
+    @Test
+    @DisplayName("debit only the money for the purchased shares and report the failed ones")
+    void reportFailedShares() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        var rejected = firstShareOf(command);
+        var expectedWallet = walletAfter(command, wallet,
+                                         item -> !item.getShare()
+                                                      .equals(rejected));
+        var expectedEvent = basketPurchasedWithout(rejected, command);
+        RejectingMarket.rejectShare(rejected);
+        context().receivesCommand(command);
+
+        context().assertState(wallet.getId(), expectedWallet);
+        context().assertEvents()
+                 .withType(BasketPurchased.class)
+                 .message(0)
+                 .ignoringRepeatedFieldOrder()
+                 .isEqualTo(expectedEvent);
+    }
+
+    @Test
+    @DisplayName("cancel the money reservation when no shares were obtained")
+    void cancelReservation() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        var expected = basketPurchaseFailedAsResultOf(command);
+        RejectingMarket.switchToRejectionMode();
+        context().receivesCommand(command);
+
+        context().assertCommands()
+                 .withType(CancelMoneyReservation.class)
+                 .hasSize(1);
+        context().assertState(wallet.getId(), wallet);
+        context().assertEvents()
+                 .withType(BasketPurchaseFailed.class)
+                 .message(0)
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("add no shares obtained after the money reservation is canceled")
+    void ignoreSharesObtainedAfterCancellation() {
+        var wallet = setUpReplenishedWallet(context());
+        var command = purchaseBasket(wallet);
+        RejectingMarket.switchToRejectionMode();
+        context().receivesCommand(command);
+        var request = RejectingMarket.lastObtainRequest();
+        RejectingMarket.switchToEventsMode();
+        context().receivesEvent(sharesObtainedBy(request));
+
+        context().assertCommands()
+                 .withType(AddShares.class)
+                 .hasSize(0);
+        context().assertCommands()
+                 .withType(DebitReservedMoney.class)
+                 .hasSize(0);
+        context().assertState(wallet.getId(), wallet);
+    }
+
+    @Test
+    @DisplayName("fail when there are insufficient funds in the wallet")
+    void insufficientFunds() {
+        var wallet = setUpWallet(context());
+        var command = purchaseBasket(wallet);
+        var expected = basketPurchaseFailedAsResultOf(command);
+        context().receivesCommand(command);
+
+        context().assertEvents()
+                 .withType(BasketPurchaseFailed.class)
+                 .message(0)
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expected);
+    }
+}
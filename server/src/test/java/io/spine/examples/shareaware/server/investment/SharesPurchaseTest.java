@@ -74,7 +74,7 @@ public final class SharesPurchaseTest extends FreshContextTest {
         void moneyReserved() {
             var wallet = setUpReplenishedWallet(context());
             var command = purchaseShares(wallet);
-            var expected = moneyReservedBy(command);
+            var expected = moneyReservedBy(command, wallet);
             context().receivesCommand(command);
 
             context().assertEvent(expected);
@@ -107,7 +107,7 @@ public final class SharesPurchaseTest extends FreshContextTest {
         void reservationCanceled() {
             var wallet = setUpReplenishedWallet(context());
             var command = purchaseShares(wallet);
-            var expected = moneyReservationCanceledAfter(command);
+            var expected = moneyReservationCanceledAfter(command, wallet);
             RejectingMarket.switchToRejectionMode();
             context().receivesCommand(command);
 
@@ -268,6 +268,25 @@ public final class SharesPurchaseTest extends FreshContextTest {
             context().assertEvent(expected);
             RejectingMarket.switchToEventsMode();
         }
+
+        @Test
+        @DisplayName("which adds no shares obtained after the reservation is canceled")
+        void ignoreSharesObtainedAfterCancellation() {
+            var wallet = setUpReplenishedWallet(context());
+            var command = purchaseShares(wallet);
+            RejectingMarket.switchToRejectionMode();
+            context().receivesCommand(command);
+            RejectingMarket.switchToEventsMode();
+            context().receivesEvent(sharesObtainedBy(command));
+
+            context().assertCommands()
+                     .withType(AddShares.class)
+                     .hasSize(0);
+            context().assertCommands()
+                     .withType(DebitReservedMoney.class)
+                     .hasSize(0);
+            context().assertState(wallet.getId(), wallet);
+        }
     }
 
     @Test
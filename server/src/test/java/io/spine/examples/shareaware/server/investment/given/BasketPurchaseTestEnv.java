@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.investment.given;
+
+import io.spine.examples.shareaware.BasketId;
+import io.spine.examples.shareaware.MoneyCalculator;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.investment.BasketItem;
+import io.spine.examples.shareaware.investment.BasketItemOutcome;
+import io.spine.examples.shareaware.investment.Investment;
+import io.spine.examples.shareaware.investment.command.PurchaseBasket;
+import io.spine.examples.shareaware.investment.event.BasketPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.BasketPurchased;
+import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
+import io.spine.examples.shareaware.wallet.Wallet;
+import io.spine.examples.shareaware.wallet.command.ReserveMoney;
+import io.spine.money.Money;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.examples.shareaware.MoneyCalculator.subtract;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.investment.given.InvestmentTestEnv.investmentId;
+
+public final class BasketPurchaseTestEnv {
+
+    private static final int ITEMS_IN_BASKET = 3;
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private BasketPurchaseTestEnv() {
+    }
+
+    public static PurchaseBasket purchaseBasket(Wallet wallet) {
+        return purchaseBasket(wallet.getId());
+    }
+
+    public static PurchaseBasket purchaseBasket(WalletId wallet) {
+        var command = PurchaseBasket
+                .newBuilder()
+                .setBasketProcess(BasketId.generate())
+                .setPurchaser(wallet.getOwner());
+        for (var i = 0; i < ITEMS_IN_BASKET; i++) {
+            command.addItem(basketItem());
+        }
+        return command.vBuild();
+    }
+
+    private static BasketItem basketItem() {
+        return BasketItem
+                .newBuilder()
+                .setShare(ShareId.generate())
+                .setQuantity(2)
+                .setPrice(usd(20))
+                .vBuild();
+    }
+
+    public static ShareId firstShareOf(PurchaseBasket command) {
+        return command.getItem(0)
+                      .getShare();
+    }
+
+    public static ReserveMoney reserveMoneyInitiatedBy(PurchaseBasket command) {
+        return ReserveMoney
+                .newBuilder()
+                .setWallet(walletId(command))
+                .setOperation(operationId(command))
+                .setAmount(costOf(command.getItemList()))
+                .vBuild();
+    }
+
+    /**
+     * Returns the wallet state after the purchase of the basket items
+     * which match the given predicate.
+     */
+    public static Wallet walletAfter(PurchaseBasket command,
+                                     Wallet wallet,
+                                     Predicate<BasketItem> purchased) {
+        var purchasedItems = command.getItemList()
+                                    .stream()
+                                    .filter(purchased)
+                                    .collect(toImmutableList());
+        var newBalance = purchasedItems.isEmpty()
+                         ? wallet.getBalance()
+                         : subtract(wallet.getBalance(), costOf(purchasedItems));
+        return wallet
+                .toBuilder()
+                .setBalance(newBalance)
+                .vBuild();
+    }
+
+    public static Investment investmentAfter(PurchaseBasket command, BasketItem item) {
+        return Investment
+                .newBuilder()
+                .setId(investmentId(command.getPurchaser(), item.getShare()))
+                .setSharesAvailable(item.getQuantity())
+                .vBuild();
+    }
+
+    public static BasketItemOutcome outcomeOf(BasketItem item, boolean purchased) {
+        return BasketItemOutcome
+                .newBuilder()
+                .setShare(item.getShare())
+                .setQuantity(item.getQuantity())
+                .setPurchased(purchased)
+                .setSharesAvailable(purchased ? item.getQuantity() : 0)
+                .vBuild();
+    }
+
+    public static BasketPurchased basketPurchasedWithout(ShareId rejected,
+                                                         PurchaseBasket command) {
+        var outcomes = command
+                .getItemList()
+                .stream()
+                .map(item -> outcomeOf(item, !item.getShare()
+                                                  .equals(rejected)))
+                .collect(toImmutableList());
+        return BasketPurchased
+                .newBuilder()
+                .setBasketProcess(command.getBasketProcess())
+                .setPurchaser(command.getPurchaser())
+                .addAllOutcome(outcomes)
+                .vBuild();
+    }
+
+    /**
+     * Returns the event of the market answering the given request late.
+     */
+    public static SharesObtained sharesObtainedBy(ObtainShares request) {
+        return SharesObtained
+                .newBuilder()
+                .setMarket(request.getMarket())
+                .setPurchaseProcess(request.getPurchase())
+                .setShare(request.getShare())
+                .setQuantity(request.getQuantity())
+                .setBasket(request.getBasket())
+                .vBuild();
+    }
+
+    public static BasketPurchaseFailed basketPurchaseFailedAsResultOf(PurchaseBasket command) {
+        return BasketPurchaseFailed
+                .newBuilder()
+                .setBasketProcess(command.getBasketProcess())
+                .setPurchaser(command.getPurchaser())
+                .vBuild();
+    }
+
+    private static Money costOf(Collection<BasketItem> items) {
+        return items.stream()
+                    .map(BasketItem::totalCost)
+                    .reduce(MoneyCalculator::sum)
+                    .orElseThrow();
+    }
+
+    private static WithdrawalOperationId operationId(PurchaseBasket command) {
+        return WithdrawalOperationId
+                .newBuilder()
+                .setBasket(command.getBasketProcess())
+                .vBuild();
+    }
+
+    private static WalletId walletId(PurchaseBasket command) {
+        return WalletId
+                .newBuilder()
+                .setOwner(command.getPurchaser())
+                .vBuild();
+    }
+}
@@ -28,9 +28,10 @@ package io.spine.examples.shareaware.server.investment.given;
 
 import io.spine.examples.shareaware.server.investment.InvestmentViewRepository;
 import io.spine.examples.shareaware.server.investment.InvestmentAggregate;
-import io.spine.examples.shareaware.server.investment.SharesPurchaseRepository;
+import io.spine.examples.shareaware.server.investment.SharesBasketPurchaseRepository;
+import io.spine.examples.shareaware.server.investment.PurchaseFlow;
 import io.spine.examples.shareaware.server.investment.SharesSaleRepository;
-import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayProcess;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
 import io.spine.examples.shareaware.server.wallet.WalletAggregate;
 import io.spine.examples.shareaware.server.wallet.WalletBalanceRepository;
 import io.spine.examples.shareaware.server.wallet.WalletReplenishmentRepository;
@@ -58,18 +59,27 @@ public final class InvestmentTestContext {
      * for rejection control.
      */
     public static BoundedContextBuilder newBuilder() {
+        return newBuilder(PurchaseFlow.STANDARD);
+    }
+
+    /**
+     * Creates the {@link BoundedContextBuilder} for testing the shares purchase
+     * performed according to the given flow.
+     */
+    public static BoundedContextBuilder newBuilder(PurchaseFlow purchaseFlow) {
         return BoundedContext
                 .singleTenant(NAME)
                 .add(DefaultRepository.of(WatchlistAggregate.class))
                 .add(DefaultRepository.of(WalletAggregate.class))
                 .add(DefaultRepository.of(InvestmentAggregate.class))
-                .add(DefaultRepository.of(PaymentGatewayProcess.class))
+                .addCommandDispatcher(PaymentGatewayAdapter.newInstance())
                 .add(DefaultRepository.of(RejectingMarket.class))
                 .add(new WalletWithdrawalRepository())
                 .add(new WalletReplenishmentRepository())
                 .add(new WalletBalanceRepository())
                 .add(new UserWatchlistsRepository())
-                .add(new SharesPurchaseRepository())
+                .add(purchaseFlow.newRepository())
+                .add(new SharesBasketPurchaseRepository())
                 .add(new SharesSaleRepository())
                 .add(new InvestmentViewRepository());
     }
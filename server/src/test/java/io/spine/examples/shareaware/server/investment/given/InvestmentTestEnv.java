@@ -50,6 +50,7 @@ import io.spine.examples.shareaware.investment.event.SharesReservationCompleted;
 import io.spine.examples.shareaware.investment.event.SharesReserved;
 import io.spine.examples.shareaware.investment.rejection.Rejections.InsufficientShares;
 import io.spine.examples.shareaware.market.command.ObtainShares;
+import io.spine.examples.shareaware.market.event.SharesObtained;
 import io.spine.examples.shareaware.server.market.MarketProcess;
 import io.spine.examples.shareaware.wallet.Wallet;
 import io.spine.examples.shareaware.wallet.WalletBalance;
@@ -110,12 +111,13 @@ public final class InvestmentTestEnv {
                 .vBuild();
     }
 
-    public static MoneyReserved moneyReservedBy(PurchaseShares command) {
+    public static MoneyReserved moneyReservedBy(PurchaseShares command, Wallet wallet) {
         return MoneyReserved
                 .newBuilder()
                 .setOperation(operationId(command.getPurchaseProcess()))
                 .setWallet(walletId(command.getPurchaser()))
                 .setAmount(command.totalCost())
+                .setCurrentBalance(subtract(wallet.getBalance(), command.totalCost()))
                 .vBuild();
     }
 
@@ -127,6 +129,7 @@ public final class InvestmentTestEnv {
                 .setWallet(wallet.getId())
                 .setOperation(operationId(command.getPurchaseProcess()))
                 .setCurrentBalance(newBalance)
+                .setDebited(command.totalCost())
                 .vBuild();
     }
 
@@ -168,6 +171,16 @@ public final class InvestmentTestEnv {
                 .vBuild();
     }
 
+    public static SharesObtained sharesObtainedBy(PurchaseShares command) {
+        return SharesObtained
+                .newBuilder()
+                .setMarket(MarketProcess.ID)
+                .setPurchaseProcess(command.getPurchaseProcess())
+                .setShare(command.getShare())
+                .setQuantity(command.getQuantity())
+                .vBuild();
+    }
+
     public static AddShares addSharesWith(PurchaseShares command) {
         var purchaser = command.getPurchaser();
         var share = command.getShare();
@@ -219,11 +232,13 @@ public final class InvestmentTestEnv {
     }
 
     public static MoneyReservationCanceled
-    moneyReservationCanceledAfter(PurchaseShares command) {
+    moneyReservationCanceledAfter(PurchaseShares command, Wallet wallet) {
         return MoneyReservationCanceled
                 .newBuilder()
                 .setWallet(walletId(command.getPurchaser()))
                 .setOperation(operationId(command.getPurchaseProcess()))
+                .setAmount(command.totalCost())
+                .setCurrentBalance(wallet.getBalance())
                 .vBuild();
     }
 
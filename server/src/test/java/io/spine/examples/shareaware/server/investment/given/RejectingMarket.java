@@ -27,6 +27,7 @@
 package io.spine.examples.shareaware.server.investment.given;
 
 import io.spine.examples.shareaware.MarketId;
+import io.spine.examples.shareaware.ShareId;
 import io.spine.examples.shareaware.market.Market;
 import io.spine.examples.shareaware.market.command.ObtainShares;
 import io.spine.examples.shareaware.market.command.SellSharesOnMarket;
@@ -36,7 +37,12 @@ import io.spine.examples.shareaware.market.rejection.SharesCannotBeObtained;
 import io.spine.examples.shareaware.market.rejection.SharesCannotBeSoldOnMarket;
 import io.spine.server.command.Assign;
 import io.spine.server.procman.ProcessManager;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkState;
 import static io.spine.examples.shareaware.MoneyCalculator.multiply;
 
 /**
@@ -50,16 +56,23 @@ public class RejectingMarket
 
     private static boolean rejectionMode = false;
 
+    private static final Set<ShareId> rejectedShares = new HashSet<>();
+
+    private static @Nullable ObtainShares lastObtainRequest = null;
+
     /**
      * Emits the {@code SharesObtained} event when rejection mode is disabled
-     * otherwise throws the {@code SharesCannotBeObtained} rejection.
+     * and the share is not rejected, otherwise throws
+     * the {@code SharesCannotBeObtained} rejection.
      */
     @Assign
     SharesObtained on(ObtainShares c) throws SharesCannotBeObtained {
-        if (rejectionMode) {
+        lastObtainRequest = c;
+        if (rejectionMode || rejectedShares.contains(c.getShare())) {
             throw SharesCannotBeObtained
                     .newBuilder()
                     .setPurchaseProcess(c.getPurchase())
+                    .setBasket(c.getBasket())
                     .build();
         }
         return SharesObtained
@@ -68,6 +81,7 @@ public class RejectingMarket
                 .setPurchaseProcess(c.getPurchase())
                 .setShare(c.getShare())
                 .setQuantity(c.getQuantity())
+                .setBasket(c.getBasket())
                 .vBuild();
     }
 
@@ -104,5 +118,24 @@ public class RejectingMarket
      */
     public static void switchToEventsMode() {
         rejectionMode = false;
+        rejectedShares.clear();
+        lastObtainRequest = null;
+    }
+
+    /**
+     * Makes the {@code RejectingMarket} reject the commands to obtain the given share,
+     * while the other shares are obtained as usual.
+     */
+    public static void rejectShare(ShareId share) {
+        rejectedShares.add(share);
+    }
+
+    /**
+     * Returns the last command to obtain shares handled by the {@code RejectingMarket}
+     * since it was switched to event mode.
+     */
+    public static ObtainShares lastObtainRequest() {
+        checkState(lastObtainRequest != null, "No shares were requested from the market.");
+        return lastObtainRequest;
     }
 }
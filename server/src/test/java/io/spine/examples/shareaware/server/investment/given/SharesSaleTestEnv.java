@@ -120,6 +120,7 @@ public final class SharesSaleTestEnv {
                 .setWallet(walletId(command.getSeller()))
                 .setOperation(operationId(command.getSaleProcess()))
                 .setCurrentBalance(balance)
+                .setAmount(command.totalCost())
                 .vBuild();
     }
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.spine.examples.shareaware.server.ThreadingMode;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.server.TradingServer;
+import io.spine.examples.shareaware.server.investment.PurchaseFlow;
+import io.spine.examples.shareaware.server.load.given.LatencyRecorder;
+import io.spine.examples.shareaware.server.load.given.Purchaser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * Measures the end-to-end latency of the shares purchase
+ * in each {@linkplain PurchaseFlow purchase flow}.
+ *
+ * <p>Each purchaser buys shares one by one, waiting for the previous purchase to complete.
+ * The latency is measured from sending the {@code PurchaseShares} command till receiving
+ * the {@code SharesPurchased} event by the client.
+ *
+ * <p>The load is configured with the {@code shareaware.load.purchasers}
+ * and {@code shareaware.load.purchases} system properties.
+ */
+@Tag("load")
+@DisplayName("Shares purchase under load should")
+final class PurchaseLatencyLoadTest {
+
+    private static final String HOST = "localhost";
+    private static final int PORT = 4344;
+    private static final int PURCHASERS = Integer.getInteger("shareaware.load.purchasers", 8);
+    private static final int PURCHASES = Integer.getInteger("shareaware.load.purchases", 200);
+    private static final int WARMUP_PURCHASES = PURCHASES / 10;
+
+    @ParameterizedTest(name = "in the {0} flow")
+    @EnumSource(PurchaseFlow.class)
+    @DisplayName("complete all the purchases")
+    void completePurchases(PurchaseFlow flow) throws Exception {
+        var server = TradingServer.atPort(PORT,
+                                          TradingContext.newBuilder(flow),
+                                          ThreadingMode.PLATFORM);
+        server.start();
+        List<Purchaser> purchasers = new ArrayList<>(PURCHASERS);
+        var latencies = new LatencyRecorder(PURCHASERS * PURCHASES);
+        var executor = Executors.newFixedThreadPool(PURCHASERS);
+        try {
+            List<Callable<Void>> sessions = new ArrayList<>(PURCHASERS);
+            for (var i = 0; i < PURCHASERS; i++) {
+                var purchaser = new Purchaser(HOST, PORT);
+                purchasers.add(purchaser);
+                purchaser.prepareWallet();
+                sessions.add(() -> purchaseAll(purchaser, latencies));
+            }
+            for (var session : executor.invokeAll(sessions)) {
+                session.get();
+            }
+        } finally {
+            executor.shutdown();
+            for (var purchaser : purchasers) {
+                purchaser.close();
+            }
+            server.shutdownAndWait();
+        }
+        System.out.printf("%s purchase flow, %d purchasers: %s%n",
+                          flow, PURCHASERS, latencies.summary());
+        assertThat(latencies.count()).isEqualTo(PURCHASERS * PURCHASES);
+    }
+
+    private static Void purchaseAll(Purchaser purchaser, LatencyRecorder latencies)
+            throws Exception {
+        for (var i = 0; i < WARMUP_PURCHASES; i++) {
+            purchaser.purchase();
+        }
+        for (var i = 0; i < PURCHASES; i++) {
+            latencies.record(purchaser.purchase());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.server.reconciliation.BalanceReconciliation;
+import io.spine.examples.shareaware.server.reconciliation.Partition;
+import io.spine.examples.shareaware.server.reconciliation.ReconciliationSource;
+import io.spine.examples.shareaware.server.reconciliation.WalletHistory;
+import io.spine.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.reconciliation.given.ReconciliationTestEnv.*;
+
+/**
+ * Measures how fast the {@link BalanceReconciliation} checks a large number of wallets.
+ *
+ * <p>The wallets are generated on the fly while being read, so the test shows
+ * the cost of the reconciliation itself rather than the cost of the storage.
+ *
+ * <p>The load is configured with the {@code shareaware.load.wallets} system property.
+ */
+@Tag("load")
+@DisplayName("Balance reconciliation under load should")
+final class ReconciliationLoadTest {
+
+    private static final long WALLETS = Long.getLong("shareaware.load.wallets", 1_000_000L);
+
+    @Test
+    @DisplayName("check all the wallets")
+    void checkWallets() {
+        var report = BalanceReconciliation
+                .newBuilder()
+                .setSource(new GeneratedSource())
+                .build()
+                .run();
+
+        var seconds = report.elapsed()
+                            .toMillis() / 1_000.0;
+        System.out.printf("Reconciled %d wallets, %d events in %.1f s: %.0f wallets/s%n",
+                          report.walletsChecked(), report.eventsApplied(), seconds,
+                          report.walletsChecked() / seconds);
+        assertThat(report.walletsChecked()).isEqualTo(WALLETS);
+        assertThat(report.isClean()).isTrue();
+    }
+
+    /**
+     * Generates the consistent histories of the wallets.
+     *
+     * <p>The wallets are assigned to the partitions by their numbers.
+     */
+    private static final class GeneratedSource implements ReconciliationSource {
+
+        @Override
+        public Stream<WalletHistory> histories(Partition partition) {
+            return LongStream.iterate(partition.index(), n -> n < WALLETS,
+                                      n -> n + partition.count())
+                             .mapToObj(GeneratedSource::history);
+        }
+
+        private static WalletHistory history(long number) {
+            var wallet = walletOf(number);
+            var withdrawal = withdrawal();
+            return WalletHistory.of(wallet, Stream.of(created(wallet),
+                                                      rechargedTo(wallet, 500),
+                                                      reserved(wallet, withdrawal, 200, 300),
+                                                      debitedTo(wallet, withdrawal, 300)));
+        }
+
+        private static WalletId walletOf(long number) {
+            var owner = UserId
+                    .newBuilder()
+                    .setValue("user-" + number)
+                    .build();
+            return WalletId
+                    .newBuilder()
+                    .setOwner(owner)
+                    .build();
+        }
+
+        @Override
+        public Optional<Money> projectedBalance(WalletId wallet) {
+            return Optional.of(usd(300));
+        }
+
+        @Override
+        public boolean isLive(WithdrawalOperationId operation) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.server.load.given.OperationMix;
+import io.spine.examples.shareaware.server.load.given.SagaOperation;
+import io.spine.examples.shareaware.server.load.given.SagaOutcomes;
+import io.spine.examples.shareaware.server.load.given.SagaStats;
+import io.spine.examples.shareaware.server.load.given.SagaTrader;
+import io.spine.server.CommandService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * Measures how many purchases, sales, replenishments and withdrawals per second
+ * the Trading context completes.
+ *
+ * <p>The context runs in the same JVM, and the commands are posted to it directly,
+ * so that the measurement does not include the network. An operation counts only when
+ * its process reaches the terminal event, and its latency is measured from posting
+ * the command till this event.
+ *
+ * <p>The traders are driven by a pool of threads, each trader performs its operations
+ * one by one. The operations are picked at random according to the mix.
+ *
+ * <p>The load is configured with the following system properties:
+ * <ul>
+ *     <li>{@code shareaware.load.traders} — the number of the simulated users;</li>
+ *     <li>{@code shareaware.load.shares} — the number of the traded shares;</li>
+ *     <li>{@code shareaware.load.threads} — the number of the threads driving the traders;</li>
+ *     <li>{@code shareaware.load.operations} — the number of the operations per trader;</li>
+ *     <li>{@code shareaware.load.mix} — the {@linkplain OperationMix mix} of the operations.</li>
+ * </ul>
+ */
+@Tag("load")
+@DisplayName("Trading processes under load should")
+final class SagaThroughputLoadTest {
+
+    private static final int TRADERS = Integer.getInteger("shareaware.load.traders", 64);
+    private static final int SHARES = Integer.getInteger("shareaware.load.shares", 8);
+    private static final int THREADS = Integer.getInteger("shareaware.load.threads", 16);
+    private static final int OPERATIONS = Integer.getInteger("shareaware.load.operations", 100);
+    private static final OperationMix MIX = OperationMix.parse(
+            System.getProperty("shareaware.load.mix",
+                               "purchase=4,sale=3,replenishment=2,withdrawal=1"));
+
+    @Test
+    @DisplayName("complete all the operations")
+    void completeOperations() throws Exception {
+        var outcomes = new SagaOutcomes();
+        var context = TradingContext.newBuilder()
+                                    .addEventDispatcher(outcomes)
+                                    .build();
+        var commands = CommandService
+                .newBuilder()
+                .add(context)
+                .build();
+        ImmutableList<ShareId> shares = IntStream.range(0, SHARES)
+                                                 .mapToObj(i -> ShareId.generate())
+                                                 .collect(toImmutableList());
+        var stats = new SagaStats(TRADERS * OPERATIONS);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        try {
+            List<SagaTrader> traders = new ArrayList<>(TRADERS);
+            for (var i = 0; i < TRADERS; i++) {
+                var trader = new SagaTrader(commands, outcomes, shares);
+                trader.openWallet();
+                traders.add(trader);
+            }
+            List<Callable<Void>> drivers = new ArrayList<>(THREADS);
+            for (var thread = 0; thread < THREADS; thread++) {
+                var driven = driven(traders, thread);
+                var random = new Random(thread);
+                drivers.add(() -> operateAll(driven, random, stats));
+            }
+            var start = System.nanoTime();
+            for (var driver : executor.invokeAll(drivers)) {
+                driver.get();
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+            context.close();
+        }
+        report(stats, elapsed);
+        var failed = 0;
+        for (var operation : SagaOperation.values()) {
+            failed += stats.failed(operation);
+        }
+        assertThat(stats.completed() + failed).isEqualTo(TRADERS * OPERATIONS);
+    }
+
+    /**
+     * Returns the traders driven by the thread with the given number.
+     *
+     * <p>Each trader is driven by a single thread.
+     */
+    private static List<SagaTrader> driven(List<SagaTrader> traders, int thread) {
+        List<SagaTrader> result = new ArrayList<>();
+        for (var i = thread; i < traders.size(); i += THREADS) {
+            result.add(traders.get(i));
+        }
+        return result;
+    }
+
+    private static Void operateAll(List<SagaTrader> traders, Random random, SagaStats stats)
+            throws Exception {
+        for (var i = 0; i < OPERATIONS; i++) {
+            for (var trader : traders) {
+                trader.perform(MIX.next(random), random, stats);
+            }
+        }
+        return null;
+    }
+
+    private static void report(SagaStats stats, long elapsedNanos) {
+        var seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%d traders, %d shares, %d threads, mix %s: %.0f operations/s%n",
+                          TRADERS, SHARES, THREADS, MIX, stats.completed() / seconds);
+        for (var operation : SagaOperation.values()) {
+            System.out.printf("  %s: %.0f/s (%d failed), %s%n",
+                              operation, stats.completed(operation) / seconds,
+                              stats.failed(operation),
+                              stats.latencies(operation)
+                                   .summary());
+        }
+    }
+}
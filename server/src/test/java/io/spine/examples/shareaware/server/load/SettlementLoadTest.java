@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.spine.examples.shareaware.server.load.given.LatencyRecorder;
+import io.spine.examples.shareaware.server.paymentgateway.LocalBank;
+import io.spine.examples.shareaware.server.paymentgateway.Settlement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.paymentgateway.given.PaymentGatewayTestEnv.transferOf;
+
+/**
+ * Measures the throughput of the money transfers settled by the {@link Settlement}
+ * with and without batching.
+ *
+ * <p>Each submitter sends the transfers one by one, waiting for the previous one
+ * to be settled, as the payment gateway handlers do. The bank spends the same time
+ * on each call regardless of the batch size.
+ *
+ * <p>The load is configured with the {@code shareaware.load.submitters}
+ * and {@code shareaware.load.transfers} system properties.
+ */
+@Tag("load")
+@DisplayName("Settlement under load should")
+final class SettlementLoadTest {
+
+    private static final int SUBMITTERS = Integer.getInteger("shareaware.load.submitters", 64);
+    private static final int TRANSFERS = Integer.getInteger("shareaware.load.transfers", 50);
+    private static final Duration CALL_LATENCY = Duration.ofMillis(20);
+    private static final Duration TRANSFER_LATENCY = Duration.ofMillis(0);
+
+    @ParameterizedTest(name = "in batches of at most {0}")
+    @ValueSource(ints = {1, 64})
+    @DisplayName("settle all the transfers")
+    void settleTransfers(int maxBatchSize) throws Exception {
+        var latencies = new LatencyRecorder(SUBMITTERS * TRANSFERS);
+        var executor = Executors.newFixedThreadPool(SUBMITTERS);
+        long elapsed;
+        try (var settlement = Settlement.newBuilder()
+                                        .setBank(LocalBank.withLatency(CALL_LATENCY,
+                                                                       TRANSFER_LATENCY))
+                                        .setMaxBatchSize(maxBatchSize)
+                                        .build()) {
+            List<Callable<Void>> submitters = new ArrayList<>(SUBMITTERS);
+            for (var i = 0; i < SUBMITTERS; i++) {
+                submitters.add(() -> submitAll(settlement, latencies));
+            }
+            var start = System.nanoTime();
+            for (var submitter : executor.invokeAll(submitters)) {
+                submitter.get();
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+        var throughput = latencies.count() / (elapsed / 1_000_000_000.0);
+        System.out.printf("Batches of at most %d, %d submitters: %.0f transfers/s, %s%n",
+                          maxBatchSize, SUBMITTERS, throughput, latencies.summary());
+        assertThat(latencies.count()).isEqualTo(SUBMITTERS * TRANSFERS);
+    }
+
+    private static Void submitAll(Settlement settlement, LatencyRecorder latencies) {
+        for (var i = 0; i < TRANSFERS; i++) {
+            var start = System.nanoTime();
+            var outcome = settlement.submit(transferOf(10))
+                                    .join();
+            assertThat(outcome.isSuccessful()).isTrue();
+            latencies.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return null;
+    }
+}
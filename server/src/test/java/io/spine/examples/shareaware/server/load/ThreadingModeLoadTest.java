@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.spine.examples.shareaware.server.ThreadingMode;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.server.TradingServer;
+import io.spine.examples.shareaware.server.load.given.LatencyRecorder;
+import io.spine.examples.shareaware.server.load.given.WalletOwner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the {@linkplain ThreadingMode threading modes} of the server
+ * under a large number of concurrently connected clients.
+ *
+ * <p>Each client opens its own connection, subscribes to its wallet balance and
+ * creates the wallet. The latency is measured from sending the command till
+ * receiving the subscription update.
+ *
+ * <p>The number of clients is configured with
+ * the {@code shareaware.load.clients} system property.
+ */
+@Tag("load")
+@DisplayName("Server under load of many subscribed clients should")
+final class ThreadingModeLoadTest {
+
+    private static final String HOST = "localhost";
+    private static final int PORT = 4343;
+    private static final int CLIENTS = Integer.getInteger("shareaware.load.clients", 1_000);
+
+    @ParameterizedTest(name = "on {0} threads")
+    @EnumSource(ThreadingMode.class)
+    @DisplayName("serve all of them")
+    void serveClients(ThreadingMode mode) throws Exception {
+        assumeTrue(mode.isSupported(), mode + " threads are not supported by this JVM.");
+        var server = TradingServer.atPort(PORT, TradingContext.newBuilder(), mode);
+        server.start();
+        List<WalletOwner> owners = new ArrayList<>(CLIENTS);
+        var latencies = new LatencyRecorder(CLIENTS);
+        try {
+            for (var i = 0; i < CLIENTS; i++) {
+                owners.add(new WalletOwner(HOST, PORT));
+            }
+            var created = owners
+                    .stream()
+                    .map(owner -> owner.createWallet()
+                                       .thenAccept(latencies::record))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(created)
+                             .get(5, MINUTES);
+        } finally {
+            for (var owner : owners) {
+                owner.close();
+            }
+            server.shutdownAndWait();
+        }
+        System.out.printf("%s threads, %d connected clients: %s%n",
+                          mode, owners.size(), latencies.summary());
+        assertThat(latencies.count()).isEqualTo(CLIENTS);
+    }
+}
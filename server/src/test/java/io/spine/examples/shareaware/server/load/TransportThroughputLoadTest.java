@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Ack;
+import io.spine.examples.shareaware.server.load.given.LatencyRecorder;
+import io.spine.examples.shareaware.server.transport.Transport;
+import io.spine.server.integration.ExternalMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.marketUpdate;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.newChannel;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.sequenceOf;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the throughput and the delivery latency of each {@linkplain Transport transport}
+ * between the Bounded Contexts.
+ *
+ * <p>A single publisher sends the market data updates as fast as it can.
+ * The latency is measured from publishing an update till its delivery to the subscriber.
+ *
+ * <p>The number of messages is configured with
+ * the {@code shareaware.load.messages} system property.
+ */
+@Tag("load")
+@DisplayName("Transport under load should")
+final class TransportThroughputLoadTest {
+
+    private static final int MESSAGES = Integer.getInteger("shareaware.load.messages", 100_000);
+    private static final int TIMEOUT_SECONDS = 60;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "in the {0} mode")
+    @EnumSource(Transport.class)
+    @DisplayName("deliver all the published messages")
+    void deliverMessages(Transport transport) throws Exception {
+        var latencies = new LatencyRecorder(MESSAGES);
+        var delivered = new CountDownLatch(MESSAGES);
+        var channel = newChannel();
+        long elapsed;
+        try (var factory = transport.newFactory(directory)) {
+            var subscriber = factory.createSubscriber(channel);
+            subscriber.addObserver(new RecordingObserver(latencies, delivered));
+            var publisher = factory.createPublisher(channel);
+            var start = System.nanoTime();
+            for (var i = 0; i < MESSAGES; i++) {
+                var message = marketUpdate(System.nanoTime());
+                checkAcknowledged(publisher.publish(message.getId(), message));
+            }
+            assertThat(delivered.await(TIMEOUT_SECONDS, SECONDS)).isTrue();
+            elapsed = System.nanoTime() - start;
+        }
+        var throughput = MESSAGES / (elapsed / 1_000_000_000.0);
+        System.out.printf("%s transport, %d messages: %.0f msg/s, %s%n",
+                          transport, MESSAGES, throughput, latencies.summary());
+        assertThat(latencies.count()).isEqualTo(MESSAGES);
+    }
+
+    private static void checkAcknowledged(Ack ack) {
+        assertThat(ack.getStatus()
+                      .hasError()).isFalse();
+    }
+
+    /**
+     * Records the delivery latency of each received message.
+     */
+    private static final class RecordingObserver implements StreamObserver<ExternalMessage> {
+
+        private final LatencyRecorder latencies;
+        private final CountDownLatch delivered;
+
+        private RecordingObserver(LatencyRecorder latencies, CountDownLatch delivered) {
+            this.latencies = latencies;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void onNext(ExternalMessage message) {
+            var latency = System.nanoTime() - sequenceOf(message);
+            latencies.record(Duration.ofNanos(latency));
+            delivered.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
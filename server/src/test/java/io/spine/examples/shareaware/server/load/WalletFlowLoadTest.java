@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load;
+
+import io.spine.examples.shareaware.server.ThreadingMode;
+import io.spine.examples.shareaware.server.TradingContext;
+import io.spine.examples.shareaware.server.TradingServer;
+import io.spine.examples.shareaware.server.investment.PurchaseFlow;
+import io.spine.examples.shareaware.server.load.given.AccountHolder;
+import io.spine.examples.shareaware.server.load.given.BankProfile;
+import io.spine.examples.shareaware.server.paymentgateway.PaymentGatewayAdapter;
+import io.spine.examples.shareaware.server.paymentgateway.Settlement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+
+/**
+ * Measures the throughput of the wallet replenishment and withdrawal
+ * under each {@linkplain BankProfile behaviour} of the external bank.
+ *
+ * <p>Each account holder replenishes the wallet and withdraws the same amount
+ * back, waiting for each operation to complete. While a withdrawal is in progress,
+ * its money stays reserved in the wallet. The peak of the money reserved
+ * by all the holders at once shows the backlog built up by a slow bank.
+ *
+ * <p>The load is configured with the {@code shareaware.load.holders}
+ * and {@code shareaware.load.operations} system properties.
+ */
+@Tag("load")
+@DisplayName("Wallet operations under load should")
+final class WalletFlowLoadTest {
+
+    private static final String HOST = "localhost";
+    private static final int PORT = 4345;
+    private static final int HOLDERS = Integer.getInteger("shareaware.load.holders", 16);
+    private static final int OPERATIONS = Integer.getInteger("shareaware.load.operations", 50);
+    private static final long AMOUNT = 100;
+
+    @ParameterizedTest(name = "with the {0} bank")
+    @EnumSource(BankProfile.class)
+    @DisplayName("complete all the operations")
+    void completeOperations(BankProfile profile) throws Exception {
+        var settlement = Settlement
+                .newBuilder()
+                .setBank(profile.newBank())
+                .build();
+        var context = TradingContext.newBuilder(PurchaseFlow.STANDARD,
+                                                PaymentGatewayAdapter.using(settlement));
+        var server = TradingServer.atPort(PORT, context, ThreadingMode.PLATFORM);
+        server.start();
+        var stats = new FlowStats();
+        List<AccountHolder> holders = new ArrayList<>(HOLDERS);
+        var executor = Executors.newFixedThreadPool(HOLDERS);
+        long elapsed;
+        try {
+            List<Callable<Void>> sessions = new ArrayList<>(HOLDERS);
+            for (var i = 0; i < HOLDERS; i++) {
+                var holder = new AccountHolder(HOST, PORT);
+                holders.add(holder);
+                holder.openWallet();
+                sessions.add(() -> operateAll(holder, stats));
+            }
+            var start = System.nanoTime();
+            for (var session : executor.invokeAll(sessions)) {
+                session.get();
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+            for (var holder : holders) {
+                holder.close();
+            }
+            server.shutdownAndWait();
+            settlement.close();
+        }
+        var seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("%s bank, %d holders: replenished %.0f/s (%d failed), " +
+                                  "withdrawn %.0f/s (%d failed), peak reserved $%d%n",
+                          profile, HOLDERS,
+                          stats.replenished.get() / seconds, stats.notReplenished.get(),
+                          stats.withdrawn.get() / seconds, stats.notWithdrawn.get(),
+                          stats.peakReserved.get());
+        assertThat(stats.replenished.get() + stats.notReplenished.get())
+                .isEqualTo(HOLDERS * OPERATIONS);
+        assertThat(stats.reserved.get()).isEqualTo(0);
+    }
+
+    private static Void operateAll(AccountHolder holder, FlowStats stats) throws Exception {
+        for (var i = 0; i < OPERATIONS; i++) {
+            if (!holder.replenishWallet(usd(AMOUNT))) {
+                stats.notReplenished.incrementAndGet();
+                continue;
+            }
+            stats.replenished.incrementAndGet();
+            stats.reserve();
+            var withdrawn = holder.withdraw(usd(AMOUNT));
+            stats.release();
+            if (withdrawn) {
+                stats.withdrawn.incrementAndGet();
+            } else {
+                stats.notWithdrawn.incrementAndGet();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The outcomes of the wallet operations and the money reserved by the withdrawals.
+     */
+    private static final class FlowStats {
+
+        private final AtomicInteger replenished = new AtomicInteger();
+        private final AtomicInteger notReplenished = new AtomicInteger();
+        private final AtomicInteger withdrawn = new AtomicInteger();
+        private final AtomicInteger notWithdrawn = new AtomicInteger();
+        private final AtomicLong reserved = new AtomicLong();
+        private final AtomicLong peakReserved = new AtomicLong();
+
+        private void reserve() {
+            var current = reserved.addAndGet(AMOUNT);
+            peakReserved.accumulateAndGet(current, Math::max);
+        }
+
+        private void release() {
+            reserved.addAndGet(-AMOUNT);
+        }
+    }
+}
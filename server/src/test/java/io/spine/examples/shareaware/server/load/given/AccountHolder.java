@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import io.grpc.ManagedChannel;
+import io.spine.base.CommandMessage;
+import io.spine.client.Client;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.ReplenishmentId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalId;
+import io.spine.examples.shareaware.wallet.WalletBalance;
+import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
+import io.spine.examples.shareaware.wallet.event.MoneyNotWithdrawn;
+import io.spine.examples.shareaware.wallet.event.MoneyWithdrawn;
+import io.spine.examples.shareaware.wallet.event.WalletNotReplenished;
+import io.spine.examples.shareaware.wallet.event.WalletReplenished;
+import io.spine.money.Money;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.grpc.ManagedChannelBuilder.forAddress;
+import static io.spine.examples.shareaware.server.given.GivenWallet.createWallet;
+import static io.spine.examples.shareaware.server.given.GivenWallet.userIban;
+import static io.spine.examples.shareaware.server.given.GivenWallet.walletId;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A simulated user, who moves the money between the bank account and the wallet
+ * and waits for each operation to complete.
+ */
+public final class AccountHolder implements AutoCloseable {
+
+    private static final int TIMEOUT_SECONDS = 60;
+
+    private final ManagedChannel channel;
+    private final Client client;
+    private final UserId user = newUuid();
+    private final WalletId wallet = walletId(user);
+    private final Map<ReplenishmentId, CompletableFuture<Boolean>> replenishments =
+            new ConcurrentHashMap<>();
+    private final Map<WithdrawalId, CompletableFuture<Boolean>> withdrawals =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Connects to the server and subscribes to the outcomes of the wallet operations.
+     */
+    public AccountHolder(String host, int port) {
+        this.channel = forAddress(host, port)
+                .usePlaintext()
+                .build();
+        this.client = Client
+                .usingChannel(channel)
+                .build();
+        client.onBehalfOf(user)
+              .subscribeToEvent(WalletReplenished.class)
+              .observe(e -> complete(replenishments.remove(e.getReplenishment()), true))
+              .post();
+        client.onBehalfOf(user)
+              .subscribeToEvent(WalletNotReplenished.class)
+              .observe(e -> complete(replenishments.remove(e.getReplenishment()), false))
+              .post();
+        client.onBehalfOf(user)
+              .subscribeToEvent(MoneyWithdrawn.class)
+              .observe(e -> complete(withdrawals.remove(e.getWithdrawalProcess()), true))
+              .post();
+        client.onBehalfOf(user)
+              .subscribeToEvent(MoneyNotWithdrawn.class)
+              .observe(e -> complete(withdrawals.remove(e.getWithdrawalProcess()), false))
+              .post();
+    }
+
+    /**
+     * Creates the wallet of this user and waits until it is created.
+     */
+    public void openWallet() throws Exception {
+        var created = new CompletableFuture<WalletBalance>();
+        client.onBehalfOf(user)
+              .subscribeTo(WalletBalance.class)
+              .byId(wallet)
+              .observe(created::complete)
+              .post();
+        post(createWallet(wallet));
+        created.get(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    /**
+     * Replenishes the wallet with the given amount and waits for the outcome.
+     *
+     * @return {@code true} if the wallet has been replenished, {@code false} otherwise
+     */
+    public boolean replenishWallet(Money amount) throws Exception {
+        var command = replenish(wallet, amount);
+        var outcome = new CompletableFuture<Boolean>();
+        replenishments.put(command.getReplenishment(), outcome);
+        post(command);
+        return outcome.get(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    /**
+     * Withdraws the given amount from the wallet and waits for the outcome.
+     *
+     * @return {@code true} if the money has been withdrawn, {@code false} otherwise
+     */
+    public boolean withdraw(Money amount) throws Exception {
+        var command = WithdrawMoney
+                .newBuilder()
+                .setWithdrawalProcess(WithdrawalId.generate())
+                .setWallet(wallet)
+                .setRecipient(userIban())
+                .setAmount(amount)
+                .vBuild();
+        var outcome = new CompletableFuture<Boolean>();
+        withdrawals.put(command.getWithdrawalProcess(), outcome);
+        post(command);
+        return outcome.get(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    private static void complete(CompletableFuture<Boolean> outcome, boolean succeeded) {
+        if (outcome != null) {
+            outcome.complete(succeeded);
+        }
+    }
+
+    private void post(CommandMessage command) {
+        client.onBehalfOf(user)
+              .command(command)
+              .postAndForget();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        client.close();
+        channel.shutdown();
+        channel.awaitTermination(1, SECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import io.spine.examples.shareaware.server.paymentgateway.Bank;
+import io.spine.examples.shareaware.server.paymentgateway.BankLatency;
+import io.spine.examples.shareaware.server.paymentgateway.SimulatedBank;
+
+import java.time.Duration;
+
+/**
+ * The behaviours of the external bank, under which the wallet operations are measured.
+ */
+public enum BankProfile {
+
+    /**
+     * The bank responds in tens of milliseconds and settles all the transfers.
+     */
+    HEALTHY {
+        @Override
+        public Bank newBank() {
+            return SimulatedBank.newBuilder()
+                                .setLatency(BankLatency.logNormal(Duration.ofMillis(20),
+                                                                  Duration.ofMillis(80)))
+                                .build();
+        }
+    },
+
+    /**
+     * The bank responds in hundreds of milliseconds and times out some of the calls.
+     */
+    SLOW {
+        @Override
+        public Bank newBank() {
+            return SimulatedBank.newBuilder()
+                                .setLatency(BankLatency.logNormal(Duration.ofMillis(200),
+                                                                  Duration.ofSeconds(2)))
+                                .setTimeout(Duration.ofSeconds(1))
+                                .build();
+        }
+    },
+
+    /**
+     * The bank declines some of the transfers and throttles the concurrent calls.
+     */
+    FLAKY {
+        @Override
+        public Bank newBank() {
+            return SimulatedBank.newBuilder()
+                                .setLatency(BankLatency.uniform(Duration.ofMillis(10),
+                                                                Duration.ofMillis(50)))
+                                .setFailureRate(0.05)
+                                .setMaxConcurrentCalls(4)
+                                .build();
+        }
+    },
+
+    /**
+     * The bank is unavailable for a few seconds shortly after the start.
+     */
+    OUTAGE {
+        @Override
+        public Bank newBank() {
+            return SimulatedBank.newBuilder()
+                                .setLatency(BankLatency.fixed(Duration.ofMillis(20)))
+                                .addOutage(Duration.ofSeconds(1), Duration.ofSeconds(3))
+                                .build();
+        }
+    };
+
+    /**
+     * Creates a new bank behaving according to this profile.
+     */
+    public abstract Bank newBank();
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Records the latencies of operations performed during a load test
+ * and calculates their percentiles.
+ *
+ * <p>The recorder is thread-safe. It keeps up to the given number of samples,
+ * the samples recorded after the capacity is reached are dropped.
+ */
+public final class LatencyRecorder {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    public LatencyRecorder(int capacity) {
+        checkArgument(capacity > 0);
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Records the latency of a single operation.
+     */
+    public void record(Duration latency) {
+        var index = count.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set(index, latency.toNanos());
+        }
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     */
+    public int count() {
+        return Math.min(count.get(), samples.length());
+    }
+
+    /**
+     * Returns the latency which is not exceeded by the given percentage of the samples.
+     *
+     * @param percentile
+     *         the percentile in the {@code (0, 100]} range
+     */
+    public Duration percentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100);
+        var sorted = sortedSamples();
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        var rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(rank, 0)]);
+    }
+
+    /**
+     * Returns a human-readable summary of the recorded latencies.
+     */
+    public String summary() {
+        return String.format("samples=%d, p50=%.2fms, p99=%.2fms, max=%.2fms",
+                             count(),
+                             millis(percentile(50)),
+                             millis(percentile(99)),
+                             millis(percentile(100)));
+    }
+
+    private long[] sortedSamples() {
+        var result = new long[count()];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = samples.get(i);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * The proportions in which the operations are performed by the simulated traders.
+ *
+ * <p>The mix is written as comma-separated {@code operation=weight} pairs,
+ * for example, {@code purchase=4,sale=3,replenishment=2,withdrawal=1}.
+ * The operations which are not mentioned are not performed.
+ */
+public final class OperationMix {
+
+    private final ImmutableMap<SagaOperation, Integer> weights;
+    private final int totalWeight;
+
+    private OperationMix(ImmutableMap<SagaOperation, Integer> weights) {
+        this.weights = weights;
+        this.totalWeight = weights.values()
+                                  .stream()
+                                  .mapToInt(Integer::intValue)
+                                  .sum();
+        checkArgument(totalWeight > 0, "At least one operation must have a positive weight.");
+    }
+
+    /**
+     * Parses the mix from its textual form.
+     */
+    public static OperationMix parse(String value) {
+        var weights = new EnumMap<SagaOperation, Integer>(SagaOperation.class);
+        for (var pair : value.split(",")) {
+            var parts = pair.trim()
+                            .split("=");
+            if (parts.length != 2) {
+                throw newIllegalArgumentException(
+                        "The operation weight must be written as `operation=weight`, " +
+                                "but got `%s`.", pair);
+            }
+            var operation = SagaOperation.valueOf(parts[0].trim()
+                                                          .toUpperCase(Locale.ROOT));
+            var weight = Integer.parseInt(parts[1].trim());
+            checkArgument(weight >= 0, "The weight of `%s` is negative.", operation);
+            weights.put(operation, weight);
+        }
+        return new OperationMix(ImmutableMap.copyOf(weights));
+    }
+
+    /**
+     * Picks the next operation at random according to the weights.
+     */
+    public SagaOperation next(Random random) {
+        var point = random.nextInt(totalWeight);
+        for (var entry : weights.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("The weights of the operations are inconsistent.");
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
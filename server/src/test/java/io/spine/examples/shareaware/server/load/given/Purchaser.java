@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import io.grpc.ManagedChannel;
+import io.spine.base.CommandMessage;
+import io.spine.client.Client;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.event.SharesPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.wallet.WalletBalance;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.grpc.ManagedChannelBuilder.forAddress;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.given.GivenWallet.createWallet;
+import static io.spine.examples.shareaware.server.given.GivenWallet.walletId;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A simulated user, who purchases shares one by one and measures how long
+ * each purchase takes from sending the command till receiving its outcome.
+ */
+public final class Purchaser implements AutoCloseable {
+
+    private static final int TIMEOUT_SECONDS = 10;
+
+    private final ManagedChannel channel;
+    private final Client client;
+    private final UserId user = newUuid();
+    private final WalletId wallet = walletId(user);
+    private final ShareId share = ShareId.generate();
+    private final Map<PurchaseId, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Connects to the server and subscribes to the outcomes of the purchases.
+     */
+    public Purchaser(String host, int port) {
+        this.channel = forAddress(host, port)
+                .usePlaintext()
+                .build();
+        this.client = Client
+                .usingChannel(channel)
+                .build();
+        client.onBehalfOf(user)
+              .subscribeToEvent(SharesPurchased.class)
+              .observe(e -> complete(e.getPurchaseProcess(), true))
+              .post();
+        client.onBehalfOf(user)
+              .subscribeToEvent(SharesPurchaseFailed.class)
+              .observe(e -> complete(e.getPurchaseProcess(), false))
+              .post();
+    }
+
+    /**
+     * Creates and replenishes the wallet of this user, waiting until
+     * the money reaches the balance.
+     */
+    public void prepareWallet() throws Exception {
+        var replenished = new CompletableFuture<WalletBalance>();
+        client.onBehalfOf(user)
+              .subscribeTo(WalletBalance.class)
+              .byId(wallet)
+              .observe(balance -> {
+                  if (balance.getBalance()
+                             .getUnits() > 0) {
+                      replenished.complete(balance);
+                  }
+              })
+              .post();
+        post(createWallet(wallet));
+        post(replenish(wallet));
+        replenished.get(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    /**
+     * Purchases a single share and waits for the purchase to complete.
+     *
+     * @return the time passed from sending the command till the purchase completion
+     * @throws IllegalStateException
+     *         if the purchase failed
+     */
+    public Duration purchase() throws Exception {
+        var purchase = PurchaseId.generate();
+        var outcome = new CompletableFuture<Boolean>();
+        pending.put(purchase, outcome);
+        var command = PurchaseShares
+                .newBuilder()
+                .setPurchaseProcess(purchase)
+                .setPurchaser(user)
+                .setShare(share)
+                .setQuantity(1)
+                .setPrice(usd(1))
+                .vBuild();
+        var start = System.nanoTime();
+        post(command);
+        boolean purchased = outcome.get(TIMEOUT_SECONDS, SECONDS);
+        var latency = Duration.ofNanos(System.nanoTime() - start);
+        if (!purchased) {
+            throw newIllegalStateException("The purchase `%s` failed.", purchase.getUuid());
+        }
+        return latency;
+    }
+
+    private void complete(PurchaseId purchase, boolean purchased) {
+        var outcome = pending.remove(purchase);
+        if (outcome != null) {
+            outcome.complete(purchased);
+        }
+    }
+
+    private void post(CommandMessage command) {
+        client.onBehalfOf(user)
+              .command(command)
+              .postAndForget();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        client.close();
+        channel.shutdown();
+        channel.awaitTermination(1, SECONDS);
+    }
+}
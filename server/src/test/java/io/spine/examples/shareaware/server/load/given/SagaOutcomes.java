@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import com.google.protobuf.Message;
+import io.spine.core.Subscribe;
+import io.spine.examples.shareaware.investment.event.SharesPurchaseFailed;
+import io.spine.examples.shareaware.investment.event.SharesPurchased;
+import io.spine.examples.shareaware.investment.event.SharesSaleFailed;
+import io.spine.examples.shareaware.investment.event.SharesSold;
+import io.spine.examples.shareaware.wallet.event.MoneyNotWithdrawn;
+import io.spine.examples.shareaware.wallet.event.MoneyWithdrawn;
+import io.spine.examples.shareaware.wallet.event.WalletNotReplenished;
+import io.spine.examples.shareaware.wallet.event.WalletReplenished;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells when the processes of the Trading context reach their terminal events.
+ *
+ * <p>A process is expected by the ID before its command is posted. The returned future
+ * is completed with {@code true} once the process succeeds, and with {@code false}
+ * if it fails.
+ */
+public final class SagaOutcomes extends AbstractEventSubscriber {
+
+    private final Map<Message, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the future outcome of the process with the given ID.
+     */
+    public CompletableFuture<Boolean> expect(Message process) {
+        var outcome = new CompletableFuture<Boolean>();
+        pending.put(process, outcome);
+        return outcome;
+    }
+
+    @Subscribe
+    void on(SharesPurchased e) {
+        complete(e.getPurchaseProcess(), true);
+    }
+
+    @Subscribe
+    void on(SharesPurchaseFailed e) {
+        complete(e.getPurchaseProcess(), false);
+    }
+
+    @Subscribe
+    void on(SharesSold e) {
+        complete(e.getSaleProcess(), true);
+    }
+
+    @Subscribe
+    void on(SharesSaleFailed e) {
+        complete(e.getSaleProcess(), false);
+    }
+
+    @Subscribe
+    void on(WalletReplenished e) {
+        complete(e.getReplenishment(), true);
+    }
+
+    @Subscribe
+    void on(WalletNotReplenished e) {
+        complete(e.getReplenishment(), false);
+    }
+
+    @Subscribe
+    void on(MoneyWithdrawn e) {
+        complete(e.getWithdrawalProcess(), true);
+    }
+
+    @Subscribe
+    void on(MoneyNotWithdrawn e) {
+        complete(e.getWithdrawalProcess(), false);
+    }
+
+    private void complete(Message process, boolean succeeded) {
+        var outcome = pending.remove(process);
+        if (outcome != null) {
+            outcome.complete(succeeded);
+        }
+    }
+}
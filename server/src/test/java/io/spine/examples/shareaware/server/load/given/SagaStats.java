@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The completed and failed operations of the traders along with their latencies.
+ */
+public final class SagaStats {
+
+    private final Map<SagaOperation, LatencyRecorder> latencies =
+            new EnumMap<>(SagaOperation.class);
+    private final Map<SagaOperation, AtomicInteger> failures =
+            new EnumMap<>(SagaOperation.class);
+
+    /**
+     * Creates the statistics keeping up to the given number of samples per operation.
+     */
+    public SagaStats(int capacity) {
+        for (var operation : SagaOperation.values()) {
+            latencies.put(operation, new LatencyRecorder(capacity));
+            failures.put(operation, new AtomicInteger());
+        }
+    }
+
+    void completed(SagaOperation operation, Duration latency) {
+        latencies.get(operation)
+                 .record(latency);
+    }
+
+    void failed(SagaOperation operation) {
+        failures.get(operation)
+                .incrementAndGet();
+    }
+
+    /**
+     * Returns the number of the completed operations of the given kind.
+     */
+    public int completed(SagaOperation operation) {
+        return latencies.get(operation)
+                        .count();
+    }
+
+    /**
+     * Returns the number of the failed operations of the given kind.
+     */
+    public int failed(SagaOperation operation) {
+        return failures.get(operation)
+                       .get();
+    }
+
+    /**
+     * Returns the number of the completed operations of all kinds.
+     */
+    public int completed() {
+        var result = 0;
+        for (var operation : SagaOperation.values()) {
+            result += completed(operation);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the latencies of the completed operations of the given kind.
+     */
+    public LatencyRecorder latencies(SagaOperation operation) {
+        return latencies.get(operation);
+    }
+}
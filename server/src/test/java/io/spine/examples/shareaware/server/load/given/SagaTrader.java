@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.SaleId;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalId;
+import io.spine.examples.shareaware.investment.command.PurchaseShares;
+import io.spine.examples.shareaware.investment.command.SellShares;
+import io.spine.examples.shareaware.wallet.command.WithdrawMoney;
+import io.spine.server.CommandService;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.given.GivenWallet.createWallet;
+import static io.spine.examples.shareaware.server.given.GivenWallet.userIban;
+import static io.spine.examples.shareaware.server.given.GivenWallet.walletId;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A simulated user, who performs the operations in the Bounded Context
+ * running in the same JVM, waiting for each of them to complete.
+ *
+ * <p>The trader tracks its money and shares, so that it never tries to spend more than
+ * it has. If the picked operation cannot be performed, the trader gets the money
+ * or the shares for it first.
+ *
+ * <p>A trader is not thread-safe and must be driven by a single thread at a time.
+ */
+public final class SagaTrader {
+
+    private static final int TIMEOUT_SECONDS = 10;
+    private static final long INITIAL_DOLLARS = 500;
+    private static final long REPLENISHMENT_DOLLARS = 100;
+    private static final long WITHDRAWAL_DOLLARS = 50;
+    private static final long SHARE_PRICE_DOLLARS = 1;
+
+    private final CommandService commands;
+    private final SagaOutcomes outcomes;
+    private final ImmutableList<ShareId> shares;
+    private final UserId user = newUuid();
+    private final WalletId wallet = walletId(user);
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(user)
+            .build();
+    private final Map<ShareId, Integer> owned = new HashMap<>();
+    private long dollars;
+
+    public SagaTrader(CommandService commands,
+                      SagaOutcomes outcomes,
+                      ImmutableList<ShareId> shares) {
+        this.commands = commands;
+        this.outcomes = outcomes;
+        this.shares = shares;
+    }
+
+    /**
+     * Creates and replenishes the wallet of this trader.
+     */
+    public void openWallet() throws Exception {
+        post(createWallet(wallet));
+        var replenishment = replenish(wallet, usd(INITIAL_DOLLARS));
+        if (!await(replenishment.getReplenishment(), replenishment)) {
+            throw new IllegalStateException("The wallet of the trader is not replenished.");
+        }
+        dollars = INITIAL_DOLLARS;
+    }
+
+    /**
+     * Performs the operation of the given kind, or the one needed to perform it,
+     * and records its outcome.
+     */
+    public void perform(SagaOperation wanted, Random random, SagaStats stats) throws Exception {
+        var share = shares.get(random.nextInt(shares.size()));
+        var operation = feasible(wanted, share);
+        var start = System.nanoTime();
+        var succeeded = run(operation, share);
+        var latency = Duration.ofNanos(System.nanoTime() - start);
+        if (succeeded) {
+            stats.completed(operation, latency);
+        } else {
+            stats.failed(operation);
+        }
+    }
+
+    private SagaOperation feasible(SagaOperation wanted, ShareId share) {
+        switch (wanted) {
+            case PURCHASE:
+                return dollars >= SHARE_PRICE_DOLLARS
+                       ? wanted
+                       : SagaOperation.REPLENISHMENT;
+            case SALE:
+                return owned.getOrDefault(share, 0) > 0
+                       ? wanted
+                       : feasible(SagaOperation.PURCHASE, share);
+            case WITHDRAWAL:
+                return dollars >= WITHDRAWAL_DOLLARS
+                       ? wanted
+                       : SagaOperation.REPLENISHMENT;
+            default:
+                return wanted;
+        }
+    }
+
+    private boolean run(SagaOperation operation, ShareId share) throws Exception {
+        switch (operation) {
+            case PURCHASE:
+                return purchase(share);
+            case SALE:
+                return sell(share);
+            case REPLENISHMENT:
+                return replenishWallet();
+            case WITHDRAWAL:
+                return withdraw();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private boolean purchase(ShareId share) throws Exception {
+        var purchase = PurchaseId.generate();
+        var command = PurchaseShares
+                .newBuilder()
+                .setPurchaseProcess(purchase)
+                .setPurchaser(user)
+                .setShare(share)
+                .setQuantity(1)
+                .setPrice(usd(SHARE_PRICE_DOLLARS))
+                .vBuild();
+        var purchased = await(purchase, command);
+        if (purchased) {
+            dollars -= SHARE_PRICE_DOLLARS;
+            owned.merge(share, 1, Integer::sum);
+        }
+        return purchased;
+    }
+
+    private boolean sell(ShareId share) throws Exception {
+        var sale = SaleId.generate();
+        var command = SellShares
+                .newBuilder()
+                .setSaleProcess(sale)
+                .setSeller(user)
+                .setShare(share)
+                .setQuantity(1)
+                .setPrice(usd(SHARE_PRICE_DOLLARS))
+                .vBuild();
+        var sold = await(sale, command);
+        if (sold) {
+            dollars += SHARE_PRICE_DOLLARS;
+            owned.merge(share, -1, Integer::sum);
+        }
+        return sold;
+    }
+
+    private boolean replenishWallet() throws Exception {
+        var command = replenish(wallet, usd(REPLENISHMENT_DOLLARS));
+        var replenished = await(command.getReplenishment(), command);
+        if (replenished) {
+            dollars += REPLENISHMENT_DOLLARS;
+        }
+        return replenished;
+    }
+
+    private boolean withdraw() throws Exception {
+        var withdrawal = WithdrawalId.generate();
+        var command = WithdrawMoney
+                .newBuilder()
+                .setWithdrawalProcess(withdrawal)
+                .setWallet(wallet)
+                .setRecipient(userIban())
+                .setAmount(usd(WITHDRAWAL_DOLLARS))
+                .vBuild();
+        var withdrawn = await(withdrawal, command);
+        if (withdrawn) {
+            dollars -= WITHDRAWAL_DOLLARS;
+        }
+        return withdrawn;
+    }
+
+    private boolean await(Message process, CommandMessage command) throws Exception {
+        var outcome = outcomes.expect(process);
+        post(command);
+        return outcome.get(TIMEOUT_SECONDS, SECONDS);
+    }
+
+    private void post(CommandMessage command) {
+        commands.post(requests.command()
+                              .create(command), noOpObserver());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.load.given;
+
+import io.grpc.ManagedChannel;
+import io.spine.client.Client;
+import io.spine.core.UserId;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.wallet.WalletBalance;
+import io.spine.examples.shareaware.wallet.command.CreateWallet;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static io.grpc.ManagedChannelBuilder.forAddress;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A simulated desktop client, which keeps its own connection to the server
+ * and a subscription to the balance of its wallet.
+ */
+public final class WalletOwner implements AutoCloseable {
+
+    private final ManagedChannel channel;
+    private final Client client;
+    private final UserId user = newUuid();
+    private final WalletId wallet = WalletId
+            .newBuilder()
+            .setOwner(user)
+            .vBuild();
+    private final CompletableFuture<Duration> walletCreated = new CompletableFuture<>();
+    private long commandPostedAt;
+
+    /**
+     * Connects to the server and subscribes to the balance of the wallet of this user.
+     */
+    public WalletOwner(String host, int port) {
+        this.channel = forAddress(host, port)
+                .usePlaintext()
+                .build();
+        this.client = Client
+                .usingChannel(channel)
+                .build();
+        client.onBehalfOf(user)
+              .subscribeTo(WalletBalance.class)
+              .byId(wallet)
+              .observe(balance -> onBalance())
+              .post();
+    }
+
+    /**
+     * Sends the command to create the wallet.
+     *
+     * @return the future which completes with the time passed from sending the command
+     *         till receiving the created wallet balance
+     */
+    public CompletableFuture<Duration> createWallet() {
+        var command = CreateWallet
+                .newBuilder()
+                .setWallet(wallet)
+                .vBuild();
+        commandPostedAt = System.nanoTime();
+        client.onBehalfOf(user)
+              .command(command)
+              .postAndForget();
+        return walletCreated;
+    }
+
+    private void onBalance() {
+        walletCreated.complete(Duration.ofNanos(System.nanoTime() - commandPostedAt));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        client.close();
+        channel.shutdown();
+        channel.awaitTermination(1, SECONDS);
+    }
+}
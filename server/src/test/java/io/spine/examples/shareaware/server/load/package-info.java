@@ -0,0 +1,11 @@
+/**
+ * Provides load tests comparing the performance of the server configurations.
+ *
+ * <p>The tests are excluded from the regular build and are run via {@code ./gradlew loadTest}.
+ */
+@CheckReturnValue
+@ParametersAreNonnullByDefault
+package io.spine.examples.shareaware.server.load;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -26,6 +26,7 @@
 
 package io.spine.examples.shareaware.server.market;
 
+import io.spine.examples.shareaware.market.AvailableMarketShares;
 import io.spine.examples.shareaware.server.FreshContextTest;
 import io.spine.examples.shareaware.server.market.given.MarketTestContext;
 import io.spine.server.BoundedContextBuilder;
@@ -66,6 +67,21 @@ final class AvailableMarketSharesTest extends FreshContextTest {
         marketData.emittedEvent(event, newUuid());
         var expected = availableMarketSharesAfter(event);
 
-        context().assertState(MarketProcess.ID, expected);
+        context().assertEntity(MarketProcess.ID, AvailableMarketSharesProjection.class)
+                 .hasStateThat()
+                 .ignoringFields(AvailableMarketShares.WHEN_UPDATED_FIELD_NUMBER)
+                 .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("tell when the market data were emitted")
+    void updateTime() {
+        var event = marketSharesUpdated();
+        marketData.emittedEvent(event, newUuid());
+        var withoutTime = availableMarketSharesAfter(event);
+
+        context().assertEntity(MarketProcess.ID, AvailableMarketSharesProjection.class)
+                 .hasStateThat()
+                 .isNotEqualTo(withoutTime);
     }
 }
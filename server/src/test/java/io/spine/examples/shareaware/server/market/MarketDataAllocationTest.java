@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.market;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.shareaware.server.allocation.given.AllocationMeter;
+import io.spine.examples.shareaware.share.Share;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.shareaware.server.allocation.given.AllocationBudgets.assertWithinBudget;
+
+/**
+ * Checks the allocations of the market data.
+ *
+ * <p>Resides in the package of {@link MarketData}, as the class is package-private.
+ */
+@DisplayName("`MarketData` should")
+final class MarketDataAllocationTest {
+
+    private static final int OPERATIONS = 1_000;
+
+    /**
+     * The last produced tick, which keeps the JIT compiler from eliminating
+     * the allocations of the unused result.
+     */
+    @SuppressWarnings("unused")
+    private volatile ImmutableList<Share> lastTick;
+
+    @Test
+    @DisplayName("produce a tick of the market data within the allocation budget")
+    void actualShares() {
+        assertWithinBudget("market.actualShares",
+                           AllocationMeter.of(() -> lastTick = MarketData.actualShares(),
+                                              OPERATIONS));
+    }
+}
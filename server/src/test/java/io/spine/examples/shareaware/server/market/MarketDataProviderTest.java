@@ -29,6 +29,7 @@ package io.spine.examples.shareaware.server.market;
 import io.spine.base.EventMessage;
 import io.spine.examples.shareaware.market.event.MarketSharesUpdated;
 import io.spine.examples.shareaware.server.FreshContextTest;
+import io.spine.examples.shareaware.server.ThreadingMode;
 import io.spine.examples.shareaware.server.market.given.MarketTestContext;
 import io.spine.server.BoundedContextBuilder;
 import org.junit.jupiter.api.DisplayName;
@@ -38,8 +39,13 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static io.spine.examples.shareaware.server.ThreadingMode.PLATFORM;
+import static io.spine.examples.shareaware.server.ThreadingMode.VIRTUAL;
 import static java.util.Collections.synchronizedList;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("`MarketDataService` should")
 final class MarketDataProviderTest extends FreshContextTest {
@@ -64,4 +70,48 @@ final class MarketDataProviderTest extends FreshContextTest {
                  .withType(MarketSharesUpdated.class)
                  .hasSize(emitted.size());
     }
+
+    @Test
+    @DisplayName("emit the market data on a platform thread in the platform mode")
+    void platformThread() throws Exception {
+        assertThat(isVirtual(marketThreadOf(PLATFORM))).isFalse();
+    }
+
+    @Test
+    @DisplayName("emit the market data on a virtual thread in the virtual mode")
+    void virtualThread() throws Exception {
+        assumeTrue(VIRTUAL.isSupported(), "Virtual threads are not supported by this JVM.");
+        assertThat(isVirtual(marketThreadOf(VIRTUAL))).isTrue();
+    }
+
+    @Test
+    @DisplayName("fall back to a platform thread if virtual threads are not supported")
+    void fallBackToPlatformThread() throws Exception {
+        assumeFalse(VIRTUAL.isSupported(), "Virtual threads are supported by this JVM.");
+        assertThat(isVirtual(marketThreadOf(VIRTUAL))).isFalse();
+    }
+
+    private static Thread marketThreadOf(ThreadingMode mode) throws Exception {
+        var executor = MarketDataProvider.newMarketExecutor(mode);
+        try {
+            return executor.submit(Thread::currentThread)
+                           .get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tells whether the thread is virtual.
+     *
+     * <p>The tests are compiled for a Java version without virtual threads,
+     * so the check is performed reflectively.
+     */
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        if (!VIRTUAL.isSupported()) {
+            return false;
+        }
+        var isVirtual = Thread.class.getMethod("isVirtual");
+        return (boolean) isVirtual.invoke(thread);
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@DisplayName("`HandlerMetrics` should")
+final class HandlerMetricsTest {
+
+    @Test
+    @DisplayName("count the handled messages per entity type and message type")
+    void countInvocations() {
+        var metrics = HandlerMetrics.newInstance();
+        metrics.commandHandled("Wallet", "ReserveMoney", MICROSECONDS.toNanos(30));
+        metrics.commandHandled("Wallet", "ReserveMoney", MICROSECONDS.toNanos(70));
+        metrics.handled("WalletBalance", "MoneyReserved", MICROSECONDS.toNanos(20));
+
+        var reserve = metrics.find("Wallet", "ReserveMoney")
+                             .orElseThrow();
+        assertThat(reserve.invocations()).isEqualTo(2);
+        var balance = metrics.find("WalletBalance", "MoneyReserved")
+                             .orElseThrow();
+        assertThat(balance.invocations()).isEqualTo(1);
+        assertThat(metrics.find("Wallet", "MoneyReserved")
+                          .isPresent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("count the rejections against the handler of the rejected command")
+    void countRejections() {
+        var metrics = HandlerMetrics.newInstance();
+        metrics.commandHandled("Wallet", "ReserveMoney", MICROSECONDS.toNanos(30));
+        metrics.rejected("ReserveMoney");
+        metrics.failed("Investment", "AddShares");
+
+        var reserve = metrics.find("Wallet", "ReserveMoney")
+                             .orElseThrow();
+        assertThat(reserve.rejections()).isEqualTo(1);
+        var add = metrics.find("Investment", "AddShares")
+                         .orElseThrow();
+        assertThat(add.errors()).isEqualTo(1);
+        assertThat(add.invocations()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("write the metrics in the Prometheus text format")
+    void writePrometheusText() {
+        var metrics = HandlerMetrics.newInstance();
+        metrics.commandHandled("Wallet", "ReserveMoney", MICROSECONDS.toNanos(30));
+        metrics.commandHandled("Wallet", "ReserveMoney", MILLISECONDS.toNanos(3));
+        metrics.rejected("ReserveMoney");
+
+        var labels = "entity=\"Wallet\",message=\"ReserveMoney\"";
+        assertThat(metrics.toPrometheusText()).contains(
+                "# TYPE shareaware_handler_invocations_total counter\n" +
+                        "shareaware_handler_invocations_total{" + labels + "} 2\n");
+        assertThat(metrics.toPrometheusText()).contains(
+                "shareaware_handler_rejections_total{" + labels + "} 1\n");
+        assertThat(metrics.toPrometheusText()).contains(
+                "shareaware_handler_latency_seconds_bucket{" + labels + ",le=\"5.0E-5\"} 1\n");
+        assertThat(metrics.toPrometheusText()).contains(
+                "shareaware_handler_latency_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n");
+        assertThat(metrics.toPrometheusText()).contains(
+                "shareaware_handler_latency_seconds_count{" + labels + "} 2\n");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@DisplayName("`SubscriptionMetrics` should")
+final class SubscriptionMetricsTest {
+
+    private static final String WALLET = "type.spine.io/spine_examples.shareaware.Wallet";
+    private static final String INVESTMENT = "type.spine.io/spine_examples.shareaware.Investment";
+
+    @Test
+    @DisplayName("count the active subscriptions per subscribed type")
+    void countActiveSubscriptions() {
+        var metrics = SubscriptionMetrics.newInstance();
+        metrics.onSubscribed(WALLET);
+        metrics.onSubscribed(WALLET);
+        metrics.onSubscribed(INVESTMENT);
+        metrics.onUnsubscribed(WALLET);
+
+        assertThat(metrics.active(WALLET)).isEqualTo(1);
+        assertThat(metrics.active(INVESTMENT)).isEqualTo(1);
+        assertThat(metrics.active("type.spine.io/spine_examples.shareaware.Share"))
+                .isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("count the delivered updates and the slow subscribers")
+    void countDeliveries() {
+        var metrics = SubscriptionMetrics.newInstance();
+        metrics.onDelivered(WALLET, MICROSECONDS.toNanos(40));
+        metrics.onDelivered(WALLET, MILLISECONDS.toNanos(20));
+        metrics.onDowngraded(WALLET);
+        metrics.onDropped(INVESTMENT);
+
+        assertThat(metrics.delivered(WALLET)).isEqualTo(2);
+        assertThat(metrics.downgraded(WALLET)).isEqualTo(1);
+        assertThat(metrics.dropped(WALLET)).isEqualTo(0);
+        assertThat(metrics.dropped(INVESTMENT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("write the metrics in the Prometheus text format")
+    void writePrometheusText() {
+        var metrics = SubscriptionMetrics.newInstance();
+        metrics.onSubscribed(WALLET);
+        metrics.onDelivered(WALLET, MICROSECONDS.toNanos(40));
+        metrics.onDelivered(WALLET, MILLISECONDS.toNanos(20));
+        metrics.onDowngraded(WALLET);
+
+        var labels = "target=\"" + WALLET + '"';
+        var latency = "shareaware_subscription_delivery_seconds";
+        var text = metrics.toPrometheusText();
+        assertThat(text).contains(
+                "# TYPE shareaware_subscriptions_active gauge\n" +
+                        "shareaware_subscriptions_active{" + labels + "} 1\n");
+        assertThat(text).contains(
+                "shareaware_subscription_downgrades_total{" + labels + "} 1\n");
+        assertThat(text).contains(
+                "shareaware_subscription_drops_total{" + labels + "} 0\n");
+        assertThat(text).contains(latency + "_bucket{" + labels + ",le=\"5.0E-5\"} 1\n");
+        assertThat(text).contains(latency + "_count{" + labels + "} 2\n");
+    }
+}
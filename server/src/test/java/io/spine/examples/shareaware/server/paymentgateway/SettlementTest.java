@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import io.spine.examples.shareaware.server.paymentgateway.given.RecordingBank;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.paymentgateway.given.PaymentGatewayTestEnv.transferOf;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@DisplayName("`Settlement` should")
+final class SettlementTest {
+
+    private static final int TIMEOUT_SECONDS = 5;
+
+    private RecordingBank bank;
+    private Settlement settlement;
+
+    @BeforeEach
+    void createBank() {
+        bank = new RecordingBank();
+    }
+
+    @AfterEach
+    void closeSettlement() throws InterruptedException {
+        if (settlement != null) {
+            settlement.close();
+        }
+    }
+
+    @Test
+    @DisplayName("send a full batch to the bank right away")
+    void sendFullBatch() throws Exception {
+        settlement = settlementWith(3, Duration.ofMinutes(1));
+        var first = settlement.submit(transferOf(10));
+        var second = settlement.submit(transferOf(20));
+        var third = settlement.submit(transferOf(30));
+
+        assertThat(await(third).isSuccessful()).isTrue();
+        assertThat(first.isDone()).isTrue();
+        assertThat(second.isDone()).isTrue();
+        assertThat(bank.batches()).hasSize(1);
+        assertThat(bank.batches()
+                       .get(0)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("send an incomplete batch once the window has passed")
+    void sendBatchAfterWindow() throws Exception {
+        settlement = settlementWith(100, Duration.ofMillis(10));
+        var first = settlement.submit(transferOf(10));
+        var second = settlement.submit(transferOf(20));
+
+        assertThat(await(first).isSuccessful()).isTrue();
+        assertThat(await(second).isSuccessful()).isTrue();
+        assertThat(bank.batches()).hasSize(1);
+        assertThat(bank.batches()
+                       .get(0)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("complete each transfer with its own outcome")
+    void completeWithOwnOutcome() throws Exception {
+        settlement = settlementWith(2, Duration.ofMinutes(1));
+        var empty = settlement.submit(transferOf(0));
+        var filled = settlement.submit(transferOf(10));
+
+        assertThat(await(empty).isSuccessful()).isFalse();
+        assertThat(await(filled).isSuccessful()).isTrue();
+    }
+
+    @Test
+    @DisplayName("send the transfers again once the bank is back after being unavailable")
+    void resendAfterBankFailure() throws Exception {
+        bank.goDown();
+        settlement = settlementWith(2, Duration.ofMinutes(1));
+        var first = settlement.submit(transferOf(10));
+        var second = settlement.submit(transferOf(20));
+
+        assertThat(first.isDone()).isFalse();
+        bank.comeBack();
+        assertThat(await(first).isSuccessful()).isTrue();
+        assertThat(await(second).isSuccessful()).isTrue();
+        assertThat(bank.batches()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("reconcile the transfers whose outcomes were lost without sending them again")
+    void reconcileLostOutcomes() throws Exception {
+        bank.loseAnswers();
+        settlement = settlementWith(2, Duration.ofMinutes(1));
+        var settled = settlement.submit(transferOf(10));
+        var failed = settlement.submit(transferOf(0));
+
+        bank.comeBack();
+        assertThat(await(settled).isSuccessful()).isTrue();
+        assertThat(await(failed).isSuccessful()).isFalse();
+        assertThat(bank.batches()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("settle the pending transfers when closed")
+    void settleOnClose() throws Exception {
+        settlement = settlementWith(100, Duration.ofMinutes(1));
+        var pending = settlement.submit(transferOf(10));
+        settlement.close();
+        settlement = null;
+
+        assertThat(pending.isDone()).isTrue();
+        assertThat(await(pending).isSuccessful()).isTrue();
+    }
+
+    private Settlement settlementWith(int maxBatchSize, Duration window) {
+        return Settlement
+                .newBuilder()
+                .setBank(bank)
+                .setMaxBatchSize(maxBatchSize)
+                .setWindow(window)
+                .setReconciliationInterval(Duration.ofMillis(10))
+                .build();
+    }
+
+    private static TransferOutcome await(CompletableFuture<TransferOutcome> outcome)
+            throws Exception {
+        return outcome.get(TIMEOUT_SECONDS, SECONDS);
+    }
+}
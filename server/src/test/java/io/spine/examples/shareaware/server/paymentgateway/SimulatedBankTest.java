@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.shareaware.server.admission.given.ManualTicker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static io.spine.examples.shareaware.server.paymentgateway.given.PaymentGatewayTestEnv.transferOf;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`SimulatedBank` should")
+final class SimulatedBankTest {
+
+    private static final int TIMEOUT_SECONDS = 5;
+
+    private static final ImmutableList<BankTransfer> BATCH =
+            ImmutableList.of(transferOf(10), transferOf(20), transferOf(30));
+
+    @Test
+    @DisplayName("settle all the transfers by default")
+    void settleByDefault() {
+        var bank = SimulatedBank.newBuilder()
+                                .build();
+        var outcomes = bank.settle(BATCH);
+
+        assertThat(outcomes).hasSize(BATCH.size());
+        assertThat(outcomes.stream()
+                           .allMatch(TransferOutcome::isSuccessful)).isTrue();
+    }
+
+    @Test
+    @DisplayName("decline the transfers according to the failure rate")
+    void declineTransfers() {
+        var bank = SimulatedBank.newBuilder()
+                                .setFailureRate(1.0)
+                                .build();
+        var outcomes = bank.settle(BATCH);
+
+        assertThat(outcomes.stream()
+                           .noneMatch(TransferOutcome::isSuccessful)).isTrue();
+    }
+
+    @Test
+    @DisplayName("fail the batch if the call takes longer than the timeout")
+    void timeOut() {
+        var bank = SimulatedBank.newBuilder()
+                                .setLatency(BankLatency.fixed(Duration.ofSeconds(1)))
+                                .setTimeout(Duration.ofMillis(10))
+                                .build();
+        var outcomes = bank.settle(BATCH);
+
+        assertThat(outcomes.stream()
+                           .noneMatch(TransferOutcome::isSuccessful)).isTrue();
+        assertThat(outcomes.get(0)
+                           .cause()).contains("in time");
+    }
+
+    @Test
+    @DisplayName("throttle the calls exceeding the concurrency limit")
+    void throttle() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var bank = SimulatedBank.newBuilder()
+                                .setMaxConcurrentCalls(1)
+                                .setLatency(random -> {
+                                    entered.countDown();
+                                    awaitUninterruptibly(release);
+                                    return Duration.ZERO;
+                                })
+                                .build();
+        var first = CompletableFuture.supplyAsync(() -> bank.settle(BATCH));
+        assertThat(entered.await(TIMEOUT_SECONDS, SECONDS)).isTrue();
+        var throttled = bank.settle(BATCH);
+        release.countDown();
+
+        assertThat(throttled.get(0)
+                            .cause()).contains("throttled");
+        assertThat(first.get(TIMEOUT_SECONDS, SECONDS)
+                        .get(0)
+                        .isSuccessful()).isTrue();
+    }
+
+    @Test
+    @DisplayName("be unavailable during the outage")
+    void failDuringOutage() {
+        var ticker = new ManualTicker();
+        var bank = SimulatedBank.newBuilder()
+                                .setTicker(ticker)
+                                .addOutage(Duration.ofSeconds(10), Duration.ofSeconds(5))
+                                .build();
+        assertThat(bank.settle(BATCH)).hasSize(BATCH.size());
+
+        ticker.advance(Duration.ofSeconds(12));
+        assertThrows(IllegalStateException.class, () -> bank.settle(BATCH));
+
+        ticker.advance(Duration.ofSeconds(3));
+        assertThat(bank.settle(BATCH)).hasSize(BATCH.size());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.paymentgateway.given;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.shareaware.server.paymentgateway.Bank;
+import io.spine.examples.shareaware.server.paymentgateway.BankTransfer;
+import io.spine.examples.shareaware.server.paymentgateway.TransferOutcome;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * A bank which records the settled batches.
+ *
+ * <p>The transfers of the amount of zero units are failed,
+ * all the other transfers succeed.
+ *
+ * <p>The bank may be told to be unavailable, in which case it throws on each call.
+ * It may also be told to lose its answers, in which case it settles the transfers,
+ * but throws instead of returning their outcomes.
+ */
+public final class RecordingBank implements Bank {
+
+    private final List<ImmutableList<BankTransfer>> batches = new CopyOnWriteArrayList<>();
+    private volatile boolean unavailable = false;
+    private volatile boolean losingAnswers = false;
+
+    @Override
+    public ImmutableList<TransferOutcome> settle(ImmutableList<BankTransfer> batch) {
+        checkAvailable();
+        batches.add(batch);
+        if (losingAnswers) {
+            throw new IllegalStateException("The answer of the bank is lost.");
+        }
+        return batch.stream()
+                    .map(RecordingBank::outcomeOf)
+                    .collect(toImmutableList());
+    }
+
+    @Override
+    public Optional<TransferOutcome> outcomeOf(String reference) {
+        checkAvailable();
+        return batches.stream()
+                      .flatMap(List::stream)
+                      .filter(transfer -> transfer.reference()
+                                                  .equals(reference))
+                      .findFirst()
+                      .map(RecordingBank::outcomeOf);
+    }
+
+    private void checkAvailable() {
+        if (unavailable) {
+            throw new IllegalStateException("The bank is down.");
+        }
+    }
+
+    private static TransferOutcome outcomeOf(BankTransfer transfer) {
+        return transfer.amount()
+                       .getUnits() == 0
+               ? TransferOutcome.failed("Nothing to transfer.")
+               : TransferOutcome.succeeded();
+    }
+
+    /**
+     * Makes the bank throw on each call.
+     */
+    public void goDown() {
+        unavailable = true;
+    }
+
+    /**
+     * Makes the bank settle the transfers, but throw instead of returning their outcomes.
+     */
+    public void loseAnswers() {
+        losingAnswers = true;
+    }
+
+    /**
+     * Makes the bank available and answering again.
+     */
+    public void comeBack() {
+        unavailable = false;
+        losingAnswers = false;
+    }
+
+    /**
+     * Returns the batches settled so far.
+     */
+    public ImmutableList<ImmutableList<BankTransfer>> batches() {
+        return ImmutableList.copyOf(batches);
+    }
+}
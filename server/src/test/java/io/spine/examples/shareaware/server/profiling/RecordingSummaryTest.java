@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.profiling;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`RecordingSummary` should")
+final class RecordingSummaryTest {
+
+    @Test
+    @DisplayName("group the custom events by their kind and subject")
+    void groupEvents(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(CommandHandlingEvent.class);
+            recording.enable(MarketTickEvent.class);
+            recording.start();
+            handle("Wallet", "ReserveMoney");
+            handle("Wallet", "ReserveMoney");
+            handle("Investment", "AddShares");
+            var tick = new MarketTickEvent();
+            tick.begin();
+            tick.complete(10);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var stats = RecordingSummary.read(file)
+                                    .stats();
+
+        assertThat(stats).hasSize(3);
+        var reservations = stats.stream()
+                                .filter(row -> row.subject()
+                                                  .equals("Wallet/ReserveMoney"))
+                                .findFirst()
+                                .orElseThrow();
+        assertThat(reservations.event()).isEqualTo("Command Handling");
+        assertThat(reservations.count()).isEqualTo(2);
+        var ticks = stats.stream()
+                         .filter(row -> row.event()
+                                           .equals("Market Tick"))
+                         .findFirst()
+                         .orElseThrow();
+        assertThat(ticks.subject()).isEqualTo("10 shares");
+        assertThat(ticks.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("tell the percentiles of the durations")
+    void tellPercentiles() {
+        var stats = new EventStats("Command Handling", "Wallet/ReserveMoney");
+        for (var millis = 100; millis >= 1; millis--) {
+            stats.add(Duration.ofMillis(millis));
+        }
+
+        assertThat(stats.percentile(50)).isEqualTo(Duration.ofMillis(50));
+        assertThat(stats.percentile(99)).isEqualTo(Duration.ofMillis(99));
+        assertThat(stats.max()).isEqualTo(Duration.ofMillis(100));
+        assertThat(stats.mean()).isEqualTo(Duration.ofMillis(50)
+                                                   .plusNanos(500_000));
+    }
+
+    private static void handle(String entity, String command) {
+        var event = new CommandHandlingEvent();
+        event.begin();
+        event.complete(entity, command);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation;
+
+import io.spine.examples.shareaware.server.reconciliation.given.InMemorySource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.BALANCE;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.BROKEN_HISTORY;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.MISSING_BALANCE;
+import static io.spine.examples.shareaware.server.reconciliation.Mismatch.Kind.STALE_RESERVATION;
+import static io.spine.examples.shareaware.server.reconciliation.given.ReconciliationTestEnv.*;
+
+@DisplayName("`BalanceReconciliation` should")
+final class BalanceReconciliationTest {
+
+    @Test
+    @DisplayName("find no mismatches in the consistent wallets")
+    void consistent() {
+        var source = new InMemorySource();
+        for (var i = 0; i < 20; i++) {
+            var wallet = newWallet();
+            var withdrawal = withdrawal();
+            source.addWallet(wallet, usd(300),
+                             created(wallet),
+                             rechargedTo(wallet, 500),
+                             reserved(wallet, withdrawal, 200, 300),
+                             debitedTo(wallet, withdrawal, 300));
+        }
+
+        var report = reconcile(source);
+
+        assertThat(report.isClean()).isTrue();
+        assertThat(report.walletsChecked()).isEqualTo(20);
+        assertThat(report.eventsApplied()).isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("count the money of the live reservations in the projected balance")
+    void liveReservation() {
+        var wallet = newWallet();
+        var withdrawal = withdrawal();
+        var source = new InMemorySource()
+                .addWallet(wallet, usd(500),
+                           created(wallet),
+                           rechargedTo(wallet, 500),
+                           reserved(wallet, withdrawal, 200, 300))
+                .addLiveOperation(withdrawal);
+
+        assertThat(reconcile(source).isClean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("report the projection which differs from the events")
+    void balanceMismatch() {
+        var wallet = newWallet();
+        var source = new InMemorySource()
+                .addWallet(wallet, usd(400), created(wallet), rechargedTo(wallet, 500));
+
+        assertSingleMismatch(reconcile(source), BALANCE);
+    }
+
+    @Test
+    @DisplayName("report the missing projection")
+    void missingProjection() {
+        var wallet = newWallet();
+        var source = new InMemorySource()
+                .addWallet(wallet, created(wallet), rechargedTo(wallet, 500));
+
+        assertSingleMismatch(reconcile(source), MISSING_BALANCE);
+    }
+
+    @Test
+    @DisplayName("report the reservation of the finished process")
+    void staleReservation() {
+        var wallet = newWallet();
+        var withdrawal = withdrawal();
+        var source = new InMemorySource()
+                .addWallet(wallet, usd(500),
+                           created(wallet),
+                           rechargedTo(wallet, 500),
+                           reserved(wallet, withdrawal, 200, 300));
+
+        assertSingleMismatch(reconcile(source), STALE_RESERVATION);
+    }
+
+    @Test
+    @DisplayName("report the events which cannot be applied")
+    void brokenHistory() {
+        var wallet = newWallet();
+        var source = new InMemorySource()
+                .addWallet(wallet, usd(500),
+                           created(wallet),
+                           rechargedTo(wallet, 500),
+                           canceled(wallet, withdrawal()));
+
+        assertSingleMismatch(reconcile(source), BROKEN_HISTORY);
+    }
+
+    private static ReconciliationReport reconcile(InMemorySource source) {
+        return BalanceReconciliation
+                .newBuilder()
+                .setSource(source)
+                .setParallelism(2)
+                .setPartitions(5)
+                .build()
+                .run();
+    }
+
+    private static void assertSingleMismatch(ReconciliationReport report, Mismatch.Kind kind) {
+        assertThat(report.mismatchCount()).isEqualTo(1);
+        assertThat(report.mismatches()
+                         .get(0)
+                         .kind()).isEqualTo(kind);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation.given;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.base.EventMessage;
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.server.reconciliation.Partition;
+import io.spine.examples.shareaware.server.reconciliation.ReconciliationSource;
+import io.spine.examples.shareaware.server.reconciliation.WalletHistory;
+import io.spine.money.Money;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A {@code ReconciliationSource} keeping the data in memory.
+ */
+public final class InMemorySource implements ReconciliationSource {
+
+    private final Map<WalletId, ImmutableList<EventMessage>> histories = new LinkedHashMap<>();
+    private final Map<WalletId, Money> balances = new HashMap<>();
+    private final Set<WithdrawalOperationId> liveOperations = new HashSet<>();
+
+    /**
+     * Adds the wallet with the given events and the balance shown by its projection.
+     */
+    @CanIgnoreReturnValue
+    public InMemorySource addWallet(WalletId wallet, Money projected, EventMessage... events) {
+        balances.put(wallet, projected);
+        return addWallet(wallet, events);
+    }
+
+    /**
+     * Adds the wallet with the given events, which has no balance projection.
+     */
+    @CanIgnoreReturnValue
+    public InMemorySource addWallet(WalletId wallet, EventMessage... events) {
+        histories.put(wallet, ImmutableList.copyOf(events));
+        return this;
+    }
+
+    /**
+     * Marks the process of the given operation as running.
+     */
+    @CanIgnoreReturnValue
+    public InMemorySource addLiveOperation(WithdrawalOperationId operation) {
+        liveOperations.add(operation);
+        return this;
+    }
+
+    @Override
+    public Stream<WalletHistory> histories(Partition partition) {
+        return histories.entrySet()
+                        .stream()
+                        .filter(history -> partition.contains(history.getKey()))
+                        .map(history -> WalletHistory.of(history.getKey(),
+                                                         history.getValue()
+                                                                .stream()));
+    }
+
+    @Override
+    public Optional<Money> projectedBalance(WalletId wallet) {
+        return Optional.ofNullable(balances.get(wallet));
+    }
+
+    @Override
+    public boolean isLive(WithdrawalOperationId operation) {
+        return liveOperations.contains(operation);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.reconciliation.given;
+
+import io.spine.examples.shareaware.WalletId;
+import io.spine.examples.shareaware.WithdrawalId;
+import io.spine.examples.shareaware.WithdrawalOperationId;
+import io.spine.examples.shareaware.wallet.event.BalanceRecharged;
+import io.spine.examples.shareaware.wallet.event.MoneyReservationCanceled;
+import io.spine.examples.shareaware.wallet.event.MoneyReserved;
+import io.spine.examples.shareaware.wallet.event.ReservedMoneyDebited;
+import io.spine.examples.shareaware.wallet.event.WalletCreated;
+
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+
+/**
+ * Provides the wallet events for testing the reconciliation.
+ */
+public final class ReconciliationTestEnv {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private ReconciliationTestEnv() {
+    }
+
+    public static WalletId newWallet() {
+        return WalletId
+                .newBuilder()
+                .setOwner(newUuid())
+                .vBuild();
+    }
+
+    public static WithdrawalOperationId withdrawal() {
+        return WithdrawalOperationId
+                .newBuilder()
+                .setWithdrawal(WithdrawalId.generate())
+                .vBuild();
+    }
+
+    public static WalletCreated created(WalletId wallet) {
+        return WalletCreated
+                .newBuilder()
+                .setWallet(wallet)
+                .setBalance(usd(0))
+                .build();
+    }
+
+    public static BalanceRecharged rechargedTo(WalletId wallet, long dollars) {
+        return BalanceRecharged
+                .newBuilder()
+                .setWallet(wallet)
+                .setCurrentBalance(usd(dollars))
+                .build();
+    }
+
+    public static MoneyReserved reserved(WalletId wallet,
+                                         WithdrawalOperationId operation,
+                                         long dollars,
+                                         long balance) {
+        return MoneyReserved
+                .newBuilder()
+                .setWallet(wallet)
+                .setOperation(operation)
+                .setAmount(usd(dollars))
+                .setCurrentBalance(usd(balance))
+                .build();
+    }
+
+    public static ReservedMoneyDebited debitedTo(WalletId wallet,
+                                                 WithdrawalOperationId operation,
+                                                 long dollars) {
+        return ReservedMoneyDebited
+                .newBuilder()
+                .setWallet(wallet)
+                .setOperation(operation)
+                .setCurrentBalance(usd(dollars))
+                .build();
+    }
+
+    public static MoneyReservationCanceled canceled(WalletId wallet,
+                                                    WithdrawalOperationId operation) {
+        return MoneyReservationCanceled
+                .newBuilder()
+                .setWallet(wallet)
+                .setOperation(operation)
+                .build();
+    }
+}
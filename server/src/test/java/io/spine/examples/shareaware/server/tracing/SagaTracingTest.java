@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.tracing;
+
+import io.spine.examples.shareaware.PurchaseId;
+import io.spine.examples.shareaware.WithdrawalId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`SagaTracing` should")
+final class SagaTracingTest {
+
+    private static final Instant START = Instant.parse("2023-06-01T10:00:00Z");
+
+    @Test
+    @DisplayName("trace each step of the process from the previous one")
+    void traceSteps() {
+        var tracing = SagaTracing.withCapacity(10);
+        var purchase = PurchaseId.generate();
+        purchase(tracing, purchase, 10);
+
+        assertThat(tracing.inFlight()).isEqualTo(0);
+        var trace = tracing.find(purchase)
+                           .orElseThrow();
+        assertThat(trace.succeeded()).isTrue();
+        assertThat(trace.duration()).isEqualTo(Duration.ofMillis(40));
+        var spans = trace.spans();
+        assertThat(spans).hasSize(4);
+        assertThat(spans.get(0)
+                        .step()).isEqualTo("MoneyReserved");
+        assertThat(spans.get(0)
+                        .duration()).isEqualTo(Duration.ofMillis(5));
+        assertThat(spans.get(1)
+                        .step()).isEqualTo("SharesObtained");
+        assertThat(spans.get(1)
+                        .duration()).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("find the slowest traces")
+    void findSlowest() {
+        var tracing = SagaTracing.withCapacity(10);
+        var fast = PurchaseId.generate();
+        var slow = PurchaseId.generate();
+        purchase(tracing, fast, 10);
+        purchase(tracing, slow, 100);
+        var withdrawal = WithdrawalId.generate();
+        tracing.finish(SagaType.WITHDRAWAL, withdrawal, "MoneyNotWithdrawn",
+                       START, START.plusMillis(50), false);
+
+        var slowest = tracing.slowest(2);
+        assertThat(slowest.get(0)
+                          .process()).isEqualTo(slow);
+        assertThat(slowest.get(1)
+                          .process()).isEqualTo(withdrawal);
+        assertThat(tracing.slowerThan(Duration.ofMillis(45))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("break the latency down by steps")
+    void breakDown() {
+        var tracing = SagaTracing.withCapacity(10);
+        purchase(tracing, PurchaseId.generate(), 10);
+        purchase(tracing, PurchaseId.generate(), 30);
+
+        var breakdown = tracing.breakdown(SagaType.PURCHASE);
+        assertThat(breakdown).hasSize(4);
+        var market = breakdown.get(1);
+        assertThat(market.step()).isEqualTo("SharesObtained");
+        assertThat(market.count()).isEqualTo(2);
+        assertThat(market.mean()).isEqualTo(Duration.ofMillis(20));
+        assertThat(market.max()).isEqualTo(Duration.ofMillis(30));
+        assertThat(tracing.breakdown(SagaType.SALE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("keep only the most recent traces")
+    void keepRecent() {
+        var tracing = SagaTracing.withCapacity(2);
+        var first = PurchaseId.generate();
+        purchase(tracing, first, 10);
+        purchase(tracing, PurchaseId.generate(), 10);
+        purchase(tracing, PurchaseId.generate(), 10);
+
+        assertThat(tracing.find(first)
+                          .isPresent()).isFalse();
+        assertThat(tracing.slowest(10)).hasSize(2);
+    }
+
+    /**
+     * Traces the purchase whose market step takes the given time.
+     */
+    private static void purchase(SagaTracing tracing, PurchaseId purchase, long marketMillis) {
+        var reserved = START.plusMillis(5);
+        var obtained = reserved.plusMillis(marketMillis);
+        var added = obtained.plusMillis(5);
+        var debited = added.plusMillis(20);
+        tracing.step(SagaType.PURCHASE, purchase, "MoneyReserved", START, reserved);
+        tracing.step(SagaType.PURCHASE, purchase, "SharesObtained", START, obtained);
+        tracing.step(SagaType.PURCHASE, purchase, "SharesAdded", START, added);
+        tracing.finish(SagaType.PURCHASE, purchase, "SharesPurchased", START, debited, true);
+    }
+}
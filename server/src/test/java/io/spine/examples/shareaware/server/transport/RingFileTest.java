@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import io.spine.server.integration.ExternalMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.marketUpdate;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.sequenceOf;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`RingFile` should")
+final class RingFileTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("deliver the appended messages in order when wrapping around the ring")
+    void wrapAround() throws Exception {
+        try (var ring = RingFile.create(directory.resolve("test.ring"), CAPACITY)) {
+            var cursor = ring.cursorAtStart();
+            List<Long> received = new ArrayList<>();
+            var messageSize = marketUpdate(0).getSerializedSize();
+            var count = CAPACITY / messageSize * 3;
+            for (long i = 0; i < count; i++) {
+                ring.append(marketUpdate(i));
+                var read = cursor.poll(ExternalMessage.parser(), Integer.MAX_VALUE,
+                                       message -> received.add(sequenceOf(message)));
+                assertThat(read).isEqualTo(1);
+            }
+            assertThat(received).hasSize(count);
+            assertThat(received).isInStrictOrder();
+            assertThat(cursor.lostBytes()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("deliver the messages to a reader opened in another mapping")
+    void readFromAnotherMapping() throws Exception {
+        var path = directory.resolve("shared.ring");
+        try (var writer = RingFile.create(path, CAPACITY);
+             var reader = RingFile.open(path)) {
+            var cursor = reader.cursorAtHead();
+            writer.append(marketUpdate(42));
+            List<Long> received = new ArrayList<>();
+            var read = cursor.poll(ExternalMessage.parser(), Integer.MAX_VALUE,
+                                   message -> received.add(sequenceOf(message)));
+
+            assertThat(read).isEqualTo(1);
+            assertThat(received).containsExactly(42L);
+        }
+    }
+
+    @Test
+    @DisplayName("skip the overwritten messages of a lapped reader")
+    void skipLapped() throws Exception {
+        try (var ring = RingFile.create(directory.resolve("lapped.ring"), CAPACITY)) {
+            var cursor = ring.cursorAtStart();
+            var messageSize = marketUpdate(0).getSerializedSize();
+            var count = CAPACITY / messageSize * 2;
+            for (long i = 0; i < count; i++) {
+                ring.append(marketUpdate(i));
+            }
+            var read = cursor.poll(ExternalMessage.parser(), Integer.MAX_VALUE,
+                                   message -> {});
+
+            assertThat(read).isEqualTo(0);
+            assertThat(cursor.lostBytes()).isGreaterThan(0L);
+        }
+    }
+
+    @Test
+    @DisplayName("reject a message larger than a quarter of the ring")
+    void rejectLargeMessage() throws Exception {
+        var messageSize = marketUpdate(0).getSerializedSize();
+        var capacity = messageSize * 2 / 8 * 8;
+        try (var ring = RingFile.create(directory.resolve("small.ring"), capacity)) {
+            assertThrows(IllegalArgumentException.class, () -> ring.append(marketUpdate(0)));
+        }
+    }
+
+    @Test
+    @DisplayName("tell whether the process which has created the ring is running")
+    void detectTerminatedOwner() throws Exception {
+        var path = directory.resolve("orphaned.ring");
+        try (var ring = RingFile.create(path, CAPACITY)) {
+            assertThat(ring.ownerAlive()).isTrue();
+        }
+        var terminated = new ProcessBuilder(javaCommand(), "-version").start();
+        terminated.waitFor();
+        try (var file = FileChannel.open(path, READ, WRITE)) {
+            var header = file.map(READ_WRITE, 0, 4 * Long.BYTES)
+                             .order(ByteOrder.nativeOrder());
+            header.putLong(2 * Long.BYTES, terminated.pid());
+        }
+        try (var ring = RingFile.open(path)) {
+            assertThat(ring.ownerAlive()).isFalse();
+        }
+    }
+
+    private static String javaCommand() {
+        return ProcessHandle.current()
+                            .info()
+                            .command()
+                            .orElseThrow();
+    }
+}
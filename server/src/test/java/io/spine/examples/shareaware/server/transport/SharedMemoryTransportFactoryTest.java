@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.server.integration.ExternalMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.marketUpdate;
+import static io.spine.examples.shareaware.server.transport.given.TransportTestEnv.newChannel;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@DisplayName("`SharedMemoryTransportFactory` should")
+final class SharedMemoryTransportFactoryTest {
+
+    private static final int ATTEMPTS = 50;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("deliver the messages between the factories sharing a directory")
+    void deliverBetweenFactories() throws Exception {
+        var channel = newChannel();
+        var received = new CompletableFuture<ExternalMessage>();
+        try (var publishing = SharedMemoryTransportFactory.in(directory, 1024 * 1024);
+             var subscribing = SharedMemoryTransportFactory.in(directory, 1024 * 1024)) {
+            var subscriber = subscribing.createSubscriber(channel);
+            subscriber.addObserver(new CompletingObserver(received));
+            var publisher = publishing.createPublisher(channel);
+            var message = marketUpdate(1);
+            for (var i = 0; i < ATTEMPTS && !received.isDone(); i++) {
+                var ack = publisher.publish(message.getId(), message);
+                assertThat(ack.getStatus()
+                              .hasOk()).isTrue();
+                sleepUninterruptibly(100, MILLISECONDS);
+            }
+
+            assertThat(received.get(1, SECONDS)).isEqualTo(message);
+        }
+    }
+
+    @Test
+    @DisplayName("remove the ring file of a closed publisher")
+    void removeRingOfClosedPublisher() throws Exception {
+        try (var factory = SharedMemoryTransportFactory.in(directory, 1024 * 1024)) {
+            var publisher = factory.createPublisher(newChannel());
+            publisher.close();
+
+            try (var files = Files.walk(directory)) {
+                assertThat(files.filter(path -> path.toString()
+                                                    .endsWith(".ring"))
+                                .count()).isEqualTo(0L);
+            }
+        }
+    }
+
+    private static final class CompletingObserver implements StreamObserver<ExternalMessage> {
+
+        private final CompletableFuture<ExternalMessage> future;
+
+        private CompletingObserver(CompletableFuture<ExternalMessage> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onNext(ExternalMessage value) {
+            future.complete(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.transport.given;
+
+import com.google.protobuf.Int64Value;
+import com.google.protobuf.StringValue;
+import io.spine.examples.shareaware.ShareId;
+import io.spine.examples.shareaware.market.event.MarketSharesUpdated;
+import io.spine.examples.shareaware.server.market.MarketProcess;
+import io.spine.examples.shareaware.share.Share;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.examples.shareaware.given.GivenMoney.usd;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+public final class TransportTestEnv {
+
+    private static final int SHARES_IN_UPDATE = 10;
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private TransportTestEnv() {
+    }
+
+    public static ChannelId newChannel() {
+        return ChannelId
+                .newBuilder()
+                .setIdentifier(pack(StringValue.of(newUuid())))
+                .vBuild();
+    }
+
+    /**
+     * Creates an external message with the market data update, which is identified
+     * by the given sequence number.
+     */
+    public static ExternalMessage marketUpdate(long sequence) {
+        var update = MarketSharesUpdated
+                .newBuilder()
+                .setMarket(MarketProcess.ID);
+        for (var i = 0; i < SHARES_IN_UPDATE; i++) {
+            update.addShare(share());
+        }
+        return ExternalMessage
+                .newBuilder()
+                .setId(pack(Int64Value.of(sequence)))
+                .setOriginalMessage(pack(update.vBuild()))
+                .build();
+    }
+
+    /**
+     * Returns the sequence number of the external message created
+     * by {@link #marketUpdate(long)}.
+     */
+    public static long sequenceOf(ExternalMessage message) {
+        var id = (Int64Value) unpack(message.getId());
+        return id.getValue();
+    }
+
+    private static Share share() {
+        return Share
+                .newBuilder()
+                .setId(ShareId.generate())
+                .setPrice(usd(20))
+                .setCompanyName("Company")
+                .setCompanyLogo("https://example.com/logo.png")
+                .vBuild();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.shareaware.server.wallet.LedgerChunks.ENTRIES_PER_CHUNK;
+import static io.spine.examples.shareaware.server.wallet.LedgerChunks.chunkNumber;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`LedgerChunks` should")
+final class LedgerChunksTest {
+
+    @Test
+    @DisplayName("put the first entries of the history into the first chunk")
+    void firstChunk() {
+        assertThat(chunkNumber(2)).isEqualTo(0);
+        assertThat(chunkNumber(ENTRIES_PER_CHUNK + 1)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("open a new chunk once the previous one is full")
+    void nextChunk() {
+        assertThat(chunkNumber(ENTRIES_PER_CHUNK + 2)).isEqualTo(1);
+        assertThat(chunkNumber(3 * ENTRIES_PER_CHUNK + 2)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("not accept the version of the wallet without history")
+    void noHistory() {
+        assertThrows(IllegalArgumentException.class, () -> chunkNumber(1));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.shareaware.server.wallet;
+
+import io.spine.examples.shareaware.server.FreshContextTest;
+import io.spine.examples.shareaware.server.given.WalletTestContext;
+import io.spine.server.BoundedContextBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.shareaware.server.given.GivenWallet.setUpWallet;
+import static io.spine.examples.shareaware.server.given.WalletLedgerTestEnv.*;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.replenish;
+import static io.spine.examples.shareaware.server.given.WalletTestEnv.withdrawMoneyFrom;
+
+@DisplayName("Wallet ledger should")
+public final class WalletLedgerTest extends FreshContextTest {
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        return WalletTestContext.newBuilder();
+    }
+
+    @Test
+    @DisplayName("record the replenishment of the wallet")
+    void replenishment() {
+        var wallet = setUpWallet(context());
+        var command = replenish(wallet);
+        context().receivesCommand(command);
+
+        context().assertEntity(firstChunkOf(wallet), WalletLedgerChunkProjection.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(firstChunkAfter(command));
+    }
+
+    @Test
+    @DisplayName("record the reservation and the debit of the withdrawn money")
+    void withdrawal() {
+        var wallet = setUpWallet(context());
+        var replenishment = replenish(wallet);
+        context().receivesCommand(replenishment);
+        var withdrawal = withdrawMoneyFrom(wallet);
+        context().receivesCommand(withdrawal);
+
+        context().assertEntity(firstChunkOf(wallet), WalletLedgerChunkProjection.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(firstChunkAfter(replenishment, withdrawal));
+    }
+
+    @Test
+    @DisplayName("index the chunks of the history")
+    void index() {
+        var wallet = setUpWallet(context());
+        context().receivesCommands(replenish(wallet), replenish(wallet));
+
+        context().assertEntity(wallet, WalletLedgerIndexProjection.class)
+                 .hasStateThat()
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(indexWithFirstChunkOf(wallet, 2));
+    }
+}
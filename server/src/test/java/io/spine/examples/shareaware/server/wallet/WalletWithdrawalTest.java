@@ -84,7 +84,7 @@ public final class WalletWithdrawalTest extends FreshContextTest {
         void reserveMoney() {
             var wallet = setUpReplenishedWallet(context());
             var command = withdrawMoneyFrom(wallet.getId());
-            var expected = moneyReservedBy(command);
+            var expected = moneyReservedBy(command, wallet);
             context().receivesCommand(command);
 
             context().assertEvent(expected);
@@ -106,7 +106,7 @@ public final class WalletWithdrawalTest extends FreshContextTest {
         void cancelMoneyReservation() {
             var wallet = setUpReplenishedWallet(context());
             var command = withdrawMoneyFrom(wallet.getId());
-            var event = moneyReservationCanceledBy(command);
+            var event = moneyReservationCanceledBy(command, wallet);
             RejectingPaymentProcess.switchToRejectionMode();
             context().receivesCommand(command);
 
@@ -114,6 +114,33 @@ public final class WalletWithdrawalTest extends FreshContextTest {
             context().assertEvent(event);
             RejectingPaymentProcess.switchToEventsMode();
         }
+
+        @Test
+        @DisplayName("rejecting the cancellation of the reservation already debited")
+        void rejectCancellationAfterDebit() {
+            var wallet = setUpReplenishedWallet(context());
+            var command = withdrawMoneyFrom(wallet.getId());
+            context().receivesCommand(command);
+            var expected = moneyNotReservedBy(command);
+            context().receivesCommand(cancelMoneyReservationBy(command));
+
+            context().assertEvent(expected);
+        }
+
+        @Test
+        @DisplayName("rejecting the debit of the reservation already canceled")
+        void rejectDebitAfterCancellation() {
+            var wallet = setUpReplenishedWallet(context());
+            var command = withdrawMoneyFrom(wallet.getId());
+            var expected = moneyNotReservedBy(command);
+            RejectingPaymentProcess.switchToRejectionMode();
+            context().receivesCommand(command);
+            RejectingPaymentProcess.switchToEventsMode();
+            context().receivesEvent(moneyTransferredToUserBy(command));
+
+            context().assertEvent(expected);
+            context().assertState(wallet.getId(), wallet);
+        }
     }
 
     @Nested
@@ -28,3 +28,5 @@ rootProject.name = "ShareAware"
 include("model")
 include("server")
 include("client")
+include("benchmarks")
+include("loadgen")